@@ -0,0 +1,55 @@
+package architecture;
+
+import gui.ArchitectureFunctions;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utils.BenchmarkModels;
+
+/**
+ * Benchmarks of the construction of an architecture, i.e. the collection of its actions,
+ * variables and equations and the storage counters, and of freezing it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArchitectureBenchmark {
+
+	// class fields
+	@Param({ "SEM", "AW", "PDR", "MRR", "DPIA", "DPIA2", "GEN100", "GEN1000" })
+	private String model;
+	private ArchitectureFunctions archFunc;
+	private Architecture arch;
+
+	@Setup
+	public void setup() {
+		BenchmarkModels.silence();
+		archFunc = BenchmarkModels.load(model, true);
+		arch = archFunc.getArch();
+	}
+
+	@Benchmark
+	public Architecture build() {
+		return archFunc.build();
+	}
+
+	@Benchmark
+	public Architecture freeze() {
+		return arch.freeze();
+	}
+}
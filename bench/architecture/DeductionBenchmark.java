@@ -0,0 +1,59 @@
+package architecture;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utils.BenchmarkModels;
+
+/**
+ * Benchmark of the deduction capability of the components, i.e. matching all equations of
+ * the architecture with the deductions of every component like
+ * {@link Architecture#collectEquations()}. The largest generated model is left out, as every
+ * component knows all equations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeductionBenchmark {
+
+	// class fields
+	@Param({ "SEM", "AW", "PDR", "MRR", "DPIA", "DPIA2", "GEN100" })
+	private String model;
+	private Architecture arch;
+	private Set<Equation> equations;
+
+	@Setup
+	public void setup() {
+		BenchmarkModels.silence();
+		arch = BenchmarkModels.load(model, true).getArch();
+		equations = new LinkedHashSet<Equation>(arch.getAllEquations());
+	}
+
+	@Benchmark
+	public int deductions() {
+		int known = 0;
+		for (Component comp : arch.getCompList()) {
+			// start over and match all equations with the deductions
+			comp.setEqSet(new LinkedHashSet<Equation>());
+			comp.setEqSet(new LinkedHashSet<Equation>(equations));
+			known += comp.getEqSet().size();
+		}
+		return known;
+	}
+}
@@ -0,0 +1,91 @@
+package properties;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import architecture.FrozenArchitecture;
+import properties.Property.PropertyType;
+import utils.BenchmarkModels;
+
+/**
+ * Benchmarks of the consistency check and of the bottom up parser for every type of
+ * property. The architectures are frozen with their consistency, so creating a parser does
+ * not check and report it again.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+
+	/**
+	 * The architecture of a model.
+	 */
+	@State(Scope.Thread)
+	public static class Model {
+
+		// class fields
+		@Param({ "SEM", "AW", "PDR", "MRR", "DPIA", "DPIA2", "GEN100", "GEN1000" })
+		private String model;
+		private FrozenArchitecture arch;
+
+		@Setup
+		public void setup() {
+			BenchmarkModels.silence();
+			arch = BenchmarkModels.load(model, true).getArch().freeze();
+			// the consistency is checked once, so the benchmarks do not measure it
+			arch.getConsistency();
+		}
+	}
+
+	/**
+	 * One property of a type for every component, verified with a new parser each time,
+	 * as the parser caches its results.
+	 */
+	@State(Scope.Thread)
+	public static class Statements {
+
+		// class fields
+		@Param({ "HAS", "KNOWS", "NOTSHARED", "NOTSTORED", "NOTPURP", "CONSENTVIOLATED" })
+		private PropertyType type;
+		private List<Property> properties;
+		private RulesOfInferenceParserBottomup parser;
+
+		@Setup
+		public void setup(Model model) {
+			properties = BenchmarkModels.properties(model.arch, type);
+		}
+
+		@Setup(Level.Invocation)
+		public void newParser(Model model) {
+			parser = new RulesOfInferenceParserBottomup(model.arch);
+		}
+	}
+
+	@Benchmark
+	public Object verifyArchitecture(Model model) {
+		return Parser.verifyArchitecture(model.arch);
+	}
+
+	@Benchmark
+	public void verifyStatements(Statements statements, Blackhole blackhole) {
+		for (Property property : statements.properties) {
+			blackhole.consume(statements.parser.verifyStatement(property, 0));
+		}
+	}
+}
@@ -0,0 +1,51 @@
+package properties;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import architecture.FrozenArchitecture;
+import utils.BenchmarkModels;
+
+/**
+ * Benchmark of the generation of the SMT script by the top down parser, i.e. the collection
+ * of the properties and the declarations and assertions of the {@link solver.SmtHandler}.
+ * The solver itself is not run. The Medical Research Register is left out, as the top down
+ * parser does not support all of its properties yet.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SmtBenchmark {
+
+	// class fields
+	@Param({ "SEM", "AW", "PDR", "DPIA", "DPIA2", "GEN100" })
+	private String model;
+	private FrozenArchitecture arch;
+
+	@Setup
+	public void setup() {
+		BenchmarkModels.silence();
+		arch = BenchmarkModels.load(model, true).getArch().freeze();
+		// the consistency is checked once, so the benchmarks do not measure it
+		arch.getConsistency();
+	}
+
+	@Benchmark
+	public Parser smtScript() {
+		return new RulesOfInferenceParserTopdown(arch);
+	}
+}
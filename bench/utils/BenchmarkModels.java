@@ -0,0 +1,133 @@
+package utils;
+
+import gui.ArchitectureFunctions;
+import gui.ArchitectureFunctions.CaseStudy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import architecture.Architecture;
+import architecture.Component;
+import architecture.DataType;
+import architecture.Equation;
+import architecture.Variable;
+import properties.Property;
+import properties.Property.PropertyType;
+
+/**
+ * The inputs of the benchmarks, i.e. the case studies of the {@link ArchLoader} by the
+ * names of their {@link CaseStudy} and architectures of the {@link ArchGenerator} named
+ * GEN&lt;components&gt;, e.g. GEN1000.
+ */
+public class BenchmarkModels {
+
+  // the seed of the generated architectures, so that all runs use the same ones
+  private static final long SEED = 0;
+
+  /**
+   * Static method that loads a model.
+   *
+   * @param model
+   *          the name of the case study or GEN&lt;components&gt;
+   * @param build
+   *          true, if the architecture should be built
+   * @return the architecture for the GUI
+   */
+  public static ArchitectureFunctions load(String model, boolean build) {
+    ArchitectureFunctions archFunc = new ArchitectureFunctions();
+    if (model.startsWith("GEN")) {
+      ArchGenerator generator = new ArchGenerator(SEED);
+      generator.setComponents(Integer.parseInt(model.substring(3)));
+      generator.setPurposes(3);
+      generator.setDataTypes(3);
+      ArchitectureImporter importer = new ArchitectureImporter(archFunc);
+      try {
+        for (String line : generator.lines()) {
+          importer.readLine(line);
+        }
+      } catch (IOException e) {
+        throw new IllegalStateException(e.getMessage(), e);
+      }
+    } else {
+      archFunc.load(CaseStudy.valueOf(model).toString());
+    }
+    if (build) {
+      archFunc.build();
+    }
+    return archFunc;
+  }
+
+  /**
+   * Static method that creates one property of a type for every component.
+   *
+   * @param arch
+   *          the architecture
+   * @param type
+   *          the type of the properties
+   * @return the properties
+   */
+  public static List<Property> properties(Architecture arch, PropertyType type) {
+    List<Property> props = new ArrayList<Property>();
+    List<Variable> vars = arch.getVariables();
+    List<Equation> eqs = arch.getAllEquations();
+    List<DataType> dts = arch.getDataTypes();
+    int i = 0;
+    for (Component comp : arch.getCompList()) {
+      switch (type) {
+      case HAS:
+        if (!vars.isEmpty()) {
+          props.add(new Property(PropertyType.HAS, comp, 1.0, vars.get(i % vars.size())));
+        }
+        break;
+      case KNOWS:
+        if (!eqs.isEmpty()) {
+          props.add(new Property(PropertyType.KNOWS, comp, 1.0, eqs.get(i % eqs.size())));
+        }
+        break;
+      case NOTSHARED:
+        if (!vars.isEmpty()) {
+          props.add(new Property(PropertyType.NOTSHARED, comp, vars.get(i % vars.size())));
+        }
+        break;
+      case NOTSTORED:
+        if (!vars.isEmpty()) {
+          props.add(new Property(PropertyType.NOTSTORED, comp, vars.get(i % vars.size()), 1));
+        }
+        break;
+      case NOTPURP:
+        props.add(new Property(PropertyType.NOTPURP, comp));
+        break;
+      case CONSENTVIOLATED:
+        if (!dts.isEmpty()) {
+          props.add(new Property(PropertyType.CONSENTVIOLATED, comp, dts.get(i % dts.size())));
+        }
+        break;
+      default:
+        break;
+      }
+      i++;
+    }
+    return props;
+  }
+
+  /**
+   * Static method that discards the console output of the parsers, which would otherwise
+   * dominate the measurements.
+   */
+  public static void silence() {
+    System.setOut(new PrintStream(new OutputStream() {
+      @Override
+      public void write(int b) {
+        // discard
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) {
+        // discard
+      }
+    }));
+  }
+}
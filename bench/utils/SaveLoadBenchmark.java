@@ -0,0 +1,59 @@
+package utils;
+
+import gui.ArchitectureFunctions;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of saving and loading an architecture in the {@link ArchitectureFormat} of
+ * {@link SaveLoadArch}. The models are not built, so loading does not create a parser, and
+ * the bytes stay in memory to leave out the disk.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SaveLoadBenchmark {
+
+  // class fields
+  @Param({ "SEM", "AW", "PDR", "MRR", "DPIA", "DPIA2", "GEN100", "GEN1000" })
+  private String model;
+  private ArchitectureFunctions archFunc;
+  private byte[] format;
+
+  @Setup
+  public void setup() throws IOException {
+    BenchmarkModels.silence();
+    archFunc = BenchmarkModels.load(model, false);
+    format = writeFormat();
+  }
+
+  @Benchmark
+  public byte[] writeFormat() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ArchitectureFormat.write(archFunc, out);
+    return out.toByteArray();
+  }
+
+  @Benchmark
+  public ArchitectureFunctions readFormat() throws IOException {
+    return ArchitectureFormat.read(ByteBuffer.wrap(format));
+  }
+}
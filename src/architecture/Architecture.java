@@ -2,6 +2,7 @@ package architecture;
 
 import java.io.Serializable;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.ArrayList;
 import java.util.List;
@@ -33,6 +34,9 @@ public class Architecture implements Serializable {
 	private List<Statement> allStatements;
 	private List<Composition> compositions;
 	private PurposeHierarchy purpHier;
+	private StorageAnalysis storage;
+	// for a copy, the architecture that its components belong to, which are not changed
+	private Architecture owner;
 
 	/**
 	 * The full Constructor of an architecture that is typically only invoked for
@@ -49,6 +53,9 @@ public class Architecture implements Serializable {
 	public Architecture(Set<Component> compList, Set<Action> interCompActions,
 			Set<Trust> trusts, Set<Composition> compositions, PurposeHierarchy purpHier) {
 		this.compList = new ArrayList<Component>(compList);
+		for (Component comp : this.compList) {
+			comp.setArchitecture(this);
+		}
 		this.interCompActions = new ArrayList<Action>(interCompActions);
 		this.purpHier = purpHier;
 		if (trusts == null) {
@@ -73,8 +80,8 @@ public class Architecture implements Serializable {
 		collectVariables();
 		collectDataTypes();
 		collectSimpleEquations();
-		// also update the counter for inter-component-actions
-		makeCounter();
+		// compute the storage counters with a single pass over all actions
+		makeStorage();
 		updateCompositions();
 	}
 
@@ -89,49 +96,53 @@ public class Architecture implements Serializable {
 		this(compList, new LinkedHashSet<Action>(), new LinkedHashSet<Trust>(), new LinkedHashSet<Composition>(), new PurposeHierarchy());
 	}
 
-	private void makeCounter() {
-		// TODO test this!
-		for (Component comp : compList) {
-			for (Variable var : allVariables) {
-				int count = 0;
-				int maxCount = 0;
-				for (Action a : allActions) {
-					if (a.getComponent().equals(comp)) {
-						switch (a.getAction()) {
-						case CHECK:
-							for (Equation e : a.getEqSet()) {
-								if (e.getAtoms().contains(var)) {
-									count++;
-								}
-							}
-							break;
-						case COMPUTE:
-							if (a.getEq().getAtoms().contains(var)) {
-								count++;
-							}
-							break;
-						case DELETE:
-							if (a.getVar().equals(var)) {
-								count = 0;
-							}
-							break;
-						default:
-							break;
-						}
-					} else if ((a.getAction() == ActionType.RECEIVE || a.getAction() == ActionType.PRECEIVE || a.getAction() == ActionType.CRECEIVE) && a.getComPartner().equals(comp)) {
-						// also consider the receives
-						if (a.getVarSet().contains(var)) {
-							count++;
-						}
-					}
-					if (count > maxCount) {
-						maxCount = count;
-					}
-				}
-				// update the counter
-				comp.setCounter(var, maxCount);
-			}
-		}
+	/**
+	 * The Constructor that copies the lists of another architecture, e.g. to get a
+	 * mutable copy of a {@link FrozenArchitecture}. The components are shared, so the
+	 * equations of the copy are not passed on to them, see {@link Component#deduce(Set, Set)},
+	 * and their state is read from the copied architecture, e.g. {@link #getDepSet(Component)}.
+	 *
+	 * @param arch
+	 *          the architecture to copy
+	 */
+	public Architecture(Architecture arch) {
+		compList = new ArrayList<Component>(arch.getCompList());
+		interCompActions = new ArrayList<Action>(arch.getInterComp_Actions());
+		allActions = new ArrayList<Action>(arch.getAllActions());
+		trusts = new ArrayList<Trust>(arch.getTrusts());
+		allProperties = new ArrayList<Property>(arch.getAllProperties());
+		allVariables = new ArrayList<Variable>(arch.getVariables());
+		allDataTypes = new ArrayList<DataType>(arch.getDataTypes());
+		allEquations = new ArrayList<Equation>(arch.getAllEquations());
+		allStatements = new ArrayList<Statement>(arch.getAllStatements());
+		compositions = new ArrayList<Composition>(arch.getCompositions());
+		purpHier = arch.getPurposeHierarchy();
+		// own counters, as actions may be added to the copy
+		storage = new StorageAnalysis(allActions);
+		owner = arch;
+	}
+
+	/**
+	 * The Constructor for subclasses that keep their own state.
+	 */
+	protected Architecture() {
+	}
+
+	/**
+	 * Method that creates an immutable snapshot of the current state of the architecture,
+	 * which can be shared by parsers in different threads.
+	 *
+	 * @return the snapshot
+	 */
+	public FrozenArchitecture freeze() {
+		return new FrozenArchitecture(this);
+	}
+
+	/**
+	 * Helper method that runs the storage lifetime analysis over all actions.
+	 */
+	private void makeStorage() {
+		storage = new StorageAnalysis(allActions);
 	}
 
 	/**
@@ -154,14 +165,96 @@ public class Architecture implements Serializable {
 		return trusted;
 	}
 
+	/**
+	 * Method that returns the position of a component in the list of components.
+	 *
+	 * @param comp
+	 *          the component
+	 * @return the index or -1, if the component is not part of the architecture
+	 */
+	public int indexOf(Component comp) {
+		return getCompList().indexOf(comp);
+	}
+
+	/**
+	 * Method that returns the position of a variable in the list of variables.
+	 *
+	 * @param var
+	 *          the variable
+	 * @return the index or -1, if the variable is not part of the architecture
+	 */
+	public int indexOf(Variable var) {
+		return getVariables().indexOf(var);
+	}
+
+	/**
+	 * Method that returns the position of a data type in the list of data types.
+	 *
+	 * @param dt
+	 *          the data type
+	 * @return the index or -1, if the data type is not part of the architecture
+	 */
+	public int indexOf(DataType dt) {
+		return getDataTypes().indexOf(dt);
+	}
+
+	/**
+	 * Method that returns the variables that a component encounters in this architecture.
+	 * A snapshot keeps its own copy, as the component itself may still be changed.
+	 *
+	 * @param comp
+	 *          the component
+	 * @return the variables
+	 */
+	public Set<Variable> getVarSet(Component comp) {
+		return owner == null ? comp.getVarSet() : owner.getVarSet(comp);
+	}
+
+	/**
+	 * Method that returns the dependence relations of a component in this architecture.
+	 *
+	 * @param comp
+	 *          the component
+	 * @return the dependence relations
+	 */
+	public Set<Dep> getDepSet(Component comp) {
+		return owner == null ? comp.getDepSet() : owner.getDepSet(comp);
+	}
+
+	/**
+	 * Method that returns the deductions of a component in this architecture.
+	 *
+	 * @param comp
+	 *          the component
+	 * @return the deductions
+	 */
+	public Set<Deduction> getDeducSet(Component comp) {
+		return owner == null ? comp.getDeducSet() : owner.getDeducSet(comp);
+	}
+
+	/**
+	 * Method that returns the deduction capability of a component in this architecture.
+	 *
+	 * @param comp
+	 *          the component
+	 * @return the explicit deductions
+	 */
+	public Set<Deduction> getDeductionCapability(Component comp) {
+		return owner == null ? comp.getDeductionCapability() : owner.getDeductionCapability(comp);
+	}
+
 	private void collectSimpleEquations() {
+		// hash the collected equations instead of searching the list for every action
+		Set<Equation> known = new HashSet<Equation>(allEquations);
 		for (Action a : allActions) {
 			switch (a.getAction()) {
 			case CHECK:
 				// fall through
 			case COMPUTE:
 				// add the involved equation
-				addEquation(a.getEq());
+				if (a.getEq() != null && known.add(a.getEq())) {
+					allEquations.add(a.getEq());
+				}
 				break;
 			case DELETE:
 				break;
@@ -196,10 +289,7 @@ public class Architecture implements Serializable {
 				break;
 			}
 		}
-		// also share this list of equations with its components
-		for (Component comp : compList) {
-			comp.setEqSet(new LinkedHashSet<Equation>(allEquations));
-		}
+		shareEquations();
 	}
 
 	/**
@@ -219,7 +309,17 @@ public class Architecture implements Serializable {
 				break;
 			}
 		}
-		// also share this list of equations with its components
+		shareEquations();
+	}
+
+	/**
+	 * Helper method that shares the list of equations with the components, unless they
+	 * belong to another architecture.
+	 */
+	private void shareEquations() {
+		if (owner != null) {
+			return;
+		}
 		for (Component comp : compList) {
 			comp.setEqSet(new LinkedHashSet<Equation>(allEquations));
 		}
@@ -249,10 +349,13 @@ public class Architecture implements Serializable {
 		// go through all components
 		// no need to check the inter-component action,
 		// as these only share variables that at least one component already knows
+		Set<Variable> known = new HashSet<Variable>(allVariables);
 		for (Component comp : compList) {
 			for (Variable var : comp.getVarSet()) {
 				// collect all the variables in a list
-				addVariable(var);
+				if (known.add(var)) {
+					allVariables.add(var);
+				}
 			}
 		}
 	}
@@ -262,10 +365,13 @@ public class Architecture implements Serializable {
 	 */
 	private void collectDataTypes() {
 		// go through all actions
+		Set<DataType> known = new HashSet<DataType>(allDataTypes);
 		for (Action a : allActions) {
 			if (a.getAction() == ActionType.CRECEIVE || a.getAction() == ActionType.PERMISSION || a.getAction() == ActionType.REVOKE) {
 				// add all data types
-				addDataType(a.getDt());
+				if (known.add(a.getDt())) {
+					allDataTypes.add(a.getDt());
+				}
 			}
 		}
 	}
@@ -354,6 +460,8 @@ public class Architecture implements Serializable {
 			break;
 		}
 		allActions.add(action);
+		// the action is appended, so the counters can be updated incrementally
+		getStorage().record(action);
 	}
 
 	// Getter and setter methods
@@ -363,10 +471,14 @@ public class Architecture implements Serializable {
 
 	public void setCompList(List<Component> compList) {
 		this.compList = compList;
+		for (Component comp : compList) {
+			comp.setArchitecture(this);
+		}
 	}
 
 	public void addComponent(Component comp) {
 		compList.add(comp);
+		comp.setArchitecture(this);
 	}
 
 	public List<Action> getInterComp_Actions() {
@@ -387,6 +499,15 @@ public class Architecture implements Serializable {
 
 	public void setAllActions(List<Action> allActions) {
 		this.allActions = allActions;
+		makeStorage();
+	}
+
+	public StorageAnalysis getStorage() {
+		if (storage == null) {
+			// architectures stored before the analysis existed
+			makeStorage();
+		}
+		return storage;
 	}
 
 	public List<Trust> getTrusts() {
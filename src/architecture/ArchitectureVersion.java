@@ -0,0 +1,550 @@
+package architecture;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import architecture.Action.ActionType;
+import properties.Property;
+import properties.RulesOfInferenceParserBottomup;
+import utils.PersistentMap;
+
+/**
+ * Immutable version of an architecture for what-if analysis. Every edit returns a
+ * new version that shares all unchanged actions, trust relations, compositions and
+ * the interaction graph with its parent, so a version costs O(log n) memory per edit
+ * and many alternatives of a large architecture can be kept at the same time.
+ * The architecture of a version is only assembled when it is verified.
+ * <p>
+ * Verification results are cached per version. A result of an ancestor is reused if
+ * none of the components that can influence the property, i.e., the components
+ * connected to its owners by actions, trust relations or compositions, were involved
+ * in the edits since that ancestor. Versions are verified with the bottom up parser.
+ * The components, including their dependences and deduction capabilities, are shared by
+ * all versions and must not be changed, and so is the purpose hierarchy.
+ * As in the architecture functions, the actions of a version form a set.
+ */
+public final class ArchitectureVersion {
+
+	// class fields
+	private final ArchitectureVersion parent;
+	// the values are sequence numbers that keep the insertion order
+	private final PersistentMap<Component, Long> components;
+	private final PersistentMap<Action, Long> actions;
+	private final PersistentMap<Trust, Long> trusts;
+	private final PersistentMap<Composition, Long> compositions;
+	// undirected interaction graph with the number of relations per edge
+	private final PersistentMap<Component, PersistentMap<Component, Integer>> links;
+	private final PurposeHierarchy purpHier;
+	private final long nextSeq;
+	// the components involved in the edit that created this version
+	private final Set<Component> changed;
+	private final Map<Property, Boolean> results = new ConcurrentHashMap<Property, Boolean>();
+	private FrozenArchitecture arch;
+	private RulesOfInferenceParserBottomup parser;
+
+	/**
+	 * The Constructor for a root version.
+	 *
+	 * @param compList
+	 *          the components
+	 * @param actionList
+	 *          all actions in their order
+	 * @param trustList
+	 *          the trust relations
+	 * @param compositionList
+	 *          the compositions
+	 * @param purpHier
+	 *          the purpose hierarchy
+	 */
+	public ArchitectureVersion(List<Component> compList, List<Action> actionList, List<Trust> trustList,
+			List<Composition> compositionList, PurposeHierarchy purpHier) {
+		long seq = 0;
+		PersistentMap<Component, Long> comps = PersistentMap.empty();
+		for (Component comp : compList) {
+			if (!comps.containsKey(comp)) {
+				comps = comps.plus(comp, seq++);
+			}
+		}
+		PersistentMap<Component, PersistentMap<Component, Integer>> graph = PersistentMap.empty();
+		PersistentMap<Action, Long> acts = PersistentMap.empty();
+		for (Action action : actionList) {
+			if (!acts.containsKey(action)) {
+				acts = acts.plus(action, seq++);
+				Set<Component> involved = involved(action);
+				for (Component comp : involved) {
+					if (!comps.containsKey(comp)) {
+						comps = comps.plus(comp, seq++);
+					}
+				}
+				graph = link(graph, involved, 1);
+			}
+		}
+		PersistentMap<Trust, Long> trustMap = PersistentMap.empty();
+		for (Trust trust : trustList) {
+			if (!trustMap.containsKey(trust)) {
+				trustMap = trustMap.plus(trust, seq++);
+				graph = link(graph, involved(trust), 1);
+			}
+		}
+		PersistentMap<Composition, Long> composMap = PersistentMap.empty();
+		for (Composition compos : compositionList) {
+			if (!composMap.containsKey(compos)) {
+				composMap = composMap.plus(compos, seq++);
+				graph = link(graph, involved(compos), 1);
+			}
+		}
+		this.parent = null;
+		this.components = comps;
+		this.actions = acts;
+		this.trusts = trustMap;
+		this.compositions = composMap;
+		this.links = graph;
+		this.purpHier = purpHier;
+		this.nextSeq = seq;
+		this.changed = Collections.emptySet();
+	}
+
+	private ArchitectureVersion(ArchitectureVersion parent, PersistentMap<Component, Long> components,
+			PersistentMap<Action, Long> actions, PersistentMap<Trust, Long> trusts,
+			PersistentMap<Composition, Long> compositions,
+			PersistentMap<Component, PersistentMap<Component, Integer>> links, Set<Component> changed) {
+		this.parent = parent;
+		this.components = components;
+		this.actions = actions;
+		this.trusts = trusts;
+		this.compositions = compositions;
+		this.links = links;
+		this.purpHier = parent.purpHier;
+		this.nextSeq = parent.nextSeq + 1;
+		this.changed = changed;
+	}
+
+	/**
+	 * Static method that creates a root version with the current state of an architecture.
+	 *
+	 * @param arch
+	 *          the architecture
+	 * @return the version
+	 */
+	public static ArchitectureVersion of(Architecture arch) {
+		return new ArchitectureVersion(arch.getCompList(), arch.getAllActions(), arch.getTrusts(),
+				arch.getCompositions(), arch.getPurposeHierarchy());
+	}
+
+	/**
+	 * Method that returns a version with an additional component.
+	 *
+	 * @param comp
+	 *          the component
+	 * @return the new version or this version, if the component is already contained
+	 */
+	public ArchitectureVersion withComponent(Component comp) {
+		if (components.containsKey(comp)) {
+			return this;
+		}
+		return new ArchitectureVersion(this, components.plus(comp, nextSeq), actions, trusts, compositions,
+				links, Collections.singleton(comp));
+	}
+
+	/**
+	 * Method that returns a version with an additional action. Its components are added
+	 * as well, if necessary.
+	 *
+	 * @param action
+	 *          the action
+	 * @return the new version or this version, if the action is already contained
+	 */
+	public ArchitectureVersion withAction(Action action) {
+		if (actions.containsKey(action)) {
+			return this;
+		}
+		Set<Component> involved = involved(action);
+		return new ArchitectureVersion(this, plusAll(involved), actions.plus(action, nextSeq), trusts,
+				compositions, link(links, involved, 1), involved);
+	}
+
+	/**
+	 * Method that returns a version without an action.
+	 *
+	 * @param action
+	 *          the action
+	 * @return the new version or this version, if the action is not contained
+	 */
+	public ArchitectureVersion withoutAction(Action action) {
+		if (!actions.containsKey(action)) {
+			return this;
+		}
+		Set<Component> involved = involved(action);
+		return new ArchitectureVersion(this, components, actions.minus(action), trusts, compositions,
+				link(links, involved, -1), involved);
+	}
+
+	/**
+	 * Method that returns a version with an additional trust relation.
+	 *
+	 * @param trust
+	 *          the trust relation
+	 * @return the new version or this version, if the trust relation is already contained
+	 */
+	public ArchitectureVersion withTrust(Trust trust) {
+		if (trusts.containsKey(trust)) {
+			return this;
+		}
+		Set<Component> involved = involved(trust);
+		return new ArchitectureVersion(this, plusAll(involved), actions, trusts.plus(trust, nextSeq),
+				compositions, link(links, involved, 1), involved);
+	}
+
+	/**
+	 * Method that returns a version without a trust relation.
+	 *
+	 * @param trust
+	 *          the trust relation
+	 * @return the new version or this version, if the trust relation is not contained
+	 */
+	public ArchitectureVersion withoutTrust(Trust trust) {
+		if (!trusts.containsKey(trust)) {
+			return this;
+		}
+		Set<Component> involved = involved(trust);
+		return new ArchitectureVersion(this, components, actions, trusts.minus(trust), compositions,
+				link(links, involved, -1), involved);
+	}
+
+	/**
+	 * Method that returns a version with an additional composition.
+	 * The associate of the composed component is not changed.
+	 *
+	 * @param compos
+	 *          the composition
+	 * @return the new version or this version, if the composition is already contained
+	 */
+	public ArchitectureVersion withComposition(Composition compos) {
+		if (compositions.containsKey(compos)) {
+			return this;
+		}
+		Set<Component> involved = involved(compos);
+		return new ArchitectureVersion(this, plusAll(involved), actions, trusts,
+				compositions.plus(compos, nextSeq), link(links, involved, 1), involved);
+	}
+
+	/**
+	 * Method that returns a version without a composition.
+	 *
+	 * @param compos
+	 *          the composition
+	 * @return the new version or this version, if the composition is not contained
+	 */
+	public ArchitectureVersion withoutComposition(Composition compos) {
+		if (!compositions.containsKey(compos)) {
+			return this;
+		}
+		Set<Component> involved = involved(compos);
+		return new ArchitectureVersion(this, components, actions, trusts, compositions.minus(compos),
+				link(links, involved, -1), involved);
+	}
+
+	/**
+	 * Method that verifies a property for this version. The result of an ancestor is
+	 * reused if the edits since then cannot influence the property.
+	 *
+	 * @param property
+	 *          the property to verify
+	 * @return true, if the property holds
+	 */
+	public boolean verify(Property property) {
+		Boolean result = results.get(property);
+		if (result != null) {
+			return result;
+		}
+		Set<Component> relevant = null;
+		Set<Component> delta = new HashSet<Component>();
+		for (ArchitectureVersion v = this; v.parent != null; v = v.parent) {
+			delta.addAll(v.changed);
+			Boolean cached = v.parent.results.get(property);
+			if (cached == null) {
+				continue;
+			}
+			if (relevant == null) {
+				relevant = relevantComponents(property);
+			}
+			if (relevant != null && Collections.disjoint(relevant, delta)) {
+				result = cached;
+			}
+			// an older result can only be reused if this one can
+			break;
+		}
+		if (result == null) {
+			RulesOfInferenceParserBottomup p = getParser();
+			synchronized (p) {
+				result = p.verifyStatement(property, 0);
+			}
+		}
+		results.put(property, result);
+		return result;
+	}
+
+	/**
+	 * Method that returns the architecture of this version. It is assembled on the
+	 * first call, where the actions of every component come first in the order of the
+	 * components, followed by the interactions between components.
+	 *
+	 * @return the architecture
+	 */
+	public synchronized FrozenArchitecture getArchitecture() {
+		if (arch == null) {
+			arch = materialize();
+		}
+		return arch;
+	}
+
+	private synchronized RulesOfInferenceParserBottomup getParser() {
+		if (parser == null) {
+			parser = new RulesOfInferenceParserBottomup(getArchitecture());
+		}
+		return parser;
+	}
+
+	/**
+	 * Helper method that assembles the architecture of this version.
+	 *
+	 * @return the architecture
+	 */
+	private FrozenArchitecture materialize() {
+		List<Component> compList = sorted(components);
+		Map<Component, List<Action>> owned = new HashMap<Component, List<Action>>();
+		for (Component comp : compList) {
+			owned.put(comp, new ArrayList<Action>());
+		}
+		List<Action> interCompActions = new ArrayList<Action>();
+		for (Action action : sorted(actions)) {
+			if (isInterComp(action.getAction())) {
+				interCompActions.add(action);
+			} else {
+				owned.get(action.getComponent()).add(action);
+			}
+		}
+		List<Action> allActions = new ArrayList<Action>(actions.size());
+		Set<Variable> variables = new LinkedHashSet<Variable>();
+		for (Component comp : compList) {
+			for (Action action : owned.get(comp)) {
+				allActions.add(action);
+				if (action.getAction() == ActionType.HAS && action.getVar() != null) {
+					variables.add(action.getVar());
+				} else if (action.getAction() == ActionType.COMPUTE) {
+					variables.add(action.getEq().getLefthandSide());
+				}
+			}
+		}
+		allActions.addAll(interCompActions);
+		Set<DataType> dataTypes = new LinkedHashSet<DataType>();
+		Set<Equation> equations = new LinkedHashSet<Equation>();
+		for (Action action : allActions) {
+			switch (action.getAction()) {
+			case CRECEIVE:
+				// fall through
+			case PERMISSION:
+				// fall through
+			case REVOKE:
+				dataTypes.add(action.getDt());
+				break;
+			case CHECK:
+				// fall through
+			case COMPUTE:
+				if (action.getEq() != null) {
+					equations.add(action.getEq());
+				}
+				break;
+			default:
+				break;
+			}
+		}
+		return new FrozenArchitecture(compList, interCompActions, allActions, sorted(trusts),
+				new ArrayList<Property>(), new ArrayList<Variable>(variables),
+				new ArrayList<DataType>(dataTypes), new ArrayList<Equation>(equations),
+				new ArrayList<Statement>(), sorted(compositions), purpHier, new StorageAnalysis(allActions),
+				null);
+	}
+
+	/**
+	 * Helper method that collects the components connected to the owners of a property.
+	 *
+	 * @param property
+	 *          the property
+	 * @return the components or null, if the property has no owner
+	 */
+	private Set<Component> relevantComponents(Property property) {
+		Set<Component> owners = new HashSet<Component>();
+		if (!collectOwners(property, owners)) {
+			return null;
+		}
+		Set<Component> relevant = new HashSet<Component>(owners);
+		Deque<Component> agenda = new ArrayDeque<Component>(owners);
+		while (!agenda.isEmpty()) {
+			PersistentMap<Component, Integer> neighbours = links.get(agenda.poll());
+			if (neighbours != null) {
+				for (Component comp : neighbours.keys()) {
+					if (relevant.add(comp)) {
+						agenda.add(comp);
+					}
+				}
+			}
+		}
+		return relevant;
+	}
+
+	private static boolean collectOwners(Property property, Set<Component> owners) {
+		switch (property.getType()) {
+		case CONJUNCTION:
+			return collectOwners(property.getSt1(), owners) && collectOwners(property.getSt2(), owners);
+		case NEGATION:
+			return collectOwners(property.getSt1(), owners);
+		default:
+			if (property.getOwner() == null) {
+				return false;
+			}
+			owners.add(property.getOwner());
+			return true;
+		}
+	}
+
+	private PersistentMap<Component, Long> plusAll(Set<Component> comps) {
+		PersistentMap<Component, Long> result = components;
+		for (Component comp : comps) {
+			if (!result.containsKey(comp)) {
+				result = result.plus(comp, nextSeq);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Helper method that adds or removes the edges between all pairs of components
+	 * involved in a relation.
+	 *
+	 * @param graph
+	 *          the interaction graph
+	 * @param involved
+	 *          the components
+	 * @param delta
+	 *          1 to add a relation, -1 to remove it
+	 * @return the new interaction graph
+	 */
+	private static PersistentMap<Component, PersistentMap<Component, Integer>> link(
+			PersistentMap<Component, PersistentMap<Component, Integer>> graph, Set<Component> involved,
+			int delta) {
+		for (Component from : involved) {
+			PersistentMap<Component, Integer> edges = graph.get(from);
+			if (edges == null) {
+				edges = PersistentMap.empty();
+			}
+			for (Component to : involved) {
+				if (from.equals(to)) {
+					continue;
+				}
+				Integer count = edges.get(to);
+				int newCount = (count == null ? 0 : count) + delta;
+				edges = newCount > 0 ? edges.plus(to, newCount) : edges.minus(to);
+			}
+			graph = edges.isEmpty() ? graph.minus(from) : graph.plus(from, edges);
+		}
+		return graph;
+	}
+
+	/**
+	 * Helper method that collects the components involved in an action, i.e., the
+	 * performing component, its communication partner and the components of the
+	 * attestations and proofs. It is also used to partition architectures.
+	 *
+	 * @param action
+	 *          the action
+	 * @return the components
+	 */
+	static Set<Component> involved(Action action) {
+		Set<Component> involved = new HashSet<Component>();
+		involved.add(action.getComponent());
+		if (action.getComPartner() != null) {
+			involved.add(action.getComPartner());
+		}
+		if (action.getAtt() != null) {
+			involved.add(action.getAtt().getComponent());
+		}
+		if (action.getPro() != null) {
+			addProof(action.getPro(), involved);
+		}
+		if (action.getStSet() != null) {
+			for (Statement st : action.getStSet()) {
+				if (st instanceof Attest) {
+					involved.add(((Attest) st).getComponent());
+				} else if (st instanceof Proof) {
+					addProof((Proof) st, involved);
+				}
+			}
+		}
+		involved.remove(null);
+		return involved;
+	}
+
+	private static void addProof(Proof pro, Set<Component> involved) {
+		involved.add(pro.getComponent());
+		for (P p : pro.getpSet()) {
+			if (p instanceof Attest) {
+				involved.add(((Attest) p).getComponent());
+			}
+		}
+	}
+
+	static Set<Component> involved(Trust trust) {
+		Set<Component> involved = new HashSet<Component>();
+		involved.add(trust.getTruster());
+		involved.add(trust.getTrustee());
+		return involved;
+	}
+
+	static Set<Component> involved(Composition compos) {
+		Set<Component> involved = new HashSet<Component>();
+		involved.add(compos.getContainer());
+		involved.add(compos.getComponent());
+		return involved;
+	}
+
+	private static boolean isInterComp(ActionType type) {
+		return type == ActionType.RECEIVE || type == ActionType.PRECEIVE || type == ActionType.CRECEIVE
+				|| type == ActionType.SPOTCHECK;
+	}
+
+	private static <T> List<T> sorted(PersistentMap<T, Long> map) {
+		final List<Map.Entry<T, Long>> entries = new ArrayList<Map.Entry<T, Long>>(map.size());
+		map.forEach((k, v) -> entries.add(new AbstractMap.SimpleImmutableEntry<T, Long>(k, v)));
+		entries.sort(Comparator.comparing(Map.Entry::getValue));
+		List<T> list = new ArrayList<T>(entries.size());
+		for (Map.Entry<T, Long> e : entries) {
+			list.add(e.getKey());
+		}
+		return list;
+	}
+
+	// getter methods
+	public ArchitectureVersion getParent() {
+		return parent;
+	}
+
+	public Set<Component> getChanged() {
+		return Collections.unmodifiableSet(changed);
+	}
+
+	public int getActionCount() {
+		return actions.size();
+	}
+}
@@ -1,14 +1,14 @@
 package architecture;
 
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.LinkedHashSet;
-import java.util.Map;
+import java.util.List;
 import java.util.Set;
 
-import utils.SmtCleanup;
-
 /**
  * Objects that describe a component in an architecture with all its actions and
  * equations, and so on.
@@ -28,7 +28,10 @@ public class Component implements Serializable {
 	private Set<Deduction> deducSet;
 	private Set<Deduction> deductionCapability;
 	private Set<Equation> eqSet;
-	private Map<Variable, Integer> counter;
+	private transient DeductionNetwork network;
+	private transient Set<Equation> baseEquations;
+	// the architecture that the component belongs to, whose storage counters it reads
+	private Architecture architecture;
 	private Component composition;
 	private String instanceIndex;
 
@@ -59,9 +62,7 @@ public class Component implements Serializable {
 		varSet = new LinkedHashSet<Variable>();
 		eqSet = new LinkedHashSet<Equation>();
 		deductionCapability = new LinkedHashSet<Deduction>();
-		counter = new HashMap<Variable, Integer>();
 		collectVars();
-		//makeCounter();
 	}
 	
 	/**
@@ -92,80 +93,87 @@ public class Component implements Serializable {
 	private void collectVars() {
 		// go through all actions and collect all the variables
 		for (Action action : actions) {
-			switch (action.getAction()) {
-			case HAS:
-				if (action.getVar() != null) {
-					// add the variable that is owned by the component
-					varSet.add(action.getVar());
-				}
-				break;
-			case COMPUTE:
-				// only add the newly computed variable
-				varSet.add(action.getEq().getLefthandSide());
-				break;
-			default:
-				// nothing to do
+			collectVars(action);
+		}
+	}
+
+	/**
+	 * Helper method to collect the variables that the component encounters in a single action.
+	 * @param action
+	 *          the action
+	 */
+	private void collectVars(Action action) {
+		switch (action.getAction()) {
+		case HAS:
+			if (action.getVar() != null) {
+				// add the variable that is owned by the component
+				varSet.add(action.getVar());
 			}
+			break;
+		case COMPUTE:
+			// only add the newly computed variable
+			varSet.add(action.getEq().getLefthandSide());
+			break;
+		default:
+			// nothing to do
 		}
 	}
 
 	/**
 	 * Helper method that makes an explicit list of deduction from the variable ones.
+	 * The known equations are fed into the deduction network one by one, so that only
+	 * the new explicit deductions are made. The conclusions are fed back as new equations.
+	 * @param network
+	 * 			the deduction network of the known equations
+	 * @param equations
+	 * 			the newly known equations
+	 * @param known
+	 * 			the known equations, which the conclusions are added to
+	 * @param capability
+	 * 			the deduction capability, which the new deductions are added to
 	 */
-	private void makeDeduction() {
-		// go through deducSet and make explicit deduction with all known equations
-		for (Deduction deduc : deducSet) {
-			for (int index1 = 0; index1 < eqSet.size(); index1++) {
-				Equation eq1 = new ArrayList<Equation>(eqSet).get(index1);
-				Deduction tmpDeduc1 = new Deduction(deduc, deduc.getName() + "Explicit");
-				// for each equation that matches the first premise
-				Set<Equation> match1 = eq1.match2(new ArrayList<Equation>(deduc.getPremises()).get(0));
-				if (!match1.isEmpty()) {
-					// update the deduction with the real variables
-					tmpDeduc1.update(match1);
-					// go through the remaining premise and look for matches
-					if (deduc.getPremises().size() > 1) {
-						for (int index2 = 0; index2 < eqSet.size(); index2++) {
-							Equation eq2 = new ArrayList<Equation>(eqSet).get(index2);
-							if (eq2 == eq1) {
-								continue;
-							}
-							Deduction tmpDeduc2 = new Deduction(tmpDeduc1, tmpDeduc1.getName() + "Final");
-							Set<Equation> match2 = eq2.match2(new ArrayList<Equation>(tmpDeduc1.getPremises()).get(1));
-							if (!match2.isEmpty()) {
-								// further update the deduction with real values
-								tmpDeduc2.update(match2);
-								// TODO currently max two premises assumed
-
-								// TODO does this line destroy other deductions??
-								// here only the conclusion is updated with the second premise
-								tmpDeduc2.getConclusion().update(new ArrayList<Equation>(tmpDeduc2.getPremises()).get(1));
-
-								// add the explicit deduction to the list
-								tmpDeduc2.getConclusion().setName(tmpDeduc2.getConclusion().getName() + "_"
-										+ SmtCleanup.removeParantheses(tmpDeduc2.getConclusion().getOp1().toString()));
-								if (!tmpDeduc2.getPremises().contains(tmpDeduc2.getConclusion())) {
-									// only add the new deduction, if it is not too complex
-									// i.e., do not add: conclusions like -> f(g(f(g(y))))=y
-									addDeductionCapability(tmpDeduc2);
-								}
-							}
-						}
-					} else {
-						// add the deduction with only one premise
-						tmpDeduc1.getConclusion().setName(tmpDeduc1.getConclusion().getName() + "_"
-								+ SmtCleanup.removeParantheses(tmpDeduc1.getConclusion().getOp1().toString()));
-						// only add deduction that have something new to offer
-						if (!tmpDeduc1.getPremises().contains(tmpDeduc1.getConclusion())) {
-							addDeductionCapability(tmpDeduc1);
-						}
-					}
+	private static void makeDeduction(DeductionNetwork network, Collection<Equation> equations,
+			Set<Equation> known, Set<Deduction> capability) {
+		Deque<Equation> agenda = new ArrayDeque<Equation>(equations);
+		while (!agenda.isEmpty()) {
+			for (Deduction explicit : network.insert(agenda.poll())) {
+				// only add deduction that have something new to offer
+				if (!explicit.getPremises().contains(explicit.getConclusion())
+						&& addDeduction(explicit, known, capability)) {
+					agenda.add(explicit.getConclusion());
 				}
 			}
-
 		}
 	}
 
+	/**
+	 * Method that makes the explicit deductions for a set of known equations without
+	 * changing the component, e.g. for a parser on an architecture whose components are
+	 * shared with other parsers.
+	 * @param equations
+	 * 			the known equations
+	 * @return the deduction capability for these equations
+	 */
+	public Set<Deduction> deduce(Set<Equation> equations) {
+		return deduce(deducSet, equations);
+	}
+
+	/**
+	 * Method that makes the explicit deductions of a set of deductions for a set of known
+	 * equations, e.g. with the deductions that a snapshot keeps of a component.
+	 * @param deducSet
+	 * 			the deductions with match variables
+	 * @param equations
+	 * 			the known equations
+	 * @return the deduction capability for these equations
+	 */
+	public static Set<Deduction> deduce(Set<Deduction> deducSet, Set<Equation> equations) {
+		Set<Deduction> capability = new LinkedHashSet<Deduction>();
+		makeDeduction(new DeductionNetwork(deducSet), new ArrayList<Equation>(equations),
+				new LinkedHashSet<Equation>(equations), capability);
+		return capability;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
@@ -203,29 +211,44 @@ public class Component implements Serializable {
 
 	/**
 	 * Method that adds an action to the list (and also subsequently call the
-	 * {@link #collectVars() collectVars()} method).
+	 * {@link #collectVars(Action) collectVars(Action)} method).
 	 * @param action
 	 *          the action to add
 	 */
 	public void addAction(Action action) {
 		actions.add(action);
-		// reevaluate the involved variables
-		collectVars();
-		// also update the counter values
-		//makeCounter();
+		// the variables only grow, so only the new action has to be evaluated
+		collectVars(action);
 	}
 
 	/**
 	 * Setter method for the equation list that subsequently calls the
-	 * {@link #makeDeduction() makeDeduction()} method.
+	 * {@link #makeDeduction(DeductionNetwork, Collection, Set, Set) makeDeduction} method.
+	 * If the new list only adds equations to the previous one, only the new
+	 * equations are matched with the deductions.
 	 * @param eqSet
 	 *          the list of equation to set
 	 */
 	public void setEqSet(Set<Equation> eqSet) {
-		// make copy to avoid equation sharing between components
-		this.eqSet = eqSet;
-		// also trigger the deduction capability
-		makeDeduction();
+		if (network == null || baseEquations == null || !eqSet.containsAll(baseEquations)) {
+			// equations were removed (or nothing is known yet), so start over
+			network = new DeductionNetwork(deducSet);
+			baseEquations = new LinkedHashSet<Equation>(eqSet);
+			deductionCapability = new LinkedHashSet<Deduction>();
+			// make copy to avoid equation sharing between components
+			this.eqSet = eqSet;
+			// also trigger the deduction capability
+			makeDeduction(network, new ArrayList<Equation>(eqSet), this.eqSet, deductionCapability);
+		} else {
+			// only the new equations need to be propagated
+			List<Equation> delta = new ArrayList<Equation>();
+			for (Equation eq : eqSet) {
+				if (baseEquations.add(eq) && this.eqSet.add(eq)) {
+					delta.add(eq);
+				}
+			}
+			makeDeduction(network, delta, this.eqSet, deductionCapability);
+		}
 	}
 
 	/**
@@ -233,54 +256,37 @@ public class Component implements Serializable {
 	 * Also the conclusion is added to the list of known equations.
 	 * @param deduction
 	 *          the deduction to add
+	 * @return true, if the conclusion is a newly known equation
+	 */
+	public boolean addDeductionCapability(Deduction deduction) {
+		return addDeduction(deduction, eqSet, deductionCapability);
+	}
+
+	/**
+	 * Helper method that adds a deduction to a deduction capability and its conclusion
+	 * to the known equations.
+	 * @param deduction
+	 *          the deduction to add
+	 * @param known
+	 *          the known equations
+	 * @param capability
+	 *          the deduction capability
+	 * @return true, if the conclusion is a newly known equation
 	 */
-	public void addDeductionCapability(Deduction deduction) {
+	private static boolean addDeduction(Deduction deduction, Set<Equation> known,
+			Set<Deduction> capability) {
+		boolean added = false;
 		if (!deduction.containsMatchVar()) {
 			if (!deduction.isReflexive() && !deduction.isTooComplex()) {
 				// also add the conclusion to the list of equations
-				eqSet.add(deduction.getConclusion());
+				added = known.add(deduction.getConclusion());
 				// regardless of the result, add the deduction
-				deductionCapability.add(deduction);
+				capability.add(deduction);
 			}
 		}
+		return added;
 	}
 
-	/*
-	private void makeCounter() {
-		// TODO test this!
-		for (Variable var : varSet) {
-			int count = 0;
-			int maxCount = 0;
-			for (Action a : actions) {
-				switch (a.getAction()) {
-				case CHECK:
-					for (Equation e : a.getEqSet()) {
-						if (e.getAtoms().contains(var)) {
-							count++;
-						}
-					}
-					break;
-				case COMPUTE:
-					if (a.getEq().getAtoms().contains(var)) {
-						count++;
-					}
-					break;
-				case DELETE:
-					if (a.getVar().equals(var)) {
-						count = 0;
-					}
-					break;
-				default:
-					break;
-				}
-				if (count > maxCount) {
-					maxCount = count;
-				}
-			}
-			counter.put(var, maxCount);
-		}
-	}*/
-
 	// Getter and Setter methods
 	public String getName() {
 		return name;
@@ -324,10 +330,14 @@ public class Component implements Serializable {
 
 	public void setDeducSet(Set<Deduction> deducSet) {
 		this.deducSet = deducSet;
+		// the network has to be rebuilt for the new deductions
+		network = null;
 	}
 
 	public void addDeduction(Deduction deduc) {
 		deducSet.add(deduc);
+		// the network has to be rebuilt for the new deduction
+		network = null;
 	}
 
 	public Set<Equation> getEqSet() {
@@ -342,13 +352,26 @@ public class Component implements Serializable {
 		this.deductionCapability = deductionCapability;
 	}
 
+	/**
+	 * Method that returns how often the component uses a variable before it deletes it, as
+	 * computed by the {@link StorageAnalysis} of the architecture that the component belongs
+	 * to. A copy or a snapshot of the architecture has its own counters, see
+	 * {@link Architecture#getStorage()}.
+	 * @param var
+	 *          the variable
+	 * @return the counter, or 0 if the component does not belong to an architecture
+	 */
 	public int getCounter(Variable var) {
-		return counter.get(var);
+		if (architecture == null) {
+			return 0;
+		}
+		return architecture.getStorage().getCounter(this, var);
 	}
 
-	public void setCounter(Variable var, int val) {
-		counter.put(var, val);
+	void setArchitecture(Architecture architecture) {
+		this.architecture = architecture;
 	}
+
 	
 	public Component getAssociate() {
 		return composition;
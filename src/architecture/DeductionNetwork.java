@@ -0,0 +1,172 @@
+package architecture;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import utils.SmtCleanup;
+
+/**
+ * Incremental matching network for the premises of deductions in the style of a
+ * Rete network. For every deduction, the network keeps one alpha memory per premise
+ * with the equations that have the structure of the premise and one beta memory per
+ * premise with the partial matches of all previous premises. When an equation is
+ * inserted, only the partial matches that contain the new equation are built, so
+ * that only the new explicit deductions are returned. The premises are matched with
+ * a {@link Unifier}, so that match attempts do not copy any terms.
+ */
+public class DeductionNetwork {
+
+	// Class fields
+	private List<RuleNode> rules;
+
+	/**
+	 * The Constructor that creates the network for a set of deductions.
+	 *
+	 * @param deductions
+	 *          the (variable) deductions to make explicit
+	 */
+	public DeductionNetwork(Collection<Deduction> deductions) {
+		rules = new ArrayList<RuleNode>();
+		for (Deduction deduc : deductions) {
+			if (deduc.getPremises().isEmpty()) {
+				// deductions without premises have nothing to match, e.g. reflexivity
+				continue;
+			}
+			// compile the premises and the conclusion with shared slots for the match variables
+			Map<Variable, Integer> slots = new HashMap<Variable, Integer>();
+			List<Unifier.Pattern> premises = new ArrayList<Unifier.Pattern>();
+			for (Equation premise : deduc.getPremises()) {
+				premises.add(Unifier.compile(premise, slots));
+			}
+			Unifier.Pattern conclusion = Unifier.compile(deduc.getConclusion(), slots);
+			if (!premises.contains(null) && conclusion != null) {
+				rules.add(new RuleNode(deduc, premises, conclusion, slots.size()));
+			}
+		}
+	}
+
+	/**
+	 * Method that inserts an equation into the network.
+	 *
+	 * @param eq
+	 *          the newly known equation
+	 * @return the explicit deductions that use the new equation as one of their premises
+	 */
+	public List<Deduction> insert(Equation eq) {
+		List<Deduction> explicit = new ArrayList<Deduction>();
+		for (RuleNode rule : rules) {
+			rule.insert(eq, explicit);
+		}
+		return explicit;
+	}
+
+	/**
+	 * The part of the network for a single deduction.
+	 */
+	private static class RuleNode {
+		private final Deduction deduc;
+		private final List<Unifier.Pattern> premises;
+		private final Unifier.Pattern conclusion;
+		// the unifier shared by all match attempts of this deduction
+		private final Unifier unifier;
+		// the equations that have the structure of the premise
+		private final List<EquationIndex> alpha;
+		// the partial matches of all premises before the premise
+		private final List<List<Token>> beta;
+
+		private RuleNode(Deduction deduc, List<Unifier.Pattern> premises, Unifier.Pattern conclusion,
+				int slots) {
+			this.deduc = deduc;
+			this.premises = premises;
+			this.conclusion = conclusion;
+			this.unifier = new Unifier(slots);
+			this.alpha = new ArrayList<EquationIndex>();
+			this.beta = new ArrayList<List<Token>>();
+			for (int i = 0; i < premises.size(); i++) {
+				alpha.add(new EquationIndex());
+				beta.add(new ArrayList<Token>());
+			}
+		}
+
+		private void insert(Equation eq, List<Deduction> explicit) {
+			for (int premise = 0; premise < premises.size(); premise++) {
+				// the new equation must have the structure of the premise
+				unifier.load(null);
+				if (!unifier.unify(premises.get(premise), eq)) {
+					continue;
+				}
+				// first join the new equation with the existing partial matches
+				List<Token> tokens = new ArrayList<Token>();
+				if (premise == 0) {
+					tokens.add(new Token(new Equation[] {eq}, unifier.save()));
+				} else {
+					for (Token token : beta.get(premise)) {
+						extend(token, eq, premise, tokens);
+					}
+				}
+				alpha.get(premise).add(eq);
+				// then join the new partial matches with the remaining premises
+				for (int next = premise + 1; next < premises.size(); next++) {
+					beta.get(next).addAll(tokens);
+					List<Token> joined = new ArrayList<Token>();
+					for (Token token : tokens) {
+						unifier.load(token.bindings);
+						for (Equation candidate : alpha.get(next).candidates(premises.get(next), unifier)) {
+							extend(token, candidate, next, joined);
+						}
+					}
+					tokens = joined;
+				}
+				for (Token token : tokens) {
+					explicit.add(complete(token));
+				}
+			}
+		}
+
+		private void extend(Token token, Equation eq, int premise, List<Token> tokens) {
+			for (Equation chosen : token.chosen) {
+				if (chosen == eq) {
+					// every premise needs its own equation
+					return;
+				}
+			}
+			unifier.load(token.bindings);
+			if (unifier.unify(premises.get(premise), eq)) {
+				Equation[] extended = Arrays.copyOf(token.chosen, premise + 1);
+				extended[premise] = eq;
+				tokens.add(new Token(extended, unifier.save()));
+			}
+		}
+
+		private Deduction complete(Token token) {
+			unifier.load(token.bindings);
+			// the conclusion is rewritten with every premise after the first one
+			List<Equation> rewrites = Arrays.asList(token.chosen).subList(1, token.chosen.length);
+			Equation concl = conclusion.instantiate(unifier, "", rewrites);
+			concl.setName(conclusion.getEquation().getName() + "_"
+					+ SmtCleanup.removeParantheses(concl.getOp1().toString()));
+			return new Deduction(deduc.getType(), new LinkedHashSet<Equation>(Arrays.asList(token.chosen)),
+					concl, deduc.getName() + (token.chosen.length > 1 ? "ExplicitFinal" : "Explicit"),
+					deduc.getProb());
+		}
+	}
+
+	/**
+	 * A partial match, i.e., the equations matched with the first premises and the
+	 * bindings of the match variables.
+	 */
+	private static class Token {
+		private final Equation[] chosen;
+		private final Term[] bindings;
+
+		private Token(Equation[] chosen, Term[] bindings) {
+			this.chosen = chosen;
+			this.bindings = bindings;
+		}
+	}
+}
@@ -0,0 +1,231 @@
+package architecture;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import architecture.Equation.Type;
+import architecture.Term.TermType;
+
+/**
+ * Discrimination tree over a set of equations. The equations are stored along the
+ * preorder sequence of their symbols, i.e., the relation followed by the operators,
+ * functions and atoms of both sides. A pattern equation is looked up along the same
+ * path, where every match variable skips a complete sub-term. Hence, only those
+ * equations are returned as candidates that have the structure of the pattern.
+ */
+public class EquationIndex {
+
+	// Class fields
+	private Node root;
+
+	/**
+	 * The Constructor for an empty index.
+	 */
+	public EquationIndex() {
+		root = new Node(0);
+	}
+
+	/**
+	 * The Constructor that indexes a collection of equations.
+	 *
+	 * @param equations
+	 *          the equations to add
+	 */
+	public EquationIndex(Collection<Equation> equations) {
+		this();
+		for (Equation eq : equations) {
+			add(eq);
+		}
+	}
+
+	/**
+	 * Method that adds an equation to the index.
+	 * Only relations are indexed, as conjunctions can not be matched.
+	 *
+	 * @param eq
+	 *          the equation to add
+	 */
+	public void add(Equation eq) {
+		if (eq.getType() != Type.RELATION) {
+			return;
+		}
+		List<Symbol> symbols = new ArrayList<Symbol>();
+		flatten(eq, symbols);
+		Node node = root;
+		for (Symbol symbol : symbols) {
+			Node child = node.children.get(symbol.name);
+			if (child == null) {
+				child = new Node(symbol.arity);
+				node.children.put(symbol.name, child);
+			}
+			node = child;
+		}
+		node.equations.add(eq);
+	}
+
+	/**
+	 * Method that returns all equations that can be unified with a compiled pattern
+	 * under the current bindings of a unifier. Bound match variables are looked up
+	 * with the structure of their terms, while unbound ones stand for arbitrary sub-terms.
+	 *
+	 * @param pattern
+	 *          the compiled pattern equation
+	 * @param unifier
+	 *          the unifier with the current bindings
+	 * @return a new list of candidate equations
+	 */
+	public List<Equation> candidates(Unifier.Pattern pattern, Unifier unifier) {
+		List<Equation> result = new ArrayList<Equation>();
+		Node node = root.children.get("=" + pattern.getRel());
+		if (node != null) {
+			List<Node> ends = new ArrayList<Node>();
+			descend(node, pattern.getOp1(), unifier, ends);
+			for (Node end : ends) {
+				List<Node> ends2 = new ArrayList<Node>();
+				descend(end, pattern.getOp2(), unifier, ends2);
+				for (Node end2 : ends2) {
+					result.addAll(end2.equations);
+				}
+			}
+		}
+		return result;
+	}
+
+	private void descend(Node node, Unifier.Node pattern, Unifier unifier, List<Node> ends) {
+		if (pattern.getSlot() >= 0) {
+			Term bound = unifier.getBinding(pattern.getSlot());
+			if (bound == null) {
+				// the match variable stands for any sub-term
+				skip(node, 1, ends);
+			} else {
+				descend(node, bound, ends);
+			}
+			return;
+		}
+		Node child = node.children.get(symbolOf(pattern.getTerm()));
+		if (child == null) {
+			return;
+		}
+		if (pattern.getArgs() == null) {
+			ends.add(child);
+			return;
+		}
+		List<Node> current = new ArrayList<Node>();
+		current.add(child);
+		for (Unifier.Node arg : pattern.getArgs()) {
+			List<Node> next = new ArrayList<Node>();
+			for (Node n : current) {
+				descend(n, arg, unifier, next);
+			}
+			current = next;
+		}
+		ends.addAll(current);
+	}
+
+	private void descend(Node node, Term term, List<Node> ends) {
+		Node child = node.children.get(symbolOf(term));
+		if (child == null) {
+			return;
+		}
+		if (term.getType() == TermType.ATOM) {
+			ends.add(child);
+			return;
+		}
+		List<Node> current = new ArrayList<Node>();
+		current.add(child);
+		for (Term arg : new Term[] {term.getT1(), term.getT2(), term.getT3()}) {
+			if (arg == null) {
+				break;
+			}
+			List<Node> next = new ArrayList<Node>();
+			for (Node n : current) {
+				descend(n, arg, next);
+			}
+			current = next;
+		}
+		ends.addAll(current);
+	}
+
+	private void skip(Node node, int pending, List<Node> ends) {
+		if (pending == 0) {
+			ends.add(node);
+			return;
+		}
+		for (Node child : node.children.values()) {
+			// a symbol consumes one pending term and opens one for each argument
+			skip(child, pending - 1 + child.arity, ends);
+		}
+	}
+
+	private static void flatten(Equation eq, List<Symbol> symbols) {
+		symbols.add(new Symbol("=" + eq.getRel(), 2));
+		flatten(eq.getOp1(), symbols);
+		flatten(eq.getOp2(), symbols);
+	}
+
+	private static void flatten(Term term, List<Symbol> symbols) {
+		if (term.getType() == TermType.ATOM) {
+			symbols.add(new Symbol(symbolOf(term), 0));
+			return;
+		}
+		symbols.add(new Symbol(symbolOf(term), arity(term)));
+		flatten(term.getT1(), symbols);
+		if (term.getT2() != null) {
+			flatten(term.getT2(), symbols);
+		}
+		if (term.getT3() != null) {
+			flatten(term.getT3(), symbols);
+		}
+	}
+
+	private static String symbolOf(Term term) {
+		if (term.getType() == TermType.ATOM) {
+			return "a:" + term.getAtom().getName();
+		}
+		return "f:" + term.getOp() + ":" + term.getFuncName() + "/" + arity(term);
+	}
+
+	private static int arity(Term term) {
+		switch (term.getOpType()) {
+		case UNARY:
+			return 1;
+		case BINARY:
+			return 2;
+		case TERTIARY:
+			return 3;
+		default:
+			return 0;
+		}
+	}
+
+	/**
+	 * A node of the tree with the equations whose symbol sequence ends here.
+	 */
+	private static class Node {
+		private final int arity;
+		private final Map<String, Node> children;
+		private final List<Equation> equations;
+
+		private Node(int arity) {
+			this.arity = arity;
+			this.children = new HashMap<String, Node>();
+			this.equations = new ArrayList<Equation>(1);
+		}
+	}
+
+	/**
+	 * A symbol in the preorder sequence together with its number of arguments.
+	 */
+	private static class Symbol {
+		private final String name;
+		private final int arity;
+
+		private Symbol(String name, int arity) {
+			this.name = name;
+			this.arity = arity;
+		}
+	}
+}
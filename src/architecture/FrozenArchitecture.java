@@ -0,0 +1,406 @@
+package architecture;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import properties.Parser;
+import properties.Property;
+import utils.SuccessIndexPair;
+
+/**
+ * Immutable snapshot of an architecture, created by {@link Architecture#freeze()}.
+ * All lists are stored as arrays and only handed out as read-only views, and the
+ * positions of components, variables and data types are kept in a hash index.
+ * Every method that would change the architecture throws an
+ * UnsupportedOperationException. The variables, dependences, deductions and deduction
+ * capabilities of the components are copied as well and read through the architecture,
+ * e.g. {@link #getDepSet(Component)}, so later changes of the components do not change
+ * the snapshot. As the bottom up parser only reads the architecture, any number of
+ * parsers in different threads can share one snapshot without locks.
+ */
+public final class FrozenArchitecture extends Architecture {
+
+	/**
+	 * @serial Serial ID for storing architecture objects in files.
+	 */
+	private static final long serialVersionUID = 3318296950173684123L;
+
+	/**
+	 * The state of a component when the snapshot was taken.
+	 */
+	private static final class ComponentState implements Serializable {
+
+		private static final long serialVersionUID = -1856027335107410592L;
+		private static final ComponentState EMPTY = new ComponentState(Collections.<Variable>emptySet(),
+				Collections.<Dep>emptySet(), Collections.<Deduction>emptySet(), Collections.<Deduction>emptySet());
+
+		// class fields
+		private final Set<Variable> varSet;
+		private final Set<Dep> depSet;
+		private final Set<Deduction> deducSet;
+		private final Set<Deduction> deductionCapability;
+
+		private ComponentState(Set<Variable> varSet, Set<Dep> depSet, Set<Deduction> deducSet,
+				Set<Deduction> deductionCapability) {
+			this.varSet = copy(varSet);
+			this.depSet = copy(depSet);
+			this.deducSet = copy(deducSet);
+			this.deductionCapability = copy(deductionCapability);
+		}
+
+		private static <T> Set<T> copy(Set<T> set) {
+			return Collections.unmodifiableSet(new LinkedHashSet<T>(set));
+		}
+	}
+
+	// class fields
+	private final Component[] components;
+	// the state of every component at the same position
+	private final ComponentState[] states;
+	private final Action[] interCompActions;
+	private final Action[] allActions;
+	private final Trust[] trusts;
+	private final Property[] properties;
+	private final Variable[] variables;
+	private final DataType[] dataTypes;
+	private final Equation[] equations;
+	private final Statement[] statements;
+	private final Composition[] compositions;
+	private final PurposeHierarchy purpHier;
+	private final StorageAnalysis storage;
+	// position of the first occurrence of every component, variable and data type
+	private final Map<Component, Integer> compIndex;
+	private final Map<Variable, Integer> varIndex;
+	private final Map<DataType, Integer> dtIndex;
+	// the consistency check only depends on the actions, so it is done once by the first caller
+	private transient volatile SuccessIndexPair consistency;
+
+	/**
+	 * The Constructor that copies the current state of an architecture and its components.
+	 * The storage counters are computed again, as the architecture may still be changed.
+	 *
+	 * @param arch
+	 *          the architecture to copy
+	 */
+	FrozenArchitecture(Architecture arch) {
+		this(arch.getCompList(), arch.getInterComp_Actions(), arch.getAllActions(), arch.getTrusts(),
+				arch.getAllProperties(), arch.getVariables(), arch.getDataTypes(), arch.getAllEquations(),
+				arch.getAllStatements(), arch.getCompositions(), arch.getPurposeHierarchy(),
+				new StorageAnalysis(arch.getAllActions()), arch);
+	}
+
+	/**
+	 * The Constructor that assembles a snapshot from its lists, e.g. for an
+	 * {@link ArchitectureVersion}. The lists and the state of the components are copied.
+	 *
+	 * @param compList
+	 *          the components
+	 * @param interCompActions
+	 *          the interactions between two components
+	 * @param allActions
+	 *          all actions in their order
+	 * @param trusts
+	 *          the trust relations
+	 * @param properties
+	 *          the properties
+	 * @param variables
+	 *          the variables
+	 * @param dataTypes
+	 *          the data types
+	 * @param equations
+	 *          the equations
+	 * @param statements
+	 *          the statements
+	 * @param compositions
+	 *          the compositions
+	 * @param purpHier
+	 *          the purpose hierarchy
+	 * @param storage
+	 *          the storage counters of all actions
+	 * @param source
+	 *          the architecture that the state of the components is read from, e.g. a
+	 *          snapshot that is split, or null to read it from the components themselves
+	 */
+	FrozenArchitecture(List<Component> compList, List<Action> interCompActions, List<Action> allActions,
+			List<Trust> trusts, List<Property> properties, List<Variable> variables, List<DataType> dataTypes,
+			List<Equation> equations, List<Statement> statements, List<Composition> compositions,
+			PurposeHierarchy purpHier, StorageAnalysis storage, Architecture source) {
+		super();
+		components = compList.toArray(new Component[0]);
+		states = new ComponentState[components.length];
+		for (int i = 0; i < components.length; i++) {
+			Component comp = components[i];
+			states[i] = source == null
+					? new ComponentState(comp.getVarSet(), comp.getDepSet(), comp.getDeducSet(),
+							comp.getDeductionCapability())
+					: new ComponentState(source.getVarSet(comp), source.getDepSet(comp),
+							source.getDeducSet(comp), source.getDeductionCapability(comp));
+		}
+		this.interCompActions = interCompActions.toArray(new Action[0]);
+		this.allActions = allActions.toArray(new Action[0]);
+		this.trusts = trusts.toArray(new Trust[0]);
+		this.properties = properties.toArray(new Property[0]);
+		this.variables = variables.toArray(new Variable[0]);
+		this.dataTypes = dataTypes.toArray(new DataType[0]);
+		this.equations = equations.toArray(new Equation[0]);
+		this.statements = statements.toArray(new Statement[0]);
+		this.compositions = compositions.toArray(new Composition[0]);
+		this.purpHier = purpHier;
+		this.storage = storage;
+		compIndex = index(components);
+		varIndex = index(this.variables);
+		dtIndex = index(this.dataTypes);
+	}
+
+	private static <T> Map<T, Integer> index(T[] array) {
+		Map<T, Integer> index = new HashMap<T, Integer>(2 * array.length);
+		for (int i = 0; i < array.length; i++) {
+			index.putIfAbsent(array[i], i);
+		}
+		return index;
+	}
+
+	private static <T> List<T> view(T[] array) {
+		return Collections.unmodifiableList(Arrays.asList(array));
+	}
+
+	private static UnsupportedOperationException frozen() {
+		return new UnsupportedOperationException("The architecture is frozen");
+	}
+
+	@Override
+	public FrozenArchitecture freeze() {
+		return this;
+	}
+
+	@Override
+	public boolean trust(Component comp1, Component comp2) {
+		for (Trust trust : trusts) {
+			if (trust.isEqual(comp1, comp2, Collections.emptySet())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public int indexOf(Component comp) {
+		Integer index = compIndex.get(comp);
+		return index == null ? -1 : index;
+	}
+
+	@Override
+	public int indexOf(Variable var) {
+		Integer index = varIndex.get(var);
+		return index == null ? -1 : index;
+	}
+
+	@Override
+	public int indexOf(DataType dt) {
+		Integer index = dtIndex.get(dt);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * Helper method that returns the state of a component, which is empty for a component
+	 * that is not part of the snapshot.
+	 */
+	private ComponentState state(Component comp) {
+		Integer index = compIndex.get(comp);
+		return index == null ? ComponentState.EMPTY : states[index];
+	}
+
+	@Override
+	public Set<Variable> getVarSet(Component comp) {
+		return state(comp).varSet;
+	}
+
+	@Override
+	public Set<Dep> getDepSet(Component comp) {
+		return state(comp).depSet;
+	}
+
+	@Override
+	public Set<Deduction> getDeducSet(Component comp) {
+		return state(comp).deducSet;
+	}
+
+	@Override
+	public Set<Deduction> getDeductionCapability(Component comp) {
+		return state(comp).deductionCapability;
+	}
+
+	/**
+	 * Method that checks the snapshot for consistency with the check of the parsers.
+	 *
+	 * @return success or else the index of the problematic action
+	 */
+	public SuccessIndexPair getConsistency() {
+		return getConsistency(Parser::verifyArchitecture);
+	}
+
+	/**
+	 * Method that checks the snapshot for consistency. As the snapshot does not change, only
+	 * the first caller runs its check, e.g. one that records its time in a context, and all
+	 * callers get the same result.
+	 *
+	 * @param check
+	 *          the consistency check
+	 * @return success or else the index of the problematic action
+	 */
+	public SuccessIndexPair getConsistency(Function<? super FrozenArchitecture, SuccessIndexPair> check) {
+		SuccessIndexPair result = consistency;
+		return result == null ? checkConsistency(check) : result;
+	}
+
+	private synchronized SuccessIndexPair checkConsistency(
+			Function<? super FrozenArchitecture, SuccessIndexPair> check) {
+		if (consistency == null) {
+			consistency = check.apply(this);
+		}
+		return consistency;
+	}
+
+	@Override
+	public void collectEquations() {
+		throw frozen();
+	}
+
+	@Override
+	public void collectStatements() {
+		throw frozen();
+	}
+
+	@Override
+	public void addStatement(Statement stmnt) {
+		throw frozen();
+	}
+
+	@Override
+	public void addEquation(Equation eq) {
+		throw frozen();
+	}
+
+	@Override
+	public void addVariable(Variable var) {
+		throw frozen();
+	}
+
+	@Override
+	public void addDataType(DataType dt) {
+		throw frozen();
+	}
+
+	@Override
+	public void addAction(Action action) {
+		throw frozen();
+	}
+
+	@Override
+	public void addComponent(Component comp) {
+		throw frozen();
+	}
+
+	@Override
+	public void addInterComp_Action(Action action) {
+		throw frozen();
+	}
+
+	// getter methods
+	@Override
+	public List<Component> getCompList() {
+		return view(components);
+	}
+
+	@Override
+	public void setCompList(List<Component> compList) {
+		throw frozen();
+	}
+
+	@Override
+	public List<Action> getInterComp_Actions() {
+		return view(interCompActions);
+	}
+
+	@Override
+	public void setInterComp_Actions(List<Action> interCompActions) {
+		throw frozen();
+	}
+
+	@Override
+	public List<Action> getAllActions() {
+		return view(allActions);
+	}
+
+	@Override
+	public void setAllActions(List<Action> allActions) {
+		throw frozen();
+	}
+
+	@Override
+	public StorageAnalysis getStorage() {
+		return storage;
+	}
+
+	@Override
+	public List<Trust> getTrusts() {
+		return view(trusts);
+	}
+
+	@Override
+	public void setTrusts(List<Trust> trusts) {
+		throw frozen();
+	}
+
+	@Override
+	public List<Composition> getCompositions() {
+		return view(compositions);
+	}
+
+	@Override
+	public List<Variable> getVariables() {
+		return view(variables);
+	}
+
+	@Override
+	public List<Equation> getAllEquations() {
+		return view(equations);
+	}
+
+	@Override
+	public void setAllEquations(List<Equation> allEquations) {
+		throw frozen();
+	}
+
+	@Override
+	public List<Property> getAllProperties() {
+		return view(properties);
+	}
+
+	@Override
+	public void setAllProperties(List<Property> allProperties) {
+		throw frozen();
+	}
+
+	@Override
+	public List<Statement> getAllStatements() {
+		return view(statements);
+	}
+
+	@Override
+	public PurposeHierarchy getPurposeHierarchy() {
+		return purpHier;
+	}
+
+	@Override
+	public List<DataType> getDataTypes() {
+		return view(dataTypes);
+	}
+}
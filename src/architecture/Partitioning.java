@@ -0,0 +1,322 @@
+package architecture;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import properties.Property;
+
+/**
+ * Partitioning of an architecture into independent parts. Two components are in the
+ * same part if they are connected by actions (e.g. receive actions or verifications of
+ * attestations), trust relations or compositions. A property about the components of
+ * one part only depends on the actions of that part, so every part can be verified
+ * separately with its own, smaller parser. The parts are immutable snapshots that share
+ * the purpose hierarchy of the architecture, but are sliced to the variables, data types,
+ * equations, statements and properties that their components and actions refer to. Hence
+ * a backend that encodes a whole architecture (e.g. the SMT script of the top down parser
+ * or the facts of the Prolog parser) only encodes the slice of a part.
+ */
+public class Partitioning {
+
+	// class fields
+	private final FrozenArchitecture arch;
+	// the part of every component by its index in the architecture
+	private final int[] partOf;
+	private final List<FrozenArchitecture> parts;
+	// the equations of every part for the lookup of properties
+	private final List<Set<Equation>> equationsOf;
+
+	/**
+	 * The Constructor that partitions an architecture with a union-find structure.
+	 *
+	 * @param arch
+	 *          the architecture
+	 */
+	public Partitioning(Architecture arch) {
+		this.arch = arch.freeze();
+		List<Component> compList = this.arch.getCompList();
+		int[] parent = new int[compList.size()];
+		for (int i = 0; i < parent.length; i++) {
+			parent[i] = i;
+		}
+		for (Action action : this.arch.getAllActions()) {
+			union(parent, ArchitectureVersion.involved(action));
+		}
+		for (Trust trust : this.arch.getTrusts()) {
+			union(parent, ArchitectureVersion.involved(trust));
+		}
+		for (Composition compos : this.arch.getCompositions()) {
+			union(parent, ArchitectureVersion.involved(compos));
+		}
+		// number the parts in the order of their first component
+		partOf = new int[parent.length];
+		int[] partOfRoot = new int[parent.length];
+		int count = 0;
+		for (int i = 0; i < parent.length; i++) {
+			int root = find(parent, i);
+			if (partOfRoot[root] == 0) {
+				partOfRoot[root] = ++count;
+			}
+			partOf[i] = partOfRoot[root] - 1;
+		}
+		equationsOf = new ArrayList<Set<Equation>>(count);
+		parts = split(count);
+	}
+
+	/**
+	 * Method that returns the part of a component.
+	 *
+	 * @param comp
+	 *          the component
+	 * @return the index of the part or -1, if the component is not in the architecture
+	 */
+	public int partOf(Component comp) {
+		int index = arch.indexOf(comp);
+		return index < 0 ? -1 : partOf[index];
+	}
+
+	/**
+	 * Method that returns the part that a property can be verified in. This is the part of
+	 * the owners of all its statements, if the slice of the part contains the variables,
+	 * equations and data types of the property.
+	 *
+	 * @param property
+	 *          the property
+	 * @return the index of the part or -1, if the property needs the whole architecture
+	 */
+	public int partOf(Property property) {
+		Set<Component> owners = new LinkedHashSet<Component>();
+		if (!collectOwners(property, owners) || owners.isEmpty()) {
+			return -1;
+		}
+		int part = partOf(owners.iterator().next());
+		for (Component owner : owners) {
+			if (part < 0 || partOf(owner) != part) {
+				return -1;
+			}
+		}
+		return covers(part, property) ? part : -1;
+	}
+
+	/**
+	 * Method that returns the slice of the architecture that is relevant for a property, i.e.
+	 * the part of its owners or the whole architecture, if the property spans several parts.
+	 *
+	 * @param property
+	 *          the property
+	 * @return the slice
+	 */
+	public FrozenArchitecture slice(Property property) {
+		int part = partOf(property);
+		return part < 0 ? arch : parts.get(part);
+	}
+
+	private static boolean collectOwners(Property property, Set<Component> owners) {
+		if (property.getSt1() != null) {
+			return collectOwners(property.getSt1(), owners)
+					&& (property.getSt2() == null || collectOwners(property.getSt2(), owners));
+		}
+		if (property.getOwner() == null) {
+			return false;
+		}
+		owners.add(property.getOwner());
+		return true;
+	}
+
+	private boolean covers(int part, Property property) {
+		if (property.getSt1() != null) {
+			return covers(part, property.getSt1()) && (property.getSt2() == null || covers(part, property.getSt2()));
+		}
+		FrozenArchitecture slice = parts.get(part);
+		return (property.getVar() == null || slice.indexOf(property.getVar()) >= 0)
+				&& (property.getEq() == null || equationsOf.get(part).contains(property.getEq()))
+				&& (property.getDt() == null || slice.indexOf(property.getDt()) >= 0);
+	}
+
+	/**
+	 * Helper method that assembles the parts, where all lists keep the order of the
+	 * architecture. The variables, data types, equations and statements are sliced to those
+	 * that the components, actions, trust relations and properties of a part refer to, and
+	 * to the equations over these variables.
+	 *
+	 * @param count
+	 *          the number of parts
+	 * @return the parts
+	 */
+	private List<FrozenArchitecture> split(int count) {
+		List<List<Component>> comps = newLists(count);
+		List<Set<Variable>> vars = newSets(count);
+		for (int i = 0; i < partOf.length; i++) {
+			Component comp = arch.getCompList().get(i);
+			comps.get(partOf[i]).add(comp);
+			addAll(vars.get(partOf[i]), arch.getVarSet(comp));
+			for (Dep dep : arch.getDepSet(comp)) {
+				vars.get(partOf[i]).add(dep.getVar());
+				addAll(vars.get(partOf[i]), dep.getVarSet());
+			}
+		}
+		List<List<Action>> interCompActions = newLists(count);
+		for (Action action : arch.getInterComp_Actions()) {
+			interCompActions.get(partOf(action.getComponent())).add(action);
+		}
+		List<List<Action>> allActions = newLists(count);
+		List<Set<Equation>> eqs = newSets(count);
+		List<Set<Statement>> sts = newSets(count);
+		List<Set<DataType>> dts = newSets(count);
+		for (Action action : arch.getAllActions()) {
+			int p = partOf(action.getComponent());
+			allActions.get(p).add(action);
+			vars.get(p).add(action.getVar());
+			addAll(vars.get(p), action.getVarSet());
+			eqs.get(p).add(action.getEq());
+			addAll(eqs.get(p), action.getEqSet());
+			addAll(sts.get(p), action.getStSet());
+			sts.get(p).add(action.getAtt());
+			sts.get(p).add(action.getPro());
+			dts.get(p).add(action.getDt());
+		}
+		List<List<Trust>> trusts = newLists(count);
+		for (Trust trust : arch.getTrusts()) {
+			int p = partOf(trust.getTruster());
+			trusts.get(p).add(trust);
+			addAll(vars.get(p), trust.getVars());
+		}
+		List<List<Composition>> compositions = newLists(count);
+		for (Composition compos : arch.getCompositions()) {
+			compositions.get(partOf(compos.getContainer())).add(compos);
+		}
+		List<List<Property>> properties = newLists(count);
+		for (Property property : arch.getAllProperties()) {
+			Set<Component> owners = new HashSet<Component>();
+			if (collectOwners(property, owners) && !owners.isEmpty()) {
+				int p = partOf(owners.iterator().next());
+				if (p >= 0 && owners.stream().allMatch(owner -> partOf(owner) == p)) {
+					properties.get(p).add(property);
+					collectReferences(property, vars.get(p), eqs.get(p), dts.get(p));
+				}
+			}
+		}
+		// the attestations and proofs of the components of a part
+		for (Statement st : arch.getAllStatements()) {
+			Component comp = st instanceof Attest ? ((Attest) st).getComponent()
+					: st instanceof Proof ? ((Proof) st).getComponent() : null;
+			if (comp != null && partOf(comp) >= 0) {
+				sts.get(partOf(comp)).add(st);
+			}
+		}
+		// the equations over the variables of a part, e.g. those of its properties
+		for (int p = 0; p < count; p++) {
+			for (Equation eq : eqs.get(p)) {
+				if (eq != null) {
+					vars.get(p).addAll(eq.getAtoms());
+				}
+			}
+		}
+		for (Equation eq : arch.getAllEquations()) {
+			for (int p = 0; p < count; p++) {
+				if (!Collections.disjoint(eq.getAtoms(), vars.get(p))) {
+					eqs.get(p).add(eq);
+				}
+			}
+		}
+		List<FrozenArchitecture> result = new ArrayList<FrozenArchitecture>(count);
+		for (int p = 0; p < count; p++) {
+			equationsOf.add(eqs.get(p));
+			result.add(new FrozenArchitecture(comps.get(p), interCompActions.get(p), allActions.get(p),
+					trusts.get(p), properties.get(p), filter(arch.getVariables(), vars.get(p)),
+					filter(arch.getDataTypes(), dts.get(p)), filter(arch.getAllEquations(), eqs.get(p)),
+					filter(arch.getAllStatements(), sts.get(p)), compositions.get(p),
+					arch.getPurposeHierarchy(), new StorageAnalysis(allActions.get(p)), arch));
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	private static void collectReferences(Property property, Set<Variable> vars, Set<Equation> eqs,
+			Set<DataType> dts) {
+		if (property.getSt1() != null) {
+			collectReferences(property.getSt1(), vars, eqs, dts);
+			if (property.getSt2() != null) {
+				collectReferences(property.getSt2(), vars, eqs, dts);
+			}
+			return;
+		}
+		vars.add(property.getVar());
+		eqs.add(property.getEq());
+		dts.add(property.getDt());
+	}
+
+	private static <T> void addAll(Set<T> set, Set<? extends T> elements) {
+		if (elements != null) {
+			set.addAll(elements);
+		}
+	}
+
+	private static <T> List<T> filter(List<T> list, Set<T> keep) {
+		List<T> result = new ArrayList<T>();
+		for (T element : list) {
+			if (keep.contains(element)) {
+				result.add(element);
+			}
+		}
+		return result;
+	}
+
+	private static <T> List<Set<T>> newSets(int count) {
+		List<Set<T>> sets = new ArrayList<Set<T>>(count);
+		for (int i = 0; i < count; i++) {
+			sets.add(new HashSet<T>());
+		}
+		return sets;
+	}
+
+	private static <T> List<List<T>> newLists(int count) {
+		List<List<T>> lists = new ArrayList<List<T>>(count);
+		for (int i = 0; i < count; i++) {
+			lists.add(new ArrayList<T>());
+		}
+		return lists;
+	}
+
+	private void union(int[] parent, Iterable<Component> comps) {
+		int first = -1;
+		for (Component comp : comps) {
+			int index = arch.indexOf(comp);
+			if (index < 0) {
+				// not a component of the architecture, hence not in any part
+				continue;
+			}
+			if (first < 0) {
+				first = find(parent, index);
+			} else {
+				int root = find(parent, index);
+				if (root != first) {
+					// the smaller index becomes the root
+					parent[Math.max(root, first)] = Math.min(root, first);
+					first = Math.min(root, first);
+				}
+			}
+		}
+	}
+
+	private static int find(int[] parent, int i) {
+		while (parent[i] != i) {
+			// path halving
+			parent[i] = parent[parent[i]];
+			i = parent[i];
+		}
+		return i;
+	}
+
+	// getter methods
+	public FrozenArchitecture getArchitecture() {
+		return arch;
+	}
+
+	public List<FrozenArchitecture> getParts() {
+		return parts;
+	}
+}
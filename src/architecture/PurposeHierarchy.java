@@ -212,6 +212,10 @@ public class PurposeHierarchy implements Serializable {
 		return adjacencyMatrix;
 	}
 
+	public void setAM(boolean [][] adjacencyMatrix) {
+		this.adjacencyMatrix = adjacencyMatrix;
+	}
+
 	public Purpose getTop() {
 		return top;
 	}
@@ -0,0 +1,167 @@
+package architecture;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Storage lifetime analysis of an architecture. For every pair of component and
+ * variable the maximum number of uses of the variable before it is deleted by the
+ * component is computed in a single pass over the ordered list of actions.
+ * The results are kept in primitive tables indexed by component and variable.
+ */
+public class StorageAnalysis implements Serializable {
+
+	/**
+	 * @serial Serial ID for storing architecture objects in files.
+	 */
+	private static final long serialVersionUID = 2904381675340958216L;
+
+	// initial size of the tables
+	private static final int INITIAL_SIZE = 16;
+
+	// Class fields
+	private Map<Component, Integer> compIndex;
+	private Map<Variable, Integer> varIndex;
+	// the uses since the last delete
+	private int[][] count;
+	// the maximum uses before a delete
+	private int[][] maxCount;
+
+	/**
+	 * The Constructor that runs the analysis on an ordered list of actions.
+	 *
+	 * @param actions
+	 *          the ordered list of all actions in the architecture
+	 */
+	public StorageAnalysis(List<Action> actions) {
+		compIndex = new HashMap<Component, Integer>();
+		varIndex = new HashMap<Variable, Integer>();
+		count = new int[INITIAL_SIZE][INITIAL_SIZE];
+		maxCount = new int[INITIAL_SIZE][INITIAL_SIZE];
+		for (Action action : actions) {
+			record(action);
+		}
+	}
+
+	/**
+	 * Method that updates the counters with an action that is appended to the end
+	 * of the action list.
+	 *
+	 * @param action
+	 *          the action to record
+	 */
+	public void record(Action action) {
+		switch (action.getAction()) {
+		case CHECK:
+			// every checked equation that contains the variable is one use
+			for (Equation e : action.getEqSet()) {
+				if (e.getAtoms() != null) {
+					for (Variable var : e.getAtoms()) {
+						use(action.getComponent(), var);
+					}
+				}
+			}
+			break;
+		case COMPUTE:
+			if (action.getEq().getAtoms() != null) {
+				for (Variable var : action.getEq().getAtoms()) {
+					use(action.getComponent(), var);
+				}
+			}
+			break;
+		case DELETE:
+			if (action.getVar() != null) {
+				delete(action.getComponent(), action.getVar());
+			}
+			break;
+		case RECEIVE:
+			// fall through
+		case PRECEIVE:
+			// fall through
+		case CRECEIVE:
+			// sending a variable to another component is a use by the sender
+			if (!action.getComponent().equals(action.getComPartner())) {
+				for (Variable var : action.getVarSet()) {
+					use(action.getComPartner(), var);
+				}
+			}
+			break;
+		default:
+			// nothing to count
+			break;
+		}
+	}
+
+	/**
+	 * Method that returns the maximum number of uses of a variable by a component
+	 * before the component deletes it.
+	 *
+	 * @param comp
+	 *          the component
+	 * @param var
+	 *          the variable
+	 * @return the maximum number of uses before a delete or 0 if never used
+	 */
+	public int getCounter(Component comp, Variable var) {
+		Integer c = compIndex.get(comp);
+		Integer v = varIndex.get(var);
+		if (c == null || v == null) {
+			return 0;
+		}
+		return maxCount[c][v];
+	}
+
+	private void use(Component comp, Variable var) {
+		int c = indexOf(comp);
+		int v = indexOf(var);
+		count[c][v]++;
+		if (count[c][v] > maxCount[c][v]) {
+			maxCount[c][v] = count[c][v];
+		}
+	}
+
+	private void delete(Component comp, Variable var) {
+		Integer c = compIndex.get(comp);
+		Integer v = varIndex.get(var);
+		if (c != null && v != null) {
+			count[c][v] = 0;
+		}
+	}
+
+	private int indexOf(Component comp) {
+		Integer index = compIndex.get(comp);
+		if (index == null) {
+			index = compIndex.size();
+			compIndex.put(comp, index);
+			if (index >= count.length) {
+				// grow the rows of the tables
+				count = Arrays.copyOf(count, 2 * count.length);
+				maxCount = Arrays.copyOf(maxCount, 2 * maxCount.length);
+				for (int i = index; i < count.length; i++) {
+					count[i] = new int[count[0].length];
+					maxCount[i] = new int[maxCount[0].length];
+				}
+			}
+		}
+		return index;
+	}
+
+	private int indexOf(Variable var) {
+		Integer index = varIndex.get(var);
+		if (index == null) {
+			index = varIndex.size();
+			varIndex.put(var, index);
+			if (index >= count[0].length) {
+				// grow the columns of the tables
+				for (int i = 0; i < count.length; i++) {
+					count[i] = Arrays.copyOf(count[i], 2 * count[i].length);
+					maxCount[i] = Arrays.copyOf(maxCount[i], 2 * maxCount[i].length);
+				}
+			}
+		}
+		return index;
+	}
+}
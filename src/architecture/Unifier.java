@@ -0,0 +1,311 @@
+package architecture;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import architecture.Equation.Relation;
+import architecture.Equation.Type;
+import architecture.Term.OperatorType;
+import architecture.Term.TermType;
+
+/**
+ * Unification engine for matching pattern equations with known equations.
+ * The match variables of the patterns are compiled into slots of a bindings array.
+ * Every binding is recorded on a trail, so that a failed match attempt is undone by
+ * resetting the trail instead of copying terms. Substitutions are only applied when
+ * a term is instantiated, e.g., the conclusion of a complete deduction.
+ */
+public class Unifier {
+
+	// Class fields
+	private Term[] bindings;
+	private int[] trail;
+	private int top;
+
+	/**
+	 * The Constructor for a unifier with a fixed number of slots.
+	 *
+	 * @param slots
+	 *          the number of match variables
+	 */
+	public Unifier(int slots) {
+		bindings = new Term[slots];
+		trail = new int[slots];
+		top = 0;
+	}
+
+	/**
+	 * Method that matches a pattern with an equation under the current bindings.
+	 * On success the new bindings are kept, otherwise the bindings are unchanged.
+	 *
+	 * @param pattern
+	 *          the compiled pattern equation
+	 * @param eq
+	 *          the equation
+	 * @return true, if the equation is an instance of the pattern
+	 */
+	public boolean unify(Pattern pattern, Equation eq) {
+		if (eq.getType() != Type.RELATION || eq.getRel() != pattern.rel) {
+			return false;
+		}
+		int mark = top;
+		if (unify(pattern.op1, eq.getOp1()) && unify(pattern.op2, eq.getOp2())) {
+			return true;
+		}
+		undo(mark);
+		return false;
+	}
+
+	private boolean unify(Node pattern, Term term) {
+		if (pattern.slot >= 0) {
+			Term bound = bindings[pattern.slot];
+			if (bound == null) {
+				// bind the match variable
+				bindings[pattern.slot] = term;
+				trail[top++] = pattern.slot;
+				return true;
+			}
+			return bound.equals(term);
+		}
+		if (pattern.args == null) {
+			// explicit atom, must be equal
+			return term.getType() == TermType.ATOM && pattern.term.getAtom().equals(term.getAtom());
+		}
+		if (term.getType() != TermType.COMPOSITION || term.getOp() != pattern.term.getOp()
+				|| term.getOpType() != pattern.term.getOpType()
+				|| (term.getFuncName() == null ? pattern.term.getFuncName() != null
+						: !term.getFuncName().equals(pattern.term.getFuncName()))) {
+			return false;
+		}
+		return unify(pattern.args[0], term.getT1())
+				&& (pattern.args.length < 2 || unify(pattern.args[1], term.getT2()))
+				&& (pattern.args.length < 3 || unify(pattern.args[2], term.getT3()));
+	}
+
+	/**
+	 * Method that removes all bindings made after a mark.
+	 *
+	 * @param mark
+	 *          the position of the trail
+	 */
+	public void undo(int mark) {
+		while (top > mark) {
+			bindings[trail[--top]] = null;
+		}
+	}
+
+	/**
+	 * Method that returns a copy of the current bindings.
+	 *
+	 * @return the bindings
+	 */
+	public Term[] save() {
+		return bindings.clone();
+	}
+
+	/**
+	 * Method that replaces the current bindings with saved ones (or clears them).
+	 *
+	 * @param saved
+	 *          the saved bindings or null for no bindings
+	 */
+	public void load(Term[] saved) {
+		if (saved == null) {
+			Arrays.fill(bindings, null);
+		} else {
+			System.arraycopy(saved, 0, bindings, 0, bindings.length);
+		}
+		top = 0;
+	}
+
+	/**
+	 * Method that returns the term bound to a slot.
+	 *
+	 * @param slot
+	 *          the slot of the match variable
+	 * @return the term or null, if not bound
+	 */
+	public Term getBinding(int slot) {
+		return bindings[slot];
+	}
+
+	/**
+	 * Method that applies the current bindings to a pattern term.
+	 * Unbound match variables are kept.
+	 *
+	 * @param pattern
+	 *          the compiled pattern term
+	 * @return the instantiated term
+	 */
+	public Term instantiate(Node pattern) {
+		if (pattern.slot >= 0) {
+			return bindings[pattern.slot] != null ? bindings[pattern.slot] : pattern.term;
+		}
+		if (pattern.args == null) {
+			return pattern.term;
+		}
+		Term t1 = instantiate(pattern.args[0]);
+		Term t2 = pattern.args.length > 1 ? instantiate(pattern.args[1]) : null;
+		Term t3 = pattern.args.length > 2 ? instantiate(pattern.args[2]) : null;
+		Term t = pattern.term;
+		return new Term(TermType.COMPOSITION, t.getOpType(), t.getOp(), t.getFuncName(), null, t1, t2, t3,
+				t1.isMatchVar() || (t2 != null && t2.isMatchVar()) || (t3 != null && t3.isMatchVar()));
+	}
+
+	/**
+	 * Method that compiles a pattern equation, where every match variable gets a slot.
+	 * The same variable gets the same slot in all patterns compiled with the same map.
+	 *
+	 * @param eq
+	 *          the pattern equation
+	 * @param slots
+	 *          the slots of the match variables so far
+	 * @return the compiled pattern or null, if the equation is no relation
+	 */
+	public static Pattern compile(Equation eq, Map<Variable, Integer> slots) {
+		if (eq.getType() != Type.RELATION) {
+			return null;
+		}
+		return new Pattern(eq, eq.getRel(), compile(eq.getOp1(), slots), compile(eq.getOp2(), slots));
+	}
+
+	private static Node compile(Term term, Map<Variable, Integer> slots) {
+		if (term.getType() == TermType.ATOM) {
+			if (term.isMatchVar()) {
+				Integer slot = slots.get(term.getAtom());
+				if (slot == null) {
+					slot = slots.size();
+					slots.put(term.getAtom(), slot);
+				}
+				return new Node(term, slot, null);
+			}
+			return new Node(term, -1, null);
+		}
+		Node[] args;
+		if (term.getOpType() == OperatorType.UNARY) {
+			args = new Node[] {compile(term.getT1(), slots)};
+		} else if (term.getOpType() == OperatorType.BINARY) {
+			args = new Node[] {compile(term.getT1(), slots), compile(term.getT2(), slots)};
+		} else {
+			args = new Node[] {compile(term.getT1(), slots), compile(term.getT2(), slots),
+					compile(term.getT3(), slots)};
+		}
+		return new Node(term, -1, args);
+	}
+
+	/**
+	 * Helper method that replaces all occurrences of a term inside another term.
+	 * Sub-terms without an occurrence are shared and not copied.
+	 *
+	 * @param term
+	 *          the term to look into
+	 * @param from
+	 *          the term to replace
+	 * @param to
+	 *          the replacement
+	 * @return the rewritten term
+	 */
+	public static Term rewrite(Term term, Term from, Term to) {
+		if (term == null) {
+			return null;
+		}
+		if (term.equals(from)) {
+			return to;
+		}
+		if (term.getType() == TermType.ATOM) {
+			return term;
+		}
+		Term t1 = rewrite(term.getT1(), from, to);
+		Term t2 = rewrite(term.getT2(), from, to);
+		Term t3 = rewrite(term.getT3(), from, to);
+		if (t1 == term.getT1() && t2 == term.getT2() && t3 == term.getT3()) {
+			return term;
+		}
+		return new Term(TermType.COMPOSITION, term.getOpType(), term.getOp(), term.getFuncName(), null,
+				t1, t2, t3, t1.isMatchVar() || (t2 != null && t2.isMatchVar()) || (t3 != null && t3.isMatchVar()));
+	}
+
+	/**
+	 * A compiled pattern equation.
+	 */
+	public static class Pattern {
+		private final Equation eq;
+		private final Relation rel;
+		private final Node op1;
+		private final Node op2;
+
+		private Pattern(Equation eq, Relation rel, Node op1, Node op2) {
+			this.eq = eq;
+			this.rel = rel;
+			this.op1 = op1;
+			this.op2 = op2;
+		}
+
+		/**
+		 * Method that creates an equation from the pattern with the current bindings.
+		 *
+		 * @param unifier
+		 *          the unifier with the bindings
+		 * @param name
+		 *          the name of the new equation
+		 * @param rewrites
+		 *          equations whose left-hand side is replaced by their right-hand side
+		 * @return the instantiated equation
+		 */
+		public Equation instantiate(Unifier unifier, String name, List<Equation> rewrites) {
+			Term t1 = unifier.instantiate(op1);
+			Term t2 = unifier.instantiate(op2);
+			for (Equation rewrite : rewrites) {
+				t1 = rewrite(t1, rewrite.getOp1(), rewrite.getOp2());
+				t2 = rewrite(t2, rewrite.getOp1(), rewrite.getOp2());
+			}
+			return new Equation(name, Type.RELATION, rel, t1, t2);
+		}
+
+		// getter methods
+		public Equation getEquation() {
+			return eq;
+		}
+
+		public Relation getRel() {
+			return rel;
+		}
+
+		Node getOp1() {
+			return op1;
+		}
+
+		Node getOp2() {
+			return op2;
+		}
+	}
+
+	/**
+	 * A compiled pattern term: a match variable with its slot, an explicit atom, or a
+	 * composition with its compiled arguments.
+	 */
+	static class Node {
+		private final Term term;
+		private final int slot;
+		private final Node[] args;
+
+		private Node(Term term, int slot, Node[] args) {
+			this.term = term;
+			this.slot = slot;
+			this.args = args;
+		}
+
+		Term getTerm() {
+			return term;
+		}
+
+		int getSlot() {
+			return slot;
+		}
+
+		Node[] getArgs() {
+			return args;
+		}
+	}
+}
@@ -16,6 +16,8 @@ public class ComponentFigure extends Figure {
   
   // class fields
   public static Color classColor = new Color(null, 255, 255, 206);
+  // shared by all figures, as the diagrams create them again while scrolling
+  private static Font font = new Font(null, "Arial", 10, SWT.NONE);
   private CompartmentFigure methodFigure = new CompartmentFigure();
 
   /**
@@ -29,7 +31,7 @@ public class ComponentFigure extends Figure {
     setBorder(new LineBorder(ColorConstants.black, 1));
     setBackgroundColor(classColor);
     setOpaque(true);
-    setFont(new Font(null, "Arial", 10, SWT.NONE));
+    setFont(font);
 
     add(name);
     add(methodFigure);
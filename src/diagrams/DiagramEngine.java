@@ -0,0 +1,369 @@
+package diagrams;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.draw2d.ChopboxAnchor;
+import org.eclipse.draw2d.ColorConstants;
+import org.eclipse.draw2d.ConnectionAnchor;
+import org.eclipse.draw2d.ConnectionEndpointLocator;
+import org.eclipse.draw2d.ConnectionLayer;
+import org.eclipse.draw2d.FanRouter;
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.FigureCanvas;
+import org.eclipse.draw2d.FreeformLayer;
+import org.eclipse.draw2d.FreeformLayout;
+import org.eclipse.draw2d.FreeformViewport;
+import org.eclipse.draw2d.Label;
+import org.eclipse.draw2d.Locator;
+import org.eclipse.draw2d.MidpointLocator;
+import org.eclipse.draw2d.PolygonDecoration;
+import org.eclipse.draw2d.PolylineConnection;
+import org.eclipse.draw2d.ScalableFreeformLayeredPane;
+import org.eclipse.draw2d.XYAnchor;
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.PointList;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.widgets.Composite;
+
+import architecture.Action;
+import architecture.Component;
+import architecture.Composition;
+import architecture.Trust;
+import diagrams.DiagramModel.Edge;
+import diagrams.DiagramModel.EdgeKind;
+import diagrams.DiagramModel.LevelOfDetail;
+import diagrams.DiagramModel.Node;
+
+/**
+ * Engine that shows the diagram of an architecture on a canvas, which also works for
+ * architectures with hundreds of components.
+ * <ul>
+ * <li>The nodes are laid out incrementally by a {@link DiagramLayout}, and a refresh only
+ * replaces the figures whose nodes or edges changed.</li>
+ * <li>Only the figures in the viewport are created, the edges to culled nodes end at
+ * their cells.</li>
+ * <li>The level of detail depends on the zoom, see {@link LevelOfDetail}, and at low zoom
+ * the compositions are collapsed into summary nodes.</li>
+ * <li>The parallel relations between two components are bundled into one edge, which
+ * share a single router.</li>
+ * </ul>
+ * The diagram is zoomed with the mouse wheel while the control key is pressed.
+ */
+public class DiagramEngine {
+
+  // the size of the cells of the layout and the space between the nodes
+  private static final int CELL_WIDTH = 460;
+  private static final int CELL_HEIGHT = 300;
+  private static final int GAP = 30;
+  private static final double MIN_ZOOM = 0.05;
+  private static final double MAX_ZOOM = 4.0;
+
+  // class fields
+  private final FigureCanvas canvas;
+  private final ScalableFreeformLayeredPane root;
+  private final FreeformLayer nodeLayer;
+  private final ConnectionLayer edgeLayer;
+  // spans the whole layout, so that the culled nodes can be scrolled to
+  private final Figure extent;
+  private final Font classFont;
+  private final Font regularFont;
+  private Collection<Component> components;
+  private Collection<Action> actions;
+  private Collection<Trust> trusts;
+  private Collection<Composition> compositions;
+  private DiagramModel model;
+  private DiagramLayout layout;
+  private double zoom = 1.0;
+  // the figures in the viewport and the text they were created with
+  private final Map<String, ComponentFigure> nodeFigures = new HashMap<String, ComponentFigure>();
+  private final Map<String, String> nodeTexts = new HashMap<String, String>();
+  private final Map<String, PolylineConnection> edgeFigures = new HashMap<String, PolylineConnection>();
+  private final Map<String, Label> edgeLabels = new HashMap<String, Label>();
+
+  /**
+   * The constructor of an engine with a new canvas.
+   * @param parent
+   *          the parent of the canvas
+   */
+  public DiagramEngine(Composite parent) {
+    canvas = new FigureCanvas(parent);
+    canvas.setViewport(new FreeformViewport());
+    root = new ScalableFreeformLayeredPane();
+    nodeLayer = new FreeformLayer();
+    nodeLayer.setLayoutManager(new FreeformLayout());
+    edgeLayer = new ConnectionLayer();
+    edgeLayer.setConnectionRouter(new FanRouter());
+    root.add(nodeLayer);
+    root.add(edgeLayer);
+    extent = new Figure();
+    nodeLayer.add(extent, new Rectangle(0, 0, 1, 1));
+    canvas.setContents(root);
+    classFont = new Font(null, "Arial", 12, SWT.BOLD);
+    regularFont = new Font(null, "Arial", 10, SWT.NONE);
+
+    // cull again whenever the viewport is scrolled or resized
+    canvas.getViewport().getHorizontalRangeModel().addPropertyChangeListener(event -> cull());
+    canvas.getViewport().getVerticalRangeModel().addPropertyChangeListener(event -> cull());
+    canvas.addListener(SWT.MouseWheel, event -> {
+      if ((event.stateMask & SWT.MOD1) != 0) {
+        setZoom(event.count > 0 ? zoom * 1.25 : zoom / 1.25);
+        event.doit = false;
+      }
+    });
+    canvas.addListener(SWT.Dispose, event -> {
+      classFont.dispose();
+      regularFont.dispose();
+    });
+  }
+
+  /**
+   * Method that shows the sets of an architecture, which are read again by every
+   * {@link #refresh()}.
+   * @param components
+   *          the components
+   * @param actions
+   *          the actions
+   * @param trusts
+   *          the trust relations
+   * @param compositions
+   *          the composition relations
+   */
+  public void show(Collection<Component> components, Collection<Action> actions,
+      Collection<Trust> trusts, Collection<Composition> compositions) {
+    this.components = components;
+    this.actions = actions;
+    this.trusts = trusts;
+    this.compositions = compositions;
+    refresh();
+  }
+
+  /**
+   * Method that updates the diagram after the architecture changed, where only the
+   * figures of the changed nodes and edges are replaced.
+   */
+  public void refresh() {
+    if (components == null || canvas.isDisposed()) {
+      return;
+    }
+    model = new DiagramModel(components, actions, trusts, compositions, LevelOfDetail.forZoom(zoom));
+    if (layout == null) {
+      int columns = Math.max(3, (int) Math.ceil(Math.sqrt(model.getNodes().size())));
+      layout = new DiagramLayout(columns, CELL_WIDTH, CELL_HEIGHT);
+    }
+    layout.update(model.getNodes().keySet());
+    for (Iterator<String> it = nodeFigures.keySet().iterator(); it.hasNext();) {
+      String key = it.next();
+      Node node = model.getNodes().get(key);
+      if (node == null || !text(node).equals(nodeTexts.get(key))) {
+        // created again by the culling if it is still visible
+        nodeLayer.remove(nodeFigures.get(key));
+        nodeTexts.remove(key);
+        it.remove();
+      }
+    }
+    for (Iterator<String> it = edgeFigures.keySet().iterator(); it.hasNext();) {
+      String key = it.next();
+      Edge edge = model.getEdges().get(key);
+      if (edge == null) {
+        edgeLayer.remove(edgeFigures.get(key));
+        edgeLabels.remove(key);
+        it.remove();
+      } else if (edgeLabels.containsKey(key)) {
+        edgeLabels.get(key).setText(edge.getLabel(model.getLevel()));
+      }
+    }
+    nodeLayer.setConstraint(extent, new Rectangle(0, 0, layout.getWidth(), layout.getHeight()));
+    cull();
+  }
+
+  /**
+   * Method that zooms the diagram, which changes the level of detail at some zooms.
+   * @param zoom
+   *          the zoom, where 1 is the original size
+   */
+  public void setZoom(double zoom) {
+    LevelOfDetail old = LevelOfDetail.forZoom(this.zoom);
+    this.zoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom));
+    root.setScale(this.zoom);
+    if (LevelOfDetail.forZoom(this.zoom) != old) {
+      // all figures look different at the new level
+      for (ComponentFigure figure : nodeFigures.values()) {
+        nodeLayer.remove(figure);
+      }
+      for (PolylineConnection connection : edgeFigures.values()) {
+        edgeLayer.remove(connection);
+      }
+      nodeFigures.clear();
+      nodeTexts.clear();
+      edgeFigures.clear();
+      edgeLabels.clear();
+      refresh();
+    } else {
+      cull();
+    }
+  }
+
+  /**
+   * Helper method that creates the figures of the nodes in the viewport and their edges,
+   * and removes the figures that left it.
+   */
+  private void cull() {
+    if (model == null || canvas.isDisposed()) {
+      return;
+    }
+    // the viewport in the coordinates of the diagram with one cell as margin
+    Rectangle view = canvas.getViewport().getClientArea();
+    Set<String> visible = new HashSet<String>(layout.visible(
+        (int) (view.x / zoom) - CELL_WIDTH, (int) (view.y / zoom) - CELL_HEIGHT,
+        (int) (view.width / zoom) + 2 * CELL_WIDTH, (int) (view.height / zoom) + 2 * CELL_HEIGHT));
+    Set<String> changed = new HashSet<String>();
+    for (Iterator<String> it = nodeFigures.keySet().iterator(); it.hasNext();) {
+      String key = it.next();
+      if (!visible.contains(key)) {
+        nodeLayer.remove(nodeFigures.get(key));
+        nodeTexts.remove(key);
+        it.remove();
+        changed.add(key);
+      }
+    }
+    Set<String> edges = new HashSet<String>();
+    for (String key : visible) {
+      if (!nodeFigures.containsKey(key)) {
+        createNode(model.getNodes().get(key));
+        changed.add(key);
+      }
+      for (Edge edge : model.getEdges(key)) {
+        edges.add(edge.getKey());
+      }
+    }
+    for (Iterator<String> it = edgeFigures.keySet().iterator(); it.hasNext();) {
+      String key = it.next();
+      if (!edges.contains(key)) {
+        edgeLayer.remove(edgeFigures.get(key));
+        edgeLabels.remove(key);
+        it.remove();
+      }
+    }
+    for (String key : edges) {
+      Edge edge = model.getEdges().get(key);
+      PolylineConnection connection = edgeFigures.get(key);
+      if (connection == null) {
+        createEdge(edge);
+      } else if (changed.contains(edge.getSource().getKey()) || changed.contains(edge.getTarget().getKey())) {
+        connection.setSourceAnchor(anchor(edge.getSource()));
+        connection.setTargetAnchor(anchor(edge.getTarget()));
+      }
+    }
+  }
+
+  /**
+   * Helper method that creates the figure of a node in its cell.
+   */
+  private void createNode(Node node) {
+    Label name = new Label(node.getLabel());
+    name.setFont(classFont);
+    ComponentFigure figure = new ComponentFigure(name);
+    if (node.isSummary()) {
+      figure.setBackgroundColor(ColorConstants.lightGray);
+    }
+    if (model.getLevel() == LevelOfDetail.FULL) {
+      for (Action a : node.getActions()) {
+        figure.getMethodsCompartment().add(new Label(a.toString()));
+      }
+    }
+    nodeLayer.add(figure, new Rectangle(layout.getX(node.getKey()) + GAP, layout.getY(node.getKey()) + GAP, -1, -1));
+    nodeFigures.put(node.getKey(), figure);
+    nodeTexts.put(node.getKey(), text(node));
+  }
+
+  /**
+   * Helper method that creates the connection of an edge.
+   */
+  private void createEdge(Edge edge) {
+    PolylineConnection connection = new PolylineConnection();
+    connection.setLineWidth(2);
+    connection.setFont(regularFont);
+    connection.setSourceAnchor(anchor(edge.getSource()));
+    connection.setTargetAnchor(anchor(edge.getTarget()));
+    // adding the arrow-head
+    PolygonDecoration arrow = new PolygonDecoration();
+    arrow.setTemplate(PolygonDecoration.TRIANGLE_TIP);
+    Locator locator;
+    if (edge.getKind() == EdgeKind.COMPOSITION) {
+      // and the diamond at the container
+      PolygonDecoration diamond = new PolygonDecoration();
+      PointList decorationPointList = new PointList();
+      decorationPointList.addPoint(0, 0);
+      decorationPointList.addPoint(-2, 2);
+      decorationPointList.addPoint(-4, 0);
+      decorationPointList.addPoint(-2, -2);
+      diamond.setTemplate(decorationPointList);
+      connection.setTargetDecoration(diamond);
+      arrow.setScale(10, 5);
+      connection.setSourceDecoration(arrow);
+      locator = null;
+    } else {
+      arrow.setScale(20, 10);
+      connection.setTargetDecoration(arrow);
+      if (edge.getKind() == EdgeKind.TRUST) {
+        locator = new MidpointLocator(connection, 0);
+      } else {
+        locator = new ConnectionEndpointLocator(connection, true);
+      }
+    }
+    if (locator != null) {
+      Label label = new Label(edge.getLabel(model.getLevel()));
+      connection.add(label, locator);
+      edgeLabels.put(edge.getKey(), label);
+    }
+    edgeLayer.add(connection);
+    edgeFigures.put(edge.getKey(), connection);
+  }
+
+  /**
+   * Helper method that returns the anchor of a node, which is the center of its cell if
+   * the node is culled.
+   */
+  private ConnectionAnchor anchor(Node node) {
+    ComponentFigure figure = nodeFigures.get(node.getKey());
+    if (figure != null) {
+      return new ChopboxAnchor(figure);
+    }
+    return new XYAnchor(new Point(layout.getX(node.getKey()) + CELL_WIDTH / 2,
+        layout.getY(node.getKey()) + CELL_HEIGHT / 2));
+  }
+
+  /**
+   * Helper method that returns the text that a figure of a node shows at the current
+   * level of detail.
+   */
+  private String text(Node node) {
+    StringBuilder text = new StringBuilder(node.getLabel());
+    if (model.getLevel() == LevelOfDetail.FULL) {
+      for (Action a : node.getActions()) {
+        text.append('\n').append(a);
+      }
+    }
+    return text.toString();
+  }
+
+  // getter methods
+  public FigureCanvas getCanvas() {
+    return canvas;
+  }
+
+  public double getZoom() {
+    return zoom;
+  }
+
+  public DiagramModel getModel() {
+    return model;
+  }
+}
@@ -0,0 +1,171 @@
+package diagrams;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Incremental layout of the nodes of a diagram in the cells of a grid. A node keeps its
+ * cell as long as it is part of the diagram, new nodes take the first free cell, so an
+ * edit only moves the changed nodes. As the cells have a fixed size, the nodes in a part
+ * of the diagram are found without looking at the others, which is used to only create
+ * the figures in the viewport.
+ */
+public class DiagramLayout {
+
+  // class fields
+  private final int columns;
+  private final int cellWidth;
+  private final int cellHeight;
+  // the cell of every node and the node of every cell
+  private final Map<String, Integer> cells = new HashMap<String, Integer>();
+  private final List<String> keys = new ArrayList<String>();
+  private final TreeSet<Integer> free = new TreeSet<Integer>();
+
+  /**
+   * The Constructor for a layout.
+   *
+   * @param columns
+   *          the number of columns of the grid
+   * @param cellWidth
+   *          the width of a cell
+   * @param cellHeight
+   *          the height of a cell
+   */
+  public DiagramLayout(int columns, int cellWidth, int cellHeight) {
+    if (columns < 1 || cellWidth < 1 || cellHeight < 1) {
+      throw new IllegalArgumentException("The grid needs at least one cell of positive size");
+    }
+    this.columns = columns;
+    this.cellWidth = cellWidth;
+    this.cellHeight = cellHeight;
+  }
+
+  /**
+   * Method that updates the layout to the current nodes of the diagram.
+   *
+   * @param current
+   *          the keys of the current nodes
+   * @return the keys of the nodes that were added
+   */
+  public Set<String> update(Collection<String> current) {
+    Set<String> remaining = new HashSet<String>(current);
+    for (Iterator<Map.Entry<String, Integer>> it = cells.entrySet().iterator(); it.hasNext();) {
+      Map.Entry<String, Integer> entry = it.next();
+      if (!remaining.contains(entry.getKey())) {
+        keys.set(entry.getValue(), null);
+        free.add(entry.getValue());
+        it.remove();
+      }
+    }
+    Set<String> added = new HashSet<String>();
+    for (String key : current) {
+      if (!cells.containsKey(key)) {
+        Integer cell = free.pollFirst();
+        if (cell == null) {
+          cell = keys.size();
+          keys.add(key);
+        } else {
+          keys.set(cell, key);
+        }
+        cells.put(key, cell);
+        added.add(key);
+      }
+    }
+    return added;
+  }
+
+  /**
+   * Method that returns the nodes whose cells intersect an area of the diagram.
+   *
+   * @param x
+   *          the left of the area
+   * @param y
+   *          the top of the area
+   * @param width
+   *          the width of the area
+   * @param height
+   *          the height of the area
+   * @return the keys of the nodes in the area
+   */
+  public List<String> visible(int x, int y, int width, int height) {
+    List<String> visible = new ArrayList<String>();
+    int firstColumn = Math.max(0, x / cellWidth);
+    int lastColumn = Math.min(columns - 1, (x + width) / cellWidth);
+    int firstRow = Math.max(0, y / cellHeight);
+    int lastRow = Math.min(getRows() - 1, (y + height) / cellHeight);
+    for (int row = firstRow; row <= lastRow; row++) {
+      for (int column = firstColumn; column <= lastColumn; column++) {
+        int cell = row * columns + column;
+        if (cell < keys.size() && keys.get(cell) != null) {
+          visible.add(keys.get(cell));
+        }
+      }
+    }
+    return visible;
+  }
+
+  /**
+   * Method that returns the left of the cell of a node.
+   *
+   * @param key
+   *          the key of the node
+   * @return the x coordinate
+   */
+  public int getX(String key) {
+    return cells.get(key) % columns * cellWidth;
+  }
+
+  /**
+   * Method that returns the top of the cell of a node.
+   *
+   * @param key
+   *          the key of the node
+   * @return the y coordinate
+   */
+  public int getY(String key) {
+    return cells.get(key) / columns * cellHeight;
+  }
+
+  /**
+   * Method that checks if a node is part of the layout.
+   *
+   * @param key
+   *          the key of the node
+   * @return true, if the node has a cell
+   */
+  public boolean contains(String key) {
+    return cells.containsKey(key);
+  }
+
+  // getter methods
+  public int getColumns() {
+    return columns;
+  }
+
+  public int getRows() {
+    return (keys.size() + columns - 1) / columns;
+  }
+
+  public int getCellWidth() {
+    return cellWidth;
+  }
+
+  public int getCellHeight() {
+    return cellHeight;
+  }
+
+  public int getWidth() {
+    return columns * cellWidth;
+  }
+
+  public int getHeight() {
+    return getRows() * cellHeight;
+  }
+}
@@ -0,0 +1,309 @@
+package diagrams;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import architecture.Action;
+import architecture.Component;
+import architecture.Composition;
+import architecture.Trust;
+
+/**
+ * The nodes and edges of an architecture diagram, independent of the figures that show
+ * them. Parallel relations between the same components are bundled into one edge, and at
+ * the level of detail {@link LevelOfDetail#SUMMARY} every component that is part of a
+ * {@link Composition} is collapsed into the node of its outermost container. The keys of
+ * the nodes and edges are stable, so that a {@link DiagramEngine} only replaces the
+ * figures that changed.
+ */
+public class DiagramModel {
+
+  /**
+   * The levels of detail of the diagram, which depend on the zoom.
+   */
+  public enum LevelOfDetail {
+    // the components with their actions and the edges with all relations
+    FULL,
+    // only the names of the components and the number of bundled relations
+    NAMES,
+    // the compositions are collapsed and the edges have no labels
+    SUMMARY;
+
+    /**
+     * Static method that returns the level of detail of a zoom.
+     *
+     * @param zoom
+     *          the zoom, where 1 is the original size
+     * @return the level of detail
+     */
+    public static LevelOfDetail forZoom(double zoom) {
+      if (zoom >= 1.0) {
+        return FULL;
+      } else if (zoom >= 0.5) {
+        return NAMES;
+      }
+      return SUMMARY;
+    }
+  }
+
+  /**
+   * The kinds of edges, i.e. the kinds of relations that are bundled.
+   */
+  public enum EdgeKind {
+    RECEIVE, TRUST, COMPOSITION;
+  }
+
+  /**
+   * A component or a collapsed composition of components.
+   */
+  public static final class Node {
+
+    // class fields
+    private final Component component;
+    private final List<Component> members = new ArrayList<Component>();
+    private final List<Action> actions = new ArrayList<Action>();
+
+    private Node(Component component) {
+      this.component = component;
+    }
+
+    /**
+     * Method that checks if the node summarizes several components.
+     *
+     * @return true, if the node is a collapsed composition
+     */
+    public boolean isSummary() {
+      return members.size() > 1;
+    }
+
+    /**
+     * Method that returns the label of the node, which names the number of the collapsed
+     * components of a summary.
+     *
+     * @return the label
+     */
+    public String getLabel() {
+      if (isSummary()) {
+        return component.getName() + " (+" + (members.size() - 1) + ")";
+      }
+      return component.getName();
+    }
+
+    // getter methods
+    public String getKey() {
+      return component.getName();
+    }
+
+    public Component getComponent() {
+      return component;
+    }
+
+    public List<Component> getMembers() {
+      return members;
+    }
+
+    public List<Action> getActions() {
+      return actions;
+    }
+  }
+
+  /**
+   * The bundle of the relations of one kind between two nodes.
+   */
+  public static final class Edge {
+
+    // class fields
+    private final Node source;
+    private final Node target;
+    private final EdgeKind kind;
+    private final List<Object> relations = new ArrayList<Object>();
+
+    private Edge(Node source, Node target, EdgeKind kind) {
+      this.source = source;
+      this.target = target;
+      this.kind = kind;
+    }
+
+    /**
+     * Method that returns the label of the edge at a level of detail.
+     *
+     * @param level
+     *          the level of detail
+     * @return the label, which is empty if the edge has none
+     */
+    public String getLabel(LevelOfDetail level) {
+      if (kind == EdgeKind.COMPOSITION || level == LevelOfDetail.SUMMARY) {
+        return "";
+      } else if (level == LevelOfDetail.NAMES && relations.size() > 1) {
+        return relations.size() + " relations";
+      }
+      StringBuilder label = new StringBuilder();
+      for (Object relation : relations) {
+        if (label.length() > 0) {
+          label.append(System.lineSeparator());
+        }
+        label.append(relation);
+      }
+      return label.toString();
+    }
+
+    // getter methods
+    public String getKey() {
+      return key(source, target, kind);
+    }
+
+    public Node getSource() {
+      return source;
+    }
+
+    public Node getTarget() {
+      return target;
+    }
+
+    public EdgeKind getKind() {
+      return kind;
+    }
+
+    public List<Object> getRelations() {
+      return relations;
+    }
+  }
+
+  // class fields
+  private final LevelOfDetail level;
+  private final Map<String, Node> nodes = new LinkedHashMap<String, Node>();
+  private final Map<String, Edge> edges = new LinkedHashMap<String, Edge>();
+  // the edges of every node
+  private final Map<String, List<Edge>> adjacent = new HashMap<String, List<Edge>>();
+
+  /**
+   * The Constructor for the diagram of the sets of an architecture.
+   *
+   * @param components
+   *          the components
+   * @param actions
+   *          the actions, where the inter-component actions become edges
+   * @param trusts
+   *          the trust relations
+   * @param compositions
+   *          the composition relations
+   * @param level
+   *          the level of detail
+   */
+  public DiagramModel(Collection<Component> components, Collection<Action> actions,
+      Collection<Trust> trusts, Collection<Composition> compositions, LevelOfDetail level) {
+    this.level = level;
+    Map<Component, Component> containers = new HashMap<Component, Component>();
+    if (level == LevelOfDetail.SUMMARY) {
+      for (Composition compos : compositions) {
+        containers.put(compos.getComponent(), compos.getContainer());
+      }
+    }
+    Map<Component, Node> nodeOf = new HashMap<Component, Node>();
+    for (Component c : components) {
+      Component top = outermost(c, containers);
+      Node node = nodes.get(top.getName());
+      if (node == null) {
+        node = new Node(top);
+        nodes.put(node.getKey(), node);
+      }
+      node.members.add(c);
+      nodeOf.put(c, node);
+    }
+    for (Action a : actions) {
+      switch (a.getAction()) {
+      case RECEIVE:
+        // fall through
+      case SPOTCHECK:
+        // fall through
+      case CRECEIVE:
+        // fall through
+      case PRECEIVE:
+        // from the sender to the receiver
+        relate(nodeOf.get(a.getComPartner()), nodeOf.get(a.getComponent()), EdgeKind.RECEIVE, a);
+        break;
+      default:
+        Node node = nodeOf.get(a.getComponent());
+        if (node != null) {
+          node.actions.add(a);
+        }
+        break;
+      }
+    }
+    for (Trust trust : trusts) {
+      relate(nodeOf.get(trust.getTruster()), nodeOf.get(trust.getTrustee()), EdgeKind.TRUST, trust);
+    }
+    for (Composition compos : compositions) {
+      relate(nodeOf.get(compos.getComponent()), nodeOf.get(compos.getContainer()), EdgeKind.COMPOSITION,
+          compos);
+    }
+  }
+
+  /**
+   * Helper method that returns the outermost container of a component.
+   */
+  private static Component outermost(Component c, Map<Component, Component> containers) {
+    Set<Component> seen = new HashSet<Component>();
+    Component top = c;
+    // stop at cycles of compositions
+    while (containers.containsKey(top) && seen.add(top)) {
+      top = containers.get(top);
+    }
+    return top;
+  }
+
+  /**
+   * Helper method that adds a relation to the edge between two nodes, where relations
+   * inside of a node are not shown.
+   */
+  private void relate(Node source, Node target, EdgeKind kind, Object relation) {
+    if (source == null || target == null || source == target) {
+      return;
+    }
+    String key = key(source, target, kind);
+    Edge edge = edges.get(key);
+    if (edge == null) {
+      edge = new Edge(source, target, kind);
+      edges.put(key, edge);
+      adjacent.computeIfAbsent(source.getKey(), k -> new ArrayList<Edge>()).add(edge);
+      adjacent.computeIfAbsent(target.getKey(), k -> new ArrayList<Edge>()).add(edge);
+    }
+    edge.relations.add(relation);
+  }
+
+  private static String key(Node source, Node target, EdgeKind kind) {
+    return kind + " " + source.getKey() + " " + target.getKey();
+  }
+
+  /**
+   * Method that returns the edges of a node.
+   *
+   * @param key
+   *          the key of the node
+   * @return the edges that start or end at the node
+   */
+  public List<Edge> getEdges(String key) {
+    List<Edge> list = adjacent.get(key);
+    return list == null ? Collections.<Edge>emptyList() : list;
+  }
+
+  // getter methods
+  public LevelOfDetail getLevel() {
+    return level;
+  }
+
+  public Map<String, Node> getNodes() {
+    return nodes;
+  }
+
+  public Map<String, Edge> getEdges() {
+    return edges;
+  }
+}
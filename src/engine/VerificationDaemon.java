@@ -0,0 +1,348 @@
+package engine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import architecture.FrozenArchitecture;
+import engine.VerificationEngine.Backend;
+import properties.Property;
+import solver.ConfigReader;
+import utils.IndexedSet;
+import utils.Metrics;
+import utils.SuccessIndexPair;
+import utils.VerificationContext;
+
+/**
+ * Long-running verification service that keeps the loaded models warm, so that many small
+ * requests do not pay for the start of the JVM, the rebuild of the architecture and the
+ * consistency check each time. Every model is loaded into a session with its own
+ * {@link VerificationEngine}, which keeps the frozen architecture, the parsers and the
+ * results until the model is edited. Every session has its own {@link VerificationContext}
+ * with its traces and solver files, so the sessions of different connections verify in
+ * parallel. The config file of the solver is only read once. The {@link Metrics} of every
+ * session are registered in JMX under the name of the session.
+ * <p>
+ * The requests are read line by line from the standard input or, with -p, from the
+ * connections to a port of the loopback interface. Every request is answered by one line
+ * that starts with ok or error. Property names are written as they are shown in the GUI.
+ *
+ * <pre>
+ * VerificationDaemon [-p port] [-b bottomup|topdown|prolog|modular] [-t threads]
+ *
+ * load &lt;session&gt; &lt;model&gt;                  (a case study or file as for {@link Verify})
+ * verify &lt;session&gt; [-b &lt;backend&gt;] [&lt;property&gt;]  (all properties without a name)
+ * edit &lt;session&gt; &lt;line&gt;                    (a line of the {@link utils.ArchitectureImporter})
+ * query &lt;session&gt; consistency|properties|components|metrics
+ * query &lt;session&gt; trace &lt;property&gt;
+ * unload &lt;session&gt;
+ * sessions
+ * quit                                      (closes the connection or the standard input)
+ * </pre>
+ */
+public class VerificationDaemon {
+
+	// class fields
+	private final Map<String, VerificationEngine> sessions;
+	private final Backend backend;
+	private final int threads;
+	private boolean configRead;
+
+	/**
+	 * The Constructor for a daemon without sessions.
+	 *
+	 * @param backend
+	 *          the backend of new sessions
+	 * @param threads
+	 *          the number of threads of the modular and the top down backend
+	 */
+	public VerificationDaemon(Backend backend, int threads) {
+		this.backend = backend;
+		this.threads = threads;
+		sessions = new ConcurrentHashMap<String, VerificationEngine>();
+	}
+
+	/**
+	 * Runs the daemon.
+	 *
+	 * @param args
+	 *          the arguments as described above
+	 */
+	public static void main(String[] args) {
+		int port = -1;
+		Backend backend = Backend.BOTTOMUP;
+		int threads = Runtime.getRuntime().availableProcessors();
+		try {
+			for (int i = 0; i < args.length; i++) {
+				switch (args[i]) {
+				case "-p":
+					port = Integer.parseInt(args[++i]);
+					break;
+				case "-b":
+					backend = Backend.valueOf(args[++i].toUpperCase());
+					break;
+				case "-t":
+					threads = Integer.parseInt(args[++i]);
+					break;
+				default:
+					throw new IllegalArgumentException(args[i]);
+				}
+			}
+		} catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+			System.err.println("usage: VerificationDaemon [-p port] [-b bottomup|topdown|prolog|modular] [-t threads]");
+			System.exit(2);
+		}
+		// the parsers write their messages to the standard output
+		PrintStream stdout = System.out;
+		System.setOut(System.err);
+		VerificationDaemon daemon = new VerificationDaemon(backend, threads);
+		try {
+			if (port < 0) {
+				daemon.serve(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)),
+						new OutputStreamWriter(stdout, StandardCharsets.UTF_8));
+			} else {
+				daemon.listen(port);
+			}
+		} catch (IOException e) {
+			System.err.println(e.getMessage());
+			System.exit(2);
+		}
+	}
+
+	/**
+	 * Method that accepts connections to a port of the loopback interface, where every
+	 * connection is served by its own thread. The sessions are shared by all connections.
+	 *
+	 * @param port
+	 *          the port
+	 * @throws IOException
+	 *          if the port can not be opened
+	 */
+	public void listen(int port) throws IOException {
+		try (ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+			System.err.println("Listening on " + server.getLocalSocketAddress());
+			while (true) {
+				Socket socket = server.accept();
+				Thread thread = new Thread(() -> {
+					try (Socket s = socket) {
+						serve(new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8)),
+								new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8));
+					} catch (IOException e) {
+						// the connection was closed by the client
+					}
+				}, "verification-" + socket.getPort());
+				thread.setDaemon(true);
+				thread.start();
+			}
+		}
+	}
+
+	/**
+	 * Method that answers the requests of a reader until it is closed or quit is sent.
+	 *
+	 * @param in
+	 *          the requests
+	 * @param out
+	 *          the output for the responses, which is flushed after every response
+	 * @throws IOException
+	 *          if reading or writing fails
+	 */
+	public void serve(BufferedReader in, Writer out) throws IOException {
+		PrintWriter writer = new PrintWriter(out);
+		String line;
+		while ((line = in.readLine()) != null) {
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+			if (line.equals("quit")) {
+				writer.println("ok");
+				break;
+			}
+			writer.println(handle(line));
+			writer.flush();
+		}
+		writer.flush();
+	}
+
+	/**
+	 * Method that answers a single request.
+	 *
+	 * @param request
+	 *          the request
+	 * @return the response, which starts with ok or error
+	 */
+	public String handle(String request) {
+		String[] t = request.trim().split("\\s+", 3);
+		try {
+			switch (t[0]) {
+			case "load":
+				return load(t[1], t[2]);
+			case "verify":
+				return verify(session(t[1]), t.length > 2 ? t[2] : "");
+			case "edit":
+				session(t[1]).edit(Collections.singletonList(t[2]));
+				return "ok";
+			case "query":
+				return query(session(t[1]), t[2]);
+			case "unload":
+				VerificationEngine removed = sessions.remove(t[1]);
+				if (removed == null) {
+					throw new IllegalArgumentException("No session " + t[1]);
+				}
+				removed.getModel().getContext().getMetrics().unregister();
+				return "ok";
+			case "sessions":
+				return "ok " + list(sessions.keySet());
+			default:
+				throw new IllegalArgumentException("Unknown request " + t[0]);
+			}
+		} catch (ArrayIndexOutOfBoundsException e) {
+			return "error missing argument";
+		} catch (IOException | IllegalArgumentException e) {
+			return error(e.getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return "error interrupted";
+		} catch (RuntimeException e) {
+			// e.g. a parser failed, which must not stop the daemon
+			return error(e.toString());
+		}
+	}
+
+	private String load(String name, String model) throws IOException {
+		VerificationEngine engine = new VerificationEngine(
+				VerificationEngine.load(model, new VerificationContext()), model);
+		engine.setBackend(backend);
+		engine.setThreads(threads);
+		VerificationEngine replaced = sessions.put(name, engine);
+		if (replaced != null) {
+			replaced.getModel().getContext().getMetrics().unregister();
+		}
+		engine.getModel().getContext().getMetrics().register(name);
+		return "ok " + engine.getModel().getpSet().size();
+	}
+
+	private String verify(VerificationEngine engine, String args) throws IOException, InterruptedException {
+		VerificationReport report;
+		// the backend and the verification are not interleaved with other requests
+		synchronized (engine) {
+			if (args.startsWith("-b")) {
+				String[] t = args.split("\\s+", 3);
+				engine.setBackend(Backend.valueOf(t[1].toUpperCase()));
+				args = t.length > 2 ? t[2] : "";
+			}
+			if (engine.getBackend() == Backend.TOPDOWN) {
+				readConfig();
+			}
+			if (args.isEmpty()) {
+				report = engine.verifyAll();
+			} else {
+				report = engine.verify(Collections.singletonList(property(engine, args)));
+			}
+		}
+		StringBuilder sb = new StringBuilder("ok ");
+		report.writeJson(sb, false);
+		return sb.toString();
+	}
+
+	private String query(VerificationEngine engine, String args) {
+		String[] t = args.split("\\s+", 2);
+		switch (t[0]) {
+		case "consistency": {
+			FrozenArchitecture arch = engine.getArchitecture();
+			SuccessIndexPair consistency = arch.getConsistency();
+			if (consistency.isSuccess()) {
+				return "ok {\"consistent\": true}";
+			}
+			return "ok {\"consistent\": false, \"inconsistentAction\": "
+					+ VerificationReport.quote(arch.getAllActions().get(consistency.getIndex()).toString()) + "}";
+		}
+		case "properties":
+			return "ok " + list(engine.getModel().getpSet());
+		case "components":
+			return "ok " + list(engine.getArchitecture().getCompList());
+		case "trace": {
+			// the trace of the last verification of the property, if it was verified
+			String trace = engine.getModel().getContext().getTrace().getMessage(property(engine, t[1]));
+			return "ok " + (trace == null ? "null" : VerificationReport.quote(trace));
+		}
+		case "metrics":
+			return "ok " + metrics(engine.getModel().getContext().getMetrics());
+		default:
+			throw new IllegalArgumentException("Unknown query " + t[0]);
+		}
+	}
+
+	private VerificationEngine session(String name) {
+		VerificationEngine engine = sessions.get(name);
+		if (engine == null) {
+			throw new IllegalArgumentException("No session " + name);
+		}
+		return engine;
+	}
+
+	private static Property property(VerificationEngine engine, String name) {
+		Set<Property> pSet = engine.getModel().getpSet();
+		Property property = null;
+		if (pSet instanceof IndexedSet) {
+			property = ((IndexedSet<Property>) pSet).get(name);
+		} else {
+			for (Property p : pSet) {
+				if (p.toString().equals(name)) {
+					property = p;
+				}
+			}
+		}
+		if (property == null) {
+			throw new IllegalArgumentException("No property " + name);
+		}
+		return property;
+	}
+
+	private synchronized void readConfig() throws IOException {
+		if (!configRead) {
+			if (!ConfigReader.readConfig()) {
+				throw new IOException("Config file could not be read!");
+			}
+			configRead = true;
+		}
+	}
+
+	private static String list(Iterable<?> objects) {
+		StringBuilder sb = new StringBuilder("[");
+		for (Object o : objects) {
+			sb.append(sb.length() == 1 ? "" : ", ").append(VerificationReport.quote(o.toString()));
+		}
+		return sb.append(']').toString();
+	}
+
+	private static String metrics(Metrics metrics) {
+		StringBuilder sb = new StringBuilder("{");
+		for (Metrics.Snapshot s : metrics.getMetrics()) {
+			sb.append(sb.length() == 1 ? "" : ", ").append(VerificationReport.quote(s.getName()))
+					.append(": {\"count\": ").append(s.getCount())
+					.append(", \"sum\": ").append(s.getSum())
+					.append(", \"max\": ").append(s.getMax())
+					.append(", \"median\": ").append(s.getMedian())
+					.append(", \"p99\": ").append(s.getPercentile99()).append('}');
+		}
+		return sb.append('}').toString();
+	}
+
+	private static String error(String message) {
+		return "error " + (message == null ? "" : message.replace(System.lineSeparator(), " ").replace('\n', ' '));
+	}
+}
@@ -0,0 +1,316 @@
+package engine;
+
+import gui.ArchitectureFunctions;
+import gui.ArchitectureFunctions.CaseStudy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+
+import architecture.Architecture;
+import architecture.FrozenArchitecture;
+import properties.ModularVerifier;
+import properties.Parser;
+import properties.PrologParser;
+import properties.Property;
+import properties.RulesOfInferenceParserBottomup;
+import properties.RulesOfInferenceParserTopdown;
+import solver.SolverExecutor;
+import utils.ArchitectureFormat;
+import utils.ArchitectureImporter;
+import utils.VerificationContext;
+
+/**
+ * Engine that verifies the properties of an architecture without the GUI, e.g. for batch
+ * verification on machines without a display. The architecture is frozen, so its
+ * consistency is checked once and is part of the {@link VerificationReport}. The GUI is
+ * only informed through a {@link properties.ConsistencyListener}, which the engine does
+ * not set.
+ * <p>
+ * The engine stays warm between verifications: the frozen architecture with its indexes,
+ * the parsers of the backends with their derived facts and solver sessions and the results
+ * are kept until the model is edited. The methods are synchronized, so an engine can be
+ * shared, e.g. by the connections of the {@link VerificationDaemon}.
+ * <p>
+ * The parsers are created in the {@link VerificationContext} of the model, so engines
+ * whose models have different contexts can verify in parallel. With more than one thread,
+ * the modular backend verifies its parts in parallel and the top down backend runs the
+ * solvers of the properties at the same time.
+ */
+public class VerificationEngine {
+
+	/**
+	 * The backends that can verify the properties.
+	 */
+	public enum Backend {
+		BOTTOMUP, TOPDOWN, PROLOG, MODULAR;
+	}
+
+	// class fields
+	private final ArchitectureFunctions model;
+	private final String name;
+	private Backend backend;
+	private int threads;
+	// the warm state, which is discarded when the model is edited
+	private FrozenArchitecture frozen;
+	private final Map<Backend, Parser> parsers;
+	private ModularVerifier modular;
+	private final Map<Backend, Map<Property, Boolean>> results;
+
+	/**
+	 * The Constructor for an engine with the bottom up parser.
+	 *
+	 * @param model
+	 *          the architecture, which is built if necessary
+	 * @param name
+	 *          the name of the model for the report
+	 */
+	public VerificationEngine(ArchitectureFunctions model, String name) {
+		this.model = model;
+		this.name = name;
+		backend = Backend.BOTTOMUP;
+		threads = 1;
+		parsers = new EnumMap<Backend, Parser>(Backend.class);
+		results = new EnumMap<Backend, Map<Property, Boolean>>(Backend.class);
+	}
+
+	/**
+	 * Static method that loads a model, i.e. a case study by its name, a file in the
+	 * {@link ArchitectureFormat} with the ending .arch or a file in the text format of the
+	 * {@link ArchitectureImporter}.
+	 *
+	 * @param model
+	 *          the name of the case study or the path of the file
+	 * @return the architecture with the architecture already built
+	 * @throws IOException
+	 *          if the file can not be read or is invalid
+	 */
+	public static ArchitectureFunctions load(String model) throws IOException {
+		return load(model, VerificationContext.getDefault());
+	}
+
+	/**
+	 * Static method that loads a model into a context, see {@link #load(String)}.
+	 *
+	 * @param model
+	 *          the name of the case study or the path of the file
+	 * @param context
+	 *          the context in which the model is verified
+	 * @return the architecture with the architecture already built
+	 * @throws IOException
+	 *          if the file can not be read or is invalid
+	 */
+	public static ArchitectureFunctions load(String model, VerificationContext context) throws IOException {
+		CaseStudy example = caseStudy(model);
+		if (example != null) {
+			ArchitectureFunctions archFunc = new ArchitectureFunctions(context);
+			archFunc.load(example.toString());
+			archFunc.build();
+			return archFunc;
+		}
+		Path file = Paths.get(model);
+		if (!Files.exists(file)) {
+			throw new IOException("No case study or file " + model);
+		}
+		ArchitectureFunctions archFunc = model.endsWith(".arch") ? ArchitectureFormat.read(file)
+				: ArchitectureImporter.importArch(file);
+		archFunc.setContext(context);
+		if (archFunc.getArch() == null) {
+			archFunc.build();
+		}
+		return archFunc;
+	}
+
+	private static CaseStudy caseStudy(String model) {
+		for (CaseStudy example : CaseStudy.values()) {
+			if (example.name().equals(model) || example.toString().equals(model)) {
+				return example;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Method that verifies all properties of the model.
+	 *
+	 * @return the report
+	 * @throws InterruptedException
+	 *          if the thread is interrupted while verifying in parallel
+	 */
+	public VerificationReport verifyAll() throws InterruptedException {
+		return verify(model.getpSet());
+	}
+
+	/**
+	 * Method that verifies properties with the backend of the engine. Properties that were
+	 * already verified with the backend since the last edit are not verified again.
+	 *
+	 * @param properties
+	 *          the properties
+	 * @return the report
+	 * @throws InterruptedException
+	 *          if the thread is interrupted while verifying in parallel
+	 */
+	public synchronized VerificationReport verify(Collection<Property> properties) throws InterruptedException {
+		FrozenArchitecture arch = getArchitecture();
+		Map<Property, Boolean> cache = results.computeIfAbsent(backend, b -> new HashMap<Property, Boolean>());
+		VerificationReport report = new VerificationReport(name, backend);
+		long start = System.nanoTime();
+		if (backend == Backend.MODULAR) {
+			if (modular == null) {
+				modular = new ModularVerifier(arch, model.getContext());
+			}
+			List<Property> list = new ArrayList<Property>();
+			for (Property property : properties) {
+				if (!cache.containsKey(property)) {
+					list.add(property);
+				}
+			}
+			List<Boolean> holds = modular.verifyAll(list, threads);
+			for (int i = 0; i < list.size(); i++) {
+				cache.put(list.get(i), holds.get(i));
+			}
+			// the parts are verified together, so only the total time is known
+			for (Property property : properties) {
+				report.add(property, cache.get(property), -1);
+			}
+		} else if (backend == Backend.TOPDOWN && threads > 1) {
+			RulesOfInferenceParserTopdown parser =
+					(RulesOfInferenceParserTopdown) parsers.computeIfAbsent(backend, b -> createParser(arch));
+			Map<Property, String> scripts = new LinkedHashMap<Property, String>();
+			for (Property property : properties) {
+				if (!cache.containsKey(property)) {
+					scripts.put(property, parser.getScript(property));
+				}
+			}
+			Map<Property, Long> times = new HashMap<Property, Long>();
+			try (SolverExecutor executor = new SolverExecutor(model.getContext(), threads)) {
+				executor.verify(scripts).forEach(result -> {
+					cache.put(result.getProperty(), result.holds());
+					times.put(result.getProperty(), result.getTime());
+				});
+			}
+			for (Property property : properties) {
+				Long time = times.get(property);
+				report.add(property, cache.get(property), time == null ? 0 : time);
+			}
+		} else {
+			Parser parser = parsers.computeIfAbsent(backend, b -> createParser(arch));
+			for (Property property : properties) {
+				long time = System.nanoTime();
+				Boolean holds = cache.get(property);
+				if (holds == null) {
+					try {
+						holds = parser.verifyStatement(property, 0);
+					} catch (CancellationException e) {
+						// the caches of the parser are incomplete
+						parsers.remove(backend);
+						throw e;
+					}
+					cache.put(property, holds);
+				}
+				report.add(property, holds, System.nanoTime() - time);
+			}
+		}
+		report.setConsistency(arch.getConsistency());
+		report.setTime(System.nanoTime() - start);
+		return report;
+	}
+
+	/**
+	 * Method that edits the model with lines of the {@link ArchitectureImporter} format, see
+	 * {@link ArchitectureFunctions#batch(Iterable)}. The architecture is built again and the
+	 * warm state is discarded, also if a line is invalid.
+	 *
+	 * @param lines
+	 *          the lines with one declaration each
+	 * @throws IOException
+	 *          if a line is invalid, where all lines before are applied
+	 */
+	public synchronized void edit(Iterable<String> lines) throws IOException {
+		try {
+			model.batch(lines);
+		} finally {
+			invalidate();
+		}
+	}
+
+	/**
+	 * Method that builds the architecture again and discards the warm state, e.g. after
+	 * the model was changed directly.
+	 */
+	public synchronized void invalidate() {
+		model.build();
+		frozen = null;
+		parsers.clear();
+		modular = null;
+		results.clear();
+	}
+
+	/**
+	 * Method that returns the frozen architecture of the model, which is created if
+	 * necessary. Its consistency is checked when it is created.
+	 *
+	 * @return the frozen architecture
+	 */
+	public synchronized FrozenArchitecture getArchitecture() {
+		if (frozen == null) {
+			Architecture arch = model.getArch() != null ? model.getArch() : model.build();
+			frozen = arch.freeze();
+			// the parser checks, caches and reports the consistency, so the parsers of the
+			// backends do not check it again
+			new Parser(frozen, model.getContext());
+		}
+		return frozen;
+	}
+
+	/**
+	 * Helper method that creates the parser of the backend. The parsers are only loaded
+	 * when they are used, so e.g. the Prolog library is only needed for the Prolog parser.
+	 *
+	 * @param arch
+	 *          the architecture
+	 * @return the parser
+	 */
+	private Parser createParser(Architecture arch) {
+		VerificationContext context = model.getContext();
+		switch (backend) {
+		case TOPDOWN:
+			return new RulesOfInferenceParserTopdown(arch, context);
+		case PROLOG:
+			return new PrologParser(arch, context);
+		default:
+			return new RulesOfInferenceParserBottomup(arch, context);
+		}
+	}
+
+	// getter methods
+	public ArchitectureFunctions getModel() {
+		return model;
+	}
+
+	public synchronized Backend getBackend() {
+		return backend;
+	}
+
+	public synchronized void setBackend(Backend backend) {
+		this.backend = backend;
+	}
+
+	public synchronized int getThreads() {
+		return threads;
+	}
+
+	public synchronized void setThreads(int threads) {
+		this.threads = threads;
+	}
+}
@@ -0,0 +1,209 @@
+package engine;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import engine.VerificationEngine.Backend;
+import properties.Property;
+import utils.SuccessIndexPair;
+
+/**
+ * The results of a run of the {@link VerificationEngine}, which can be written as JSON.
+ */
+public class VerificationReport {
+
+	/**
+	 * The result of one property.
+	 */
+	public static class Result {
+
+		// class fields
+		private final Property property;
+		private final boolean holds;
+		private final long time;
+
+		/**
+		 * The Constructor for a result.
+		 *
+		 * @param property
+		 *          the property
+		 * @param holds
+		 *          true, if the property holds
+		 * @param time
+		 *          the time of the verification in nanoseconds or -1, if it is unknown
+		 */
+		public Result(Property property, boolean holds, long time) {
+			this.property = property;
+			this.holds = holds;
+			this.time = time;
+		}
+
+		// getter methods
+		public Property getProperty() {
+			return property;
+		}
+
+		public boolean holds() {
+			return holds;
+		}
+
+		public long getTime() {
+			return time;
+		}
+	}
+
+	// class fields
+	private final String model;
+	private final Backend backend;
+	private final List<Result> results;
+	private SuccessIndexPair consistency;
+	private long time;
+
+	/**
+	 * The Constructor for an empty report.
+	 *
+	 * @param model
+	 *          the name of the model
+	 * @param backend
+	 *          the backend that verified the properties
+	 */
+	public VerificationReport(String model, Backend backend) {
+		this.model = model;
+		this.backend = backend;
+		results = new ArrayList<Result>();
+	}
+
+	/**
+	 * Method that adds the result of a property.
+	 *
+	 * @param property
+	 *          the property
+	 * @param holds
+	 *          true, if the property holds
+	 * @param time
+	 *          the time of the verification in nanoseconds or -1, if it is unknown
+	 */
+	public void add(Property property, boolean holds, long time) {
+		results.add(new Result(property, holds, time));
+	}
+
+	/**
+	 * Method that checks if the architecture is consistent, so that the results are
+	 * meaningful.
+	 *
+	 * @return true, if the architecture is consistent
+	 */
+	public boolean isConsistent() {
+		return consistency == null || consistency.isSuccess();
+	}
+
+	/**
+	 * Method that writes the report as a JSON object.
+	 *
+	 * @param out
+	 *          the output
+	 * @throws IOException
+	 *          if the output can not be written
+	 */
+	public void writeJson(Appendable out) throws IOException {
+		writeJson(out, true);
+		out.append(System.lineSeparator());
+	}
+
+	/**
+	 * Method that writes the report as a JSON object without a line separator at the end.
+	 *
+	 * @param out
+	 *          the output
+	 * @param lines
+	 *          true, if every result is written on its own line, or else the report is a
+	 *          single line
+	 * @throws IOException
+	 *          if the output can not be written
+	 */
+	void writeJson(Appendable out, boolean lines) throws IOException {
+		String separator = lines ? System.lineSeparator() + "  " : " ";
+		out.append("{\"model\": ").append(quote(model));
+		out.append(", \"backend\": ").append(quote(backend.name().toLowerCase()));
+		out.append(", \"consistent\": ").append(String.valueOf(isConsistent()));
+		if (!isConsistent()) {
+			out.append(", \"inconsistentAction\": ").append(String.valueOf(consistency.getIndex()));
+		}
+		out.append(", \"timeMs\": ").append(millis(time));
+		out.append(", \"results\": [");
+		for (int i = 0; i < results.size(); i++) {
+			Result result = results.get(i);
+			if (i > 0) {
+				out.append(",");
+			}
+			out.append(i > 0 || lines ? separator : "");
+			out.append("{\"property\": ").append(quote(result.property.toString()));
+			out.append(", \"holds\": ").append(String.valueOf(result.holds));
+			if (result.time >= 0) {
+				out.append(", \"timeMs\": ").append(millis(result.time));
+			}
+			out.append("}");
+		}
+		out.append("]}");
+	}
+
+	private static String millis(long nanos) {
+		return String.valueOf(nanos / 1000 / 1000.0);
+	}
+
+	static String quote(String value) {
+		StringBuilder sb = new StringBuilder("\"");
+		for (char c : value.toCharArray()) {
+			switch (c) {
+			case '"':
+				sb.append("\\\"");
+				break;
+			case '\\':
+				sb.append("\\\\");
+				break;
+			case '\n':
+				sb.append("\\n");
+				break;
+			default:
+				if (c < 0x20) {
+					sb.append(String.format("\\u%04x", (int) c));
+				} else {
+					sb.append(c);
+				}
+				break;
+			}
+		}
+		return sb.append('"').toString();
+	}
+
+	// getter methods
+	public String getModel() {
+		return model;
+	}
+
+	public Backend getBackend() {
+		return backend;
+	}
+
+	public List<Result> getResults() {
+		return Collections.unmodifiableList(results);
+	}
+
+	public SuccessIndexPair getConsistency() {
+		return consistency;
+	}
+
+	public void setConsistency(SuccessIndexPair consistency) {
+		this.consistency = consistency;
+	}
+
+	public long getTime() {
+		return time;
+	}
+
+	public void setTime(long time) {
+		this.time = time;
+	}
+}
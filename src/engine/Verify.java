@@ -0,0 +1,131 @@
+package engine;
+
+import gui.ArchitectureFunctions;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import engine.VerificationEngine.Backend;
+import properties.Property;
+import solver.ConfigReader;
+
+/**
+ * Command-line runner of the {@link VerificationEngine} that needs neither SWT nor a
+ * display. The report is written as JSON to the standard output or a file, while the
+ * messages of the parsers go to the standard error.
+ *
+ * <pre>
+ * Verify &lt;model&gt; [-b bottomup|topdown|prolog|modular] [-t threads] [-o file] [-p property]...
+ * </pre>
+ *
+ * The model is a case study (e.g. SEM), an .arch file or a file of the
+ * {@link utils.ArchitectureImporter}. Without -p all properties of the model are verified.
+ * The exit code is 0 on success, 1 if the architecture is not consistent and 2 if the
+ * arguments or the model are invalid.
+ */
+public class Verify {
+
+	/**
+	 * Runs the verification.
+	 *
+	 * @param args
+	 *          the arguments as described above
+	 */
+	public static void main(String[] args) {
+		System.exit(run(args, System.out));
+	}
+
+	/**
+	 * Method that runs the verification.
+	 *
+	 * @param args
+	 *          the arguments
+	 * @param out
+	 *          the stream for the report, if there is no output file
+	 * @return the exit code
+	 */
+	public static int run(String[] args, PrintStream out) {
+		if (args.length == 0) {
+			return usage("missing model");
+		}
+		String model = args[0];
+		Backend backend = Backend.BOTTOMUP;
+		int threads = Runtime.getRuntime().availableProcessors();
+		String file = null;
+		Set<String> names = new HashSet<String>();
+		try {
+			for (int i = 1; i < args.length; i++) {
+				switch (args[i]) {
+				case "-b":
+					backend = Backend.valueOf(args[++i].toUpperCase());
+					break;
+				case "-t":
+					threads = Integer.parseInt(args[++i]);
+					break;
+				case "-o":
+					file = args[++i];
+					break;
+				case "-p":
+					names.add(args[++i]);
+					break;
+				default:
+					return usage("unknown argument " + args[i]);
+				}
+			}
+		} catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+			return usage("invalid arguments");
+		}
+		if (backend == Backend.TOPDOWN && !ConfigReader.readConfig()) {
+			// the solver is configured in the config file
+			System.err.println("Config file could not be read!");
+			return 2;
+		}
+		// the parsers write their messages to the standard output
+		PrintStream stdout = System.out;
+		System.setOut(System.err);
+		try {
+			ArchitectureFunctions archFunc = VerificationEngine.load(model);
+			List<Property> properties = new ArrayList<Property>();
+			for (Property property : archFunc.getpSet()) {
+				if (names.isEmpty() || names.contains(property.toString())) {
+					properties.add(property);
+				}
+			}
+			VerificationEngine engine = new VerificationEngine(archFunc, model);
+			engine.setBackend(backend);
+			engine.setThreads(threads);
+			VerificationReport report = engine.verify(properties);
+			if (file != null) {
+				try (Writer writer = Files.newBufferedWriter(Paths.get(file), StandardCharsets.UTF_8)) {
+					report.writeJson(writer);
+				}
+			} else {
+				report.writeJson(out);
+				out.flush();
+			}
+			return report.isConsistent() ? 0 : 1;
+		} catch (IOException e) {
+			System.err.println(e.getMessage());
+			return 2;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return 2;
+		} finally {
+			System.setOut(stdout);
+		}
+	}
+
+	private static int usage(String message) {
+		System.err.println(message);
+		System.err.println("usage: Verify <model> [-b bottomup|topdown|prolog|modular] [-t threads] [-o file] [-p property]...");
+		return 2;
+	}
+}
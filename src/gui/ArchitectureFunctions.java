@@ -3,6 +3,7 @@ package gui;
 import architecture.Action;
 import architecture.Action.ActionType;
 import architecture.Architecture;
+import architecture.ArchitectureVersion;
 import architecture.Attest;
 import architecture.Component;
 import architecture.Composition;
@@ -25,17 +26,26 @@ import architecture.Term.OperatorType;
 import architecture.Term.TermType;
 import architecture.Trust;
 import architecture.Variable;
-import gui.Gui.MessageType;
 import properties.Property;
 import properties.RulesOfInferenceParserBottomup;
+import properties.SymmetryReduction;
+import utils.Metrics;
 import utils.SaveLoadArch;
-import utils.TraceBuffer;
+import utils.VerificationContext;
+import utils.VerificationEvents;
 import utils.ArchLoader;
+import utils.ArchitectureImporter;
+import utils.IndexedSet;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * The class that is responsible for all architecture-related methods triggered by the GUI.
@@ -114,32 +124,50 @@ public class ArchitectureFunctions implements Serializable {
 	private Architecture arch;
 	//private RulesOfInferenceParserTopdown parserTd;
 	private RulesOfInferenceParserBottomup parserBu;
+	// maps properties of symmetric instances to their representatives
+	private transient SymmetryReduction symmetry;
 	//private PrologParser prologSolver;
 	private Set<Property> pSet;
 	private Set<Purpose> puSet;
 	private PurposeHierarchy purpHier;
 	private Set<DataType> dtSet;
+	// informed about the changes of the sets, e.g. the tables of the GUI
+	private transient List<ModelListener> listeners;
+	// the context of the verification, which is the default context after loading
+	private transient VerificationContext context;
 
 	/**
-	 * The constructor of the architecture functions.
+	 * The constructor of the architecture functions in the default context.
 	 */
 	public ArchitectureFunctions() {
-		cSet = new LinkedHashSet<Component>();
-		vSet = new LinkedHashSet<Variable>();
-		tSet = new LinkedHashSet<Term>();
-		eSet = new LinkedHashSet<Equation>();
-		trustSet = new LinkedHashSet<Trust>();
-		composSet = new LinkedHashSet<Composition>();
-		aSet = new LinkedHashSet<Action>();
-		stSet = new LinkedHashSet<Statement>();
-		dSet = new LinkedHashSet<DependenceRelation>();
-		dedSet = new LinkedHashSet<DeductionCapability>();
-		deducs = new LinkedHashSet<Deduction>();
-		pSet = new LinkedHashSet<Property>();
-		puSet = new LinkedHashSet<Purpose>();
+		this(VerificationContext.getDefault());
+	}
+
+	/**
+	 * The constructor of the architecture functions that are verified in a context.
+	 *
+	 * @param context
+	 *          the context of the verification
+	 */
+	public ArchitectureFunctions(VerificationContext context) {
+		this.context = context;
+		cSet = new IndexedSet<Component>();
+		vSet = new IndexedSet<Variable>();
+		tSet = new IndexedSet<Term>();
+		eSet = new IndexedSet<Equation>();
+		trustSet = new IndexedSet<Trust>();
+		composSet = new IndexedSet<Composition>();
+		aSet = new IndexedSet<Action>();
+		stSet = new IndexedSet<Statement>();
+		dSet = new IndexedSet<DependenceRelation>();
+		dedSet = new IndexedSet<DeductionCapability>();
+		deducs = new IndexedSet<Deduction>();
+		pSet = new IndexedSet<Property>();
+		puSet = new IndexedSet<Purpose>();
 		purpHier = new PurposeHierarchy();
-		dtSet = new LinkedHashSet<DataType>();
+		dtSet = new IndexedSet<DataType>();
 		createDefaultDeduc();
+		observeAll();
 	}
 
 	/**
@@ -148,22 +176,29 @@ public class ArchitectureFunctions implements Serializable {
 	 * @param prop
 	 *          the name of the property to verify
 	 * @return true, if the property holds
+	 * @throws CancellationException
+	 *          if the verification was cancelled, see {@link properties.VerificationMonitor}
 	 */
 	public boolean verify(String prop) {
-		// go through the Set and find the right property
-		Property property = null;
-		for (Property p : pSet) {
-			if (prop != null && p.toString().equals(prop)) {
-				property = p;
-			}
-		}
+		// find the right property by its name
+		Property property = find(pSet, prop);
 		// verify the property
 		if (property != null) {
 			//TODO maybe use prolog
 			//boolean res = prologSolver.verifyStatement(property, 0);
 			//System.out.println("Prolog return: " + res);
 			//TODO use new parser when finished
-			return parserBu.verifyStatement(property, 0);
+			if (parserBu == null) {
+				parserBu = new RulesOfInferenceParserBottomup(arch, getContext());
+			}
+			// only one instance per symmetry class is verified
+			try {
+				return parserBu.verifyStatement(canonical(property), 0);
+			} catch (CancellationException e) {
+				// the caches of the parser are incomplete
+				parserBu = null;
+				throw e;
+			}
 		}
 		return false;
 	}
@@ -173,6 +208,27 @@ public class ArchitectureFunctions implements Serializable {
 	 * consistency check.
 	 */
 	public void finish() {
+		VerificationEvents.Phase event = new VerificationEvents.Phase("build");
+		event.begin();
+		build();
+		event.commit();
+		// create the verifier, which checks the consistency
+		event = new VerificationEvents.Phase("parser");
+		event.begin();
+		//parserTd = new RulesOfInferenceParserTopdown(arch);
+		parserBu = new RulesOfInferenceParserBottomup(arch, getContext());
+		//prologSolver = new PrologParser(arch);
+		event.commit();
+	}
+
+	/**
+	 * Method that builds the architecture from the sets without creating the verifier.
+	 * The verifier is created when the first property is verified.
+	 *
+	 * @return the architecture
+	 */
+	public Architecture build() {
+		long start = System.nanoTime();
 		// set dependence relations
 		for (DependenceRelation dr : dSet) {
 			// add the dep to the comp
@@ -223,19 +279,20 @@ public class ArchitectureFunctions implements Serializable {
 		}
 		// create arch
 		arch = new Architecture(cSet, interComponentActions, trustSet, composSet, purpHier);
-		// create the verifier
-		//parserTd = new RulesOfInferenceParserTopdown(arch);
-		parserBu = new RulesOfInferenceParserBottomup(arch);
-		//prologSolver = new PrologParser(arch);
+		parserBu = null;
+		symmetry = null;
+		getContext().getMetrics().time(Metrics.BUILD, start);
+		return arch;
 	}
 
 	/**
-	 * Method that presents the verification trace of a selected property.
+	 * Method that returns the verification trace of a selected property to present it.
 	 * 
 	 * @param property
 	 *          the name of the property
+	 * @return the trace or null, if there is no such property
 	 */
-	public void showTrace(String property) {
+	public String getTrace(String property) {
 		// split the string to remove the [holds] or [does not hold] information
 		String[] splits = property.split("] ");
 		property = splits[1];
@@ -248,15 +305,27 @@ public class ArchitectureFunctions implements Serializable {
 			holdP += "Property could not be proven!";
 		}
 		// get the right property
-		for (Property p : pSet) {
-			if (property != null && p.toString().equals(property)) {
-				// get the trace
-				// DEBUG
-				System.out.println("Property to show trace for: " + p);
-				// This should work
-				Gui.showMessage(MessageType.LOG, TraceBuffer.getMessage(p) + holdP);
-			}
+		Property p = find(pSet, property);
+		if (p != null) {
+			// get the trace, which is stored under the verified representative
+			return getContext().getTrace().getMessage(canonical(p)) + holdP;
+		}
+		return null;
+	}
+
+	/**
+	 * Helper method that returns the representative of a property, which is verified
+	 * instead of the symmetric instances of the property.
+	 * 
+	 * @param property
+	 *          the property
+	 * @return the representative
+	 */
+	private Property canonical(Property property) {
+		if (symmetry == null) {
+			symmetry = new SymmetryReduction(arch);
 		}
+		return symmetry.canonical(property);
 	}
 
 	/**
@@ -290,6 +359,202 @@ public class ArchitectureFunctions implements Serializable {
 		return true;
 	}
 
+	/**
+	 * Method that creates a root version of the architecture for what-if analysis,
+	 * where the architecture is built first if necessary.
+	 * Later changes to this object do not affect the version.
+	 *
+	 * @return the version
+	 */
+	public ArchitectureVersion version() {
+		if (arch == null) {
+			build();
+		}
+		return ArchitectureVersion.of(arch);
+	}
+
+	/**
+	 * Method that applies a batch of edits given as lines of the
+	 * {@link ArchitectureImporter} format, e.g. to script changes of large models.
+	 * The entities of the architecture can be referenced by their names.
+	 * As after single edits, the architecture has to be finished again.
+	 *
+	 * @param lines
+	 *          the lines with one declaration each
+	 * @throws IOException
+	 *          if a line is invalid, where all lines before are applied
+	 */
+	public void batch(Iterable<String> lines) throws IOException {
+		ArchitectureImporter importer = new ArchitectureImporter(this);
+		for (String line : lines) {
+			importer.readLine(line);
+		}
+	}
+
+	/**
+	 * Helper method that finds an object by its name, i.e., its string representation.
+	 * The sets of the architecture are indexed by name, hence no search is needed.
+	 *
+	 * @param set
+	 *          the set of objects
+	 * @param name
+	 *          the name of the object
+	 * @return the last added object with the name or null, if there is none
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> T find(Set<T> set, String name) {
+		if (name == null) {
+			return null;
+		}
+		if (set instanceof IndexedSet) {
+			return ((IndexedSet<T>) set).get(name);
+		}
+		T result = null;
+		for (T t : set) {
+			if (t.toString().equals(name)) {
+				result = t;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Helper method that creates a name indexed copy of a set.
+	 *
+	 * @param set
+	 *          the set
+	 * @return the indexed set or null, if the set is null
+	 */
+	private static <T> Set<T> index(Set<T> set) {
+		if (set == null || set instanceof IndexedSet) {
+			return set;
+		}
+		return new IndexedSet<T>(set);
+	}
+
+	/**
+	 * Method that restores the name indexes for architectures that were saved as plain sets.
+	 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		cSet = index(cSet);
+		vSet = index(vSet);
+		tSet = index(tSet);
+		eSet = index(eSet);
+		trustSet = index(trustSet);
+		composSet = index(composSet);
+		aSet = index(aSet);
+		stSet = index(stSet);
+		dSet = index(dSet);
+		dedSet = index(dedSet);
+		deducs = index(deducs);
+		pSet = index(pSet);
+		puSet = index(puSet);
+		dtSet = index(dtSet);
+		observeAll();
+	}
+
+	/**
+	 * Method that adds a listener that is informed about every change of the sets.
+	 *
+	 * @param listener
+	 *          the listener
+	 */
+	public void addModelListener(ModelListener listener) {
+		if (listeners == null) {
+			listeners = new CopyOnWriteArrayList<ModelListener>();
+		}
+		listeners.add(listener);
+	}
+
+	/**
+	 * Method that removes a listener.
+	 *
+	 * @param listener
+	 *          the listener
+	 */
+	public void removeModelListener(ModelListener listener) {
+		if (listeners != null) {
+			listeners.remove(listener);
+		}
+	}
+
+	/**
+	 * Helper method that observes all sets, which are indexed sets at this point.
+	 */
+	private void observeAll() {
+		observe(cSet);
+		observe(vSet);
+		observe(tSet);
+		observe(eSet);
+		observe(trustSet);
+		observe(composSet);
+		observe(aSet);
+		observe(stSet);
+		observe(dSet);
+		observe(dedSet);
+		observe(deducs);
+		observe(pSet);
+		observe(puSet);
+		observe(dtSet);
+	}
+
+	/**
+	 * Helper method that forwards the changes of a set to the listeners.
+	 *
+	 * @param set
+	 *          the set
+	 */
+	private <T> void observe(Set<T> set) {
+		if (!(set instanceof IndexedSet)) {
+			return;
+		}
+		((IndexedSet<T>) set).setObserver(new IndexedSet.Observer<T>() {
+			@Override
+			public void added(T e) {
+				if (listeners != null) {
+					for (ModelListener listener : listeners) {
+						listener.elementAdded(set, e);
+					}
+				}
+			}
+
+			@Override
+			public void removed(Object o) {
+				if (listeners != null) {
+					for (ModelListener listener : listeners) {
+						listener.elementRemoved(set, o);
+					}
+				}
+			}
+
+			@Override
+			public void cleared() {
+				changed(set);
+			}
+		});
+	}
+
+	/**
+	 * Helper method that observes a set that replaced another one and informs the
+	 * listeners.
+	 *
+	 * @param set
+	 *          the new set
+	 */
+	private void replaced(Set<?> set) {
+		observe(set);
+		changed(set);
+	}
+
+	private void changed(Set<?> set) {
+		if (listeners != null) {
+			for (ModelListener listener : listeners) {
+				listener.setChanged(set);
+			}
+		}
+	}
+
 	/**
 	 * Helper method to create the default deductions Reflexivity, Symmetry,
 	 * Transitivity and Substitution.
@@ -333,8 +598,6 @@ public class ArchitectureFunctions implements Serializable {
 	 */
 	public void addComponent(String name) {
 		cSet.add(new Component(name));
-		// Debug
-		System.out.println(cSet);
 	}
 
 	/**
@@ -346,8 +609,6 @@ public class ArchitectureFunctions implements Serializable {
 		Variable var = new Variable(name);
 		vSet.add(var);
 		tSet.add(new Term(TermType.ATOM, var, false));
-		// Debug
-		System.out.println(vSet);
 	}
 
 	/**
@@ -367,21 +628,10 @@ public class ArchitectureFunctions implements Serializable {
 	 */
 	public void addTerm(OperatorType opType, Operator op, String funcName,
 			String t1, String t2, String t3) {
-		//DEBUG
-		System.out.println("Archfunc->addTerm was entered...");
-		Term term1 = null;
-		Term term2 = null;
-		Term term3 = null;
-		// go through Set and identify the right term(s)
-		for (Term t : tSet) {
-			if (t.toString().equals(t1)) {
-				term1 = t;
-			} else if (t2 != null && t.toString().equals(t2)) {
-				term2 = t;
-			} else if (t3 != null && t.toString().equals(t3)) {
-				term3 = t;
-			}
-		}
+		// identify the right term(s) by their names
+		Term term1 = find(tSet, t1);
+		Term term2 = find(tSet, t2);
+		Term term3 = find(tSet, t3);
 		switch (opType) {
 		case BINARY:
 			// add the new binary term
@@ -405,10 +655,6 @@ public class ArchitectureFunctions implements Serializable {
 		default:
 			break;
 		}
-		// Debug
-		System.out.println(tSet);
-		//DEBUG
-		System.out.println("Archfunc->addTerm was exited...");
 	}
 
 	/**
@@ -427,25 +673,11 @@ public class ArchitectureFunctions implements Serializable {
 	 *          the name of the second term
 	 */
 	public void addEquation(String name, Type type, String e1, String e2, String t1, String t2) {
-		Equation eq1 = null;
-		Equation eq2 = null;
-		Term term1 = null;
-		Term term2 = null;
-		// go through Sets and identify the right objects
-		for (Term t : tSet) {
-			if (t1 != null && t.toString().equals(t1)) {
-				term1 = t;
-			} else if (t2 != null && t.toString().equals(t2)) {
-				term2 = t;
-			}
-		}
-		for (Equation e : eSet) {
-			if (e1 != null && e.toString().equals(e1)) {
-				eq1 = e;
-			} else if (e2 != null && e.toString().equals(e2)) {
-				eq2 = e;
-			}
-		}
+		// identify the right objects by their names
+		Term term1 = find(tSet, t1);
+		Term term2 = find(tSet, t2);
+		Equation eq1 = find(eSet, e1);
+		Equation eq2 = find(eSet, e2);
 		switch (type) {
 		case CONJUNCTION:
 			if (eq1 != null && eq2 != null) {
@@ -460,8 +692,6 @@ public class ArchitectureFunctions implements Serializable {
 		default:
 			break;
 		}
-		// Debug
-		System.out.println(eSet);
 	}
 
 	/**
@@ -472,21 +702,12 @@ public class ArchitectureFunctions implements Serializable {
 	 *          the name of the trusted component
 	 */
 	public void addTrust(String c1, String c2) {
-		Component comp1 = null;
-		Component comp2 = null;
-		// go through Set and identify the right objects
-		for (Component c : cSet) {
-			if (c1 != null && c.toString().equals(c1)) {
-				comp1 = c;
-			} else if (c2 != null && c.toString().equals(c2)) {
-				comp2 = c;
-			}
-		}
+		// identify the right objects by their names
+		Component comp1 = find(cSet, c1);
+		Component comp2 = find(cSet, c2);
 		if (comp1 != null && comp2 != null) {
 			trustSet.add(new Trust(comp1, comp2));
 		}
-		// Debug
-		System.out.println(trustSet);
 	}
 
 	/**
@@ -497,24 +718,12 @@ public class ArchitectureFunctions implements Serializable {
 	 *          the name of the obtained variable
 	 */
 	public void addHas(String comp, String var) {
-		Component component = null;
-		Variable variable = null;
-		// go through the Sets and identify the right objects
-		for (Component c : cSet) {
-			if (comp != null && c.toString().equals(comp)) {
-				component = c;
-			}
-		}
-		for (Variable v : vSet) {
-			if (var != null && v.toString().equals(var)) {
-				variable = v;
-			}
-		}
+		// identify the right objects by their names
+		Component component = find(cSet, comp);
+		Variable variable = find(vSet, var);
 		if (component != null && variable != null) {
 			aSet.add(new Action(ActionType.HAS, component, variable));
 		}
-		// Debug
-		System.out.println(aSet);
 	}
 
 	/**
@@ -525,24 +734,12 @@ public class ArchitectureFunctions implements Serializable {
 	 *          the name of the obtained equation
 	 */
 	public void addCompute(String comp, String eq) {
-		Component component = null;
-		Equation equation = null;
-		// go through the Sets and identify the right objects
-		for (Component c : cSet) {
-			if (comp != null && c.toString().equals(comp)) {
-				component = c;
-			}
-		}
-		for (Equation e : eSet) {
-			if (eq != null && e.toString().equals(eq)) {
-				equation = e;
-			}
-		}
+		// identify the right objects by their names
+		Component component = find(cSet, comp);
+		Equation equation = find(eSet, eq);
 		if (component != null && equation != null) {
 			aSet.add(new Action(ActionType.COMPUTE, component, equation));
 		}
-		// Debug
-		System.out.println(aSet);
 	}
 
 	/**
@@ -557,32 +754,21 @@ public class ArchitectureFunctions implements Serializable {
 	 *          a Set of the names of the variables to send
 	 */
 	public void addReceive(String comp1, String comp2, Set<String> stateSet, Set<String> varSet) {
-		Component component1 = null;
-		Component component2 = null;
 		Set<Statement> statementSet = new LinkedHashSet<Statement>();
 		Set<Variable> variableSet = new LinkedHashSet<Variable>();
-		// go through the Sets and identify the right objects
-		for (Component c : cSet) {
-			if (comp1 != null && c.toString().equals(comp1)) {
-				component1 = c;
-			} else if (comp2 != null && c.toString().equals(comp2)) {
-				component2 = c;
-			}
-		}
+		// identify the right objects by their names
+		Component component1 = find(cSet, comp1);
+		Component component2 = find(cSet, comp2);
 		for (String s : varSet) {
-			for (Variable v : vSet) {
-				if (v.toString().equals(s)) {
-					variableSet.add(v);
-					break;
-				}
+			Variable v = find(vSet, s);
+			if (v != null) {
+				variableSet.add(v);
 			}
 		}
 		for (String s : stateSet) {
-			for (Statement st : stSet) {
-				if (st.toString().equals(s)) {
-					statementSet.add(st);
-					break;
-				}
+			Statement st = find(stSet, s);
+			if (st != null) {
+				statementSet.add(st);
 			}
 		}
 		if (component1 != null && component2 != null && !(statementSet.isEmpty()
@@ -590,8 +776,6 @@ public class ArchitectureFunctions implements Serializable {
 			aSet.add(
 					new Action(ActionType.RECEIVE, component1, component2, statementSet, variableSet));
 		}
-		// Debug
-		System.out.println(aSet);
 	}
 
 	/**
@@ -606,39 +790,22 @@ public class ArchitectureFunctions implements Serializable {
 	 *          a Set of the names of the variables to send
 	 */
 	public void addPReceive(String comp1, String comp2, String purp, Set<String> varSet) {
-		Component component1 = null;
-		Component component2 = null;
-		Purpose purpose = null;
 		Set<Variable> variableSet = new LinkedHashSet<Variable>();
-		// go through the Sets and identify the right objects
-		for (Component c : cSet) {
-			if (comp1 != null && c.toString().equals(comp1)) {
-				component1 = c;
-			} else if (comp2 != null && c.toString().equals(comp2)) {
-				component2 = c;
-			}
-		}
+		// identify the right objects by their names
+		Component component1 = find(cSet, comp1);
+		Component component2 = find(cSet, comp2);
 		for (String s : varSet) {
-			for (Variable v : vSet) {
-				if (v.toString().equals(s)) {
-					variableSet.add(v);
-					break;
-				}
-			}
-		}
-		for (Purpose p : puSet) {
-			if (p.toString().equals(purp)) {
-				purpose = p;
-				break;
+			Variable v = find(vSet, s);
+			if (v != null) {
+				variableSet.add(v);
 			}
 		}
+		Purpose purpose = find(puSet, purp);
 		if (component1 != null && component2 != null && !(purpose == null
 				|| variableSet.isEmpty())) {
 			aSet.add(
 					new Action(ActionType.PRECEIVE, component1, component2, purpose, variableSet));
 		}
-		// Debug
-		System.out.println(aSet);
 	}
 
 	/**
@@ -654,39 +821,22 @@ public class ArchitectureFunctions implements Serializable {
 	 */
 	public void addCReceive(String comp1, String comp2, String dt, Set<String> varSet) {
 		// TODO Auto-generated method stub
-		Component component1 = null;
-		Component component2 = null;
-		DataType dataType = null;
 		Set<Variable> variableSet = new LinkedHashSet<Variable>();
-		// go through the Sets and identify the right objects
-		for (Component c : cSet) {
-			if (comp1 != null && c.toString().equals(comp1)) {
-				component1 = c;
-			} else if (comp2 != null && c.toString().equals(comp2)) {
-				component2 = c;
-			}
-		}
+		// identify the right objects by their names
+		Component component1 = find(cSet, comp1);
+		Component component2 = find(cSet, comp2);
 		for (String s : varSet) {
-			for (Variable v : vSet) {
-				if (v.toString().equals(s)) {
-					variableSet.add(v);
-					break;
-				}
-			}
-		}
-		for (DataType d : dtSet) {
-			if (d.toString().equals(dt)) {
-				dataType = d;
-				break;
+			Variable v = find(vSet, s);
+			if (v != null) {
+				variableSet.add(v);
 			}
 		}
+		DataType dataType = find(dtSet, dt);
 		if (component1 != null && component2 != null && !(dataType == null
 				|| variableSet.isEmpty())) {
 			aSet.add(
 					new Action(ActionType.CRECEIVE, component1, component2, dataType, variableSet));
 		}
-		// Debug
-		System.out.println(aSet);
 	}
 
 	/**
@@ -697,28 +847,18 @@ public class ArchitectureFunctions implements Serializable {
 	 *          a Set of the names of equations to check
 	 */
 	public void addCheck(String comp, Set<String> eqSet) {
-		Component component = null;
 		Set<Equation> equationSet = new LinkedHashSet<Equation>();
-		// go through the Sets and identify the right objects
-		for (Component c : cSet) {
-			if (comp != null && c.toString().equals(comp)) {
-				component = c;
-				break;
-			}
-		}
+		// identify the right objects by their names
+		Component component = find(cSet, comp);
 		for (String e : eqSet) {
-			for (Equation eq : eSet) {
-				if (eq.toString().equals(e)) {
-					equationSet.add(eq);
-					break;
-				}
+			Equation eq = find(eSet, e);
+			if (eq != null) {
+				equationSet.add(eq);
 			}
 		}
 		if (component != null && !equationSet.isEmpty()) {
 			aSet.add(new Action(ActionType.CHECK, component, equationSet));
 		}
-		// Debug
-		System.out.println(aSet);
 	}
 
 	/**
@@ -729,24 +869,12 @@ public class ArchitectureFunctions implements Serializable {
 	 *          the variable to delete
 	 */
 	public void delete(String comp, String var) {
-		Component component = null;
-		Variable variable = null;
-		// go through the Sets and identify the right objects
-		for (Component c : cSet) {
-			if (comp != null && c.toString().equals(comp)) {
-				component = c;
-			}
-		}
-		for (Variable v : vSet) {
-			if (var != null && v.toString().equals(var)) {
-				variable = v;
-			}
-		}
+		// identify the right objects by their names
+		Component component = find(cSet, comp);
+		Variable variable = find(vSet, var);
 		if (component != null && variable != null) {
 			aSet.add(new Action(ActionType.DELETE, component, variable));
 		}
-		// Debug
-		System.out.println(aSet);
 	}
 
 	/**
@@ -759,26 +887,14 @@ public class ArchitectureFunctions implements Serializable {
 	 *          flag to indicate proof or attestation
 	 */
 	public void addVerify(String comp, String stmt, boolean proof) {
-		Component component = null;
-		Statement statement = null;
-		// go through the Sets and identify the right objects
-		for (Component c : cSet) {
-			if (comp != null && c.toString().equals(comp)) {
-				component = c;
-			}
-		}
-		for (Statement s : stSet) {
-			if (stmt != null && s.toString().equals(stmt)) {
-				statement = s;
-			}
-		}
+		// identify the right objects by their names
+		Component component = find(cSet, comp);
+		Statement statement = find(stSet, stmt);
 		if (component != null && statement != null && proof) {
 			aSet.add(new Action(ActionType.VERIF_P, component, (Proof) statement));
 		} else if (component != null && statement != null && !proof) {
 			aSet.add(new Action(ActionType.VERIF_A, component, (Attest) statement));
 		}
-		// Debug
-		System.out.println(aSet);
 	}
 
 	/**
@@ -793,8 +909,6 @@ public class ArchitectureFunctions implements Serializable {
 	 *          the probability of the dependence relation
 	 */
 	public void addDep(String comp, String var, Set<String> varSet, String probability) {
-		Component component = null;
-		Variable variable = null;
 		Set<Variable> variableSet = new LinkedHashSet<Variable>();
 		double prob = 0;
 		try {
@@ -803,28 +917,18 @@ public class ArchitectureFunctions implements Serializable {
 			E.printStackTrace();
 			return;
 		}
-		// go through the Sets and identify the right objects
-		for (Component c : cSet) {
-			if (comp != null && c.toString().equals(comp)) {
-				component = c;
-				break;
-			}
-		}
-		for (Variable v : vSet) {
-			if (var != null && v.toString().equals(var)) {
-				variable = v;
-			}
-			for (String s : varSet) {
-				if (v.toString().equals(s)) {
-					variableSet.add(v);
-				}
+		// identify the right objects by their names
+		Component component = find(cSet, comp);
+		Variable variable = find(vSet, var);
+		for (String s : varSet) {
+			Variable v = find(vSet, s);
+			if (v != null) {
+				variableSet.add(v);
 			}
 		}
 		if (component != null && variable != null && !variableSet.isEmpty()) {
 			dSet.add(new DependenceRelation(component, new Dep(variable, variableSet, prob)));
 		}
-		// Debug
-		System.out.println(dSet);
 	}
 
 	/**
@@ -835,27 +939,18 @@ public class ArchitectureFunctions implements Serializable {
 	 *          a Set of the names of deductions
 	 */
 	public void addDed(String comp, Set<String> dedSet) {
-		Component component = null;
 		Set<Deduction> deducSet = new LinkedHashSet<Deduction>();
-		// go through the Sets and identify the right objects
-		for (Component c : cSet) {
-			if (comp != null && c.toString().equals(comp)) {
-				component = c;
-				break;
-			}
-		}
+		// identify the right objects by their names
+		Component component = find(cSet, comp);
 		for (String ded : dedSet) {
-			for (Deduction d : deducs) {
-				if (d.toString().equals(ded)) {
-					deducSet.add(d);
-				}
+			Deduction d = find(deducs, ded);
+			if (d != null) {
+				deducSet.add(d);
 			}
 		}
 		if (component != null && !deducSet.isEmpty()) {
 			this.dedSet.add(new DeductionCapability(component, deducSet));
 		}
-		// Debug
-		System.out.println(this.dedSet);
 	}
 
 	/**
@@ -870,16 +965,13 @@ public class ArchitectureFunctions implements Serializable {
 	 *          the probability of the dependence relation
 	 */
 	public void addDeduc(String name, Set<String> premises, String conclusion, String probability) {
-		Equation equation = null;
 		Set<Equation> eqSet = new LinkedHashSet<Equation>();
-		for (Equation eq : eSet) {
-			if (eq.toString().equals(conclusion)) {
-				equation = eq;
-			}
-			for (String e : premises) {
-				if (eq.toString().equals(e)) {
-					eqSet.add(eq);
-				}
+		// identify the right objects by their names
+		Equation equation = find(eSet, conclusion);
+		for (String e : premises) {
+			Equation eq = find(eSet, e);
+			if (eq != null) {
+				eqSet.add(eq);
 			}
 		}
 		double prob = 0;
@@ -892,8 +984,6 @@ public class ArchitectureFunctions implements Serializable {
 		if (equation != null && !eqSet.isEmpty()) {
 			deducs.add(new Deduction(Deduction.Type.ELSE, eqSet, equation, name, prob));
 		}
-		// Debug
-		System.out.println(deducs);
 	}
 
 	/**
@@ -907,26 +997,12 @@ public class ArchitectureFunctions implements Serializable {
 	 */
 	public void addPermission(String comp1, String comp2, String dt) {
 		// TODO Auto-generated method stub
-		Component c1 = null;
-		Component c2 = null;
-		DataType dataType = null;
-		for (Component c : cSet) {
-			if (c.toString().equals(comp1)) {
-				c1 = c;
-			} else if (c.toString().equals(comp2)) {
-				c2 = c;
-			}
-		}
-		for (DataType d : dtSet) {
-			if (d.toString().equals(dt)) {
-				dataType = d;
-			}
-		}
+		Component c1 = find(cSet, comp1);
+		Component c2 = find(cSet, comp2);
+		DataType dataType = find(dtSet, dt);
 		if (c1 != null && c2 != null && dataType != null) {
 			aSet.add(new Action(ActionType.PERMISSION, c1, c2, dataType));
 		}
-		// DEBUG
-		System.out.println(aSet);
 	}
 
 	/**
@@ -940,26 +1016,12 @@ public class ArchitectureFunctions implements Serializable {
 	 */
 	public void addRevoke(String comp1, String comp2, String dt) {
 		// TODO Auto-generated method stub
-		Component c1 = null;
-		Component c2 = null;
-		DataType dataType = null;
-		for (Component c : cSet) {
-			if (c.toString().equals(comp1)) {
-				c1 = c;
-			} else if (c.toString().equals(comp2)) {
-				c2 = c;
-			}
-		}
-		for (DataType d : dtSet) {
-			if (d.toString().equals(dt)) {
-				dataType = d;
-			}
-		}
+		Component c1 = find(cSet, comp1);
+		Component c2 = find(cSet, comp2);
+		DataType dataType = find(dtSet, dt);
 		if (c1 != null && c2 != null && dataType != null) {
 			aSet.add(new Action(ActionType.REVOKE, c1, c2, dataType));
 		}
-		// DEBUG
-		System.out.println(aSet);
 	}
 
 	public void addPurpose(String name, Set<String> varSet, Set<String> purpSet1, Set<String> purpSet2) {
@@ -967,23 +1029,22 @@ public class ArchitectureFunctions implements Serializable {
 		Set<Variable> variables = new LinkedHashSet<Variable>();
 		Set<Purpose> parents = new LinkedHashSet<Purpose>();
 		Set<Purpose> children = new LinkedHashSet<Purpose>();
-		for (Variable var : vSet) {
-			for (String purpVar : varSet) {
-				if (var.toString().equals(purpVar)) {
-					variables.add(var);
-				}
+		for (String purpVar : varSet) {
+			Variable var = find(vSet, purpVar);
+			if (var != null) {
+				variables.add(var);
 			}
 		}
-		for (Purpose p : puSet) {
-			for (String ps : purpSet1) {
-				if (p.toString().equals(ps)) {
-					parents.add(p);
-				}
+		for (String ps : purpSet1) {
+			Purpose p = find(puSet, ps);
+			if (p != null) {
+				parents.add(p);
 			}
-			for (String ps : purpSet2) {
-				if (p.toString().equals(ps)) {
-					children.add(p);
-				}
+		}
+		for (String ps : purpSet2) {
+			Purpose p = find(puSet, ps);
+			if (p != null) {
+				children.add(p);
 			}
 		}
 		Purpose purpose = new Purpose(name, variables);
@@ -1000,28 +1061,19 @@ public class ArchitectureFunctions implements Serializable {
 	 *          a Set of the names of equations to be attested
 	 */
 	public void addAttest(String comp, Set<String> eqs) {
-		Component component = null;
 		Set<Equation> equations = new LinkedHashSet<Equation>();
-		// go through the Sets and identify the right objects
-		for (Component c : cSet) {
-			if (comp != null && c.toString().equals(comp)) {
-				component = c;
-			}
-		}
+		// identify the right objects by their names
+		Component component = find(cSet, comp);
 
 		for (String eq : eqs) {
-			for (Equation e : eSet) {
-				if (e.toString().equals(eq)) {
-					equations.add(e);
-					break;
-				}
+			Equation e = find(eSet, eq);
+			if (e != null) {
+				equations.add(e);
 			}
 		}
 		if (component != null && !equations.isEmpty()) {
 			stSet.add(new Attest(component, equations));
 		}
-		// Debug
-		System.out.println(stSet);
 	}
 
 	/**
@@ -1032,51 +1084,36 @@ public class ArchitectureFunctions implements Serializable {
 	 *          a Set of the names of the attestations and equations
 	 */
 	public void addProof(String comp, Set<String> ps) {
-		Component component = null;
 		Set<P> pSet = new LinkedHashSet<P>();
-		// go through the Sets and identify the right objects
-		for (Component c : cSet) {
-			if (comp != null && c.toString().equals(comp)) {
-				component = c;
-			}
-		}
+		// identify the right objects by their names
+		Component component = find(cSet, comp);
 		for (String s : ps) {
-			for (Equation e : eSet) {
-				if (e.toString().equals(s)) {
-					pSet.add(e);
-					break;
-				}
+			Equation e = find(eSet, s);
+			if (e != null) {
+				pSet.add(e);
 			}
-			for (Statement a : stSet) {
-				if (a instanceof Attest && a.toString().equals(s)) {
-					pSet.add((Attest) a);
-					break;
-				}
+			Statement a = find(stSet, s);
+			if (a instanceof Attest) {
+				pSet.add((Attest) a);
 			}
 		}
 		if (component != null && !pSet.isEmpty()) {
 			stSet.add(new Proof(component, pSet));
 		}
-		// Debug
-		System.out.println(stSet);
 	}
 
 	public void addDataType(String name, Set<String> varSet) {
 		// TODO Auto-generated method stub
 		Set<Variable> vars = new LinkedHashSet<Variable>();
 		for (String s : varSet) {
-			for (Variable var : vSet) {
-				if (var.toString().equals(s)) {
-					vars.add(var);
-					break;
-				}
+			Variable var = find(vSet, s);
+			if (var != null) {
+				vars.add(var);
 			}
 		}
 		if (!varSet.isEmpty()) {
 			dtSet.add(new DataType(name, vars));
 		}
-		// Debug
-		System.out.println(dtSet);
 	}
 
 	/**
@@ -1089,19 +1126,9 @@ public class ArchitectureFunctions implements Serializable {
 	 *          the probability of the dependence relation
 	 */
 	public void addPropHas(String comp, String var, String probability) {
-		Component component = null;
-		Variable variable = null;
-		// go through the Sets and identify the right objects
-		for (Component c : cSet) {
-			if (comp != null && c.toString().equals(comp)) {
-				component = c;
-			}
-		}
-		for (Variable v : vSet) {
-			if (var != null && v.toString().equals(var)) {
-				variable = v;
-			}
-		}
+		// identify the right objects by their names
+		Component component = find(cSet, comp);
+		Variable variable = find(vSet, var);
 		double prob = 0;
 		try {
 			prob = Double.parseDouble(probability);
@@ -1112,8 +1139,6 @@ public class ArchitectureFunctions implements Serializable {
 		if (component != null && variable != null) {
 			pSet.add(new Property(Property.PropertyType.HAS, component, prob, variable));
 		}
-		// Debug
-		System.out.println(pSet);
 	}
 
 	/**
@@ -1126,19 +1151,9 @@ public class ArchitectureFunctions implements Serializable {
 	 *          the probability of the property
 	 */
 	public void addPropKnows(String comp, String eq, String probability) {
-		Component component = null;
-		Equation equation = null;
-		// go through the Sets and identify the right objects
-		for (Component c : cSet) {
-			if (comp != null && c.toString().equals(comp)) {
-				component = c;
-			}
-		}
-		for (Equation e : eSet) {
-			if (eq != null && e.toString().equals(eq)) {
-				equation = e;
-			}
-		}
+		// identify the right objects by their names
+		Component component = find(cSet, comp);
+		Equation equation = find(eSet, eq);
 		double prob = 0;
 		try {
 			prob = Double.parseDouble(probability);
@@ -1149,8 +1164,6 @@ public class ArchitectureFunctions implements Serializable {
 		if (component != null && equation != null) {
 			pSet.add(new Property(Property.PropertyType.KNOWS, component, prob, equation));
 		}
-		// Debug
-		System.out.println(pSet);
 	}
 
 	/**
@@ -1161,24 +1174,12 @@ public class ArchitectureFunctions implements Serializable {
 	 *          the name of the variable that should not be shared
 	 */
 	public void addPropNotShared(String comp, String var) {
-		Component component = null;
-		Variable variable = null;
-		// go through the Sets and identify the right objects
-		for (Component c : cSet) {
-			if (comp != null && c.toString().equals(comp)) {
-				component = c;
-			}
-		}
-		for (Variable v : vSet) {
-			if (var != null && v.toString().equals(var)) {
-				variable = v;
-			}
-		}
+		// identify the right objects by their names
+		Component component = find(cSet, comp);
+		Variable variable = find(vSet, var);
 		if (component != null && variable != null) {
 			pSet.add(new Property(Property.PropertyType.NOTSHARED, component, variable));
 		}
-		// Debug
-		System.out.println(pSet);
 	}
 
 	/**
@@ -1191,25 +1192,13 @@ public class ArchitectureFunctions implements Serializable {
 	 *          the bound of the property
 	 */
 	public void addPropNotStored(String comp, String var, String b) {
-		Component component = null;
-		Variable variable = null;
 		int bound = Integer.parseInt(b);
-		// go through the Sets and identify the right objects
-		for (Component c : cSet) {
-			if (comp != null && c.toString().equals(comp)) {
-				component = c;
-			}
-		}
-		for (Variable v : vSet) {
-			if (var != null && v.toString().equals(var)) {
-				variable = v;
-			}
-		}
+		// identify the right objects by their names
+		Component component = find(cSet, comp);
+		Variable variable = find(vSet, var);
 		if (component != null && variable != null) {
 			pSet.add(new Property(Property.PropertyType.NOTSTORED, component, variable, bound));
 		}
-		// Debug
-		System.out.println(pSet);
 	}
 
 	/**
@@ -1220,21 +1209,12 @@ public class ArchitectureFunctions implements Serializable {
 	 *          the name of the second property
 	 */
 	public void addPropConj(String prop1, String prop2) {
-		Property property1 = null;
-		Property property2 = null;
-		// go through the Set and identify the right objects
-		for (Property p : pSet) {
-			if (prop1 != null && p.toString().equals(prop1)) {
-				property1 = p;
-			} else if (prop2 != null && p.toString().equals(prop2)) {
-				property2 = p;
-			}
-		}
+		// identify the right objects by their names
+		Property property1 = find(pSet, prop1);
+		Property property2 = find(pSet, prop2);
 		if (property1 != null && property2 != null) {
 			pSet.add(new Property(Property.PropertyType.CONJUNCTION, property1, property2));
 		}
-		// Debug
-		System.out.println(pSet);
 	}
 
 	/**
@@ -1243,19 +1223,11 @@ public class ArchitectureFunctions implements Serializable {
 	 *          the name of the first property
 	 */
 	public void addPropNeg(String prop1) {
-		Property property1 = null;
-		// go through the Set and identify the right objects
-		for (Property p : pSet) {
-			if (prop1 != null && p.toString().equals(prop1)) {
-				property1 = p;
-				break;
-			}
-		}
+		// identify the right objects by their names
+		Property property1 = find(pSet, prop1);
 		if (property1 != null) {
 			pSet.add(new Property(Property.PropertyType.NEGATION, property1));
 		}
-		// Debug
-		System.out.println(pSet);
 	}
 
 	/**
@@ -1265,39 +1237,20 @@ public class ArchitectureFunctions implements Serializable {
 	 */
 	public void addPropPurp(String comp) {
 		// TODO test
-		Component component = null;
-		for (Component c : cSet) {
-			if (c.toString().equals(comp)) {
-				component = c;
-			}
-		}
+		Component component = find(cSet, comp);
 		if (component != null) {
 			pSet.add(new Property(Property.PropertyType.NOTPURP, component));
 		}
-		// Debug
-		System.out.println(pSet);
 	}
 
 	public void addPropConsent(String comp, String dt) {
 		// TODO test
-		Component component = null;
-		DataType dataType = null;
-		for (Component c : cSet) {
-			if (c.toString().equals(comp)) {
-				component = c;
-			}
-		}
-		for (DataType d : dtSet) {
-			if (d.toString().equals(dt)) {
-				dataType = d;
-			}
-		}
+		Component component = find(cSet, comp);
+		DataType dataType = find(dtSet, dt);
 		
 		if (component != null && dataType != null) {
 			pSet.add(new Property(Property.PropertyType.CONSENTVIOLATED, component, dataType));
 		}
-		// Debug
-		System.out.println(pSet);
 	}
 
 	// remover methods
@@ -1307,13 +1260,8 @@ public class ArchitectureFunctions implements Serializable {
 	 *          the name of the event
 	 */
 	public void removeAction(String act) {
-		Action action = null;
-		// go through the Sets and identify the right object
-		for (Action a : aSet) {
-			if (act != null && a.toString().equals(act)) {
-				action = a;
-			}
-		}
+		// identify the right object by its name
+		Action action = find(aSet, act);
 
 		if (action != null) {
 			// remove the action
@@ -1327,13 +1275,8 @@ public class ArchitectureFunctions implements Serializable {
 	 *          the name of the component
 	 */
 	public void removeComponent(String comp) {
-		Component component = null;
-		// go through the Sets and identify the right object
-		for (Component c : cSet) {
-			if (comp != null && c.toString().equals(comp)) {
-				component = c;
-			}
-		}
+		// identify the right object by its name
+		Component component = find(cSet, comp);
 
 		if (component != null) {
 			// remove the action
@@ -1347,13 +1290,8 @@ public class ArchitectureFunctions implements Serializable {
 	 *          the name of the equation
 	 */
 	public void removeEquation(String eq) {
-		Equation equation = null;
-		// go through the Sets and identify the right object
-		for (Equation e : eSet) {
-			if (eq != null && e.toString().equals(eq)) {
-				equation = e;
-			}
-		}
+		// identify the right object by its name
+		Equation equation = find(eSet, eq);
 
 		if (equation != null) {
 			// remove the action
@@ -1367,13 +1305,8 @@ public class ArchitectureFunctions implements Serializable {
 	 *          the name of the statement
 	 */
 	public void removeStatement(String stmt) {
-		Statement statement = null;
-		// go through the Sets and identify the right object
-		for (Statement s : stSet) {
-			if (stmt != null && s.toString().equals(stmt)) {
-				statement = s;
-			}
-		}
+		// identify the right object by its name
+		Statement statement = find(stSet, stmt);
 
 		if (statement != null) {
 			// remove the action
@@ -1387,13 +1320,8 @@ public class ArchitectureFunctions implements Serializable {
 	 *          the name of the term
 	 */
 	public void removeTerm(String te) {
-		Term term = null;
-		// go through the Sets and identify the right object
-		for (Term t : tSet) {
-			if (te != null && t.toString().equals(te)) {
-				term = t;
-			}
-		}
+		// identify the right object by its name
+		Term term = find(tSet, te);
 
 		if (term != null) {
 			// remove the action
@@ -1407,13 +1335,8 @@ public class ArchitectureFunctions implements Serializable {
 	 *          the name of the trust relation
 	 */
 	public void removeTrust(String tru) {
-		Trust trust = null;
-		// go through the Sets and identify the right object
-		for (Trust t : trustSet) {
-			if (tru != null && t.toString().equals(tru)) {
-				trust = t;
-			}
-		}
+		// identify the right object by its name
+		Trust trust = find(trustSet, tru);
 
 		if (trust != null) {
 			// remove the action
@@ -1427,13 +1350,8 @@ public class ArchitectureFunctions implements Serializable {
 	 *          the name of the variable
 	 */
 	public void removeVariable(String var) {
-		Variable variable = null;
-		// go through the Sets and identify the right object
-		for (Variable v : vSet) {
-			if (var != null && v.toString().equals(var)) {
-				variable = v;
-			}
-		}
+		// identify the right object by its name
+		Variable variable = find(vSet, var);
 
 		if (variable != null) {
 			// remove the action
@@ -1447,13 +1365,8 @@ public class ArchitectureFunctions implements Serializable {
 	 *          the name of the dependence relation
 	 */
 	public void removeDep(String dep) {
-		DependenceRelation depend = null;
-		// go through the Sets and identify the right object
-		for (DependenceRelation d : dSet) {
-			if (dep != null && d.toString().equals(dep)) {
-				depend = d;
-			}
-		}
+		// identify the right object by its name
+		DependenceRelation depend = find(dSet, dep);
 
 		if (depend != null) {
 			// remove the action
@@ -1467,13 +1380,8 @@ public class ArchitectureFunctions implements Serializable {
 	 *          the deduction capability
 	 */
 	public void removeDed(String ded) {
-		DeductionCapability deduc = null;
-		// go through the Sets and identify the right object
-		for (DeductionCapability d : dedSet) {
-			if (ded != null && d.toString().equals(ded)) {
-				deduc = d;
-			}
-		}
+		// identify the right object by its name
+		DeductionCapability deduc = find(dedSet, ded);
 
 		if (deduc != null) {
 			// remove the action
@@ -1487,13 +1395,8 @@ public class ArchitectureFunctions implements Serializable {
 	 *          the name of the property
 	 */
 	public void removeProp(String prop) {
-		Property property = null;
-		// go through the Sets and identify the right object
-		for (Property p : pSet) {
-			if (prop != null && p.toString().equals(prop)) {
-				property = p;
-			}
-		}
+		// identify the right object by its name
+		Property property = find(pSet, prop);
 
 		if (property != null) {
 			// remove the action
@@ -1502,13 +1405,8 @@ public class ArchitectureFunctions implements Serializable {
 	}
 	
 	public void removePurp(String purpose) {
-		Purpose purp = null;
-		// go through the Sets and identify the right object
-		for (Purpose p : puSet) {
-			if (purpose != null && p.toString().equals(purpose)) {
-				purp = p;
-			}
-		}
+		// identify the right object by its name
+		Purpose purp = find(puSet, purpose);
 
 		if (purp != null) {
 			// remove the action
@@ -1518,13 +1416,8 @@ public class ArchitectureFunctions implements Serializable {
 
 	public void removeDt(String dataType) {
 		// TODO Auto-generated method stub
-		DataType dt = null;
-		// go through the Sets and identify the right object
-		for (DataType d : dtSet) {
-			if (dataType != null && d.toString().equals(dataType)) {
-				dt = d;
-			}
-		}
+		// identify the right object by its name
+		DataType dt = find(dtSet, dataType);
 
 		if (dt != null) {
 			// remove the action
@@ -1540,19 +1433,28 @@ public class ArchitectureFunctions implements Serializable {
 	 */
 	public void setpSet(Set<Property> props) {
 		// This Set must be expendable, hence create new Set from elements
-		pSet = new LinkedHashSet<Property>();
-		for (Property p : props) {
-			pSet.add(p);
-		}
+		pSet = new IndexedSet<Property>(props);
+		replaced(pSet);
 	}
 
 	// getter and setter methods
+	public VerificationContext getContext() {
+		return context == null ? VerificationContext.getDefault() : context;
+	}
+
+	public void setContext(VerificationContext context) {
+		this.context = context;
+		// the parser traces into the old context
+		parserBu = null;
+	}
+
 	public Set<Component> getcSet() {
 		return cSet;
 	}
 
 	public void setcSet(Set<Component> cSet) {
-		this.cSet = cSet;
+		this.cSet = index(cSet);
+		replaced(this.cSet);
 	}
 
 	public Set<Variable> getvSet() {
@@ -1560,7 +1462,8 @@ public class ArchitectureFunctions implements Serializable {
 	}
 
 	public void setvSet(Set<Variable> vSet) {
-		this.vSet = vSet;
+		this.vSet = index(vSet);
+		replaced(this.vSet);
 	}
 
 	public Set<Term> gettSet() {
@@ -1568,7 +1471,8 @@ public class ArchitectureFunctions implements Serializable {
 	}
 
 	public void settSet(Set<Term> tSet) {
-		this.tSet = tSet;
+		this.tSet = index(tSet);
+		replaced(this.tSet);
 	}
 
 	public Set<Equation> geteSet() {
@@ -1576,7 +1480,8 @@ public class ArchitectureFunctions implements Serializable {
 	}
 
 	public void seteSet(Set<Equation> eSet) {
-		this.eSet = eSet;
+		this.eSet = index(eSet);
+		replaced(this.eSet);
 	}
 
 	public Set<Trust> gettrustSet() {
@@ -1584,11 +1489,17 @@ public class ArchitectureFunctions implements Serializable {
 	}
 
 	public void settrustSet(Set<Trust> trusts) {
-		this.trustSet = trusts;
+		this.trustSet = index(trusts);
+		replaced(this.trustSet);
+	}
+
+	public Set<Composition> getcomposSet() {
+		return composSet;
 	}
 
 	public void setcomposSet(Set<Composition> compos) {
-		this.composSet = compos;
+		this.composSet = index(compos);
+		replaced(this.composSet);
 	}
 
 	public Set<Action> getaSet() {
@@ -1596,7 +1507,8 @@ public class ArchitectureFunctions implements Serializable {
 	}
 
 	public void setaSet(Set<Action> actions) {
-		this.aSet = actions;
+		this.aSet = index(actions);
+		replaced(this.aSet);
 	}
 
 	public Set<Statement> getstSet() {
@@ -1604,7 +1516,8 @@ public class ArchitectureFunctions implements Serializable {
 	}
 
 	public void setstSet(Set<Statement> statements) {
-		this.stSet = statements;
+		this.stSet = index(statements);
+		replaced(this.stSet);
 	}
 
 	public Set<DependenceRelation> getdSet() {
@@ -1612,7 +1525,8 @@ public class ArchitectureFunctions implements Serializable {
 	}
 
 	public void setdSet(Set<DependenceRelation> deps) {
-		this.dSet = deps;
+		this.dSet = index(deps);
+		replaced(this.dSet);
 	}
 
 	public Set<DeductionCapability> getdedSet() {
@@ -1620,13 +1534,19 @@ public class ArchitectureFunctions implements Serializable {
 	}
 
 	public void setdedSet(Set<DeductionCapability> deds) {
-		this.dedSet = deds;
+		this.dedSet = index(deds);
+		replaced(this.dedSet);
 	}
 
 	public Set<Deduction> getDeducs() {
 		return deducs;
 	}
 
+	public void setDeducs(Set<Deduction> deducs) {
+		this.deducs = index(deducs);
+		replaced(this.deducs);
+	}
+
 	public Set<Property> getpSet() {
 		return pSet;
 	}
@@ -1648,11 +1568,13 @@ public class ArchitectureFunctions implements Serializable {
 	}
 	
 	public void setpuSet(Set<Purpose> puSet) {
-		this.puSet = puSet;
+		this.puSet = index(puSet);
+		replaced(this.puSet);
 	}
 	
 	public void setdtSet(Set<DataType> dtSet) {
-		this.dtSet = dtSet;
+		this.dtSet = index(dtSet);
+		replaced(this.dtSet);
 	}
 	
 	public Set<DataType> getdtSet() {
@@ -2,22 +2,21 @@ package gui;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 import org.eclipse.draw2d.ChopboxAnchor;
-import org.eclipse.draw2d.ConnectionEndpointLocator;
 import org.eclipse.draw2d.FanRouter;
 import org.eclipse.draw2d.Figure;
-import org.eclipse.draw2d.FlowLayout;
 import org.eclipse.draw2d.LightweightSystem;
-import org.eclipse.draw2d.MidpointLocator;
-import org.eclipse.draw2d.PolygonDecoration;
 import org.eclipse.draw2d.PolylineConnection;
-import org.eclipse.draw2d.XYLayout;
-import org.eclipse.draw2d.geometry.PointList;
-import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.ScrolledComposite;
 import org.eclipse.swt.custom.TableEditor;
@@ -40,7 +39,6 @@ import org.eclipse.swt.widgets.Group;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Listener;
 import org.eclipse.swt.widgets.MessageBox;
-import org.eclipse.swt.widgets.Monitor;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.swt.widgets.TabFolder;
 import org.eclipse.swt.widgets.TabItem;
@@ -50,10 +48,8 @@ import org.eclipse.swt.widgets.TableItem;
 import org.eclipse.swt.widgets.Text;
 
 import architecture.Action;
-import architecture.Architecture;
 import architecture.Attest;
 import architecture.Component;
-import architecture.Composition;
 import architecture.DataType;
 import architecture.Deduction;
 import architecture.DeductionCapability;
@@ -61,7 +57,6 @@ import architecture.DependenceRelation;
 import architecture.Equation;
 import architecture.Statement;
 import architecture.Term;
-import architecture.Trust;
 import architecture.Variable;
 import architecture.Equation.Type;
 import architecture.Proof;
@@ -70,11 +65,14 @@ import architecture.PurposeHierarchy;
 import architecture.Term.Operator;
 import architecture.Term.OperatorType;
 import diagrams.ComponentFigure;
+import diagrams.DiagramEngine;
 import gui.ArchitectureFunctions.CaseStudy;
+import gui.VerificationService.Progress;
 import properties.Property;
 import properties.Property.PropertyType;
 import utils.FileReader;
 import utils.SaveLoadArch;
+import utils.VerificationContext;
 
 /**
  * GUI object that opens a shell and displays all necessary composites.
@@ -111,7 +109,11 @@ public class Gui {
 	// class fields
 	private static ArchitectureFunctions archFunc = new ArchitectureFunctions();
 	public static Display display = new Display();
+	// finishes and verifies in the background
+	private static VerificationService verifier = new VerificationService(display);
 	public Shell shell = new Shell(display);
+	// the adapters of the virtual tables
+	private Map<Table, ModelTable> modelTables = new HashMap<Table, ModelTable>();
 
 	/**
 	 * The constructor of the GUI that initializes the shell and its content,
@@ -120,6 +122,24 @@ public class Gui {
 	public Gui() {
 		shell.setText("CAPVerDE v1.15: Computer-Aided Privacy Verification and Design Engineering Tool");
 		shell.setLayout(new FillLayout());
+		// inform the user about the consistency checks of the parsers in the default context,
+		// which run in the background
+		VerificationContext.getDefault().setListener((arch, result) -> display.asyncExec(() -> {
+			if (!result.isSuccess()) {
+				showMessage(MessageType.ERR,
+						"Architecture is not consistent!\n" + "At least this action is not valid: "
+								+ arch.getAllActions().get(result.getIndex()) + "\n"
+								+ "All verification based on this architecture are not meaningful...");
+			} else {
+				try {
+					showMessage(MessageType.INF,
+							"Architecture is consistent and can be used for verification of privacy properties");
+				} catch (Exception e) {
+					//TODO
+					e.printStackTrace();
+				}
+			}
+		}));
 		// shell.setLayout(new GridLayout(2, true));
 
 		// event listener
@@ -161,7 +181,7 @@ public class Gui {
 		finishButton.setText("Finish");
 		finishButton.setToolTipText(
 				"The architecture will be considered created and will be verified for consistency.");
-		finishButton.addListener(SWT.Selection, event -> archFunc.finish());
+		finishButton.addListener(SWT.Selection, event -> verifier.finish(archFunc));
 		finishButton.addListener(SWT.Selection, event -> finishButton.setEnabled(false));
 
 		// load
@@ -598,7 +618,7 @@ public class Gui {
 		Label stLabel = new Label(statements, SWT.CENTER);
 		stLabel.setText("attests/proves");
 
-		Table eq3 = new Table(statements, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL);
+		Table eq3 = new Table(statements, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL | SWT.VIRTUAL);
 		eq3.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, false, 1, 5));
 		eq3.setToolTipText("Equations");
 		// Debug
@@ -620,7 +640,7 @@ public class Gui {
 		Label orLabel = new Label(statements, SWT.CENTER);
 		orLabel.setText("or");
 
-		Table att1 = new Table(statements, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL);
+		Table att1 = new Table(statements, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL | SWT.VIRTUAL);
 		att1.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, false, 1, 5));
 		att1.setToolTipText("Attestations");
 		att1.setEnabled(false);
@@ -648,7 +668,7 @@ public class Gui {
 		Label withLabel = new Label(purposes, SWT.CENTER);
 		withLabel.setText("with");
 
-		Table vars1 = new Table(purposes, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL);
+		Table vars1 = new Table(purposes, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL | SWT.VIRTUAL);
 		vars1.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true, 10, 10));
 		vars1.setToolTipText("Variables");
 		varAdd.addListener(SWT.Selection, event -> updateVarsTab(vars1));
@@ -656,14 +676,14 @@ public class Gui {
 		Label parentsLabel = new Label(purposes, SWT.CENTER);
 		parentsLabel.setText("Parents:");
 
-		Table purps1 = new Table(purposes, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL);
+		Table purps1 = new Table(purposes, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL | SWT.VIRTUAL);
 		purps1.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true, 20, 10));
 		purps1.setToolTipText("Parent Purposes");
 
 		Label childrenLabel = new Label(purposes, SWT.CENTER);
 		childrenLabel.setText("Children:");
 
-		Table purps2 = new Table(purposes, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL);
+		Table purps2 = new Table(purposes, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL | SWT.VIRTUAL);
 		purps2.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true, 20, 10));
 		purps2.setToolTipText("Child Purposes");
 
@@ -689,7 +709,7 @@ public class Gui {
 		Label encLabel = new Label(dataTypes, SWT.CENTER);
 		encLabel.setText("encompasses");
 
-		Table vars2 = new Table(dataTypes, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL);
+		Table vars2 = new Table(dataTypes, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL | SWT.VIRTUAL);
 		vars2.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true, 10, 10));
 		vars2.setToolTipText("Variables");
 		varAdd.addListener(SWT.Selection, event -> updateVarsTab(vars2));
@@ -855,7 +875,7 @@ public class Gui {
 		Label receiveLab = new Label(receive, SWT.CENTER);
 		receiveLab.setText("receives");
 
-		Table stTable = new Table(receive, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL);
+		Table stTable = new Table(receive, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL | SWT.VIRTUAL);
 		stTable.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true, 40, 10));
 		stTable.setToolTipText("Statements");
 		stAdd.addListener(SWT.Selection, event -> updateStatementsTab(stTable));
@@ -863,7 +883,7 @@ public class Gui {
 		Label andLab = new Label(receive, SWT.CENTER);
 		andLab.setText("and");
 
-		Table varTable = new Table(receive, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL);
+		Table varTable = new Table(receive, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL | SWT.VIRTUAL);
 		varTable.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true, 20, 10));
 		varTable.setToolTipText("Variables");
 		varAdd.addListener(SWT.Selection, event -> updateVarsTab(varTable));
@@ -914,7 +934,7 @@ public class Gui {
 		Label receiveLab2 = new Label(creceive, SWT.CENTER);
 		receiveLab2.setText("conditionally receives");
 
-		Table varTable2 = new Table(creceive, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL);
+		Table varTable2 = new Table(creceive, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL | SWT.VIRTUAL);
 		varTable2.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true, 40, 10));
 		varTable2.setToolTipText("Variables");
 		varAdd.addListener(SWT.Selection, event -> updateVarsTab(varTable2));
@@ -998,7 +1018,7 @@ public class Gui {
 		Label andLab1 = new Label(preceive, SWT.CENTER);
 		andLab1.setText("and");
 
-		Table varTable1 = new Table(preceive, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL);
+		Table varTable1 = new Table(preceive, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL | SWT.VIRTUAL);
 		varTable1.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true, 20, 10));
 		varTable1.setToolTipText("Variables");
 		varAdd.addListener(SWT.Selection, event -> updateVarsTab(varTable1));
@@ -1048,7 +1068,7 @@ public class Gui {
 		Label checksLab = new Label(check, SWT.CENTER);
 		checksLab.setText("checks");
 
-		Table eqTable = new Table(check, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL);
+		Table eqTable = new Table(check, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL | SWT.VIRTUAL);
 		eqTable.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true, 40, 10));
 		eqTable.setToolTipText("Equations");
 		eqAdd.addListener(SWT.Selection, event -> updateEquationsTab(eqTable));
@@ -1332,7 +1352,7 @@ public class Gui {
 		Label fromLab3 = new Label(deps, SWT.CENTER);
 		fromLab3.setText("from");
 
-		Table varTable3 = new Table(deps, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL);
+		Table varTable3 = new Table(deps, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL | SWT.VIRTUAL);
 		varTable3.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true, 20, 10));
 		varTable3.setToolTipText("Variables");
 		varAdd.addListener(SWT.Selection, event -> updateVarsTab(varTable3));
@@ -1363,7 +1383,7 @@ public class Gui {
 		dedName.setToolTipText("The name of the deduction");
 		dedName.addMouseListener(mouseListener);
 
-		Table premiseTable = new Table(mydeds, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL);
+		Table premiseTable = new Table(mydeds, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL | SWT.VIRTUAL);
 		premiseTable.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true, 40, 10));
 		premiseTable.setToolTipText("Premise Equations");
 		eqAdd.addListener(SWT.Selection, event -> updateEquationsTab(premiseTable));
@@ -1422,7 +1442,7 @@ public class Gui {
 		Label can2Lab = new Label(deds, SWT.CENTER);
 		can2Lab.setText("can deduce equations using");
 
-		Table dedTable = new Table(deds, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL);
+		Table dedTable = new Table(deds, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL | SWT.VIRTUAL);
 		dedTable.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true, 20, 10));
 		dedTable.setToolTipText("Standard Deductions");
 		for (Deduction d : archFunc.getDeducs()) {
@@ -1443,7 +1463,7 @@ public class Gui {
 		components2.setLayout(new GridLayout(1, true));
 		components2.setText("Components");
 
-		Table compTable = new Table(components2, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL);
+		Table compTable = new Table(components2, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL | SWT.VIRTUAL);
 		compTable.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, false, 1, 5));
 		compTable.setToolTipText("List of all components");
 		compAdd.addListener(SWT.Selection, event -> updateCompsTab(compTable));
@@ -1460,7 +1480,7 @@ public class Gui {
 		variables2.setText("Variables");
 
 		Table variableTable = new Table(
-				variables2, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL);
+				variables2, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL | SWT.VIRTUAL);
 		variableTable.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, false, 1, 5));
 		variableTable.setToolTipText("List of all variables");
 		varAdd.addListener(SWT.Selection, event -> updateVarsTab(variableTable));
@@ -1482,7 +1502,7 @@ public class Gui {
 		terms2.setLayout(new GridLayout(1, true));
 		terms2.setText("Terms");
 
-		Table termTable = new Table(terms2, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL);
+		Table termTable = new Table(terms2, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL | SWT.VIRTUAL);
 		termTable.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, false, 1, 5));
 		termTable.setToolTipText("List of all terms");
 		termAdd.addListener(SWT.Selection, event -> updateTermsTab(termTable));
@@ -1500,7 +1520,7 @@ public class Gui {
 		equations2.setText("Equations");
 
 		Table equationTable = new Table(
-				equations2, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL);
+				equations2, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL | SWT.VIRTUAL);
 		equationTable.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, false, 1, 5));
 		equationTable.setToolTipText("List of all equations");
 		eqAdd.addListener(SWT.Selection, event -> updateEquationsTab(equationTable));
@@ -1519,7 +1539,7 @@ public class Gui {
 		dataTypes2.setLayout(new GridLayout(1, true));
 		dataTypes2.setText("Data Types");
 
-		Table dtTable = new Table(dataTypes2, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL);
+		Table dtTable = new Table(dataTypes2, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL | SWT.VIRTUAL);
 		dtTable.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, false, 1, 5));
 		dtTable.setToolTipText("List of all data types");
 		dtAdd.addListener(SWT.Selection, event -> updateDataTypesTab(dtTable));
@@ -1535,7 +1555,7 @@ public class Gui {
 		trusts2.setLayout(new GridLayout(1, true));
 		trusts2.setText("Trust Relations");
 
-		Table trustTable = new Table(trusts2, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL);
+		Table trustTable = new Table(trusts2, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL | SWT.VIRTUAL);
 		trustTable.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, false, 1, 5));
 		trustTable.setToolTipText("List of all trust relations");
 		trustAdd.addListener(SWT.Selection, event -> updateTrustTab(trustTable));
@@ -1551,7 +1571,7 @@ public class Gui {
 		statements2.setLayout(new GridLayout(1, true));
 		statements2.setText("Statements");
 
-		Table stmtTable = new Table(statements2, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL);
+		Table stmtTable = new Table(statements2, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL | SWT.VIRTUAL);
 		stmtTable.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, false, 1, 5));
 		stmtTable.setToolTipText("List of all proofs and attestations");
 		stAdd.addListener(SWT.Selection, event -> updateStatementTab(stmtTable));
@@ -1569,7 +1589,7 @@ public class Gui {
 		purposes2.setLayout(new GridLayout(1, true));
 		purposes2.setText("Purposes");
 
-		Table purposeTable = new Table(purposes2, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL);
+		Table purposeTable = new Table(purposes2, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL | SWT.VIRTUAL);
 		purposeTable.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, false, 1, 5));
 		purposeTable.setToolTipText("List of all proofs and attestations");
 		purpAdd.addListener(SWT.Selection, event -> updatePurpsTab(purposeTable));
@@ -1587,7 +1607,7 @@ public class Gui {
 		actions2.setLayout(new GridLayout(1, true));
 		actions2.setText("Actions");
 
-		Table actionTable = new Table(actions2, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL);
+		Table actionTable = new Table(actions2, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL | SWT.VIRTUAL);
 		actionTable.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true, 1, 5));
 		actionTable.setToolTipText("List of all actions");
 		hasAdd.addListener(SWT.Selection, event -> updateActionsTab(actionTable));
@@ -1612,7 +1632,7 @@ public class Gui {
 		deps2.setLayout(new GridLayout(1, true));
 		deps2.setText("Dependence Relations");
 
-		Table depTable = new Table(deps2, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL);
+		Table depTable = new Table(deps2, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL | SWT.VIRTUAL);
 		depTable.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, false, 1, 5));
 		depTable.setToolTipText("List of all dependece relations");
 		depAdd.addListener(SWT.Selection, event -> updateDepsTab(depTable));
@@ -1628,7 +1648,7 @@ public class Gui {
 		deds2.setLayout(new GridLayout(1, true));
 		deds2.setText("Deduction Capabilities");
 
-		Table dedTable2 = new Table(deds2, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL);
+		Table dedTable2 = new Table(deds2, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL | SWT.VIRTUAL);
 		dedTable2.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true, 1, 10));
 		dedTable2.setToolTipText("List of all dependece relations");
 		dedAdd.addListener(SWT.Selection, event -> updateDedsTab(dedTable2));
@@ -2079,13 +2099,37 @@ public class Gui {
 		verifiedProps.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, false, 1, 15));
 		verifiedProps.setToolTipText("List of all verified properties");
 		verifiedProps.addListener(SWT.Selection, event -> updateVerifTab(event, verifiedProps));
-		verifyBtn.addListener(SWT.Selection, event -> verifyProp(prop.getText(), verifiedProps));
 
 		Button inspect = new Button(verified, SWT.PUSH);
 		inspect.setLayoutData(new GridData(SWT.MIN, SWT.FILL, false, false, 1, 1));
 		inspect.setText("Inspect Proof");
 		inspect.addListener(SWT.Selection, event -> showTrace(verifiedProps));
 
+		Label progress = new Label(verified, SWT.NONE);
+		progress.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, false, 1, 1));
+		progress.setToolTipText("Progress of the verification");
+
+		Button verifyAllBtn = new Button(verification, SWT.PUSH);
+		verifyAllBtn.setLayoutData(new GridData(SWT.MIN, SWT.FILL, false, false, 1, 1));
+		verifyAllBtn.setText("Verify All");
+		verifyAllBtn.setToolTipText("Verifies all properties in the background.");
+
+		Button cancelBtn = new Button(verification, SWT.PUSH);
+		cancelBtn.setLayoutData(new GridData(SWT.MIN, SWT.FILL, false, false, 1, 1));
+		cancelBtn.setText("Cancel");
+		cancelBtn.setToolTipText("Cancels the running verification.");
+
+		verifyBtn.addListener(SWT.Selection, event -> verifyProps(
+				Collections.singletonList(prop.getText()), verifiedProps, progress));
+		verifyAllBtn.addListener(SWT.Selection, event -> {
+			List<String> all = new ArrayList<String>();
+			for (Property p : archFunc.getpSet()) {
+				all.add(p.toString());
+			}
+			verifyProps(all, verifiedProps, progress);
+		});
+		cancelBtn.addListener(SWT.Selection, event -> verifier.cancel());
+
 		// ################## right side ##################################
 		// first line
 		Group props = new Group(right2, SWT.SHADOW_IN);
@@ -2093,7 +2137,7 @@ public class Gui {
 		props.setLayout(new GridLayout(1, true));
 		props.setText("Properties");
 
-		Table propTable = new Table(props, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL);
+		Table propTable = new Table(props, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL | SWT.VIRTUAL);
 		propTable.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true, 1, 5));
 		propTable.setToolTipText("List of all architecture properties to verify");
 		hasPropAdd.addListener(SWT.Selection, event -> updatePropsTab(propTable));
@@ -2122,6 +2166,7 @@ public class Gui {
 			@Override
 			public void widgetSelected(SelectionEvent event) {
 				if (showMessage(MessageType.WARN, "Should the architecture really be reset?")) {
+					verifier.cancel();
 					reset();
 					//recursiveUpdate(folder);
 					verifiedProps.removeAll();
@@ -2155,6 +2200,7 @@ public class Gui {
 						"The current architecture will be overwritten by the load. Continue?")) {
 					ArchitectureFunctions tmp_arch = SaveLoadArch.loadArch(archName.getText());
 					if (tmp_arch != null) {
+						verifier.cancel();
 						archFunc = tmp_arch;
 						verifiedProps.removeAll();
 					} else {
@@ -2169,8 +2215,9 @@ public class Gui {
 			public void widgetSelected(SelectionEvent event) {
 				if (showMessage(MessageType.WARN,
 						"The current architecture will be overwritten by the load. Continue?")) {
+					verifier.cancel();
 					archFunc.load(examples.getText());
-					archFunc.finish();
+					verifier.finish(archFunc);
 					verifiedProps.removeAll();
 					//loadButton.setEnabled(false);
 					finishButton.setEnabled(false);
@@ -2442,6 +2489,7 @@ public class Gui {
 				display.sleep();
 			}
 		}
+		verifier.shutdown();
 		display.dispose();
 	}
 
@@ -2727,19 +2775,39 @@ public class Gui {
 		calculate.setText("Calculate");
 		calculate.setEnabled(false);
 		verify.addListener(SWT.Selection, event -> {
+			List<String> checked = new ArrayList<String>();
 			for (TableItem i : propertyTable.getItems()) {
 				if (i.getChecked()) {
-					if (archFunc.verify(i.getText())) {
+					checked.add(i.getText());
+				}
+			}
+			verify.setEnabled(false);
+			verifier.verify(archFunc, checked, new VerificationService.Callback() {
+				@Override
+				public void progress(Progress progress) {
+					// the violations are shown when they are found
+				}
+
+				@Override
+				public void verified(String property, boolean holds) {
+					if (holds && !violations.isDisposed()) {
 						// there is a violation
 						// hence add property to violation table
 						TableItem item = new TableItem(violations, SWT.NONE);
-						item.setText(new String[] {i.getText(), "replace with level"});
+						item.setText(new String[] {property, "replace with level"});
 					}
 				}
-			}
-			column1_2.pack();
-			column2_2.pack();
-			calculate.setEnabled(true);
+
+				@Override
+				public void done(boolean cancelled) {
+					if (!violations.isDisposed()) {
+						column1_2.pack();
+						column2_2.pack();
+						calculate.setEnabled(true);
+						verify.setEnabled(true);
+					}
+				}
+			});
 		});
 		
 		Label levelText = new Label(risk, SWT.CENTER);
@@ -2833,186 +2901,50 @@ public class Gui {
 
 	/**
 	 * Method to open a new shell with a diagram representing the modeled
-	 * architecture.
+	 * architecture. The diagram follows the edits of the architecture, see
+	 * {@link DiagramEngine}.
 	 */
 	public static void showDiagram() {
 		// some initializing
-		Architecture arch2draw = archFunc.getArch();
+		final ArchitectureFunctions shown = archFunc;
 		final Shell shell = new Shell(display);
 		shell.setMaximized(true);
 		shell.setText("Architecture Diagram");
-		final LightweightSystem lws = new LightweightSystem(shell);
-		Figure contents = new Figure();
-		XYLayout contentsLayout = new XYLayout();
-		// alternative layout
-		FlowLayout flowLayout = new FlowLayout();
-		flowLayout.setHorizontal(true);
-		//flowLayout.setMinorAlignment(FlowLayout.ALIGN_LEFTTOP);
-		flowLayout.setMinorSpacing(1000); //TODO test
-		flowLayout.setMajorSpacing(1000); //TODO test
-		flowLayout.setMajorAlignment(FlowLayout.ALIGN_LEFTTOP);
-		org.eclipse.draw2d.GridLayout gridLayout = new org.eclipse.draw2d.GridLayout(3, false);
-		gridLayout.horizontalSpacing = 460;
-		gridLayout.verticalSpacing = 120;
-		contents.setLayoutManager(gridLayout);
-		// get bounds
-		org.eclipse.swt.graphics.Rectangle shellBounds = display.getBounds();
-		Monitor primary = display.getPrimaryMonitor();
-		flowLayout.setMajorSpacing(primary.getBounds().height / 4);
-		flowLayout.setMinorSpacing(primary.getBounds().width / 6);
-		if (arch2draw.getCompList().size() > 4) { 
-			//contents.setLayoutManager(flowLayout); //TODO test
-		} else {
-			//contents.setLayoutManager(contentsLayout); //TODO test
-		}
-
-		Font classFont = new Font(null, "Arial", 12, SWT.BOLD);
-		Font regularFont = new Font(null, "Arial", 10, SWT.NONE);
+		shell.setLayout(new FillLayout());
+		final DiagramEngine engine = new DiagramEngine(shell);
+		engine.show(shown.getcSet(), shown.getaSet(), shown.gettrustSet(), shown.getcomposSet());
+
+		// refresh the diagram after edits, at most once per run of the event loop
+		final AtomicBoolean pending = new AtomicBoolean();
+		final Runnable refresh = () -> {
+			pending.set(false);
+			engine.show(shown.getcSet(), shown.getaSet(), shown.gettrustSet(), shown.getcomposSet());
+		};
+		final ModelListener listener = new ModelListener() {
+			@Override
+			public void elementAdded(Set<?> set, Object element) {
+				schedule();
+			}
 
-		// go through architecture and add components and relations
-		List<ComponentFigure> components = new ArrayList<ComponentFigure>();
-		for (Component c : arch2draw.getCompList()) {
-			// create a class object for the component
-			org.eclipse.draw2d.Label classLabel = new org.eclipse.draw2d.Label(c.getName());
-			classLabel.setFont(classFont);
-			final ComponentFigure classFigure = new ComponentFigure(classLabel);
-			// add labels for each action
-			for (Action a : c.getActions()) {
-				org.eclipse.draw2d.Label action = new org.eclipse.draw2d.Label(a.toString());
-				classFigure.getMethodsCompartment().add(action);
+			@Override
+			public void elementRemoved(Set<?> set, Object element) {
+				schedule();
 			}
-			contents.add(classFigure);
-			components.add(classFigure);
-		}
 
-		// fixed positions
-		// TODO more than 4?
-		//DEBUG
-		System.out.println("Display bounds: " + shellBounds.width + ", " + shellBounds.height);
-		System.out.println(
-				"Primary monitor bounds: " + primary.getBounds().width + ", " + primary.getBounds().height);
-		int right = primary.getBounds().width - 850; // 500
-		int bottom = primary.getBounds().height - 350; // - 350
-		int topLeft = 50; // 100
-		Rectangle rectTl = new Rectangle(topLeft, topLeft, -1, -1);
-		Rectangle rectTr = new Rectangle(right, topLeft, -1, -1);
-		Rectangle rectBl = new Rectangle(topLeft, bottom, -1, -1);
-		Rectangle rectBr = new Rectangle(right, bottom, -1, -1);
-		if (arch2draw.getCompList().size() == 2) {
-			contentsLayout.setConstraint(components.get(0), rectTl);
-			contentsLayout.setConstraint(components.get(1), rectTr);
-		} else if (arch2draw.getCompList().size() == 3) {
-			contentsLayout.setConstraint(components.get(0), rectTl);
-			contentsLayout.setConstraint(components.get(1), rectTr);
-			contentsLayout.setConstraint(components.get(2), rectBl);
-		} else if (arch2draw.getCompList().size() == 4) {
-			contentsLayout.setConstraint(components.get(0), rectTl);
-			contentsLayout.setConstraint(components.get(1), rectTr);
-			contentsLayout.setConstraint(components.get(2), rectBl);
-			contentsLayout.setConstraint(components.get(3), rectBr);
-		}
-
-		// go through the inter-component actions and add the connections
-		List<PolylineConnection> connections = new ArrayList<PolylineConnection>();
-		for (Action a : arch2draw.getInterComp_Actions()) {
-			Component c1 = null;
-			Component c2 = null;
-			switch (a.getAction()) {
-			case RECEIVE:
-				// fall through
-			case SPOTCHECK:
-				// fall through
-			case CRECEIVE:
-				// fall through
-			case PRECEIVE:
-				// source and destination have to be defined
-				c1 = a.getComPartner();
-				c2 = a.getComponent();
-				break;
-			default:
-				// should not happen
-				break;
+			@Override
+			public void setChanged(Set<?> set) {
+				schedule();
 			}
-			PolylineConnection connection = new PolylineConnection();
-			connection.setFont(regularFont);
-			connection.setLineWidth(2);
-			connection.setConnectionRouter(new FanRouter());
-			connection.setSourceAnchor(
-					new ChopboxAnchor(components.get(new ArrayList<Component>(arch2draw.getCompList()).indexOf(c1))));
-			connection.setTargetAnchor(
-					new ChopboxAnchor(components.get(new ArrayList<Component>(arch2draw.getCompList()).indexOf(c2))));
-			// adding the arrow-head
-			PolygonDecoration arrow = new PolygonDecoration();
-			arrow.setTemplate(PolygonDecoration.TRIANGLE_TIP);
-			arrow.setScale(20, 10);
-			connection.setTargetDecoration(arrow);
-			// adding the description
-			ConnectionEndpointLocator relationshipLocator2 = new ConnectionEndpointLocator(
-					connection, true);
-			org.eclipse.draw2d.Label relationshipLabel2 = new org.eclipse.draw2d.Label(a.toString());
-			// check if already a connection exists
-			PolylineConnection oldConnection = existsConnection(connection, connections);
-			if (oldConnection != null && oldConnection.getChildren().size() > 1) {
-				// add new label to existing one
-				String oldText = ((org.eclipse.draw2d.Label) oldConnection.getChildren().get(1)).getText();
-				((org.eclipse.draw2d.Label) oldConnection.getChildren().get(1)).setText(oldText + System.lineSeparator() + a.toString());
-			} else {
-				connection.add(relationshipLabel2, relationshipLocator2);
-				// put the finished connection onto the plane
-				contents.add(connection);
-				connections.add(connection);
+
+			private void schedule() {
+				if (pending.compareAndSet(false, true) && !display.isDisposed()) {
+					display.asyncExec(refresh);
+				}
 			}
-		}
-		// also add trust relations
-		for (Trust trust : arch2draw.getTrusts()) {
-			PolylineConnection connection = new PolylineConnection();
-			connection.setLineWidth(2);
-			connection.setFont(regularFont);
-			connection.setConnectionRouter(new FanRouter());
-			connection.setSourceAnchor(
-					new ChopboxAnchor(components.get(new ArrayList<Component>(arch2draw.getCompList()).indexOf(trust.getTruster()))));
-			connection.setTargetAnchor(
-					new ChopboxAnchor(components.get(new ArrayList<Component>(arch2draw.getCompList()).indexOf(trust.getTrustee()))));
-			// adding the arrow-head
-			PolygonDecoration arrow = new PolygonDecoration();
-			arrow.setTemplate(PolygonDecoration.TRIANGLE_TIP);
-			arrow.setScale(20, 10);
-			connection.setTargetDecoration(arrow);
-			// adding the description
-			MidpointLocator relationshipLocator = new MidpointLocator(connection, 0);
-			org.eclipse.draw2d.Label relationshipLabel = new org.eclipse.draw2d.Label(trust.toString());
-			connection.add(relationshipLabel, relationshipLocator);
-			// put the finished connection onto the plane
-			contents.add(connection);
-		}
-		// finally, add the composition relations
-		for (Composition compos : arch2draw.getCompositions()) {
-			PolylineConnection connection = new PolylineConnection();
-			connection.setLineWidth(2);
-			connection.setFont(regularFont);
-			connection.setConnectionRouter(new FanRouter());
-			connection.setSourceAnchor(
-					new ChopboxAnchor(components.get(new ArrayList<Component>(arch2draw.getCompList()).indexOf(compos.getComponent()))));
-			connection.setTargetAnchor(
-					new ChopboxAnchor(components.get(new ArrayList<Component>(arch2draw.getCompList()).indexOf(compos.getContainer()))));
-			// adding the arrow-head and diamond
-			PolygonDecoration diamond = new PolygonDecoration();
-			PointList decorationPointList = new PointList();
-			decorationPointList.addPoint(0,0);
-			decorationPointList.addPoint(-2,2);
-			decorationPointList.addPoint(-4,0);
-			decorationPointList.addPoint(-2,-2);
-			diamond.setTemplate(decorationPointList);
-			connection.setTargetDecoration(diamond);
-			PolygonDecoration arrow = new PolygonDecoration();
-			arrow.setTemplate(PolygonDecoration.TRIANGLE_TIP);
-			arrow.setScale(10, 5);
-			connection.setSourceDecoration(arrow);
-			// put the finished connection onto the plane
-			contents.add(connection);
-		}
+		};
+		shown.addModelListener(listener);
+		shell.addListener(SWT.Dispose, event -> shown.removeModelListener(listener));
 
-		lws.setContents(contents);
 		shell.open();
 		// main loop
 		while (!shell.isDisposed()) {
@@ -3022,33 +2954,6 @@ public class Gui {
 		}
 	}
 
-	/**
-	 * Method to check if a connection already exists between two components.
-	 * 
-	 * @param connection
-	 *          the new connection
-	 * @param connections
-	 *          the existing connections
-	 * @return the match if found, null else
-	 */
-	private static PolylineConnection existsConnection(PolylineConnection connection,
-			List<PolylineConnection> connections) {
-		// go through all existing connections end check if there already is one
-		// with the same start and end
-		for (PolylineConnection currentConnection : connections) {
-			if (currentConnection.getSourceAnchor().getOwner().equals(
-					connection.getSourceAnchor().getOwner()) && currentConnection.getTargetAnchor()
-					.getOwner().equals(connection.getTargetAnchor().getOwner())) {
-				// TODO DEBUG
-				System.out.println("found");
-				// return the existing connection
-				return currentConnection;
-			}
-		}
-		// no existing connection found
-		return null;
-	}
-
 	/**
 	 * Method for user directed output and logs like verification traces.
 	 * 
@@ -3144,7 +3049,7 @@ public class Gui {
 	}
 
 	/**
-	 * Helper method that calls the {@link ArchitectureFunctions#showTrace(String) showTrace(String)}
+	 * Helper method that shows the result of the {@link ArchitectureFunctions#getTrace(String) getTrace(String)}
 	 * method for the selected proof.
 	 * @param verifiedProps
 	 *          the table with the proof items
@@ -3153,30 +3058,58 @@ public class Gui {
 		// show the verification trace of a property
 		for (TableItem i : verifiedProps.getItems()) {
 			if (i.getChecked()) {
-				archFunc.showTrace(i.getText());
+				String trace = archFunc.getTrace(i.getText());
+				if (trace != null) {
+					showMessage(MessageType.LOG, trace);
+				}
 			}
 		}
 	}
 
 	/**
-	 * Helper method that calls the {@link ArchitectureFunctions#verify(String) verify(String)}
-	 * method for the selected property. Also updates the table for verified properties.
-	 * @param property
-	 *          the name of the property to verify
+	 * Helper method that verifies properties in the background with the
+	 * {@link VerificationService}. Also updates the table for verified properties
+	 * and shows the progress.
+	 * @param properties
+	 *          the names of the properties to verify
 	 * @param verifiedProps
 	 *          the table with the verified property items
+	 * @param progress
+	 *          the label for the progress
 	 */
-	private void verifyProp(String property, Table verifiedProps) {
-		// verify the property
-		if (archFunc.verify(property)) {
-			// property successfully verified
-			TableItem item = new TableItem(verifiedProps, SWT.NONE);
-			item.setText("[holds] " + property);
-		} else {
-			// property not verified
-			TableItem item = new TableItem(verifiedProps, SWT.NONE);
-			item.setText("[does not hold] " + property);
-		}
+	private void verifyProps(List<String> properties, Table verifiedProps, Label progress) {
+		verifier.verify(archFunc, properties, new VerificationService.Callback() {
+			@Override
+			public void progress(Progress p) {
+				if (!progress.isDisposed()) {
+					progress.setText(p.toString());
+					progress.getParent().layout();
+				}
+			}
+
+			@Override
+			public void verified(String property, boolean holds) {
+				if (verifiedProps.isDisposed()) {
+					return;
+				}
+				if (holds) {
+					// property successfully verified
+					TableItem item = new TableItem(verifiedProps, SWT.NONE);
+					item.setText("[holds] " + property);
+				} else {
+					// property not verified
+					TableItem item = new TableItem(verifiedProps, SWT.NONE);
+					item.setText("[does not hold] " + property);
+				}
+			}
+
+			@Override
+			public void done(boolean cancelled) {
+				if (cancelled && !progress.isDisposed()) {
+					progress.setText("Verification cancelled");
+				}
+			}
+		});
 	}
 
 	/**
@@ -3199,11 +3132,7 @@ public class Gui {
 	}
 
 	private void updatePurpsTab(Table purps) {
-		purps.removeAll();
-		for (Purpose p : archFunc.getpuSet()) {
-			TableItem item = new TableItem(purps, SWT.NONE);
-			item.setText(p.toString());
-		}
+		showSet(purps, ArchitectureFunctions::getpuSet);
 	}
 
 	private void updatePurps(Combo purp) {
@@ -3225,12 +3154,7 @@ public class Gui {
 	}
 
 	private void updateDataTypesTab(Table dtTable) {
-		// TODO Auto-generated method stub
-		dtTable.removeAll();
-		for (DataType d : archFunc.getdtSet()) {
-			TableItem item = new TableItem(dtTable, SWT.NONE);
-			item.setText(d.toString());
-		}		
+		showSet(dtTable, ArchitectureFunctions::getdtSet);
 	}
 
 	/**
@@ -3272,11 +3196,7 @@ public class Gui {
 	 *          the equation table
 	 */
 	private void updateEquationsTab(Table eq) {
-		eq.removeAll();
-		for (Equation e : archFunc.geteSet()) {
-			TableItem item = new TableItem(eq, SWT.NONE);
-			item.setText(e.toString());
-		}
+		showSet(eq, ArchitectureFunctions::geteSet);
 	}
 
 	/**
@@ -3300,11 +3220,7 @@ public class Gui {
 	 *          the component table
 	 */
 	private void updateCompsTab(Table compTable) {
-		compTable.removeAll();
-		for (Component c : archFunc.getcSet()) {
-			TableItem item = new TableItem(compTable, SWT.NONE);
-			item.setText(c.toString());
-		}
+		showSet(compTable, ArchitectureFunctions::getcSet);
 	}
 
 	/**
@@ -3314,11 +3230,7 @@ public class Gui {
 	 *          the trust relations table
 	 */
 	private void updateTrustTab(Table trustTable) {
-		trustTable.removeAll();
-		for (Trust t : archFunc.gettrustSet()) {
-			TableItem item = new TableItem(trustTable, SWT.NONE);
-			item.setText(t.toString());
-		}
+		showSet(trustTable, ArchitectureFunctions::gettrustSet);
 	}
 
 	/**
@@ -3328,11 +3240,7 @@ public class Gui {
 	 *          the statement table
 	 */
 	private void updateStatementTab(Table stmtTable) {
-		stmtTable.removeAll();
-		for (Statement s : archFunc.getstSet()) {
-			TableItem item = new TableItem(stmtTable, SWT.NONE);
-			item.setText(s.toString());
-		}
+		showSet(stmtTable, ArchitectureFunctions::getstSet);
 	}
 
 	/**
@@ -3374,11 +3282,7 @@ public class Gui {
 	 *          the actions table
 	 */
 	private void updateActionsTab(Table actTable) {
-		actTable.removeAll();
-		for (Action a : archFunc.getaSet()) {
-			TableItem item = new TableItem(actTable, SWT.NONE);
-			item.setText(a.toString());
-		}
+		showSet(actTable, ArchitectureFunctions::getaSet);
 	}
 
 	/**
@@ -3388,11 +3292,7 @@ public class Gui {
 	 *          the dependence relations table
 	 */
 	private void updateDepsTab(Table depTable) {
-		depTable.removeAll();
-		for (DependenceRelation d : archFunc.getdSet()) {
-			TableItem item = new TableItem(depTable, SWT.NONE);
-			item.setText(d.toString());
-		}
+		showSet(depTable, ArchitectureFunctions::getdSet);
 	}
 
 	/**
@@ -3402,11 +3302,7 @@ public class Gui {
 	 *          the deduction capabilities table
 	 */
 	private void updateDedsTab(Table dedTable) {
-		dedTable.removeAll();
-		for (DeductionCapability d : archFunc.getdedSet()) {
-			TableItem item = new TableItem(dedTable, SWT.NONE);
-			item.setText(d.toString());
-		}
+		showSet(dedTable, ArchitectureFunctions::getdedSet);
 	}
 
 	/**
@@ -3444,11 +3340,7 @@ public class Gui {
 	 *          the variables table
 	 */
 	private void updateVarsTab(Table var) {
-		var.removeAll();
-		for (Variable v : archFunc.getvSet()) {
-			TableItem item = new TableItem(var, SWT.None);
-			item.setText(v.toString());
-		}
+		showSet(var, ArchitectureFunctions::getvSet);
 	}
 
 	/**
@@ -3460,11 +3352,7 @@ public class Gui {
 	private void updateTermsTab(Table term) {
 		//DEBUG
 		System.out.println("Update TermsTable was started...");
-		term.removeAll();
-		for (Term t : archFunc.gettSet()) {
-			TableItem item = new TableItem(term, SWT.None);
-			item.setText(t.toString());
-		}
+		showSet(term, ArchitectureFunctions::gettSet);
 		//DEBUG
 		System.out.println("Update TermsTable was finished...");
 	}
@@ -3476,11 +3364,7 @@ public class Gui {
 	 *          the properties table
 	 */
 	private void updatePropsTab(Table propTable) {
-		propTable.removeAll();
-		for (Property p : archFunc.getpSet()) {
-			TableItem item = new TableItem(propTable, SWT.None);
-			item.setText(p.toString());
-		}
+		showSet(propTable, ArchitectureFunctions::getpSet);
 	}
 
 	/**
@@ -3490,11 +3374,7 @@ public class Gui {
 	 *          the deductions table
 	 */
 	private void updateDedTab(Table dedTable) {
-		dedTable.removeAll();
-		for (Deduction d : archFunc.getDeducs()) {
-			TableItem item = new TableItem(dedTable, SWT.None);
-			item.setText(d.toString());
-		}
+		showSet(dedTable, ArchitectureFunctions::getDeducs);
 	}
 
 	/**
@@ -3527,13 +3407,7 @@ public class Gui {
 	 *          the attestations table
 	 */
 	private void updateAttestsTab(Table att) {
-		att.removeAll();
-		for (Statement st : archFunc.getstSet()) {
-			if (st instanceof Attest) {
-				TableItem item = new TableItem(att, SWT.NONE);
-				item.setText(st.toString());
-			}
-		}
+		showSet(att, ArchitectureFunctions::getstSet, st -> st instanceof Attest);
 	}
 
 	/**
@@ -3543,11 +3417,7 @@ public class Gui {
 	 *          the statements table
 	 */
 	private void updateStatementsTab(Table stTab) {
-		stTab.removeAll();
-		for (Statement st : archFunc.getstSet()) {
-			TableItem item = new TableItem(stTab, SWT.NONE);
-			item.setText(st.toString());
-		}
+		showSet(stTab, ArchitectureFunctions::getstSet);
 	}
 
 	/**
@@ -3602,11 +3472,41 @@ public class Gui {
 					// nothing
 					break;
 				}
-				table.remove(table.indexOf(i));
+				// the rows of the model tables are removed by the events of the architecture
+				if (!modelTables.containsKey(table)) {
+					table.remove(table.indexOf(i));
+				}
 			}
 		}
 	}
 
+	/**
+	 * Helper method that shows a set of the architecture in a virtual table, which is
+	 * afterwards updated by the events of the architecture, see {@link ModelTable}.
+	 * @param table
+	 *          the table
+	 * @param getter
+	 *          the getter of the set
+	 */
+	private void showSet(Table table, Function<ArchitectureFunctions, Set<?>> getter) {
+		showSet(table, getter, o -> true);
+	}
+
+	/**
+	 * Helper method that shows the elements of a set of the architecture that match a
+	 * filter in a virtual table.
+	 * @param table
+	 *          the table
+	 * @param getter
+	 *          the getter of the set
+	 * @param filter
+	 *          the filter for the elements to show
+	 */
+	private void showSet(Table table, Function<ArchitectureFunctions, Set<?>> getter,
+			Predicate<Object> filter) {
+		modelTables.computeIfAbsent(table, ModelTable::new).show(archFunc, getter, filter);
+	}
+
 	/**
 	 * Helper method that calls the method
 	 * {@link ArchitectureFunctions#addTerm(OperatorType, Operator, String, String, String, String)
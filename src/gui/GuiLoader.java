@@ -1,6 +1,7 @@
 package gui;
 
 import solver.ConfigReader;
+import utils.VerificationContext;
 
 /**
  * The class that loads the GUI.
@@ -13,6 +14,7 @@ public class GuiLoader {
 	 * The main function of the project.
 	 * This calls the {@link solver.ConfigReader#readConfig() readConfig()} method
 	 * and the {@link #checkPlatform() checkPlatform()} method. After having initialized,
+	 * the metrics of the default context are registered in JMX and
 	 * the method {@link Gui#Gui() Gui()} starts the GUI.
 	 * 
 	 * @param args
@@ -25,6 +27,7 @@ public class GuiLoader {
 			System.err.println("Config file could not be read! Exiting...");
 			System.exit(1);
 		}
+		VerificationContext.getDefault().getMetrics().register("default");
 		new Gui();
 	}
 
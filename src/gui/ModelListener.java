@@ -0,0 +1,41 @@
+package gui;
+
+import java.util.Set;
+
+/**
+ * Listener that is informed about the changes of the sets of the
+ * {@link ArchitectureFunctions}, e.g. the tables of the GUI that only update the changed
+ * rows. The events are sent on the thread that changes the architecture.
+ * See {@link ArchitectureFunctions#addModelListener(ModelListener)}.
+ */
+public interface ModelListener {
+
+	/**
+	 * Method that is called after an element was added to a set.
+	 *
+	 * @param set
+	 *          the set
+	 * @param element
+	 *          the element
+	 */
+	void elementAdded(Set<?> set, Object element);
+
+	/**
+	 * Method that is called after an element was removed from a set.
+	 *
+	 * @param set
+	 *          the set
+	 * @param element
+	 *          the element or an equal object
+	 */
+	void elementRemoved(Set<?> set, Object element);
+
+	/**
+	 * Method that is called after a set was cleared or replaced by another set, so that
+	 * it has to be read again.
+	 *
+	 * @param set
+	 *          the current set
+	 */
+	void setChanged(Set<?> set);
+}
@@ -0,0 +1,122 @@
+package gui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableItem;
+
+/**
+ * Adapter that shows a set of the {@link ArchitectureFunctions} in a table, which has to
+ * be created with the style SWT.VIRTUAL. The rows are only filled when they become
+ * visible, and the events of the architecture only add or remove the changed rows, so
+ * that an edit does not cost widget operations for the whole set. The table is only
+ * filled again if the architecture or its set is replaced.
+ */
+class ModelTable implements ModelListener {
+
+	// class fields
+	private final Table table;
+	private final List<Object> rows;
+	private Function<ArchitectureFunctions, Set<?>> getter;
+	private Predicate<Object> filter;
+	private ArchitectureFunctions archFunc;
+	// the set of the architecture that is shown
+	private Set<?> shown;
+
+	/**
+	 * The Constructor for an adapter of a virtual table.
+	 *
+	 * @param table
+	 *          the table
+	 */
+	ModelTable(Table table) {
+		this.table = table;
+		rows = new ArrayList<Object>();
+		table.addListener(SWT.SetData, event -> {
+			TableItem item = (TableItem) event.item;
+			int index = table.indexOf(item);
+			if (index >= 0 && index < rows.size()) {
+				item.setText(rows.get(index).toString());
+			}
+		});
+		table.addListener(SWT.Dispose, event -> {
+			if (archFunc != null) {
+				archFunc.removeModelListener(this);
+			}
+		});
+	}
+
+	/**
+	 * Method that shows a set of an architecture, where the table is only filled again if
+	 * the architecture or the set changed since the last call.
+	 *
+	 * @param archFunc
+	 *          the architecture
+	 * @param getter
+	 *          the getter of the set
+	 * @param filter
+	 *          the filter for the elements to show
+	 */
+	void show(ArchitectureFunctions archFunc, Function<ArchitectureFunctions, Set<?>> getter,
+			Predicate<Object> filter) {
+		this.getter = getter;
+		this.filter = filter;
+		if (archFunc != this.archFunc) {
+			if (this.archFunc != null) {
+				this.archFunc.removeModelListener(this);
+			}
+			this.archFunc = archFunc;
+			archFunc.addModelListener(this);
+			refresh();
+		} else if (getter.apply(archFunc) != shown) {
+			refresh();
+		}
+	}
+
+	/**
+	 * Helper method that fills the table again, where the rows are filled when they
+	 * become visible.
+	 */
+	private void refresh() {
+		shown = getter.apply(archFunc);
+		rows.clear();
+		for (Object o : shown) {
+			if (filter.test(o)) {
+				rows.add(o);
+			}
+		}
+		table.clearAll();
+		table.setItemCount(rows.size());
+	}
+
+	@Override
+	public void elementAdded(Set<?> set, Object element) {
+		if (set == shown && filter.test(element) && !table.isDisposed()) {
+			rows.add(element);
+			table.setItemCount(rows.size());
+		}
+	}
+
+	@Override
+	public void elementRemoved(Set<?> set, Object element) {
+		if (set == shown && !table.isDisposed()) {
+			int index = rows.indexOf(element);
+			if (index >= 0) {
+				rows.remove(index);
+				table.remove(index);
+			}
+		}
+	}
+
+	@Override
+	public void setChanged(Set<?> set) {
+		if ((set == shown || set == getter.apply(archFunc)) && !table.isDisposed()) {
+			refresh();
+		}
+	}
+}
@@ -0,0 +1,287 @@
+package gui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.swt.widgets.Display;
+
+import properties.Property;
+import properties.ProgressListener;
+import properties.VerificationMonitor;
+
+/**
+ * Service that finishes architectures and verifies properties in the background, so that
+ * the GUI stays responsive during long proofs and solver runs. The tasks run one after
+ * another on a single worker thread, as the architecture functions and their parser must
+ * not be used concurrently. The callbacks are run on the thread of the display.
+ * <p>
+ * A running verification is cancelled by interrupting the worker, which the parsers and
+ * the solver check, see {@link VerificationMonitor}, while the waiting tasks are skipped.
+ * The progress is sent at most once per run of the event loop, so that many rules do not
+ * flood the display.
+ */
+public class VerificationService {
+
+	/**
+	 * The callbacks of a verification, which are run on the thread of the display.
+	 */
+	public interface Callback {
+
+		/**
+		 * Method that is called with the current progress.
+		 *
+		 * @param progress
+		 *          the progress
+		 */
+		void progress(Progress progress);
+
+		/**
+		 * Method that is called after a property was verified.
+		 *
+		 * @param property
+		 *          the name of the property
+		 * @param holds
+		 *          true, if the property holds
+		 */
+		void verified(String property, boolean holds);
+
+		/**
+		 * Method that is called after the verification ended.
+		 *
+		 * @param cancelled
+		 *          true, if the verification was cancelled
+		 */
+		void done(boolean cancelled);
+	}
+
+	/**
+	 * The progress of a verification.
+	 */
+	public static final class Progress {
+
+		// class fields
+		private final int done;
+		private final int total;
+		private final String property;
+		private final String rule;
+		private final long solverTime;
+
+		private Progress(int done, int total, String property, String rule, long solverTime) {
+			this.done = done;
+			this.total = total;
+			this.property = property;
+			this.rule = rule;
+			this.solverTime = solverTime;
+		}
+
+		@Override
+		public String toString() {
+			String s = done + "/" + total + " properties verified";
+			if (property != null && done < total) {
+				s += ", verifying " + property;
+				if (rule != null) {
+					s += " (rule " + rule + ")";
+				}
+			}
+			if (solverTime > 0) {
+				s += ", solver time " + solverTime / 1000000 + " ms";
+			}
+			return s;
+		}
+
+		// getter methods
+		public int getDone() {
+			return done;
+		}
+
+		public int getTotal() {
+			return total;
+		}
+
+		public String getProperty() {
+			return property;
+		}
+
+		public String getRule() {
+			return rule;
+		}
+
+		public long getSolverTime() {
+			return solverTime;
+		}
+	}
+
+	/**
+	 * The state of one verification, which is updated by the worker.
+	 */
+	private final class Task implements ProgressListener {
+
+		// class fields
+		private final Callback callback;
+		private final int total;
+		private volatile int done;
+		private volatile String property;
+		private volatile String rule;
+		private volatile long solverTime;
+		// a progress update is waiting for the display
+		private final AtomicBoolean pending = new AtomicBoolean();
+
+		private Task(Callback callback, int total) {
+			this.callback = callback;
+			this.total = total;
+		}
+
+		@Override
+		public void ruleTried(Property statement, String rule) {
+			this.rule = rule;
+			update();
+		}
+
+		@Override
+		public void solverFinished(Property property, long time) {
+			solverTime += time;
+			update();
+		}
+
+		private void update() {
+			if (pending.compareAndSet(false, true)) {
+				asyncExec(() -> {
+					pending.set(false);
+					callback.progress(new Progress(done, total, property, rule, solverTime));
+				});
+			}
+		}
+	}
+
+	// class fields
+	private final Display display;
+	private final ExecutorService worker;
+	private volatile Thread thread;
+	// increased by every cancellation, so that the waiting tasks are skipped
+	private volatile int generation;
+	private int tasks;
+
+	/**
+	 * The Constructor for a service of a display.
+	 *
+	 * @param display
+	 *          the display that runs the callbacks
+	 */
+	public VerificationService(Display display) {
+		this.display = display;
+		worker = Executors.newSingleThreadExecutor(r -> {
+			thread = new Thread(r, "verification");
+			// the worker does not keep the application running
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Method that finishes the architecture in the background, which also checks it for
+	 * consistency.
+	 *
+	 * @param archFunc
+	 *          the architecture
+	 */
+	public synchronized void finish(ArchitectureFunctions archFunc) {
+		int gen = generation;
+		submit(() -> {
+			if (gen == generation) {
+				archFunc.finish();
+			}
+		});
+	}
+
+	/**
+	 * Method that verifies properties one after another in the background.
+	 *
+	 * @param archFunc
+	 *          the architecture
+	 * @param properties
+	 *          the names of the properties
+	 * @param callback
+	 *          the callbacks for the progress and the results
+	 */
+	public synchronized void verify(ArchitectureFunctions archFunc, List<String> properties,
+			Callback callback) {
+		List<String> names = new ArrayList<String>(properties);
+		Task task = new Task(callback, names.size());
+		int gen = generation;
+		submit(() -> {
+			VerificationMonitor.setListener(task);
+			boolean cancelled = false;
+			try {
+				for (String name : names) {
+					if (gen != generation) {
+						throw new CancellationException();
+					}
+					task.property = name;
+					task.rule = null;
+					task.update();
+					boolean holds = archFunc.verify(name);
+					task.done++;
+					asyncExec(() -> callback.verified(name, holds));
+				}
+			} catch (CancellationException e) {
+				cancelled = true;
+			} finally {
+				VerificationMonitor.setListener(null);
+				boolean result = cancelled;
+				task.update();
+				asyncExec(() -> callback.done(result));
+			}
+		});
+	}
+
+	/**
+	 * Method that cancels the running task and all waiting tasks of the service.
+	 */
+	public synchronized void cancel() {
+		generation++;
+		Thread current = thread;
+		if (tasks > 0 && current != null) {
+			// the executor clears the interrupt before the next task
+			current.interrupt();
+		}
+	}
+
+	/**
+	 * Method that checks if a task is running or waiting.
+	 *
+	 * @return true, if there is a task that is not done
+	 */
+	public synchronized boolean isBusy() {
+		return tasks > 0;
+	}
+
+	/**
+	 * Method that stops the worker, e.g. when the GUI is closed.
+	 */
+	public void shutdown() {
+		worker.shutdownNow();
+	}
+
+	private void submit(Runnable runnable) {
+		tasks++;
+		worker.execute(() -> {
+			try {
+				runnable.run();
+			} finally {
+				synchronized (this) {
+					tasks--;
+				}
+			}
+		});
+	}
+
+	private void asyncExec(Runnable runnable) {
+		if (!display.isDisposed()) {
+			display.asyncExec(runnable);
+		}
+	}
+}
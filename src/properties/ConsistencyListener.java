@@ -0,0 +1,22 @@
+package properties;
+
+import architecture.Architecture;
+import utils.SuccessIndexPair;
+
+/**
+ * Listener that is informed about the result of the consistency check of every parser,
+ * e.g. the GUI that shows it to the user.
+ * See {@link utils.VerificationContext#setListener(ConsistencyListener)}.
+ */
+public interface ConsistencyListener {
+
+	/**
+	 * Method that is called after an architecture was checked for consistency.
+	 *
+	 * @param arch
+	 *          the architecture
+	 * @param result
+	 *          success or else the index of the problematic action
+	 */
+	void consistencyChecked(Architecture arch, SuccessIndexPair result);
+}
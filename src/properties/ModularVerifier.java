@@ -0,0 +1,243 @@
+package properties;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import architecture.Action;
+import architecture.Architecture;
+import architecture.FrozenArchitecture;
+import architecture.Partitioning;
+import utils.SuccessIndexPair;
+import utils.VerificationContext;
+
+/**
+ * Verifier that splits an architecture into independent parts (see {@link Partitioning})
+ * and verifies every property with a parser for the part of its component only.
+ * Conjunctions and negations are split into their statements, which may belong to different
+ * parts. Each part gets its own parser, so the parts can be verified in parallel. As the
+ * parts are sliced to what their components refer to, a statement about a variable or
+ * equation outside of the slice of its part is verified on the whole architecture.
+ * The consistency of the parts is checked once when the verifier is created and reported
+ * like for a single parser. The bottom up parsers of the parts do not report it again, the
+ * parsers of another factory report their parts as well.
+ */
+public class ModularVerifier {
+
+	// class fields
+	private final Partitioning partitioning;
+	private final Function<Architecture, ? extends Parser> factory;
+	// one parser per part, created on demand, and one for the whole architecture
+	private final Parser[] parsers;
+	private Parser wholeParser;
+
+	/**
+	 * The Constructor for a verifier with bottom up parsers.
+	 *
+	 * @param arch
+	 *          the architecture
+	 */
+	public ModularVerifier(Architecture arch) {
+		this(arch, VerificationContext.getDefault());
+	}
+
+	/**
+	 * The Constructor for a verifier with bottom up parsers in a context.
+	 *
+	 * @param arch
+	 *          the architecture
+	 * @param context
+	 *          the context of the verification
+	 */
+	public ModularVerifier(Architecture arch, VerificationContext context) {
+		this(arch, part -> new RulesOfInferenceParserBottomup(part, context, false), context);
+	}
+
+	/**
+	 * The Constructor for a verifier with any kind of parser, e.g. the top down parser
+	 * that creates a smaller SMT script per part.
+	 *
+	 * @param arch
+	 *          the architecture
+	 * @param factory
+	 *          the function that creates a parser for a part
+	 */
+	public ModularVerifier(Architecture arch, Function<Architecture, ? extends Parser> factory) {
+		this(arch, factory, VerificationContext.getDefault());
+	}
+
+	/**
+	 * The Constructor for a verifier with any kind of parser in a context, where the
+	 * consistency is reported to the listener of the context.
+	 *
+	 * @param arch
+	 *          the architecture
+	 * @param factory
+	 *          the function that creates a parser for a part
+	 * @param context
+	 *          the context of the verification
+	 */
+	public ModularVerifier(Architecture arch, Function<Architecture, ? extends Parser> factory,
+			VerificationContext context) {
+		this.partitioning = new Partitioning(arch);
+		this.factory = factory;
+		List<FrozenArchitecture> parts = partitioning.getParts();
+		parsers = new Parser[parts.size()];
+		// check every part, but report only once for the whole architecture
+		SuccessIndexPair result = new SuccessIndexPair(true, -1);
+		for (FrozenArchitecture part : parts) {
+			SuccessIndexPair consistency = part.getConsistency(p -> Parser.verifyArchitecture(p, context));
+			if (result.isSuccess() && !consistency.isSuccess()) {
+				Action action = part.getAllActions().get(consistency.getIndex());
+				result = new SuccessIndexPair(false, partitioning.getArchitecture().getAllActions().indexOf(action));
+			}
+		}
+		// the whole architecture is consistent if all of its parts are
+		SuccessIndexPair combined = result;
+		FrozenArchitecture whole = partitioning.getArchitecture();
+		Parser.report(whole, whole.getConsistency(frozen -> combined), context);
+	}
+
+	/**
+	 * Method that verifies a property.
+	 *
+	 * @param property
+	 *          the property
+	 * @return true, if the property holds
+	 */
+	public boolean verify(Property property) {
+		switch (property.getType()) {
+		case CONJUNCTION:
+			return verify(property.getSt1()) && verify(property.getSt2());
+		case NEGATION:
+			return !verify(property.getSt1());
+		default:
+			Parser parser = getParser(partOf(property));
+			synchronized (parser) {
+				return parser.verifyStatement(property, 0);
+			}
+		}
+	}
+
+	/**
+	 * Method that verifies a list of properties, where the parts are verified in parallel.
+	 *
+	 * @param properties
+	 *          the properties
+	 * @param threads
+	 *          the maximum number of threads
+	 * @return the results in the order of the properties
+	 * @throws InterruptedException
+	 *          if the thread is interrupted while waiting for the results
+	 */
+	public List<Boolean> verifyAll(List<Property> properties, int threads) throws InterruptedException {
+		// group the single statements by their parts
+		Map<Integer, List<Property>> byPart = new LinkedHashMap<Integer, List<Property>>();
+		for (Property property : properties) {
+			collect(property, byPart);
+		}
+		Map<Property, Boolean> results = new IdentityHashMap<Property, Boolean>();
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, byPart.size())));
+		try {
+			List<Future<List<Boolean>>> futures = new ArrayList<Future<List<Boolean>>>();
+			for (Map.Entry<Integer, List<Property>> entry : byPart.entrySet()) {
+				final Parser parser = getParser(entry.getKey());
+				final List<Property> statements = entry.getValue();
+				futures.add(executor.submit(() -> {
+					List<Boolean> partResults = new ArrayList<Boolean>(statements.size());
+					synchronized (parser) {
+						for (Property statement : statements) {
+							partResults.add(parser.verifyStatement(statement, 0));
+						}
+					}
+					return partResults;
+				}));
+			}
+			int i = 0;
+			for (List<Property> statements : byPart.values()) {
+				List<Boolean> partResults = futures.get(i++).get();
+				for (int j = 0; j < statements.size(); j++) {
+					results.put(statements.get(j), partResults.get(j));
+				}
+			}
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+		List<Boolean> list = new ArrayList<Boolean>(properties.size());
+		for (Property property : properties) {
+			list.add(evaluate(property, results));
+		}
+		return list;
+	}
+
+	private void collect(Property property, Map<Integer, List<Property>> byPart) {
+		switch (property.getType()) {
+		case CONJUNCTION:
+			collect(property.getSt1(), byPart);
+			collect(property.getSt2(), byPart);
+			break;
+		case NEGATION:
+			collect(property.getSt1(), byPart);
+			break;
+		default:
+			byPart.computeIfAbsent(partOf(property), k -> new ArrayList<Property>()).add(property);
+			break;
+		}
+	}
+
+	private static boolean evaluate(Property property, Map<Property, Boolean> results) {
+		switch (property.getType()) {
+		case CONJUNCTION:
+			return evaluate(property.getSt1(), results) && evaluate(property.getSt2(), results);
+		case NEGATION:
+			return !evaluate(property.getSt1(), results);
+		default:
+			return results.get(property);
+		}
+	}
+
+	private int partOf(Property property) {
+		return partitioning.partOf(property);
+	}
+
+	/**
+	 * Helper method that returns the parser of a part.
+	 *
+	 * @param part
+	 *          the index of the part or -1 for the whole architecture
+	 * @return the parser
+	 */
+	private synchronized Parser getParser(int part) {
+		if (part < 0) {
+			if (wholeParser == null) {
+				wholeParser = factory.apply(partitioning.getArchitecture());
+			}
+			return wholeParser;
+		}
+		if (parsers[part] == null) {
+			parsers[part] = factory.apply(partitioning.getParts().get(part));
+		}
+		return parsers[part];
+	}
+
+	// getter methods
+	public Partitioning getPartitioning() {
+		return partitioning;
+	}
+
+	public int getPartCount() {
+		return parsers.length;
+	}
+}
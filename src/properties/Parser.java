@@ -8,14 +8,16 @@ import java.util.List;
 
 import architecture.Action;
 import architecture.Architecture;
-import architecture.Component;
 import architecture.Composition;
 import architecture.Equation;
+import architecture.FrozenArchitecture;
 import architecture.Term;
 import architecture.Variable;
-import gui.Gui;
-import gui.Gui.MessageType;
+import utils.Metrics;
 import utils.SuccessIndexPair;
+import utils.TraceBuffer;
+import utils.VerificationContext;
+import utils.VerificationEvents;
 
 /**
  * The Parser Interface for both types of parsers: bottom up and top down.
@@ -29,36 +31,80 @@ public class Parser implements Serializable {
 
 	// class fields
 	protected Architecture arch;
+	// the context of the verification, which is the default context after loading
+	private transient VerificationContext context;
 
 	/**
-	 * Super constructor for all parsers that already checks the architecture for consistency.
+	 * Super constructor for all parsers in the default context that already checks the
+	 * architecture for consistency.
 	 * @param arch
 	 * 			the architecture
 	 */
 	public Parser(Architecture arch) {
+		this(arch, VerificationContext.getDefault());
+	}
+
+	/**
+	 * Super constructor for all parsers that already checks the architecture for consistency.
+	 * @param arch
+	 * 			the architecture
+	 * @param context
+	 * 			the context of the verification
+	 */
+	public Parser(Architecture arch, VerificationContext context) {
+		this(arch, context, true);
+	}
+
+	/**
+	 * Super constructor for all parsers that already checks the architecture for consistency,
+	 * e.g. without a report for the parser of a part that is reported with the whole.
+	 * @param arch
+	 * 			the architecture
+	 * @param context
+	 * 			the context of the verification
+	 * @param report
+	 * 			true, if the result of the check is reported in the context
+	 */
+	protected Parser(Architecture arch, VerificationContext context, boolean report) {
 		this.arch = arch;
-		SuccessIndexPair result = verifyArchitecture();
+		this.context = context;
+		SuccessIndexPair result;
+		if (arch instanceof FrozenArchitecture) {
+			// a snapshot does not change, so it is only checked by the first parser
+			result = ((FrozenArchitecture) arch).getConsistency(frozen -> verifyArchitecture(frozen, context));
+		} else {
+			result = verifyArchitecture(arch, context);
+		}
+		if (report) {
+			report(arch, result, context);
+		}
+	}
+
+	/**
+	 * Helper method that informs the user about the result of the consistency check on
+	 * the console and the listener of the context, if there is one.
+	 * @param arch
+	 * 			the architecture
+	 * @param result
+	 * 			success or else the index of the problematic action
+	 * @param context
+	 * 			the context of the verification
+	 */
+	static void report(Architecture arch, SuccessIndexPair result, VerificationContext context) {
 		if (!result.isSuccess()) {
 			// error?
 			System.err.println("Warning: architecture not consistent!");
 			System.err.println("At least this action is not valid: "
 					+ new ArrayList<Action>(arch.getAllActions()).get(result.getIndex()));
 			System.err.println("All verification based on this architecture are not meaningful...");
-			Gui.showMessage(MessageType.ERR,
-					"Architecture is not consistent!\n" + "At least this action is not valid: "
-							+ new ArrayList<Action>(arch.getAllActions()).get(result.getIndex()) + "\n"
-							+ "All verification based on this architecture are not meaningful...");
 		} else {
 			// architecture is consistent
 			System.out.println(
 					"Architecture is consistent and can be used for verification of privacy properties");
-			try {
-				Gui.showMessage(MessageType.INF,
-						"Architecture is consistent and can be used for verification of privacy properties");
-			} catch (Exception e) {
-				//TODO
-				e.printStackTrace();
-			}
+		}
+		ConsistencyListener current = context.getListener();
+		if (current != null) {
+			current.consistencyChecked(arch, result);
 		}
 	}
 
@@ -76,6 +122,26 @@ public class Parser implements Serializable {
 		return false;
 	}
 
+	/**
+	 * Parser method to verify an architecture for consistency, where the time of the check
+	 * is recorded in the metrics of the context and as an event.
+	 * @param arch
+	 * 			the architecture to verify (mainly check for consistency)
+	 * @param context
+	 * 			the context of the verification
+	 * @return
+	 * 			success or else the index of the problematic action
+	 */
+	static SuccessIndexPair verifyArchitecture(Architecture arch, VerificationContext context) {
+		VerificationEvents.Consistency event = new VerificationEvents.Consistency();
+		event.begin();
+		long start = System.nanoTime();
+		SuccessIndexPair result = verifyArchitecture(arch);
+		context.getMetrics().time(Metrics.CONSISTENCY, start);
+		event.finish(arch, result);
+		return result;
+	}
+
 	/**
 	 * Parser method to verify an architecture for consistency.
 	 * @param arch
@@ -83,10 +149,10 @@ public class Parser implements Serializable {
 	 * @return
 	 * 			success or else the index of the problematic action
 	 */
-	private SuccessIndexPair verifyArchitecture() {
+	public static SuccessIndexPair verifyArchitecture(Architecture arch) {
 		// check if there is an order for the actions that is consistent
 		List<Action> orderedActions = new ArrayList<Action>(arch.getAllActions());
-		SuccessIndexPair result = isConsistent(orderedActions);
+		SuccessIndexPair result = isConsistent(arch, orderedActions);
 		if (!result.isSuccess()) {
 			// try the default order:
 			// has, compute, receive, check, verify, delete
@@ -94,7 +160,7 @@ public class Parser implements Serializable {
 		} else {
 			return result;
 		}
-		result = isConsistent(orderedActions);
+		result = isConsistent(arch, orderedActions);
 		int counter = 0;
 		int bound = orderedActions.size() * (int) (Math.floor(Math.log(orderedActions.size())));
 		while (!result.isSuccess()) {
@@ -109,7 +175,7 @@ public class Parser implements Serializable {
 			// increment counter
 			counter++;
 			// update the result
-			result = isConsistent(orderedActions);
+			result = isConsistent(arch, orderedActions);
 		}
 		return result;
 	}
@@ -118,26 +184,28 @@ public class Parser implements Serializable {
 	 * Helper method to check if the actions performed in the given order are
 	 * consistent, i.e. no variable is used before receiving/computing it.
 	 * 
+	 * @param arch
+	 *          the architecture
 	 * @param actions
 	 *          the ordered list of actions
 	 * @return true, if the order is consistent
 	 */
-	private SuccessIndexPair isConsistent(List<Action> actions) {
+	private static SuccessIndexPair isConsistent(Architecture arch, List<Action> actions) {
 		//TODO test PRECEIVE, CRECEIVE, Permission, Revoke
 		// keep track of the owned/consented variables for each component
 		boolean[][] variablesOwned = new boolean[arch.getCompList().size()][arch.getVariables().size()];
 		boolean[][] dataTypesConsented = new boolean[arch.getCompList().size()][arch.getDataTypes().size()];
 		// go through list of actions and add owned variables and check used ones
-		for (Action action : actions) {
-			int actionIndex = actions.indexOf(action);
-			int compIndex = new ArrayList<Component>(arch.getCompList()).indexOf(action.getComponent());
+		for (int actionIndex = 0; actionIndex < actions.size(); actionIndex++) {
+			Action action = actions.get(actionIndex);
+			int compIndex = arch.indexOf(action.getComponent());
 			switch (action.getAction()) {
 			case CHECK:
 				for (Equation eq : action.getEqSet()) {
 					for (Term term : eq.getTermSet()) {
 						for (Variable var : term.getAtomSet()) {
-							if (new ArrayList<Variable>(arch.getVariables()).indexOf(var) < 0
-									|| !variablesOwned[compIndex][new ArrayList<Variable>(arch.getVariables()).indexOf(var)]) {
+							if (arch.indexOf(var) < 0
+									|| !variablesOwned[compIndex][arch.indexOf(var)]) {
 								// one of the used variables is not yet possessed by the
 								// component
 								return new SuccessIndexPair(false, actionIndex);
@@ -148,38 +216,38 @@ public class Parser implements Serializable {
 				break;
 			case COMPUTE:
 				for (Variable var : action.getEq().getOp2().getAtomSet()) {
-					if (arch.getVariables().indexOf(var) < 0
-							|| !variablesOwned[compIndex][arch.getVariables().indexOf(var)]) {
+					if (arch.indexOf(var) < 0
+							|| !variablesOwned[compIndex][arch.indexOf(var)]) {
 						// one of the used variables is not yet possessed by the component
 						return new SuccessIndexPair(false, actionIndex);
 					}
 				}
 				// the variable is now owned
-				variablesOwned[compIndex][arch.getVariables().indexOf(action.getEq().getLefthandSide())] = true;
+				variablesOwned[compIndex][arch.indexOf(action.getEq().getLefthandSide())] = true;
 				// also own variables from composition
 				for (Composition compos : arch.getCompositions()) {
 					if (compos.getContainer().equals(action.getComponent())) {
 						// the composed component also has access to the variable
-						variablesOwned[arch.getCompList().indexOf(compos.getComponent())][arch.getVariables().indexOf(action.getEq().getLefthandSide())] = true;
+						variablesOwned[arch.indexOf(compos.getComponent())][arch.indexOf(action.getEq().getLefthandSide())] = true;
 					}
 				}
 				break;
 			case DELETE:
 				// variable
-				if (arch.getVariables().indexOf(action.getVar()) < 0
-						|| !variablesOwned[compIndex][arch.getVariables().indexOf(action.getVar())]) {
+				if (arch.indexOf(action.getVar()) < 0
+						|| !variablesOwned[compIndex][arch.indexOf(action.getVar())]) {
 					// the used variable is not yet possessed by the component
 					return new SuccessIndexPair(false, actionIndex);
 				}
 				break;
 			case HAS:
 				// the variable is now owned
-				variablesOwned[compIndex][arch.getVariables().indexOf(action.getVar())] = true;
+				variablesOwned[compIndex][arch.indexOf(action.getVar())] = true;
 				// also own variables from composition
 				for (Composition compos : arch.getCompositions()) {
 					if (compos.getContainer().equals(action.getComponent())) {
 						// the composed component also has access to the variable
-						variablesOwned[arch.getCompList().indexOf(compos.getComponent())][arch.getVariables().indexOf(action.getVar())] = true;
+						variablesOwned[arch.indexOf(compos.getComponent())][arch.indexOf(action.getVar())] = true;
 					}
 				}
 				break;
@@ -188,21 +256,19 @@ public class Parser implements Serializable {
 			case PRECEIVE:
 				// variables
 				for (Variable var : action.getVarSet()) {
-					if (arch.getVariables().indexOf(var) < 0
-							|| !variablesOwned[arch.getCompList().indexOf(
-									action.getComPartner())][arch.getVariables()
-									                         .indexOf(var)]) {
+					if (arch.indexOf(var) < 0
+							|| !variablesOwned[arch.indexOf(action.getComPartner())][arch.indexOf(var)]) {
 						// one of the used variables is not yet possessed by the sending
 						// component
 						return new SuccessIndexPair(false, actionIndex);
 					}
 					// the variable is now owned
-					variablesOwned[compIndex][arch.getVariables().indexOf(var)] = true;
+					variablesOwned[compIndex][arch.indexOf(var)] = true;
 					// also own variables from composition
 					for (Composition compos : arch.getCompositions()) {
 						if (compos.getContainer().equals(action.getComponent())) {
 							// the composed component also has access to the variable
-							variablesOwned[arch.getCompList().indexOf(compos.getComponent())][arch.getVariables().indexOf(var)] = true;
+							variablesOwned[arch.indexOf(compos.getComponent())][arch.indexOf(var)] = true;
 						}
 					}
 				}
@@ -210,53 +276,51 @@ public class Parser implements Serializable {
 			case CRECEIVE:
 				// not fall through as there are additional checks in order
 				// data types
-				if (!dataTypesConsented[arch.getCompList().indexOf(action.getComPartner())][arch.getDataTypes().indexOf(action.getDt())]) {
+				if (!dataTypesConsented[arch.indexOf(action.getComPartner())][arch.indexOf(action.getDt())]) {
 					// there is no permission to use the data type
 					return new SuccessIndexPair(false, actionIndex);
 				}
 				for (Variable var : action.getVarSet()) {
-					if (arch.getVariables().indexOf(var) < 0
-							|| !variablesOwned[arch.getCompList().indexOf(
-									action.getComPartner())][arch.getVariables().indexOf(var)]) {
+					if (arch.indexOf(var) < 0
+							|| !variablesOwned[arch.indexOf(action.getComPartner())][arch.indexOf(var)]) {
 						// one of the used variables is not yet possessed by the sending component
 						return new SuccessIndexPair(false, actionIndex);
 					}
 					// the variable is now owned
-					variablesOwned[compIndex][arch.getVariables().indexOf(var)] = true;
+					variablesOwned[compIndex][arch.indexOf(var)] = true;
 					// also own variables from composition
 					for (Composition compos : arch.getCompositions()) {
 						if (compos.getContainer().equals(action.getComponent())) {
 							// the composed component also has access to the variable
-							variablesOwned[arch.getCompList().indexOf(compos.getComponent())][arch.getVariables().indexOf(var)] = true;
+							variablesOwned[arch.indexOf(compos.getComponent())][arch.indexOf(var)] = true;
 						}
 					}
 					// pass on the permission to use the data type
-					dataTypesConsented[arch.getCompList().indexOf(action.getComponent())][arch.getDataTypes().indexOf(action.getDt())] = true;
+					dataTypesConsented[arch.indexOf(action.getComponent())][arch.indexOf(action.getDt())] = true;
 				}
 				break;
 			case PERMISSION:
 				// the data type is now permitted
 				// add the data type to the list of permitted ones
-				dataTypesConsented[compIndex][arch.getDataTypes().indexOf(action.getDt())] = true;
+				dataTypesConsented[compIndex][arch.indexOf(action.getDt())] = true;
 				// also get permission from composition
 				for (Composition compos : arch.getCompositions()) {
 					if (compos.getContainer().equals(action.getComponent())) {
 						// the composed component also has permission
-						dataTypesConsented[arch.getCompList().indexOf(compos.getComponent())][arch.getDataTypes().indexOf(action.getDt())] = true;
+						dataTypesConsented[arch.indexOf(compos.getComponent())][arch.indexOf(action.getDt())] = true;
 					}
 				}
 				break;
 			case REVOKE:
 				// the data type's permission is now revoked
-				if (arch.getDataTypes().indexOf(action.getDt()) < 0 || !dataTypesConsented[arch.getCompList().indexOf(
-						action.getComponent())][arch.getDataTypes().indexOf(action.getDt())]) {
+				if (arch.indexOf(action.getDt()) < 0 || !dataTypesConsented[arch.indexOf(action.getComponent())][arch.indexOf(action.getDt())]) {
 					// there is no permission to use the data type
 					return new SuccessIndexPair(false, actionIndex);
 				}
 				// permission is now revoked for everyone
 				//TODO change to more meaningful version?
 				for (int i=0; i<arch.getCompList().size(); i++) {
-					dataTypesConsented[i][arch.getDataTypes().indexOf(action.getDt())] = false;
+					dataTypesConsented[i][arch.indexOf(action.getDt())] = false;
 				}
 				break;
 			case TRUST:
@@ -279,7 +343,7 @@ public class Parser implements Serializable {
 	 * @param actions
 	 *          the list of actions
 	 */
-	private void sortActions(List<Action> actions) {
+	private static void sortActions(List<Action> actions) {
 		// sort by the enum ACTION (has, compute, receive, check, spotcheck, verify,
 		// delete, trust
 		Collections.sort(actions, new Comparator<Action>() {
@@ -290,4 +354,13 @@ public class Parser implements Serializable {
 		});
 	}
 
+	// getter methods
+	public VerificationContext getContext() {
+		return context == null ? VerificationContext.getDefault() : context;
+	}
+
+	protected TraceBuffer getTrace() {
+		return getContext().getTrace();
+	}
+
 }
@@ -0,0 +1,29 @@
+package properties;
+
+/**
+ * Listener that is informed about the progress of a verification on the current thread,
+ * e.g. the GUI that shows it while the properties are verified in the background.
+ * See {@link VerificationMonitor#setListener(ProgressListener)}.
+ */
+public interface ProgressListener {
+
+	/**
+	 * Method that is called before a rule of inference is tried for a statement.
+	 *
+	 * @param statement
+	 *          the statement
+	 * @param rule
+	 *          the label of the rule
+	 */
+	void ruleTried(Property statement, String rule);
+
+	/**
+	 * Method that is called after the solver was run for a property.
+	 *
+	 * @param property
+	 *          the property
+	 * @param time
+	 *          the time of the solver run in nanoseconds
+	 */
+	void solverFinished(Property property, long time);
+}
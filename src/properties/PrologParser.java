@@ -20,6 +20,9 @@ import gnu.prolog.term.IntegerTerm;
 import gnu.prolog.term.Term;
 import solver.PrologHandler;
 import utils.FileHandler;
+import utils.Metrics;
+import utils.VerificationContext;
+import utils.VerificationEvents;
 
 public class PrologParser extends Parser implements Serializable {
 
@@ -30,7 +33,11 @@ public class PrologParser extends Parser implements Serializable {
 	private PrologHandler prolog;
 
 	public PrologParser(Architecture arch) {
-		super(arch);
+		this(arch, VerificationContext.getDefault());
+	}
+
+	public PrologParser(Architecture arch, VerificationContext context) {
+		super(arch, context);
 		// TODO Auto-generated constructor stub
 		System.out.println("Test. This should be visible...");
 		this.prolog = new PrologHandler(arch, parseArch(arch));
@@ -38,8 +45,14 @@ public class PrologParser extends Parser implements Serializable {
 
 	@Override
 	public boolean verifyStatement(Property statement, int recurseDepth) {
-		// TODO Auto-generated method stub
-		return prolog.verify(statement);
+		VerificationMonitor.checkCancelled();
+		VerificationEvents.Verification event = new VerificationEvents.Verification(this);
+		event.begin();
+		long start = System.nanoTime();
+		boolean result = prolog.verify(statement);
+		getContext().getMetrics().time(Metrics.PROLOG, start);
+		event.finish(statement, result);
+		return result;
 	}
 
 	private String parseArch(Architecture arch) {
@@ -57,11 +70,11 @@ public class PrologParser extends Parser implements Serializable {
 			for (Variable v : arch.getVariables()) {
 				facts.add(parseVar(c, v));
 			}
-			for (Dep dep : c.getDepSet()) {
+			for (Dep dep : arch.getDepSet(c)) {
 				// add the dependencies
 				facts.add(parseDep(c, dep));
 			}
-			for (Deduction ded : c.getDeductionCapability()) {
+			for (Deduction ded : arch.getDeductionCapability(c)) {
 				// add the deductions
 				facts.add(parseDed(c, ded));
 			}
@@ -84,9 +97,11 @@ public class PrologParser extends Parser implements Serializable {
 			}
 		});
 		String factsString = write2string(facts);
-		FileHandler file = new FileHandler("C:/Users/kaiba/OneDrive/Dokumente/Prolog", "facts.pl");
+		// every context has its own file of facts
+		String name = getContext().getFileName("facts");
+		FileHandler file = new FileHandler("C:/Users/kaiba/OneDrive/Dokumente/Prolog", name + ".pl");
 		file.writeFile(factsString.getBytes());
-		return "C:/Users/kaiba/OneDrive/Dokumente/Prolog/facts";
+		return "C:/Users/kaiba/OneDrive/Dokumente/Prolog/" + name;
 	}
 
 	private List<Term> dummyFacts() {
@@ -130,7 +145,7 @@ public class PrologParser extends Parser implements Serializable {
 
 	private Term parseVar(Component comp, Variable var) {
 		// TODO complete this!
-		Term[] args = {AtomTerm.get(comp.getName()), AtomTerm.get(var.getName()), new IntegerTerm(comp.getCounter(var))};
+		Term[] args = {AtomTerm.get(comp.getName()), AtomTerm.get(var.getName()), new IntegerTerm(arch.getStorage().getCounter(comp, var))};
 		// create a counter term for the component and the variable
 		return new CompoundTerm(AtomTerm.get("counter"), args);
 	}
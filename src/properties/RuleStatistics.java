@@ -0,0 +1,228 @@
+package properties;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import properties.Property.PropertyType;
+
+/**
+ * Statistics about the rules of inference of the bottom up parser.
+ * For every rule the number of attempts, the number of successful applications
+ * and the time spent are recorded. As the rules of one property type are
+ * alternatives, the statistics can be used to try the cheapest and likeliest rule first.
+ * The rules may be tried by several threads at once in the parallel mode of the parser.
+ */
+public class RuleStatistics implements Serializable {
+
+	/**
+	 * @serial Serial ID for storing architecture objects in files.
+	 */
+	private static final long serialVersionUID = -2795180353642137520L;
+
+	/**
+	 * The rules of inference in their default order.
+	 * Recursive rules verify further statements and thereby fill the result
+	 * history of the parser, so their order is never changed.
+	 */
+	public enum Rule {
+		H1(PropertyType.HAS, "H1", false),
+		H2(PropertyType.HAS, "H2", false),
+		H3(PropertyType.HAS, "H3", false),
+		H4(PropertyType.HAS, "H4", true),
+		H5(PropertyType.HAS, "H5", true),
+		K1(PropertyType.KNOWS, "K1", false),
+		K2(PropertyType.KNOWS, "K2", false),
+		K3(PropertyType.KNOWS, "K3", false),
+		K4(PropertyType.KNOWS, "K4", false),
+		K5(PropertyType.KNOWS, "K5", false),
+		KDED(PropertyType.KNOWS, "K deduc", true),
+		SH1(PropertyType.NOTSHARED, "SH1", false),
+		SH2(PropertyType.NOTSHARED, "SH2", false),
+		ST1(PropertyType.NOTSTORED, "ST1", false),
+		ST2(PropertyType.NOTSTORED, "ST2", false),
+		P1(PropertyType.NOTPURP, "P1", false),
+		P2(PropertyType.NOTPURP, "P2", false),
+		C(PropertyType.CONSENTVIOLATED, "C", false);
+
+		private final PropertyType type;
+		private final String label;
+		private final boolean recursive;
+
+		private Rule(PropertyType type, String label, boolean recursive) {
+			this.type = type;
+			this.label = label;
+			this.recursive = recursive;
+		}
+
+		public PropertyType getType() {
+			return type;
+		}
+
+		public String getLabel() {
+			return label;
+		}
+
+		public boolean isRecursive() {
+			return recursive;
+		}
+	}
+
+	// Class fields
+	private long[] attempts;
+	private long[] hits;
+	private long[] nanos;
+
+	/**
+	 * The Constructor for empty statistics.
+	 */
+	public RuleStatistics() {
+		attempts = new long[Rule.values().length];
+		hits = new long[Rule.values().length];
+		nanos = new long[Rule.values().length];
+	}
+
+	/**
+	 * Method that records a single attempt to apply a rule.
+	 *
+	 * @param rule
+	 *          the rule
+	 * @param applied
+	 *          true, if the rule was applied
+	 * @param time
+	 *          the time spent in nanoseconds (including recursive verifications)
+	 */
+	public synchronized void record(Rule rule, boolean applied, long time) {
+		attempts[rule.ordinal()]++;
+		if (applied) {
+			hits[rule.ordinal()]++;
+		}
+		nanos[rule.ordinal()] += time;
+	}
+
+	/**
+	 * Method that resets all counters.
+	 */
+	public synchronized void clear() {
+		for (int i = 0; i < attempts.length; i++) {
+			attempts[i] = 0;
+			hits[i] = 0;
+			nanos[i] = 0;
+		}
+	}
+
+	/**
+	 * Method that returns the rules for a property type in their default order.
+	 *
+	 * @param type
+	 *          the property type
+	 * @return the list of rules
+	 */
+	public static List<Rule> rulesFor(PropertyType type) {
+		List<Rule> rules = new ArrayList<Rule>();
+		for (Rule rule : Rule.values()) {
+			if (rule.getType() == type) {
+				rules.add(rule);
+			}
+		}
+		return rules;
+	}
+
+	/**
+	 * Method that returns the rules for a property type ordered by their expected cost
+	 * until a rule applies, i.e., the average cost divided by the hit rate.
+	 * Only the non-recursive rules are reordered. They have no side effects and are
+	 * always tried before the recursive rules, which keep their default order.
+	 * Hence, the result of a verification does not depend on the order.
+	 * <p>
+	 * This is a limitation: the recursive rules H4, H5 and K deduc are never reordered,
+	 * although they are usually the most expensive ones. They fill the result history with
+	 * the statements they verify, and a statement that is cut off on a loop via substitution
+	 * or transitivity is recorded as not holding. Trying them in another order could change
+	 * these records and thereby the results, so their statistics are only recorded.
+	 *
+	 * @param type
+	 *          the property type
+	 * @return the list of rules
+	 */
+	public synchronized List<Rule> order(PropertyType type) {
+		List<Rule> cheap = new ArrayList<Rule>();
+		List<Rule> recursive = new ArrayList<Rule>();
+		for (Rule rule : rulesFor(type)) {
+			if (rule.isRecursive()) {
+				recursive.add(rule);
+			} else {
+				cheap.add(rule);
+			}
+		}
+		// stable sort, so that rules without statistics keep the default order
+		Collections.sort(cheap, new Comparator<Rule>() {
+			@Override
+			public int compare(Rule r1, Rule r2) {
+				return Double.compare(getExpectedCost(r1), getExpectedCost(r2));
+			}
+		});
+		cheap.addAll(recursive);
+		return cheap;
+	}
+
+	/**
+	 * Method that returns the expected cost of a rule until it applies.
+	 * The hit rate is smoothed, so that rules that never applied are not discarded.
+	 *
+	 * @param rule
+	 *          the rule
+	 * @return the average time in nanoseconds divided by the smoothed hit rate
+	 */
+	public double getExpectedCost(Rule rule) {
+		int i = rule.ordinal();
+		if (attempts[i] == 0) {
+			return 0;
+		}
+		double cost = (double) nanos[i] / attempts[i];
+		double hitRate = (hits[i] + 1.0) / (attempts[i] + 2.0);
+		return cost / hitRate;
+	}
+
+	/**
+	 * Method that returns the fraction of attempts in which a rule applied.
+	 *
+	 * @param rule
+	 *          the rule
+	 * @return the hit rate or 0 if never attempted
+	 */
+	public double getHitRate(Rule rule) {
+		int i = rule.ordinal();
+		return attempts[i] == 0 ? 0 : (double) hits[i] / attempts[i];
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for (Rule rule : Rule.values()) {
+			int i = rule.ordinal();
+			if (attempts[i] == 0) {
+				continue;
+			}
+			sb.append(rule.getType()).append(" Rule ").append(rule.getLabel()).append(": ")
+					.append(hits[i]).append("/").append(attempts[i]).append(" applied, ")
+					.append(nanos[i] / attempts[i] / 1000).append(" us on average\n");
+		}
+		return sb.toString();
+	}
+
+	// getter methods
+	public long getAttempts(Rule rule) {
+		return attempts[rule.ordinal()];
+	}
+
+	public long getHits(Rule rule) {
+		return hits[rule.ordinal()];
+	}
+
+	public long getNanos(Rule rule) {
+		return nanos[rule.ordinal()];
+	}
+}
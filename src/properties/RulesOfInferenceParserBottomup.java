@@ -2,10 +2,19 @@ package properties;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
 
 import architecture.Action;
 import architecture.Architecture;
@@ -19,13 +28,18 @@ import architecture.Equation;
 import architecture.P;
 import architecture.Variable;
 import properties.Property.PropertyType;
+import properties.RuleStatistics.Rule;
 import architecture.Action.ActionType;
-import utils.TraceBuffer;
+import utils.Metrics;
 import utils.TraceBuffer.LogType;
+import utils.VerificationContext;
+import utils.VerificationEvents;
 
 /**
  * Parser that implements rules of inference to gather all Has, K and B
  * properties from an Architecture_Class object.
+ * In the {@link #setParallel(boolean) parallel mode} the independent sub-goals of a
+ * statement are verified in fork/join tasks, so that a single query uses all cores.
  */
 public class RulesOfInferenceParserBottomup extends Parser implements Serializable {
 
@@ -37,6 +51,18 @@ public class RulesOfInferenceParserBottomup extends Parser implements Serializab
 	// class fields
 	private Map<Property, Boolean> resultHistory;
 	private List<Property> callHistory;
+	private RuleStatistics statistics;
+	// try the rules ordered by their statistics instead of the default order
+	private boolean adaptive;
+	// the pool of the parallel mode or null to verify in the calling thread
+	private transient ForkJoinPool pool;
+	// the statements on the path of the current task and its group in the parallel mode
+	private transient ThreadLocal<Path> currentPath;
+	private transient ThreadLocal<Group> currentGroup;
+	private static final Pruned PRUNED = new Pruned();
+	// the pool of all parsers in the parallel mode, which is not the common pool, as the
+	// common pool lets the waiting callers run tasks, which would again wait for the pool
+	private static ForkJoinPool sharedPool;
 
 	/**
 	 * The constructor for this class. This already verifies the architecture for consistency.
@@ -45,11 +71,68 @@ public class RulesOfInferenceParserBottomup extends Parser implements Serializab
 	 *          the architecture to parse
 	 */
 	public RulesOfInferenceParserBottomup(Architecture arch) {
+		this(arch, VerificationContext.getDefault());
+	}
+
+	/**
+	 * The constructor for a parser in a context. This already verifies the architecture for
+	 * consistency.
+	 * 
+	 * @param arch
+	 *          the architecture to parse
+	 * @param context
+	 *          the context of the verification
+	 */
+	public RulesOfInferenceParserBottomup(Architecture arch, VerificationContext context) {
+		this(arch, context, true);
+	}
+
+	/**
+	 * The constructor for a parser in a context, e.g. for a part whose consistency is
+	 * reported with the whole architecture, see {@link ModularVerifier}.
+	 * 
+	 * @param arch
+	 *          the architecture to parse
+	 * @param context
+	 *          the context of the verification
+	 * @param report
+	 *          true, if the consistency of the architecture is reported in the context
+	 */
+	RulesOfInferenceParserBottomup(Architecture arch, VerificationContext context, boolean report) {
 		//TODO
 		// test this!
-		super(arch);
+		super(arch, context, report);
 		resultHistory = new HashMap<Property, Boolean>();
 		callHistory = new ArrayList<Property>();
+		statistics = new RuleStatistics();
+		adaptive = false;
+	}
+
+	/**
+	 * Method that switches between the sequential and the parallel mode. In the parallel
+	 * mode the sides of a conjunction, the alternative rules of inference for a statement
+	 * and the alternative deps and deductions with their premises are verified in fork/join
+	 * tasks with a thread for every core, which share the results. A conjunction stops as
+	 * soon as a side fails, the alternatives stop as soon as one of them holds. As in the
+	 * sequential mode, a statement that depends on itself via substitution or transitivity
+	 * does not hold on the path where the loop is found, so only the results of such
+	 * statements may depend on the order of the tasks. The mode must not be changed during
+	 * a verification.
+	 *
+	 * @param parallel
+	 *          true, to verify in parallel
+	 */
+	public void setParallel(boolean parallel) {
+		if (parallel && pool == null) {
+			resultHistory = new ConcurrentHashMap<Property, Boolean>(resultHistory);
+			currentPath = new ThreadLocal<Path>();
+			currentGroup = new ThreadLocal<Group>();
+			pool = getSharedPool();
+		} else if (!parallel) {
+			pool = null;
+			currentPath = null;
+			currentGroup = null;
+		}
 	}
 
 	/**
@@ -64,52 +147,106 @@ public class RulesOfInferenceParserBottomup extends Parser implements Serializab
 	 */
 	@Override
 	public boolean verifyStatement(Property statement, int recurseDepth) {
+		if (recurseDepth > 0) {
+			return verifyAtDepth(statement, recurseDepth);
+		}
+		// only the top-level statements are recorded as events
+		VerificationEvents.Verification event = new VerificationEvents.Verification(this);
+		event.begin();
+		boolean result = verifyAtDepth(statement, recurseDepth);
+		event.finish(statement, result);
+		return result;
+	}
+
+	/**
+	 * Helper method that verifies a statement at any depth of the recursion, see
+	 * {@link #verifyStatement(Property, int)}.
+	 */
+	private boolean verifyAtDepth(Property statement, int recurseDepth) {
+		VerificationMonitor.checkCancelled();
+		checkPruned();
 		String spacing = String.join("", Collections.nCopies(recurseDepth, "  "));
 		System.out.println(spacing + "Current property to prove: " + statement);
-		TraceBuffer.logMessage(
+		getTrace().logMessage(
 				statement, "Current property to prove: " + statement, recurseDepth, LogType.START);
 		// recursion optimization: do not check the same statement twice
-		Boolean result = resultHistory.put(statement, null);
+		Boolean result = resultHistory.get(statement);
+		Metrics metrics = getContext().getMetrics();
+		metrics.count(result != null ? Metrics.MEMO_HIT : Metrics.MEMO_MISS);
 		if (result != null) {
 			// return the cached value
-			resultHistory.put(statement, result);
 			String msg = "Current statement already checked: ";
 			msg += result ? "successfully verified" : "not successfully verified";
 			System.out.println(spacing + msg);
-			TraceBuffer.logMessage(statement, msg, recurseDepth, LogType.END);
+			getTrace().logMessage(statement, msg, recurseDepth, LogType.END);
 			return result;
 		}
-		if (!callHistory.contains(statement)) {
-			callHistory.add(statement);
-		} else { // break condition if in endless loop via substitution/transitivity
+		// in the parallel mode every task has its own path of statements
+		Path current = pool == null ? null : currentPath.get();
+		boolean loop;
+		if (pool == null) {
+			loop = callHistory.contains(statement);
+			if (!loop) {
+				callHistory.add(statement);
+			}
+		} else {
+			loop = current != null && current.contains(statement);
+		}
+		if (loop) { // break condition if in endless loop via substitution/transitivity
 			// this statement was already input but did not properly terminate (yet)
 			// thus it should not be evaluated again
 			System.out.println(spacing + "Stopping recursive endless loop");
-			TraceBuffer.logMessage(
+			getTrace().logMessage(
 					statement, "Stopping recursive endless loop", recurseDepth, LogType.END);
 			return false;
 		}
+		if (pool == null) {
+			return applyRules(statement, recurseDepth, spacing);
+		}
+		currentPath.set(new Path(statement, current));
+		try {
+			return applyRules(statement, recurseDepth, spacing);
+		} finally {
+			currentPath.set(current);
+		}
+	}
+
+	/**
+	 * Helper method that applies the rules of inference to a statement that was not
+	 * verified before and records the result.
+	 *
+	 * @param statement
+	 *          the statement to verify
+	 * @param recurseDepth
+	 *          the depth of the recursion
+	 * @param spacing
+	 *          the indentation of the messages
+	 * @return true, if the statement is satisfiable with the architecture
+	 */
+	private boolean applyRules(Property statement, int recurseDepth, String spacing) {
 		// do the actual work and apply the rules of inference
 		switch (statement.getType()) {
 		case CONJUNCTION:
 			// Rule I^
 			System.out.println(spacing + "Rule I^ applied for statement: " + statement);
 			System.out.println(spacing + "Therefore trying to verify new statements:");
-			TraceBuffer.logMessage(
+			getTrace().logMessage(
 					statement, "Rule I^ applied for statement: ", recurseDepth, LogType.INFO);
-			TraceBuffer.logMessage(
+			getTrace().logMessage(
 					statement, "Therefore trying to verify new statements:", recurseDepth, LogType.INFO);
-			if (verifyStatement(statement.getSt1(), recurseDepth + 1)
-					&& verifyStatement(statement.getSt2(), recurseDepth + 1)) {
+			// the two sides are independent sub-goals
+			if (first(false, Arrays.<BooleanSupplier>asList(
+					() -> verifyStatement(statement.getSt1(), recurseDepth + 1),
+					() -> verifyStatement(statement.getSt2(), recurseDepth + 1))) < 0) {
 				resultHistory.put(statement, true);
 				System.out.println(spacing + "Rule I^ applied for statement: " + statement);
-				TraceBuffer.logMessage(statement, "Rule I^ applied for statement: "
+				getTrace().logMessage(statement, "Rule I^ applied for statement: "
 						+ statement, recurseDepth, LogType.END);
 				return true;
 			} else {
 				resultHistory.put(statement, false);
 				System.out.println(spacing + "Rule I^ not applied for statement: " + statement);
-				TraceBuffer.logMessage(statement, "Rule I^ not applied for statement: "
+				getTrace().logMessage(statement, "Rule I^ not applied for statement: "
 						+ statement, recurseDepth, LogType.END);
 				return false;
 			}
@@ -117,296 +254,148 @@ public class RulesOfInferenceParserBottomup extends Parser implements Serializab
 			// Rule I_neg
 			System.out.println(spacing + "Rule I_neg applied for statement: " + statement);
 			System.out.println(spacing + "Therefore trying to verify new statement:");
-			TraceBuffer.logMessage(
+			getTrace().logMessage(
 					statement, "Rule I_neg applied for statement: ", recurseDepth, LogType.INFO);
-			TraceBuffer.logMessage(
+			getTrace().logMessage(
 					statement, "Therefore trying to verify new statement:", recurseDepth, LogType.INFO);
 			if (!verifyStatement(statement.getSt1(), recurseDepth + 1)) {
 				resultHistory.put(statement, true);
 				System.out.println(spacing + "Rule I_neg applied for statement: " + statement);
-				TraceBuffer.logMessage(statement, "Rule I_neg  applied for statement: "
+				getTrace().logMessage(statement, "Rule I_neg  applied for statement: "
 						+ statement, recurseDepth, LogType.END);
 				return true;
 			} else {
 				resultHistory.put(statement, false);
 				System.out.println(spacing + "Rule I_neg not applied for statement: " + statement);
-				TraceBuffer.logMessage(statement, "Rule I_neg not applied for statement: "
+				getTrace().logMessage(statement, "Rule I_neg not applied for statement: "
 						+ statement, recurseDepth, LogType.END);
 				return false;
 			}
-		case HAS:
-			// Rule H1
-			System.out.println(spacing + "Trying Rule H1...");
-			TraceBuffer.logMessage(statement, "Trying Rule H1...", recurseDepth, LogType.INFO);
-			if (arch.getAllActions().contains(new Action(
-					ActionType.HAS, statement.getOwner(), statement.getVar()))) {
-				resultHistory.put(statement, true);
-				System.out.println(spacing + "Rule H1 applied for statement: " + statement);
-				TraceBuffer.logMessage(statement, "Rule H1 applied for statement: "
-						+ statement, recurseDepth, LogType.END);
-				return true;
-			} else {
-				System.out.println(spacing + "Rule H1 not applicable");
-				TraceBuffer.logMessage(
-						statement, "Rule H1 not applicable", recurseDepth, LogType.INFO);
-			}
-			// Rule H2
-			System.out.println(spacing + "Trying Rule H2...");
-			TraceBuffer.logMessage(statement, "Trying Rule H2...", recurseDepth, LogType.INFO);
-			if (isContainedReceive(statement.getOwner(), statement.getVar())) {
-				resultHistory.put(statement, true);
-				System.out.println(spacing + "Rule H2 applied for statement: " + statement);
-				TraceBuffer.logMessage(statement, "Rule H2 applied for statement: "
-						+ statement, recurseDepth, LogType.END);
-				return true;
-			} else {
-				System.out.println(spacing + "Rule H2 not applicable");
-				TraceBuffer.logMessage(
-						statement, "Rule H2 not applicable", recurseDepth, LogType.INFO);
-			}
-			// Rule H3
-			System.out.println(spacing + "Trying Rule H3...");
-			TraceBuffer.logMessage(statement, "Trying Rule H3...", recurseDepth, LogType.INFO);
-			if (isContainedCompute(statement.getOwner(), statement.getVar())) {
-				resultHistory.put(statement, true);
-				System.out.println(spacing + "Rule H3 applied for statement: " + statement);
-				TraceBuffer.logMessage(statement, "Rule H3 applied for statement: " 
-						+ statement, recurseDepth, LogType.END);
-				return true;
-			} else {
-				System.out.println(spacing + "Rule H3 not applicable");
-				TraceBuffer.logMessage(
-						statement, "Rule H3 not applicable", recurseDepth, LogType.INFO);
-			}
-			// Rule H4
-			//TODO
-			System.out.println(spacing + "Trying Rule H4...");
-			TraceBuffer.logMessage(statement, "Trying Rule H4...", recurseDepth, LogType.INFO);
-			if (isContainedDep(statement.getOwner(), statement.getVar(), statement.getProb(), recurseDepth)) {
-				resultHistory.put(statement, true);
-				System.out.println(spacing + "Rule H4 applied for statement: " + statement);
-				TraceBuffer.logMessage(statement, "Rule H4 applied for statement: "
-						+ statement, recurseDepth, LogType.END);
-				return true;
-			} else {
-				System.out.println(spacing + "Rule H4 not applicable");
-				TraceBuffer.logMessage(
-						statement, "Rule H4 not applicable", recurseDepth, LogType.INFO);
-			}
-			// Rule H5
-			//TODO
-			System.out.println(spacing + "Trying Rule H5...");
-			TraceBuffer.logMessage(statement, "Trying Rule H5...", recurseDepth, LogType.INFO);
-			TraceBuffer.logMessage(statement, "Therefore trying to verify new statement(s):", recurseDepth, LogType.INFO);
-			if (isContainedCompos(statement.getOwner(), statement.getVar(), statement.getProb(), recurseDepth)) {
-				resultHistory.put(statement, true);
-				System.out.println(spacing + "Rule H5 applied for statement: " + statement);
-				TraceBuffer.logMessage(statement, "Rule H5 applied for statement: "
-						+ statement, recurseDepth, LogType.END);
-				return true;
-			} else {
-				System.out.println(spacing + "Rule H5 not applicable");
-				TraceBuffer.logMessage(
-						statement, "Rule H5 not applicable", recurseDepth, LogType.INFO);
-			}
-			break;
-		case KNOWS:
-			// Rule K1
-			System.out.println(spacing + "Trying Rule K1...");
-			TraceBuffer.logMessage(statement, "Trying Rule K1...", recurseDepth, LogType.INFO);
-			if (arch.getAllActions().contains(new Action(
-					ActionType.COMPUTE, statement.getOwner(), statement.getEq()))) {
-				resultHistory.put(statement, true);
-				System.out.println(spacing + "Rule K1 applied for statement: " + statement);
-				TraceBuffer.logMessage(statement, "Rule K1 applied for statement: "
-						+ statement, recurseDepth, LogType.END);
-				return true;
-			} else {
-				System.out.println(spacing + "Rule K1 not applicable");
-				TraceBuffer.logMessage(statement, "Rule K1 not applicable", recurseDepth, LogType.INFO);
-			}
-			// Rule K2
-			System.out.println(spacing + "Trying Rule K2...");
-			TraceBuffer.logMessage(statement, "Trying Rule K2...", recurseDepth, LogType.INFO);
-			if (isContainedCheck(statement.getOwner(), statement.getEq())) {
-				resultHistory.put(statement, true);
-				System.out.println(spacing + "Rule K2 applied for statement: " + statement);
-				TraceBuffer.logMessage(statement, "Rule K2 applied for statement: "
-						+ statement, recurseDepth, LogType.END);
-				return true;
-			} else {
-				System.out.println(spacing + "Rule K2 not applicable");
-				TraceBuffer.logMessage(statement, "Rule K2 not applicable", recurseDepth, LogType.INFO);
-			}
-			// Rule K3
-			System.out.println(spacing + "Trying Rule K3...");
-			TraceBuffer.logMessage(statement, "Trying Rule K3...", recurseDepth, LogType.INFO);
-			if (isContainedProof(statement.getOwner(), statement.getEq())) {
-				resultHistory.put(statement, true);
-				System.out.println(spacing + "Rule K3 applied for statement: " + statement);
-				TraceBuffer.logMessage(
-						statement, "Rule K3 applied for statement: " + statement, recurseDepth, LogType.END);
-				return true;
-			} else {
-				System.out.println(spacing + "Rule K3 not applicable");
-				TraceBuffer.logMessage(statement, "Rule K3 not applicable", recurseDepth, LogType.INFO);
-			}
-			// Rule K4
-			System.out.println(spacing + "Trying Rule K4...");
-			TraceBuffer.logMessage(statement, "Trying Rule K4...", recurseDepth, LogType.INFO);
-			if (isContainedProAtt(statement.getOwner(), statement.getEq())) {
-				resultHistory.put(statement, true);
-				System.out.println(spacing + "Rule K4 applied for statement: " + statement);
-				TraceBuffer.logMessage(
-						statement, "Rule K4 applied for statement: " + statement, recurseDepth, LogType.END);
-				return true;
-			} else {
-				System.out.println(spacing + "Rule K4 not applicable");
-				TraceBuffer.logMessage(statement, "Rule K4 not applicable", recurseDepth, LogType.INFO);
+		default:
+			// the rules of inference are alternatives, try them one after another
+			List<Rule> rules = adaptive ? statistics.order(statement.getType())
+					: RuleStatistics.rulesFor(statement.getType());
+			List<BooleanSupplier> alternatives = new ArrayList<BooleanSupplier>();
+			for (Rule rule : rules) {
+				alternatives.add(() -> {
+					if (tryRule(rule, statement, recurseDepth)) {
+						return true;
+					}
+					System.out.println(spacing + "Rule " + rule.getLabel() + " not applicable");
+					getTrace().logMessage(
+							statement, "Rule " + rule.getLabel() + " not applicable", recurseDepth, LogType.INFO);
+					return false;
+				});
 			}
-			// Rule K5
-			System.out.println(spacing + "Trying Rule K5...");
-			TraceBuffer.logMessage(statement, "Trying Rule K5...", recurseDepth, LogType.INFO);
-			if (isContainedAttest(statement.getOwner(), statement.getEq())) {
+			int applied = first(true, alternatives);
+			if (applied >= 0) {
+				Rule rule = rules.get(applied);
 				resultHistory.put(statement, true);
-				System.out.println(spacing + "Rule K5 applied for statement: " + statement);
-				TraceBuffer.logMessage(
-						statement, "Rule K5 applied for statement: " + statement, recurseDepth, LogType.END);
-				return true;
-			} else {
-				System.out.println(spacing + "Rule K5 not applicable.");
-				TraceBuffer.logMessage(statement, "Rule K5 not applicable.", recurseDepth, LogType.INFO);
-			}
-			// Rule Kded
-			//TODO
-			System.out.println(spacing + "Trying Rule K deduc...");
-			System.out.println(spacing + "Therefore trying to verify new statements:");
-			TraceBuffer.logMessage(statement, "Trying Rule K deduc...", recurseDepth, LogType.INFO);
-			TraceBuffer.logMessage(
-					statement, "Therefore trying to verify new statements:", recurseDepth, LogType.INFO);
-			if (isContainedDed(statement.getOwner(), statement.getEq(), statement.getProb(), recurseDepth)) {
-				resultHistory.put(statement, true);
-				System.out.println(spacing + "Rule K deduc applied for statement: " + statement);
-				TraceBuffer.logMessage(statement, "Rule K deduc applied for statement: "
+				System.out.println(spacing + "Rule " + rule.getLabel() + " applied for statement: " + statement);
+				getTrace().logMessage(statement, "Rule " + rule.getLabel() + " applied for statement: "
 						+ statement, recurseDepth, LogType.END);
 				return true;
-			} else {
-				System.out.println(spacing + "Rule K deduc not applicable");
-				TraceBuffer.logMessage(
-						statement, "Rule K deduc not applicable", recurseDepth, LogType.INFO);
 			}
 			break;
-		case NOTSHARED:
-			// Rule SH1
-			System.out.println(spacing + "Trying Rule SH1...");
-			TraceBuffer.logMessage(statement, "Trying Rule SH1...", recurseDepth, LogType.INFO);
-			if (isContainedCompute(statement.getOwner(), statement.getVar())
-					|| isContainedHas(statement.getOwner(), statement.getVar())) {
-				resultHistory.put(statement, true);
-				System.out.println(spacing + "Rule SH1 applied for statement: " + statement);
-				TraceBuffer.logMessage(
-						statement, "Rule SH1 applied for statement: " + statement, recurseDepth, LogType.END);
-				return true;
-			} else {
-				System.out.println(spacing + "Rule SH1 not applicable");
-				TraceBuffer.logMessage(statement, "Rule SH1 not applicable", recurseDepth, LogType.INFO);
-			}
-			// Rule SH2
-			System.out.println(spacing + "Trying Rule SH2...");
-			TraceBuffer.logMessage(statement, "Trying Rule SH2...", recurseDepth, LogType.INFO);
-			if (!isContainedReceive2(statement.getOwner(), statement.getVar())) {
-				resultHistory.put(statement, true);
-				System.out.println(spacing + "Rule SH2 applied for statement: " + statement);
-				TraceBuffer.logMessage(
-						statement, "Rule SH2 applied for statement: " + statement, recurseDepth, LogType.END);
-				return true;
-			} else {
-				System.out.println(spacing + "Rule SH2 not applicable");
-				TraceBuffer.logMessage(statement, "Rule SH2 not applicable", recurseDepth, LogType.INFO);
-			}
+		}
+		// no rule applied
+		resultHistory.put(statement, false);
+		System.out.println(spacing + "No Rule applicable for statement: " + statement);
+		getTrace().logMessage(
+				statement, "No Rule applicable for statement: " + statement, recurseDepth, LogType.END);
+		return false;
+	}
+
+	/**
+	 * Helper method that tries to apply a single rule of inference to a statement
+	 * and records the outcome and the time spent in the statistics.
+	 *
+	 * @param rule
+	 *          the rule to try
+	 * @param statement
+	 *          the statement to verify
+	 * @param recurseDepth
+	 *          the depth of the recursion
+	 * @return true, if the rule is applicable
+	 */
+	private boolean tryRule(Rule rule, Property statement, int recurseDepth) {
+		VerificationMonitor.ruleTried(statement, rule.getLabel());
+		String spacing = String.join("", Collections.nCopies(recurseDepth, "  "));
+		System.out.println(spacing + "Trying Rule " + rule.getLabel() + "...");
+		getTrace().logMessage(statement, "Trying Rule " + rule.getLabel() + "...", recurseDepth, LogType.INFO);
+		if (rule.isRecursive()) {
+			System.out.println(spacing + "Therefore trying to verify new statement(s):");
+			getTrace().logMessage(
+					statement, "Therefore trying to verify new statement(s):", recurseDepth, LogType.INFO);
+		}
+		long start = System.nanoTime();
+		boolean applied;
+		switch (rule) {
+		case H1:
+			applied = arch.getAllActions().contains(new Action(
+					ActionType.HAS, statement.getOwner(), statement.getVar()));
 			break;
-		case NOTSTORED:
-			// Rule ST1
-			System.out.println(spacing + "Trying Rule ST1...");
-			TraceBuffer.logMessage(statement, "Trying Rule ST1...", recurseDepth, LogType.INFO);
-			if (!isContainedReceive(statement.getOwner(), statement.getVar())) {
-				resultHistory.put(statement, true);
-				System.out.println(spacing + "Rule ST1 applied for statement: " + statement);
-				TraceBuffer.logMessage(
-						statement, "Rule ST1 applied for statement: " + statement, recurseDepth, LogType.END);
-				return true;
-			} else {
-				System.out.println(spacing + "Rule ST1 not applicable");
-				TraceBuffer.logMessage(statement, "Rule ST1 not applicable", recurseDepth, LogType.INFO);
-			}
-			// Rule ST2
-			System.out.println(spacing + "Trying Rule ST2...");
-			TraceBuffer.logMessage(statement, "Trying Rule ST2...", recurseDepth, LogType.INFO);
-			if (counter(statement.getOwner(), statement.getVar()) <= statement.getBound()) {
-				resultHistory.put(statement, true);
-				System.out.println(spacing + "Rule ST2 applied for statement: " + statement);
-				TraceBuffer.logMessage(
-						statement, "Rule ST2 applied for statement: " + statement, recurseDepth, LogType.END);
-				return true;
-			} else {
-				System.out.println(spacing + "Rule ST2 not applicable");
-				TraceBuffer.logMessage(statement, "Rule ST2 not applicable", recurseDepth, LogType.INFO);
-			}
+		case H2:
+			applied = isContainedReceive(statement.getOwner(), statement.getVar());
 			break;
-		case NOTPURP:
-			//TODO
-			// Rule P1
-			System.out.println(spacing + "Trying Rule P1...");
-			TraceBuffer.logMessage(statement, "Trying Rule P1...", recurseDepth, LogType.INFO);
-			if (isContainedIllegalPReceive(statement.getOwner())) {
-				resultHistory.put(statement, true);
-				System.out.println(spacing + "Rule P1 applied for statement: " + statement);
-				TraceBuffer.logMessage(
-						statement, "Rule P1 applied for statement: " + statement, recurseDepth, LogType.END);
-				return true;
-			} else {
-				System.out.println(spacing + "Rule P1 not applicable");
-				TraceBuffer.logMessage(statement, "Rule P1 not applicable", recurseDepth, LogType.INFO);
-			}
-			// Rule P2
-			System.out.println(spacing + "Trying Rule P2...");
-			TraceBuffer.logMessage(statement, "Trying Rule P2...", recurseDepth, LogType.INFO);
-			if (isContainedIncompatiblePurpose(statement.getOwner())) {
-				resultHistory.put(statement, true);
-				System.out.println(spacing + "Rule P2 applied for statement: " + statement);
-				TraceBuffer.logMessage(
-						statement, "Rule P2 applied for statement: " + statement, recurseDepth, LogType.END);
-				return true;
-			} else {
-				System.out.println(spacing + "Rule P2 not applicable");
-				TraceBuffer.logMessage(statement, "Rule P2 not applicable", recurseDepth, LogType.INFO);
-			}
+		case H3:
+			applied = isContainedCompute(statement.getOwner(), statement.getVar());
 			break;
-		case CONSENTVIOLATED:
-			//TODO
-			// Rule C
-			System.out.println(spacing + "Trying Rule C...");
-			TraceBuffer.logMessage(statement, "Trying Rule C...", recurseDepth, LogType.INFO);
-			if (isContainedIllegalReceive(statement.getOwner(), statement.getDt())) {
-				resultHistory.put(statement, true);
-				System.out.println(spacing + "Rule C applied for statement: " + statement);
-				TraceBuffer.logMessage(
-						statement, "Rule C applied for statement: " + statement, recurseDepth, LogType.END);
-				return true;
-			} else {
-				System.out.println(spacing + "Rule C not applicable");
-				TraceBuffer.logMessage(statement, "Rule C not applicable", recurseDepth, LogType.INFO);
-			}
+		case H4:
+			applied = isContainedDep(statement.getOwner(), statement.getVar(), statement.getProb(), recurseDepth);
+			break;
+		case H5:
+			applied = isContainedCompos(statement.getOwner(), statement.getVar(), statement.getProb(), recurseDepth);
+			break;
+		case K1:
+			applied = arch.getAllActions().contains(new Action(
+					ActionType.COMPUTE, statement.getOwner(), statement.getEq()));
+			break;
+		case K2:
+			applied = isContainedCheck(statement.getOwner(), statement.getEq());
+			break;
+		case K3:
+			applied = isContainedProof(statement.getOwner(), statement.getEq());
+			break;
+		case K4:
+			applied = isContainedProAtt(statement.getOwner(), statement.getEq());
+			break;
+		case K5:
+			applied = isContainedAttest(statement.getOwner(), statement.getEq());
+			break;
+		case KDED:
+			applied = isContainedDed(statement.getOwner(), statement.getEq(), statement.getProb(), recurseDepth);
+			break;
+		case SH1:
+			applied = isContainedCompute(statement.getOwner(), statement.getVar())
+					|| isContainedHas(statement.getOwner(), statement.getVar());
+			break;
+		case SH2:
+			applied = !isContainedReceive2(statement.getOwner(), statement.getVar());
+			break;
+		case ST1:
+			applied = !isContainedReceive(statement.getOwner(), statement.getVar());
+			break;
+		case ST2:
+			applied = arch.getStorage().getCounter(statement.getOwner(), statement.getVar()) <= statement.getBound();
+			break;
+		case P1:
+			applied = isContainedIllegalPReceive(statement.getOwner());
+			break;
+		case P2:
+			applied = isContainedIncompatiblePurpose(statement.getOwner());
+			break;
+		case C:
+			applied = isContainedIllegalReceive(statement.getOwner(), statement.getDt());
 			break;
 		default:
+			applied = false;
 			break;
 		}
-		// no rule applied
-		resultHistory.put(statement, false);
-		System.out.println(spacing + "No Rule applicable for statement: " + statement);
-		TraceBuffer.logMessage(
-				statement, "No Rule applicable for statement: " + statement, recurseDepth, LogType.END);
-		return false;
+		long time = System.nanoTime() - start;
+		statistics.record(rule, applied, time);
+		getContext().getMetrics().record(Metrics.RULE + rule.name(), time);
+		return applied;
 	}
 
 	/**
@@ -534,57 +523,6 @@ public class RulesOfInferenceParserBottomup extends Parser implements Serializab
 		return false;
 	}
 
-	/**
-	 * Method that returns the maximum number of events that a component accesses a variable before deleting it.
-	 * @param owner
-	 * 			the component
-	 * @param var
-	 * 			the variable
-	 * @return the number of events before delete
-	 */
-	private int counter(Component owner, Variable var) {
-		// TODO test this!
-		int counter = 0;
-		int maxCounter = 0;
-		for (Action action : arch.getAllActions()) {
-			// only count all actions of component with variable
-			if (action.getComponent().equals(owner)) {
-				switch (action.getAction()) {
-				case CHECK:
-					// fall through
-				case COMPUTE:
-					if (action.getEq().getAtoms().contains(var)) {
-						// the var is used
-						counter++;
-						if (counter > maxCounter) {
-							maxCounter = counter;
-						}
-					}
-					break;
-				case DELETE:
-					if (action.getVar().equals(var)) {
-						// the var gets deleted
-						counter--;
-					}
-					break;
-				default:
-					break;
-				}
-			} else if (action.getComPartner() != null && action.getComPartner().equals(owner)) {
-				if (action.getAction() == ActionType.RECEIVE && action.getVarSet().contains(var)) {
-					// the component sends the variable to another comp
-					counter++;
-					if (counter > maxCounter) {
-						maxCounter = counter;
-					}
-				}
-			}
-
-		}
-		return maxCounter;
-	}
-
-
 	/**
 	 * Helper method that returns a probability for which the has property holds.
 	 * @param comp
@@ -733,21 +671,16 @@ public class RulesOfInferenceParserBottomup extends Parser implements Serializab
 	 * @return true, if there is a dep that fits
 	 */
 	private boolean isContainedDep(Component comp, Variable var, double prob, int recurseDepth) {
-		// consider probabilities
-		for (Dep dep : comp.getDepSet()) {
+		// consider probabilities, the fitting deps are alternatives
+		List<BooleanSupplier> alternatives = new ArrayList<BooleanSupplier>();
+		for (Dep dep : arch.getDepSet(comp)) {
 			if (dep.getVar().equals(var)) {
 				// check if all required variables are possessed
-				double allProbs = dep.getProb();
-				for (Variable mustHave : dep.getVarSet()) {
-					// multiply along the path
-					allProbs *= verifyHasProb(comp, mustHave, recurseDepth + 1);
-				}
-				if (allProbs >= prob) {
-					return true;
-				}
+				alternatives.add(() -> multiply(dep.getProb(), dep.getVarSet(),
+						mustHave -> verifyHasProb(comp, mustHave, recurseDepth + 1)) >= prob);
 			}
 		}
-		return false;
+		return first(true, alternatives) >= 0;
 	}
 	
 	/**
@@ -769,7 +702,7 @@ public class RulesOfInferenceParserBottomup extends Parser implements Serializab
 			// reflexive
 			return true;
 		}
-		for (Dep dep : comp.getDepSet()) {
+		for (Dep dep : arch.getDepSet(comp)) {
 			if (dep.getVar().equals(end) && dep.getVarSet().contains(start)) {
 				// the component can obtain end from start
 				return true;
@@ -788,12 +721,13 @@ public class RulesOfInferenceParserBottomup extends Parser implements Serializab
 
 	private boolean isContainedCompos(Component owner, Variable var, Double prob, int recurseDepth) {
 		// TODO test
+		List<BooleanSupplier> alternatives = new ArrayList<BooleanSupplier>();
 		for (Composition compos : arch.getCompositions()) {
-			if (compos.getComponent().equals(owner) && verifyHasProb(compos.getContainer(), var, recurseDepth +1) >= prob) {
-				return true;
+			if (compos.getComponent().equals(owner)) {
+				alternatives.add(() -> verifyHasProb(compos.getContainer(), var, recurseDepth +1) >= prob);
 			}
 		}
-		return false;
+		return first(true, alternatives) >= 0;
 	}
 
 	/**
@@ -810,21 +744,155 @@ public class RulesOfInferenceParserBottomup extends Parser implements Serializab
 	 * @return true, if there is a dep that fits
 	 */
 	private boolean isContainedDed(Component comp, Equation eq, double prob, int recurseDepth) {
-		// consider probabilities
-		for (Deduction ded : comp.getDeductionCapability()) {
+		// consider probabilities, the fitting deductions are alternatives
+		List<BooleanSupplier> alternatives = new ArrayList<BooleanSupplier>();
+		for (Deduction ded : arch.getDeductionCapability(comp)) {
 			if (ded.getConclusion().equals(eq)) {
 				// check if all required variables are possessed
-				double allProbs = ded.getProb();
-				for (Equation mustHave : ded.getPremises()) {
-					// multiply along the path
-					allProbs *= verifyKnowsProb(comp, mustHave, recurseDepth + 1);
+				alternatives.add(() -> multiply(ded.getProb(), ded.getPremises(),
+						mustHave -> verifyKnowsProb(comp, mustHave, recurseDepth + 1)) > prob);
+			}
+		}
+		return first(true, alternatives) >= 0;
+	}
+
+	/**
+	 * Helper method that multiplies a probability with the probabilities of the premises,
+	 * i.e. along the path. In the parallel mode the premises are verified as independent
+	 * sub-goals, and the product is 0 as soon as one of them does not hold.
+	 *
+	 * @param prob
+	 *          the probability of the dep or deduction
+	 * @param premises
+	 *          the premises
+	 * @param verify
+	 *          returns the probability for which a premise holds
+	 * @return the product of the probabilities
+	 */
+	private <T> double multiply(double prob, Collection<T> premises, ToDoubleFunction<T> verify) {
+		List<T> list = new ArrayList<T>(premises);
+		double[] probs = new double[list.size()];
+		if (pool == null) {
+			for (int i = 0; i < probs.length; i++) {
+				probs[i] = verify.applyAsDouble(list.get(i));
+			}
+		} else {
+			List<BooleanSupplier> goals = new ArrayList<BooleanSupplier>();
+			for (int i = 0; i < probs.length; i++) {
+				int index = i;
+				goals.add(() -> (probs[index] = verify.applyAsDouble(list.get(index))) > 0);
+			}
+			if (first(false, goals) >= 0) {
+				return 0;
+			}
+		}
+		double allProbs = prob;
+		for (double p : probs) {
+			// multiply along the path
+			allProbs *= p;
+		}
+		return allProbs;
+	}
+
+	/**
+	 * Helper method that evaluates goals until one of them has the given value, i.e. the
+	 * alternatives until one holds or the sub-goals of a conjunction until one fails.
+	 * In the sequential mode the goals are evaluated one after another. In the parallel
+	 * mode every goal is a fork/join task, and the remaining tasks are skipped as soon as
+	 * a goal has the value.
+	 *
+	 * @param value
+	 *          the value to look for
+	 * @param goals
+	 *          the goals in their default order
+	 * @return the index of the first goal with the value or -1 if no goal has it
+	 */
+	private int first(boolean value, List<BooleanSupplier> goals) {
+		if (pool == null || goals.size() < 2) {
+			for (int i = 0; i < goals.size(); i++) {
+				if (goals.get(i).getAsBoolean() == value) {
+					return i;
 				}
-				if (allProbs > prob) {
-					return true;
+			}
+			return -1;
+		}
+		if (ForkJoinTask.getPool() != pool) {
+			// the calling thread is not a worker of the pool
+			Goal<Integer> root = new Goal<Integer>(currentGroup.get(), () -> first(value, goals));
+			Integer index = pool.invoke(root);
+			if (index == null) {
+				throw PRUNED;
+			}
+			getTrace().append(root.trace);
+			return index;
+		}
+		Group group = new Group(currentGroup.get());
+		List<Goal<Boolean>> tasks = new ArrayList<Goal<Boolean>>();
+		for (BooleanSupplier goal : goals) {
+			tasks.add(new Goal<Boolean>(group, () -> {
+				boolean result = goal.getAsBoolean();
+				if (result == value) {
+					// skip the remaining goals
+					group.decided = true;
 				}
+				return result;
+			}));
+		}
+		for (int i = tasks.size() - 1; i > 0; i--) {
+			tasks.get(i).fork();
+		}
+		Boolean[] results = new Boolean[tasks.size()];
+		results[0] = tasks.get(0).invoke();
+		for (int i = 1; i < tasks.size(); i++) {
+			if (!group.decided || !tasks.get(i).tryUnfork()) {
+				results[i] = tasks.get(i).join();
 			}
 		}
-		return false;
+		int index = -1;
+		boolean skipped = false;
+		for (int i = 0; i < results.length; i++) {
+			if (results[i] == null) {
+				skipped = true;
+			} else {
+				// the traces are kept in the default order of the goals
+				getTrace().append(tasks.get(i).trace);
+				if (index < 0 && results[i] == value) {
+					index = i;
+				}
+			}
+		}
+		if (index < 0 && skipped) {
+			// an enclosing group was decided, so this one is incomplete
+			throw PRUNED;
+		}
+		return index;
+	}
+
+	/**
+	 * Static helper method that returns the pool of the parallel mode, which is created
+	 * when it is needed for the first time.
+	 *
+	 * @return the pool
+	 */
+	private static synchronized ForkJoinPool getSharedPool() {
+		if (sharedPool == null) {
+			sharedPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+		}
+		return sharedPool;
+	}
+
+	/**
+	 * Helper method that stops the current task of the parallel mode if its group or an
+	 * enclosing group was decided by another task.
+	 *
+	 * @throws Pruned
+	 *          if the task is not needed anymore
+	 */
+	private void checkPruned() {
+		Group group = pool == null ? null : currentGroup.get();
+		if (group != null && group.isDecided()) {
+			throw PRUNED;
+		}
 	}
 
 	/**
@@ -927,6 +995,117 @@ public class RulesOfInferenceParserBottomup extends Parser implements Serializab
 		return false;
 	}
 
+	/**
+	 * The statements a task of the parallel mode is verifying, from the innermost to the
+	 * outermost. Paths are shared by the tasks that are forked on them.
+	 */
+	private static final class Path {
+
+		// class fields
+		private final Property statement;
+		private final Path parent;
+
+		private Path(Property statement, Path parent) {
+			this.statement = statement;
+			this.parent = parent;
+		}
+
+		private boolean contains(Property statement) {
+			for (Path path = this; path != null; path = path.parent) {
+				if (path.statement.equals(statement)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * The goals of one call of {@link RulesOfInferenceParserBottomup#first(boolean, List)},
+	 * which are decided by the first goal with the value.
+	 */
+	private static final class Group {
+
+		// class fields
+		private final Group parent;
+		private volatile boolean decided;
+
+		private Group(Group parent) {
+			this.parent = parent;
+		}
+
+		private boolean isDecided() {
+			for (Group group = this; group != null; group = group.parent) {
+				if (group.decided) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Thrown to skip the goals of a decided group. It has no stack trace, as it is thrown
+	 * often and never reported.
+	 */
+	private static final class Pruned extends RuntimeException {
+
+		private static final long serialVersionUID = -3427606434806573094L;
+
+		private Pruned() {
+			super(null, null, false, false);
+		}
+	}
+
+	/**
+	 * A goal of the parallel mode, which runs with the path, the listener and the owner of
+	 * the thread that created it and writes its own trace. The result is null if the goal
+	 * was skipped.
+	 */
+	private final class Goal<T> extends RecursiveTask<T> {
+
+		private static final long serialVersionUID = 2915570328725469385L;
+
+		// class fields
+		private final Group group;
+		private final Supplier<T> work;
+		private final Path path;
+		private final ProgressListener listener;
+		private final Thread owner;
+		private final StringBuilder trace = new StringBuilder();
+
+		private Goal(Group group, Supplier<T> work) {
+			this.group = group;
+			this.work = work;
+			path = currentPath.get();
+			listener = VerificationMonitor.getListener();
+			owner = VerificationMonitor.getOwner();
+		}
+
+		@Override
+		protected T compute() {
+			Path previousPath = currentPath.get();
+			Group previousGroup = currentGroup.get();
+			ProgressListener previousListener = VerificationMonitor.getListener();
+			Thread previousOwner = VerificationMonitor.getOwner();
+			StringBuilder previousTrace = getTrace().swap(trace);
+			currentPath.set(path);
+			currentGroup.set(group);
+			VerificationMonitor.attach(owner, listener);
+			try {
+				checkPruned();
+				return work.get();
+			} catch (Pruned e) {
+				return null;
+			} finally {
+				currentPath.set(previousPath);
+				currentGroup.set(previousGroup);
+				VerificationMonitor.attach(previousOwner, previousListener);
+				getTrace().swap(previousTrace);
+			}
+		}
+	}
+
 	// Setter and getter methods
 	public Architecture getArch() {
 		return arch;
@@ -935,4 +1114,20 @@ public class RulesOfInferenceParserBottomup extends Parser implements Serializab
 	public void setArch(Architecture arch) {
 		this.arch = arch;
 	}
+
+	public RuleStatistics getStatistics() {
+		return statistics;
+	}
+
+	public boolean isAdaptive() {
+		return adaptive;
+	}
+
+	public void setAdaptive(boolean adaptive) {
+		this.adaptive = adaptive;
+	}
+
+	public boolean isParallel() {
+		return pool != null;
+	}
 }
@@ -2,7 +2,12 @@ package properties;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import architecture.Action;
 import architecture.Architecture;
@@ -11,11 +16,15 @@ import architecture.Component;
 import architecture.Deduction;
 import architecture.Dep;
 import architecture.Equation;
+import architecture.FrozenArchitecture;
 import architecture.P;
 import architecture.Variable;
 import properties.Property.PropertyType;
 import architecture.Action.ActionType;
 import solver.SmtHandler;
+import utils.Metrics;
+import utils.VerificationContext;
+import utils.VerificationEvents;
 
 /**
  * Parser that implements rules of inference to gather all Has, K and B
@@ -33,16 +42,39 @@ public class RulesOfInferenceParserTopdown extends Parser implements Serializabl
 	private SmtHandler smt;
 	private int counter;
 	private List<Action> actionLog;
+	// the deduction capabilities of the components of a frozen architecture, which are
+	// kept in the parser, as the components are shared with other parsers
+	private Map<Component, Set<Deduction>> deductions;
 
 	/**
 	 * The constructor that already collects all properties and generates all
 	 * necessary smt assertions.
+	 * As the collected properties and equations are added to the architecture,
+	 * a frozen architecture is replaced by a mutable copy, and the deductions of its
+	 * components are made in the parser.
 	 * 
 	 * @param arch
 	 *          the architecture to parse
 	 */
 	public RulesOfInferenceParserTopdown(Architecture arch) {
-		super(arch);
+		this(arch, VerificationContext.getDefault());
+	}
+
+	/**
+	 * The constructor for a parser in a context, see
+	 * {@link #RulesOfInferenceParserTopdown(Architecture)}.
+	 * 
+	 * @param arch
+	 *          the architecture to parse
+	 * @param context
+	 *          the context of the verification, which also runs the solver
+	 */
+	public RulesOfInferenceParserTopdown(Architecture arch, VerificationContext context) {
+		super(arch, context);
+		if (arch instanceof FrozenArchitecture) {
+			this.arch = new Architecture(arch);
+			deductions = new HashMap<Component, Set<Deduction>>();
+		}
 		counter = 0;
 		propertyList = new ArrayList<Property>();
 		actionLog = new ArrayList<Action>();
@@ -50,17 +82,25 @@ public class RulesOfInferenceParserTopdown extends Parser implements Serializabl
 		collectProperties();
 		// set the list of properties for the architecture and trigger the
 		// collection of equations
-		arch.setAllProperties(propertyList);
-		arch.collectEquations();
-		arch.collectStatements();
+		this.arch.setAllProperties(propertyList);
+		this.arch.collectEquations();
+		this.arch.collectStatements();
+		if (deductions != null) {
+			Set<Equation> equations = new LinkedHashSet<Equation>(this.arch.getAllEquations());
+			for (Component comp : this.arch.getCompList()) {
+				deductions.put(comp, Component.deduce(this.arch.getDeducSet(comp), equations));
+			}
+		}
 
 		// already produce the statements based on the architecture
 		// Apply the rules a second time to also apply the deduction properties
 		// based on later added equations
+		long start = System.nanoTime();
 		collectDeducProperties();
+		context.getMetrics().time(Metrics.DEDUCTION, start);
 		// instantiate the SMT-handler
-		smt = new SmtHandler(arch);
-		for (Component comp : arch.getCompList()) {
+		smt = new SmtHandler(this.arch, context);
+		for (Component comp : this.arch.getCompList()) {
 			List<Property> compPropertyList = new ArrayList<Property>();
 			// sub-list with properties of one component only
 			for (Property prop : propertyList) {
@@ -86,11 +126,30 @@ public class RulesOfInferenceParserTopdown extends Parser implements Serializabl
 	 */
 	@Override
 	public boolean verifyStatement(Property statement, int recurseDepth) {
+		VerificationMonitor.checkCancelled();
+		VerificationEvents.Verification event = new VerificationEvents.Verification(this);
+		event.begin();
 		counter++;
 		// add the SMT-line for the provided statement to verify
 		smt.generateSmtfromStatement(statement, counter);
 		// do the verification
-		return smt.verify(statement);
+		boolean result = smt.verify(statement);
+		event.finish(statement, result);
+		return result;
+	}
+
+	/**
+	 * Method that returns the SMT2 script that verifies a statement, without verifying it,
+	 * so that the solvers of several statements can run at the same time with a
+	 * {@link solver.SolverExecutor}. The solver gives the same result as
+	 * {@link #verifyStatement(Property, int)}.
+	 * 
+	 * @param statement
+	 *          the statement to verify
+	 * @return the script
+	 */
+	public String getScript(Property statement) {
+		return smt.getScript(statement, counter + 1);
 	}
 
 	/**
@@ -197,7 +256,7 @@ public class RulesOfInferenceParserTopdown extends Parser implements Serializabl
 			// Rule H4
 			// add Has(i, p, X), for all l in [1,n], Has(i, q, Xl), Dep(i, r, X, Xl), p=r*mult(q)
 			//TODO
-			for (Dep dep : comp.getDepSet()) {
+			for (Dep dep : arch.getDepSet(comp)) {
 				// for each dependence relation, check if all required variables are
 				// already in the property list
 				boolean all = true;
@@ -230,7 +289,7 @@ public class RulesOfInferenceParserTopdown extends Parser implements Serializabl
 			// Rule Kded
 			// add K(i, Eq1), Dedution(E, Eq1), for all Eq in E, K(i, Eq)
 			// TODO 
-			for (Deduction ded : comp.getDeductionCapability()) {
+			for (Deduction ded : getDeductionCapability(comp)) {
 				// only if the conclusion is something new
 				if (!isContainedEq(comp, ded.getConclusion(), ded.getProb())) {
 					boolean allK = true;
@@ -252,13 +311,29 @@ public class RulesOfInferenceParserTopdown extends Parser implements Serializabl
 		}
 	}
 
+	/**
+	 * Helper method that returns the deduction capability of a component, which is kept
+	 * in the parser for a frozen architecture.
+	 * 
+	 * @param comp
+	 *          the component
+	 * @return the deduction capability
+	 */
+	private Set<Deduction> getDeductionCapability(Component comp) {
+		if (deductions == null) {
+			return arch.getDeductionCapability(comp);
+		}
+		Set<Deduction> capability = deductions.get(comp);
+		return capability == null ? Collections.<Deduction>emptySet() : capability;
+	}
+
 	/**
 	 * Helper method that only collects properties from deduction.
 	 */
 	private void collectDeducProperties() {
 		//TODO
 		for (Component comp : arch.getCompList()) {
-			for (Deduction ded : comp.getDeductionCapability()) {
+			for (Deduction ded : getDeductionCapability(comp)) {
 				// only if the conclusion is something new
 				if (!isContainedEq(comp, ded.getConclusion(), ded.getProb())) {
 					boolean allK = true;
@@ -6,6 +6,7 @@ import java.util.Set;
 import architecture.Action;
 import architecture.Architecture;
 import solver.SmtHandler;
+import utils.VerificationContext;
 
 /**
  * A bottom-up parser based on SMT solver.
@@ -24,8 +25,12 @@ public class SmtParser extends Parser {
 	private List<Action> actionLog;
 	
 	public SmtParser(Architecture arch) {
-		super(arch);
-		setSmt(new SmtHandler(arch));
+		this(arch, VerificationContext.getDefault());
+	}
+
+	public SmtParser(Architecture arch, VerificationContext context) {
+		super(arch, context);
+		setSmt(new SmtHandler(arch, context));
 	}
 
 	@Override
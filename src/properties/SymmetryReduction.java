@@ -0,0 +1,401 @@
+package properties;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import architecture.Action;
+import architecture.Architecture;
+import architecture.Component;
+import architecture.Composition;
+import architecture.DataType;
+import architecture.Deduction;
+import architecture.Dep;
+import architecture.Equation;
+import architecture.Purpose;
+import architecture.Trust;
+import architecture.Variable;
+
+/**
+ * Symmetry reduction for replicated component instances.
+ * Two instances, i.e., components with an instance index, are symmetric if swapping
+ * them, together with the variables carrying their instance index, maps the architecture
+ * onto itself. Then a property of one instance holds if and only if the swapped property
+ * holds for the other one, so only one representative per symmetry class has to be verified.
+ * <p>
+ * The check is conservative: every action, trust relation, composition, dependence,
+ * deduction, equation, purpose and data type that mentions an instance or one of its
+ * variables is rendered with the instance and its variables replaced by placeholders.
+ * Instances are symmetric if these renderings are equal, where the actions also have to
+ * appear in the same order. Instances that share a fact with another instance, e.g. a
+ * receive action between two of them, are never reduced.
+ */
+public class SymmetryReduction {
+
+	private static final Pattern NAME = Pattern.compile("\\w+");
+
+	// class fields
+	// the representative of every instance that is not its own representative
+	private final Map<Component, Component> representatives;
+	private final Map<String, Component> instances;
+	// the variables of every instance by their names without the instance index
+	private final Map<Component, Map<String, Variable>> instanceVars;
+	private final Map<String, Variable> varsByName;
+	private final Map<String, List<Component>> instancesByIndex;
+	private final List<List<Component>> classes;
+
+	/**
+	 * The Constructor that computes the symmetry classes of an architecture.
+	 *
+	 * @param arch
+	 *          the architecture
+	 */
+	public SymmetryReduction(Architecture arch) {
+		representatives = new HashMap<Component, Component>();
+		instances = new LinkedHashMap<String, Component>();
+		instanceVars = new HashMap<Component, Map<String, Variable>>();
+		varsByName = new HashMap<String, Variable>();
+		instancesByIndex = new HashMap<String, List<Component>>();
+		classes = new ArrayList<List<Component>>();
+		for (Component comp : arch.getCompList()) {
+			if (comp.getInstance() != null) {
+				instances.put(comp.getName(), comp);
+				instancesByIndex.computeIfAbsent(comp.getInstance(), k -> new ArrayList<Component>()).add(comp);
+				instanceVars.put(comp, new HashMap<String, Variable>());
+			}
+		}
+		if (instances.size() < 2) {
+			return;
+		}
+		Set<Component> excluded = new LinkedHashSet<Component>();
+		for (Variable var : collectVariables(arch)) {
+			List<Component> owners = instancesByIndex.get(var.getIndex());
+			if (var.getIndex() == null || owners == null) {
+				continue;
+			}
+			varsByName.put(var.getName(), var);
+			for (Component owner : owners) {
+				if (instanceVars.get(owner).put(baseName(var), var) != null) {
+					// two variables would get the same placeholder
+					excluded.add(owner);
+				}
+			}
+		}
+		// render every fact for each instance it mentions
+		Map<Component, StringBuilder> ordered = new HashMap<Component, StringBuilder>();
+		Map<Component, List<String>> unordered = new HashMap<Component, List<String>>();
+		for (Component comp : instances.values()) {
+			ordered.put(comp, new StringBuilder());
+			unordered.put(comp, new ArrayList<String>());
+		}
+		for (Action action : arch.getAllActions()) {
+			// the fields are listed separately, as the names are not delimited in toString()
+			String fact = action.getAction() + " " + action.getComponent() + " " + action.getComPartner()
+					+ " " + action.getVar() + " " + action.getEq() + " " + action.getEqSet() + " "
+					+ action.getVarSet() + " " + action.getStSet() + " " + action.getPro() + " "
+					+ action.getAtt() + " " + action.getPurpose() + " " + action.getDt();
+			for (Component comp : share(fact, excluded)) {
+				ordered.get(comp).append(render(fact, comp)).append('\n');
+			}
+		}
+		for (String fact : collectFacts(arch)) {
+			for (Component comp : share(fact, excluded)) {
+				unordered.get(comp).add(render(fact, comp));
+			}
+		}
+		// group the remaining instances by their renderings
+		Map<String, List<Component>> bySignature = new LinkedHashMap<String, List<Component>>();
+		for (Component comp : instances.values()) {
+			if (excluded.contains(comp)) {
+				continue;
+			}
+			List<String> facts = unordered.get(comp);
+			Collections.sort(facts);
+			String signature = ordered.get(comp) + "\n" + String.join("\n", facts);
+			bySignature.computeIfAbsent(signature, k -> new ArrayList<Component>()).add(comp);
+		}
+		for (List<Component> symmetric : bySignature.values()) {
+			if (symmetric.size() < 2) {
+				continue;
+			}
+			classes.add(Collections.unmodifiableList(symmetric));
+			for (Component comp : symmetric.subList(1, symmetric.size())) {
+				representatives.put(comp, symmetric.get(0));
+			}
+		}
+	}
+
+	/**
+	 * Method that maps a property to the equivalent property of a representative instance.
+	 * Properties that mention more than one instance or that refer to instance variables
+	 * in equations or data types are not mapped.
+	 *
+	 * @param property
+	 *          the property
+	 * @return the equivalent property or the property itself
+	 */
+	public Property canonical(Property property) {
+		if (representatives.isEmpty()) {
+			return property;
+		}
+		Set<Component> touched = new LinkedHashSet<Component>();
+		if (!collectInstances(property, touched) || touched.size() != 1) {
+			return property;
+		}
+		Component comp = touched.iterator().next();
+		Component representative = representatives.get(comp);
+		if (representative == null) {
+			return property;
+		}
+		Property swapped = swap(property, comp, representative);
+		return swapped == null ? property : swapped;
+	}
+
+	/**
+	 * Method that returns the representative of an instance.
+	 *
+	 * @param comp
+	 *          the component
+	 * @return the representative or the component itself
+	 */
+	public Component getRepresentative(Component comp) {
+		Component representative = representatives.get(comp);
+		return representative == null ? comp : representative;
+	}
+
+	/**
+	 * Helper method that collects the instances a property is about.
+	 *
+	 * @param property
+	 *          the property
+	 * @param touched
+	 *          the set to add the instances to
+	 * @return false, if an equation or data type of the property mentions an instance
+	 */
+	private boolean collectInstances(Property property, Set<Component> touched) {
+		if (property.getSt1() != null && !collectInstances(property.getSt1(), touched)) {
+			return false;
+		}
+		if (property.getSt2() != null && !collectInstances(property.getSt2(), touched)) {
+			return false;
+		}
+		if (property.getOwner() != null && instances.containsKey(property.getOwner().getName())) {
+			touched.add(instances.get(property.getOwner().getName()));
+		}
+		if (property.getVar() != null) {
+			touched.addAll(touched(property.getVar().getName()));
+		}
+		if (property.getEq() != null && !touched(property.getEq().toString()).isEmpty()) {
+			return false;
+		}
+		if (property.getDt() != null && !touched(render(property.getDt())).isEmpty()) {
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Helper method that replaces an instance and its variables in a property.
+	 *
+	 * @param property
+	 *          the property
+	 * @param comp
+	 *          the instance
+	 * @param representative
+	 *          the instance to replace it with
+	 * @return the new property or null, if the representative has no such variable
+	 */
+	private Property swap(Property property, Component comp, Component representative) {
+		Component owner = property.getOwner();
+		if (comp.equals(owner)) {
+			owner = representative;
+		}
+		Variable var = property.getVar();
+		if (var != null && varsByName.containsKey(var.getName())) {
+			var = instanceVars.get(representative).get(baseName(varsByName.get(var.getName())));
+			if (var == null) {
+				return null;
+			}
+		}
+		Property st1 = null;
+		Property st2 = null;
+		if (property.getSt1() != null && (st1 = swap(property.getSt1(), comp, representative)) == null) {
+			return null;
+		}
+		if (property.getSt2() != null && (st2 = swap(property.getSt2(), comp, representative)) == null) {
+			return null;
+		}
+		return new Property(property.getType(), owner, property.getProb(), property.getBound(), var,
+				property.getEq(), st1, st2, property.getDt());
+	}
+
+	/**
+	 * Helper method that finds the instances mentioned in a fact and excludes them from
+	 * the reduction if there are several.
+	 *
+	 * @param fact
+	 *          the fact
+	 * @param excluded
+	 *          the instances that are not reduced
+	 * @return the instances
+	 */
+	private Set<Component> share(String fact, Set<Component> excluded) {
+		Set<Component> touched = touched(fact);
+		if (touched.size() > 1) {
+			excluded.addAll(touched);
+		}
+		return touched;
+	}
+
+	/**
+	 * Helper method that finds the instances mentioned in a fact, i.e., their names
+	 * or the names of their variables.
+	 *
+	 * @param fact
+	 *          the fact
+	 * @return the instances
+	 */
+	private Set<Component> touched(String fact) {
+		Set<Component> touched = new LinkedHashSet<Component>();
+		Matcher m = NAME.matcher(fact);
+		while (m.find()) {
+			Component comp = instances.get(m.group());
+			if (comp != null) {
+				touched.add(comp);
+			}
+			Variable var = varsByName.get(m.group());
+			if (var != null) {
+				touched.addAll(instancesByIndex.get(var.getIndex()));
+			}
+		}
+		return touched;
+	}
+
+	/**
+	 * Helper method that replaces the names of an instance and its variables by placeholders.
+	 *
+	 * @param fact
+	 *          the fact
+	 * @param comp
+	 *          the instance
+	 * @return the rendered fact
+	 */
+	private String render(String fact, Component comp) {
+		StringBuffer sb = new StringBuffer();
+		Matcher m = NAME.matcher(fact);
+		while (m.find()) {
+			String name = m.group();
+			if (name.equals(comp.getName())) {
+				name = "#";
+			} else if (varsByName.containsKey(name)) {
+				name = "#" + baseName(varsByName.get(name));
+			}
+			m.appendReplacement(sb, Matcher.quoteReplacement(name));
+		}
+		m.appendTail(sb);
+		return sb.toString();
+	}
+
+	private static String render(DataType dt) {
+		return "datatype " + dt + " " + dt.getVars();
+	}
+
+	private static String baseName(Variable var) {
+		String name = var.getName();
+		if (name.endsWith(var.getIndex()) && name.length() > var.getIndex().length()) {
+			return name.substring(0, name.length() - var.getIndex().length());
+		}
+		return name;
+	}
+
+	/**
+	 * Helper method that collects all variables of an architecture. As variables are
+	 * compared by their names, a variable with an instance index is preferred over an
+	 * equal one without, e.g. the left hand side of a computed equation.
+	 *
+	 * @param arch
+	 *          the architecture
+	 * @return the variables
+	 */
+	private static Collection<Variable> collectVariables(Architecture arch) {
+		List<Variable> vars = new ArrayList<Variable>(arch.getVariables());
+		for (Action action : arch.getAllActions()) {
+			if (action.getVar() != null) {
+				vars.add(action.getVar());
+			}
+			if (action.getVarSet() != null) {
+				vars.addAll(action.getVarSet());
+			}
+		}
+		for (Equation eq : arch.getAllEquations()) {
+			if (eq.getAtoms() != null) {
+				vars.addAll(eq.getAtoms());
+			}
+		}
+		for (Component comp : arch.getCompList()) {
+			for (Dep dep : arch.getDepSet(comp)) {
+				vars.add(dep.getVar());
+				vars.addAll(dep.getVarSet());
+			}
+		}
+		for (DataType dt : arch.getDataTypes()) {
+			vars.addAll(dt.getVars());
+		}
+		Map<String, Variable> byName = new LinkedHashMap<String, Variable>();
+		for (Variable var : vars) {
+			Variable known = byName.get(var.getName());
+			if (known == null || known.getIndex() == null) {
+				byName.put(var.getName(), var);
+			}
+		}
+		return byName.values();
+	}
+
+	/**
+	 * Helper method that collects all facts of an architecture except for the actions.
+	 *
+	 * @param arch
+	 *          the architecture
+	 * @return the facts as strings
+	 */
+	private static List<String> collectFacts(Architecture arch) {
+		List<String> facts = new ArrayList<String>();
+		for (Trust trust : arch.getTrusts()) {
+			facts.add("trust " + trust.getTruster() + " " + trust.getTrustee() + " " + trust.getVars());
+		}
+		for (Composition compos : arch.getCompositions()) {
+			facts.add("composition " + compos.getContainer() + " " + compos.getComponent());
+		}
+		for (Component comp : arch.getCompList()) {
+			for (Dep dep : arch.getDepSet(comp)) {
+				facts.add("dep " + comp + " " + dep);
+			}
+			for (Deduction deduc : arch.getDeducSet(comp)) {
+				facts.add("deduction " + comp + " " + deduc);
+			}
+		}
+		for (Equation eq : arch.getAllEquations()) {
+			facts.add("equation " + eq);
+		}
+		for (Purpose purp : arch.getPurposeHierarchy().getPurposes()) {
+			facts.add("purpose " + purp + " " + purp.getVars());
+		}
+		for (DataType dt : arch.getDataTypes()) {
+			facts.add(render(dt));
+		}
+		return facts;
+	}
+
+	// getter methods
+	public List<List<Component>> getClasses() {
+		return Collections.unmodifiableList(classes);
+	}
+}
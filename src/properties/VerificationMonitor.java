@@ -0,0 +1,123 @@
+package properties;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Monitor of the verification on the current thread. The parsers and the solver report
+ * their progress to the {@link ProgressListener} of the thread and check for cancellation,
+ * which is requested by interrupting the thread, e.g. with
+ * {@link java.util.concurrent.Future#cancel(boolean)}. A cancelled verification throws a
+ * {@link CancellationException}, after which the parser must not be used again, as its
+ * caches are incomplete. A thread that works for another one, e.g. a worker of the parallel
+ * mode of the {@link RulesOfInferenceParserBottomup}, is {@link #attach(Thread, ProgressListener)
+ * attached} to it and is cancelled together with it.
+ */
+public final class VerificationMonitor {
+
+	// the listener of every thread
+	private static final ThreadLocal<ProgressListener> listener = new ThreadLocal<ProgressListener>();
+	// the thread every thread works for, if it is not the thread itself
+	private static final ThreadLocal<Thread> owner = new ThreadLocal<Thread>();
+
+	private VerificationMonitor() {
+	}
+
+	/**
+	 * Static method that sets the listener of the current thread.
+	 *
+	 * @param listener
+	 *          the listener or null to remove it
+	 */
+	public static void setListener(ProgressListener listener) {
+		if (listener == null) {
+			VerificationMonitor.listener.remove();
+		} else {
+			VerificationMonitor.listener.set(listener);
+		}
+	}
+
+	/**
+	 * Static method that attaches the current thread to the verification of another thread,
+	 * so that it reports to the same listener and is cancelled by interrupting that thread.
+	 *
+	 * @param owner
+	 *          the thread the current thread works for or null for the thread itself
+	 * @param listener
+	 *          the listener or null to remove it
+	 */
+	public static void attach(Thread owner, ProgressListener listener) {
+		if (owner == null || owner == Thread.currentThread()) {
+			VerificationMonitor.owner.remove();
+		} else {
+			VerificationMonitor.owner.set(owner);
+		}
+		setListener(listener);
+	}
+
+	/**
+	 * Static method that checks if the verification on the current thread was cancelled.
+	 * The interrupt status of the thread is kept.
+	 *
+	 * @throws CancellationException
+	 *          if the thread or the thread it works for was interrupted
+	 */
+	public static void checkCancelled() {
+		Thread current = owner.get();
+		if (Thread.currentThread().isInterrupted() || current != null && current.isInterrupted()) {
+			throw new CancellationException("Verification cancelled");
+		}
+	}
+
+	/**
+	 * Static method that checks for cancellation and informs the listener before a rule of
+	 * inference is tried.
+	 *
+	 * @param statement
+	 *          the statement
+	 * @param rule
+	 *          the label of the rule
+	 * @throws CancellationException
+	 *          if the thread was interrupted
+	 */
+	public static void ruleTried(Property statement, String rule) {
+		checkCancelled();
+		ProgressListener current = listener.get();
+		if (current != null) {
+			current.ruleTried(statement, rule);
+		}
+	}
+
+	/**
+	 * Static method that returns the thread the current thread works for.
+	 *
+	 * @return the thread whose interruption cancels the verification on the current thread
+	 */
+	public static Thread getOwner() {
+		Thread current = owner.get();
+		return current == null ? Thread.currentThread() : current;
+	}
+
+	/**
+	 * Static method that returns the listener of the current thread.
+	 *
+	 * @return the listener or null if there is none
+	 */
+	public static ProgressListener getListener() {
+		return listener.get();
+	}
+
+	/**
+	 * Static method that informs the listener after the solver was run.
+	 *
+	 * @param property
+	 *          the property
+	 * @param time
+	 *          the time of the solver run in nanoseconds
+	 */
+	public static void solverFinished(Property property, long time) {
+		ProgressListener current = listener.get();
+		if (current != null) {
+			current.solverFinished(property, time);
+		}
+	}
+}
@@ -5,47 +5,101 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Properties;
 
+import utils.VerificationContext;
+
 /**
  * Class that reads the tool.config file in the default folder on the same level
- * as the .jar file.
+ * as the .jar file. The configuration belongs to a {@link VerificationContext}.
  */
 public class ConfigReader {
 
+  // the location of the config file
+  private static final String DEFAULT_FILE = "./configs/tool.config";
+  // the configuration before the config file is read
+  public static final ConfigReader EMPTY = new ConfigReader(null, null, null, null, null);
+
   // class fields
-  public static String solverPath;
-  public static String solverName;
-  public static String filePath;
-  public static String fileName;
-  public static String platform;
+  private final String solverPath;
+  private final String solverName;
+  private final String filePath;
+  private final String fileName;
+  private final String platform;
+
+  /**
+   * The constructor of a configuration.
+   * @param solverPath
+   *          the path where the solver (mathsat) is to find
+   * @param solverName
+   *          the name of the solver to exec
+   * @param filePath
+   *          the path where the SMT2 file should be saved
+   * @param fileName
+   *          the name of the file to save as
+   * @param platform
+   *          the platform
+   */
+  public ConfigReader(String solverPath, String solverName, String filePath, String fileName,
+      String platform) {
+    this.solverPath = solverPath;
+    this.solverName = solverName;
+    this.filePath = filePath;
+    this.fileName = fileName;
+    this.platform = platform;
+  }
+
+  /**
+   * Static method that reads a config file.
+   * @param file
+   *          the path of the config file
+   * @return the configuration
+   * @throws IOException
+   *          if the file can not be read
+   */
+  public static ConfigReader read(String file) throws IOException {
+    Properties prop = new Properties();
+    try (InputStream in = new FileInputStream(file)) {
+      prop.load(in);
+    }
+    // the paths and the name for the .smt2 file
+    return new ConfigReader(prop.getProperty("SOLVER_PATH"), prop.getProperty("SOLVER_NAME"),
+        prop.getProperty("SMT2_PATH"), prop.getProperty("DEFAULT_FILE_NAME"),
+        prop.getProperty("PLATFORM"));
+  }
 
   /**
    * Static method that reads the config file in the default location
-   * and sets the values of the relevant file paths.
+   * and sets it as the configuration of the default context.
    * @return success
    */
   public static boolean readConfig() {
     // read the tool.config file in the default location
-    Properties prop = new Properties();
-    // InputStream in =
-    // Config_Reader.class.getClassLoader().getResourceAsStream("/solver/tool.config");
-    InputStream in;
     try {
-      in = new FileInputStream("./configs/tool.config");
-      prop.load(in);
-      in.close();
+      VerificationContext.getDefault().setConfig(read(DEFAULT_FILE));
     } catch (IOException e) {
-      // TODO Auto-generated catch block
       e.printStackTrace();
       return false;
     }
-    // set the paths and the name for the .smt2 file
-    solverPath = prop.getProperty("SOLVER_PATH");
-    solverName = prop.getProperty("SOLVER_NAME");
-    filePath = prop.getProperty("SMT2_PATH");
-    fileName = prop.getProperty("DEFAULT_FILE_NAME");
-    platform = prop.getProperty("PLATFORM");
-
     return true;
   }
 
+  // getter methods
+  public String getSolverPath() {
+    return solverPath;
+  }
+
+  public String getSolverName() {
+    return solverName;
+  }
+
+  public String getFilePath() {
+    return filePath;
+  }
+
+  public String getFileName() {
+    return fileName;
+  }
+
+  public String getPlatform() {
+    return platform;
+  }
 }
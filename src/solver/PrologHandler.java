@@ -13,6 +13,7 @@ import gnu.prolog.vm.Interpreter;
 import gnu.prolog.vm.PrologCode;
 import gnu.prolog.vm.PrologException;
 import properties.Property;
+import utils.VerificationEvents;
 
 public class PrologHandler implements Handler, Serializable {
 
@@ -42,17 +43,21 @@ public class PrologHandler implements Handler, Serializable {
 		// generate the right term from the property
 		Term goalTerm = parseProperty(prop);
 		// run the prolog goal
+		VerificationEvents.PrologGoal event = new VerificationEvents.PrologGoal();
+		event.begin();
 		int rc;
+		boolean result = false;
 		try {
 			rc = interpreter.runOnce(goalTerm);
 			if (rc == PrologCode.SUCCESS || rc == PrologCode.SUCCESS_LAST) {
-				return true;
+				result = true;
 			}
 		} catch (PrologException | IllegalArgumentException e) {
 			// TODO Auto-generated catch block
 			e.printStackTrace();
 		}
-		return false;
+		event.finish(prop, result);
+		return result;
 	}
 
 	private Term parseProperty(Property prop) {
@@ -9,6 +9,8 @@ import architecture.Equation;
 import architecture.Statement;
 import architecture.Variable;
 import properties.Property;
+import utils.VerificationContext;
+import utils.VerificationEvents;
 
 /**
  * Class that handles all the SMT-syntax based work.
@@ -72,6 +74,8 @@ public class SmtHandler implements Handler, Serializable {
 	// class fields
 	private String buffer;
 	private Architecture arch;
+	// the context that runs the solver, which is the default context after loading
+	private transient VerificationContext context;
 
 	/**
 	 * Constructor that initializes the buffer and already add the first lines of SMT
@@ -80,7 +84,21 @@ public class SmtHandler implements Handler, Serializable {
 	 *          the architecture
 	 */
 	public SmtHandler(Architecture arch) {
+		this(arch, VerificationContext.getDefault());
+	}
+
+	/**
+	 * Constructor for a handler in a context, see {@link #SmtHandler(Architecture)}.
+	 * @param arch
+	 *          the architecture
+	 * @param context
+	 *          the context that runs the solver
+	 */
+	public SmtHandler(Architecture arch, VerificationContext context) {
 		this.arch = arch;
+		this.context = context;
+		VerificationEvents.SmtGeneration event = new VerificationEvents.SmtGeneration();
+		event.begin();
 		// initialize buffer
 		buffer = "";
 		// set options
@@ -89,6 +107,7 @@ public class SmtHandler implements Handler, Serializable {
 		declareSorts();
 		declareFunctions();
 		declareVariables();
+		event.finish(null, buffer);
 	}
 
 	/**
@@ -102,7 +121,7 @@ public class SmtHandler implements Handler, Serializable {
 		// add the line for the saturability check
 		addLineSmt(Command.CHECK, null, null, null, null, null);
 
-		SolverHandler solv = new SolverHandler();
+		SolverHandler solv = new SolverHandler(context == null ? VerificationContext.getDefault() : context);
 		if (!solv.runSolver(buffer, property)) {
 			addLineSmt(Command.UNSAT, null, null, null, null, null);
 			solv.runSolver(buffer, property);
@@ -282,6 +301,8 @@ public class SmtHandler implements Handler, Serializable {
 	 *          the property counter
 	 */
 	public void generateSmtfromStatement(Property statement, int counter) {
+		VerificationEvents.SmtGeneration event = new VerificationEvents.SmtGeneration();
+		event.begin();
 		// call helper method to handle recursion
 		String expression = generateExpressionFromStatement(statement);
 		if (counter > 1) {
@@ -292,6 +313,29 @@ public class SmtHandler implements Handler, Serializable {
 		addLineSmt(Command.PUSH, null, null, null, null, null);
 		// assert the expression
 		addLineSmt(Command.ASSERT, "PROP" + counter, null, expression, null, null);
+		event.finish(statement, buffer);
+	}
+
+	/**
+	 * Method that returns the SMT2 script that verifies a statement on its own, e.g. to run
+	 * the solvers of several statements at the same time. The buffer is not changed.
+	 * 
+	 * @param statement
+	 *          the statement
+	 * @param counter
+	 *          the number of the statement, where the previous statement is popped if it
+	 *          is not the first
+	 * @return the script
+	 */
+	public String getScript(Property statement, int counter) {
+		String previous = buffer;
+		try {
+			generateSmtfromStatement(statement, counter);
+			addLineSmt(Command.CHECK, null, null, null, null, null);
+			return buffer;
+		} finally {
+			buffer = previous;
+		}
 	}
 
 	/**
@@ -0,0 +1,188 @@
+package solver;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import properties.ProgressListener;
+import properties.Property;
+import properties.VerificationMonitor;
+import utils.VerificationContext;
+
+/**
+ * Executor that runs the solver for many properties at the same time, e.g. for the
+ * properties of a batch. At most a limit of solvers run at once, every one on a thread
+ * that waits for its process and with an SMT2 file and an output file of its own.
+ * A further job is only started when a result was taken from the stream of results, so a
+ * batch of any size only needs as many threads and files as solvers run at once.
+ * <p>
+ * The jobs report to the listener of the thread that verifies the batch and are cancelled
+ * with it, see {@link VerificationMonitor}. The running solvers are stopped as soon as the
+ * interrupted thread waits for a result or the executor is closed.
+ */
+public class SolverExecutor implements AutoCloseable {
+
+  /**
+   * The result of the solver for one property.
+   */
+  public static final class Result {
+
+    // class fields
+    private final Property property;
+    private final boolean holds;
+    private final long time;
+
+    private Result(Property property, boolean holds, long time) {
+      this.property = property;
+      this.holds = holds;
+      this.time = time;
+    }
+
+    // getter methods
+    public Property getProperty() {
+      return property;
+    }
+
+    public boolean holds() {
+      return holds;
+    }
+
+    public long getTime() {
+      return time;
+    }
+  }
+
+  // class fields
+  private final VerificationContext context;
+  private final int limit;
+  private final ExecutorService executor;
+  // the numbers of the files that are not used by a running solver
+  private final BlockingQueue<Integer> files;
+
+  /**
+   * The Constructor for an executor that runs a solver for every core at once.
+   *
+   * @param context
+   *          the context with the configuration of the solver
+   */
+  public SolverExecutor(VerificationContext context) {
+    this(context, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * The Constructor for an executor.
+   *
+   * @param context
+   *          the context with the configuration of the solver
+   * @param limit
+   *          the maximum number of solvers that run at once
+   */
+  public SolverExecutor(VerificationContext context, int limit) {
+    if (limit < 1) {
+      throw new IllegalArgumentException("At least one solver has to run at once");
+    }
+    this.context = context;
+    this.limit = limit;
+    executor = Executors.newFixedThreadPool(limit, r -> {
+      Thread thread = new Thread(r, "solver");
+      // the solvers do not keep the application running
+      thread.setDaemon(true);
+      return thread;
+    });
+    files = new ArrayBlockingQueue<Integer>(limit);
+    for (int i = 0; i < limit; i++) {
+      files.add(i);
+    }
+  }
+
+  /**
+   * Method that verifies properties with the solver. The stream is sequential and takes
+   * the results in the order in which the solvers finish, where every result that is
+   * taken starts the next job.
+   *
+   * @param scripts
+   *          the SMT2 script of every property, see {@link SmtHandler#getScript(Property, int)}
+   * @return the stream of the results
+   * @throws CancellationException
+   *          if the verification was cancelled while the results are taken
+   */
+  public Stream<Result> verify(Map<Property, String> scripts) {
+    Iterator<Map.Entry<Property, String>> jobs =
+        new ArrayList<Map.Entry<Property, String>>(scripts.entrySet()).iterator();
+    CompletionService<Result> completion = new ExecutorCompletionService<Result>(executor);
+    Thread owner = VerificationMonitor.getOwner();
+    ProgressListener listener = VerificationMonitor.getListener();
+    for (int i = 0; i < limit && jobs.hasNext(); i++) {
+      submit(completion, jobs.next(), owner, listener);
+    }
+    return Stream.generate(() -> {
+      Result result = take(completion);
+      if (jobs.hasNext()) {
+        submit(completion, jobs.next(), owner, listener);
+      }
+      return result;
+    }).limit(scripts.size());
+  }
+
+  /**
+   * Helper method that starts the job of a property on a free file.
+   */
+  private void submit(CompletionService<Result> completion, Map.Entry<Property, String> job,
+      Thread owner, ProgressListener listener) {
+    completion.submit(() -> {
+      Integer file = files.take();
+      VerificationMonitor.attach(owner, listener);
+      try {
+        SolverHandler solver = new SolverHandler(context,
+            context.getFileName("solver" + file + "_" + context.getConfig().getFileName()));
+        long start = System.nanoTime();
+        boolean holds = solver.runSolver(job.getValue(), job.getKey());
+        return new Result(job.getKey(), holds, System.nanoTime() - start);
+      } finally {
+        VerificationMonitor.attach(null, null);
+        files.add(file);
+      }
+    });
+  }
+
+  /**
+   * Helper method that waits for the next result, where a cancellation stops the running
+   * solvers.
+   */
+  private Result take(CompletionService<Result> completion) {
+    try {
+      return completion.take().get();
+    } catch (InterruptedException e) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Verification cancelled");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * Method that stops the executor, where running solvers are stopped as well.
+   */
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  // getter methods
+  public int getLimit() {
+    return limit;
+  }
+}
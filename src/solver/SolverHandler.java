@@ -1,15 +1,24 @@
 package solver;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 import properties.Property;
+import properties.VerificationMonitor;
 import utils.FileHandler;
+import utils.Metrics;
 import utils.TraceBuffer;
 import utils.TraceBuffer.LogType;
+import utils.VerificationContext;
+import utils.VerificationEvents;
 
 /**
  * Class that takes care of the running of the solver.
@@ -21,6 +30,8 @@ public class SolverHandler {
   private String solverName;
   private String filePath;
   private String fileName;
+  private TraceBuffer trace;
+  private Metrics metrics;
 
   /**
    * The full constructor with all parameters
@@ -40,14 +51,42 @@ public class SolverHandler {
     this.solverName = solverName;
     this.filePath = filePath;
     this.fileName = fileName;
+    this.trace = VerificationContext.getDefault().getTrace();
+    this.metrics = VerificationContext.getDefault().getMetrics();
+  }
+
+  /**
+   * Constructor with the values from the config of a context, where the
+   * SMT2 file is named after the context.
+   * 
+   * @param context
+   *          the context of the verification
+   */
+  public SolverHandler(VerificationContext context) {
+    this(context, context.getFileName(context.getConfig().getFileName()));
+  }
+
+  /**
+   * Constructor with the values from the config of a context and a file of its own, e.g.
+   * for one of several solvers that run at the same time.
+   * 
+   * @param context
+   *          the context of the verification
+   * @param fileName
+   *          the name of the file to save as
+   */
+  public SolverHandler(VerificationContext context, String fileName) {
+    this(context.getConfig().getSolverPath(), context.getConfig().getSolverName(),
+        context.getConfig().getFilePath(), fileName);
+    this.trace = context.getTrace();
+    this.metrics = context.getMetrics();
   }
 
   /**
    * Empty constructor with default values from config file.
    */
   public SolverHandler() {
-    this(ConfigReader.solverPath, ConfigReader.solverName,
-        ConfigReader.filePath, ConfigReader.fileName);
+    this(VerificationContext.getDefault());
   }
 
   /**
@@ -58,11 +97,15 @@ public class SolverHandler {
    * @param property
    *          the property that is verified by this run
    * @return true, if successful
+   * @throws CancellationException
+   *          if the verification was cancelled, where the solver process is stopped
    */
   public boolean runSolver(String buffer, Property property) {
+    VerificationMonitor.checkCancelled();
     // create file handler
     FileHandler file = new FileHandler(filePath, fileName);
     byte[] lines = (buffer).getBytes();
+    metrics.record(Metrics.SMT_SIZE, lines.length);
 
     // write into the file
     if (!file.writeFile(lines)) {
@@ -73,13 +116,36 @@ public class SolverHandler {
     String lastLine = "";
     List<String> history = new ArrayList<String>();
     // run the solver on the file
+    VerificationEvents.Solver event = new VerificationEvents.Solver();
+    event.begin();
+    long start = System.nanoTime();
     try {
-      Process mathsat;
-      mathsat = Runtime.getRuntime().exec(
-          solverPath + solverName + " -input=smt2 " + filePath + fileName);
-      mathsat.waitFor();
+      byte[] output;
+      Process mathsat = null;
+      // -1 until the solver exited, e.g. if it could not be started or was cancelled
+      int exitStatus = -1;
+      try {
+        // the errors of the solver are passed on, its output is written into a file of its own
+        File outputFile = new File(filePath + fileName + ".out");
+        mathsat = new ProcessBuilder(solverPath + solverName, "-input=smt2", filePath + fileName)
+            .redirectError(Redirect.INHERIT).redirectOutput(outputFile).start();
+        output = readOutput(mathsat, outputFile);
+        exitStatus = mathsat.exitValue();
+      } catch (InterruptedException e) {
+        // cancelled while the solver runs
+        Thread.currentThread().interrupt();
+        throw new CancellationException("Verification cancelled");
+      } finally {
+        if (mathsat != null && exitStatus < 0) {
+          mathsat.destroyForcibly();
+        }
+        event.finish(property, lines.length, exitStatus);
+      }
+      long time = System.nanoTime() - start;
+      metrics.record(Metrics.SOLVER, time);
+      VerificationMonitor.solverFinished(property, time);
       BufferedReader bufReader = new BufferedReader(
-          new InputStreamReader(mathsat.getInputStream()));
+          new InputStreamReader(new ByteArrayInputStream(output)));
       while ((line = bufReader.readLine()) != null) {
         // go through all lines
         history.add(line);
@@ -97,26 +163,47 @@ public class SolverHandler {
         System.out.println("Property and Architecture are not satisfiable");
         return false;
       }
-    } catch (IOException | InterruptedException e) {
+    } catch (IOException e) {
       e.printStackTrace();
       return false;
     }
     // Give more information
     System.out.println(
         "The result was probably 'unsat', therefore the two conflicting statements are in:");
-    System.out.println(history.subList(history.size() - 2, history.size()));
+    List<String> core = history.subList(Math.max(0, history.size() - 2), history.size());
+    System.out.println(core);
     System.out.println("Property and Architecture are probably not satisfiable");
     System.out.println("Property not proven!");
     // TODO trace
-    TraceBuffer.logMessage(
+    trace.logMessage(
         property, "There is a conflict between an assertion and the property to prove: "
         + property, 0, LogType.START);
-    TraceBuffer.logMessage(property, buffer, 0, LogType.INFO);
-    TraceBuffer.logMessage(property, "Unsat core: " + history.subList(history.size() - 2,
-        history.size()), 0, LogType.END);
+    trace.logMessage(property, buffer, 0, LogType.INFO);
+    trace.logMessage(property, "Unsat core: " + core, 0, LogType.END);
     return false;
   }
 
+  /**
+   * Helper method that waits for a running solver and reads its output. The solver writes
+   * its output into a file instead of a pipe, so it is never blocked by a full pipe, and
+   * the thread waits for the exit of the solver without polling. The wait ends as soon as
+   * the thread is interrupted, e.g. when the verification is cancelled.
+   * 
+   * @param process
+   *          the process of the solver
+   * @param output
+   *          the file with the output of the solver
+   * @return the output of the solver
+   * @throws IOException
+   *          if the output can not be read
+   * @throws InterruptedException
+   *          if the thread was interrupted while waiting
+   */
+  private static byte[] readOutput(Process process, File output) throws IOException, InterruptedException {
+    process.waitFor();
+    return Files.readAllBytes(output.toPath());
+  }
+
   // getter and setter methods
   public String getSolverPath() {
     return solverPath;
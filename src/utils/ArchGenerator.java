@@ -0,0 +1,355 @@
+package utils;
+
+import gui.ArchitectureFunctions;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generator for random, but consistent architectures of any size, e.g. to measure the
+ * scalability of the parsers and solvers. The architecture is generated as lines of the
+ * format of the {@link ArchitectureImporter}, so it can also be written to a file.
+ * The same seed and parameters always generate the same architecture.
+ *
+ * <p>Every component c&lt;i&gt; has its own variables and computes a variable from them
+ * with an equation of the given depth. It receives variables from up to fan-out
+ * components with smaller indices, which always have them, so the order of the actions is
+ * consistent. Dependences, deduction capabilities, purposes and data types are added
+ * randomly according to their densities and numbers.
+ */
+public class ArchGenerator {
+
+  // the names of the default deductions of the architecture
+  private static final String[] DEDUCTIONS = { "Reflexivity", "Symmetry", "Transitivity", "Substitution" };
+
+  // class fields
+  private final long seed;
+  private int components;
+  private int variables;
+  private int equationDepth;
+  private int fanOut;
+  private double depDensity;
+  private double deductionDensity;
+  private int compositionDepth;
+  private int purposes;
+  private int dataTypes;
+  private int properties;
+
+  /**
+   * The Constructor for a generator with the default parameters, i.e. 10 components with
+   * 3 variables each, equations of depth 2, a fan-out of 2, 20 properties and neither
+   * compositions, purposes nor data types.
+   *
+   * @param seed
+   *          the seed of the random numbers
+   */
+  public ArchGenerator(long seed) {
+    this.seed = seed;
+    components = 10;
+    variables = 3;
+    equationDepth = 2;
+    fanOut = 2;
+    depDensity = 0.3;
+    deductionDensity = 0.2;
+    compositionDepth = 0;
+    purposes = 0;
+    dataTypes = 0;
+    properties = 20;
+  }
+
+  /**
+   * Method that generates the lines of the architecture.
+   *
+   * @return the lines in the format of the {@link ArchitectureImporter}
+   */
+  public List<String> lines() {
+    Random random = new Random(seed);
+    List<String> lines = new ArrayList<String>();
+    lines.add("# generated with seed " + seed);
+    for (int i = 0; i < components; i++) {
+      lines.add("component c" + i);
+    }
+    // chains of compositions of the given depth
+    for (int i = 1; compositionDepth > 0 && i < components; i++) {
+      if (i % (compositionDepth + 1) != 0) {
+        lines.add("composition c" + (i - 1) + " c" + i);
+      }
+    }
+    // the own and computed variables of every component
+    List<List<String>> owned = new ArrayList<List<String>>(components);
+    for (int i = 0; i < components; i++) {
+      List<String> vars = new ArrayList<String>();
+      for (int k = 0; k < variables; k++) {
+        String var = "v" + i + "_" + k;
+        lines.add("variable " + var);
+        lines.add("has c" + i + " " + var);
+        vars.add(var);
+      }
+      if (equationDepth > 0 && !vars.isEmpty()) {
+        String term = vars.get(0);
+        for (int d = 1; d <= equationDepth; d++) {
+          String next = "t" + i + "_" + d;
+          lines.add("term " + next + " F" + d + " " + term + " " + pick(random, vars));
+          term = next;
+        }
+        lines.add("variable r" + i);
+        lines.add("equation eq" + i + " r" + i + " = " + term);
+        lines.add("compute c" + i + " eq" + i);
+        vars.add("r" + i);
+      }
+      owned.add(vars);
+    }
+    for (int p = 0; p < purposes; p++) {
+      int i = random.nextInt(components);
+      lines.add("purpose p" + p + " {" + any(random, owned.get(i)) + "}"
+          + (p > 0 ? " {p" + random.nextInt(p) + "}" : ""));
+    }
+    // the data types with the variables of one component, which may share them
+    int[] dataTypeOwner = new int[dataTypes];
+    for (int k = 0; k < dataTypes; k++) {
+      dataTypeOwner[k] = random.nextInt(components);
+      lines.add("datatype dt" + k + " {" + any(random, owned.get(dataTypeOwner[k])) + "}");
+    }
+    // receive the own variables of components with smaller indices
+    for (int i = 1; i < components; i++) {
+      List<Integer> partners = new ArrayList<Integer>();
+      while (partners.size() < Math.min(fanOut, i)) {
+        int j = random.nextInt(i);
+        if (!partners.contains(j)) {
+          partners.add(j);
+        }
+      }
+      for (int j : partners) {
+        if (owned.get(j).isEmpty()) {
+          continue;
+        }
+        String var = pick(random, owned.get(j));
+        if (purposes > 0 && random.nextBoolean()) {
+          lines.add("preceive c" + i + " c" + j + " p" + random.nextInt(purposes) + " {" + var + "}");
+        } else {
+          lines.add("receive c" + i + " c" + j + " {" + var + "}");
+        }
+        if (!owned.get(i).isEmpty() && random.nextDouble() < depDensity) {
+          lines.add("dep c" + i + " " + pick(random, owned.get(i)) + " {" + var + "} 0.5");
+        }
+      }
+    }
+    for (int k = 0; k < dataTypes; k++) {
+      int j = dataTypeOwner[k];
+      if (j + 1 < components && !owned.get(j).isEmpty()) {
+        int i = j + 1 + random.nextInt(components - j - 1);
+        lines.add("permission c" + j + " c" + i + " dt" + k);
+        lines.add("creceive c" + i + " c" + j + " dt" + k + " {" + owned.get(j).get(0) + "}");
+      }
+    }
+    for (int i = 0; i < components; i++) {
+      if (random.nextDouble() < deductionDensity) {
+        lines.add("deductions c" + i + " {" + String.join(",", subset(random, DEDUCTIONS)) + "}");
+      }
+    }
+    for (int n = 0; n < properties && components > 0; n++) {
+      lines.add(property(random, n, owned));
+    }
+    return lines;
+  }
+
+  /**
+   * Helper method that generates a random property about a random component.
+   *
+   * @param random
+   *          the random numbers
+   * @param n
+   *          the number of the property
+   * @param owned
+   *          the variables of every component
+   * @return the line of the property
+   */
+  private String property(Random random, int n, List<List<String>> owned) {
+    int i = random.nextInt(components);
+    List<String> vars = owned.get(random.nextInt(components));
+    int type = random.nextInt(6);
+    if (vars.isEmpty() || (type == 4 && purposes == 0) || (type == 5 && dataTypes == 0)) {
+      type = vars.isEmpty() ? 4 : 0;
+    }
+    String name = "prop" + n + " ";
+    switch (type) {
+    case 0:
+      return "property " + name + "has c" + i + " " + pick(random, vars);
+    case 1:
+      if (equationDepth > 0) {
+        return "property " + name + "knows c" + i + " eq" + random.nextInt(components);
+      }
+      return "property " + name + "has c" + i + " " + pick(random, vars);
+    case 2:
+      return "property " + name + "notshared c" + i + " " + pick(random, vars);
+    case 3:
+      return "property " + name + "notstored c" + i + " " + pick(random, vars) + " 1";
+    case 4:
+      return "property " + name + "notpurp c" + i;
+    default:
+      return "property " + name + "consentviolated c" + i + " dt" + random.nextInt(dataTypes);
+    }
+  }
+
+  private static String pick(Random random, List<String> list) {
+    return list.get(random.nextInt(list.size()));
+  }
+
+  private static String any(Random random, List<String> list) {
+    return list.isEmpty() ? "" : pick(random, list);
+  }
+
+  private static List<String> subset(Random random, String[] names) {
+    List<String> result = new ArrayList<String>();
+    for (String name : names) {
+      if (random.nextBoolean()) {
+        result.add(name);
+      }
+    }
+    if (result.isEmpty()) {
+      result.add(names[random.nextInt(names.length)]);
+    }
+    return result;
+  }
+
+  /**
+   * Method that generates the architecture.
+   *
+   * @return the architecture for the GUI with the architecture already built
+   */
+  public ArchitectureFunctions generate() {
+    ArchitectureImporter importer = new ArchitectureImporter();
+    try {
+      for (String line : lines()) {
+        importer.readLine(line);
+      }
+    } catch (IOException e) {
+      // the generated lines only refer to entities declared before
+      throw new IllegalStateException(e.getMessage(), e);
+    }
+    return importer.build();
+  }
+
+  /**
+   * Method that writes the generated architecture to a file.
+   *
+   * @param file
+   *          the file
+   * @throws IOException
+   *          if the file can not be written
+   */
+  public void write(Path file) throws IOException {
+    Files.write(file, lines(), StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Writes a generated architecture to a file.
+   *
+   * @param args
+   *          the file, the number of components and the seed
+   * @throws IOException
+   *          if the file can not be written
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1) {
+      System.err.println("usage: ArchGenerator <file> [components] [seed]");
+      return;
+    }
+    ArchGenerator generator = new ArchGenerator(args.length > 2 ? Long.parseLong(args[2]) : 0);
+    if (args.length > 1) {
+      generator.setComponents(Integer.parseInt(args[1]));
+    }
+    generator.write(Paths.get(args[0]));
+  }
+
+  // getter methods
+  public long getSeed() {
+    return seed;
+  }
+
+  public int getComponents() {
+    return components;
+  }
+
+  public void setComponents(int components) {
+    this.components = components;
+  }
+
+  public int getVariables() {
+    return variables;
+  }
+
+  public void setVariables(int variables) {
+    this.variables = variables;
+  }
+
+  public int getEquationDepth() {
+    return equationDepth;
+  }
+
+  public void setEquationDepth(int equationDepth) {
+    this.equationDepth = equationDepth;
+  }
+
+  public int getFanOut() {
+    return fanOut;
+  }
+
+  public void setFanOut(int fanOut) {
+    this.fanOut = fanOut;
+  }
+
+  public double getDepDensity() {
+    return depDensity;
+  }
+
+  public void setDepDensity(double depDensity) {
+    this.depDensity = depDensity;
+  }
+
+  public double getDeductionDensity() {
+    return deductionDensity;
+  }
+
+  public void setDeductionDensity(double deductionDensity) {
+    this.deductionDensity = deductionDensity;
+  }
+
+  public int getCompositionDepth() {
+    return compositionDepth;
+  }
+
+  public void setCompositionDepth(int compositionDepth) {
+    this.compositionDepth = compositionDepth;
+  }
+
+  public int getPurposes() {
+    return purposes;
+  }
+
+  public void setPurposes(int purposes) {
+    this.purposes = purposes;
+  }
+
+  public int getDataTypes() {
+    return dataTypes;
+  }
+
+  public void setDataTypes(int dataTypes) {
+    this.dataTypes = dataTypes;
+  }
+
+  public int getProperties() {
+    return properties;
+  }
+
+  public void setProperties(int properties) {
+    this.properties = properties;
+  }
+}
@@ -0,0 +1,652 @@
+package utils;
+
+import gui.ArchitectureFunctions;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import architecture.Action;
+import architecture.Action.ActionType;
+import architecture.Attest;
+import architecture.Component;
+import architecture.Composition;
+import architecture.DataType;
+import architecture.Deduction;
+import architecture.DeductionCapability;
+import architecture.Dep;
+import architecture.DependenceRelation;
+import architecture.Equation;
+import architecture.Equation.Relation;
+import architecture.Equation.Type;
+import architecture.P;
+import architecture.Proof;
+import architecture.Purpose;
+import architecture.PurposeHierarchy;
+import architecture.Statement;
+import architecture.Term;
+import architecture.Term.Operator;
+import architecture.Term.OperatorType;
+import architecture.Term.TermType;
+import architecture.Trust;
+import architecture.Variable;
+import properties.Property;
+import properties.Property.PropertyType;
+
+/**
+ * Compact binary file format for the model of an architecture, i.e., only the sets
+ * that are created in the GUI, but not the architecture or parser built from them.
+ *
+ * The file starts with a magic number and the schema version, followed by a table of
+ * all strings, a list of entity records and the model. Every entity is written once
+ * after the entities it refers to, so that it is referenced by its position in the
+ * list. All numbers are written as varints, references as position + 1 with 0 for null.
+ */
+public class ArchitectureFormat {
+
+  /**
+   * The magic number at the start of every file ("ARCH").
+   */
+  public static final int MAGIC = 0x41524348;
+
+  /**
+   * The current version of the schema. Increment it when the layout of a record changes.
+   */
+  public static final int VERSION = 1;
+
+  // record tags
+  private static final int VARIABLE = 1;
+  private static final int COMPONENT = 2;
+  private static final int TERM = 3;
+  private static final int EQUATION = 4;
+  private static final int PURPOSE = 5;
+  private static final int DATATYPE = 6;
+  private static final int ATTEST = 7;
+  private static final int PROOF = 8;
+  private static final int ACTION = 9;
+  private static final int TRUST = 10;
+  private static final int COMPOSITION = 11;
+  private static final int DEP = 12;
+  private static final int DEPENDENCE = 13;
+  private static final int DEDUCTION = 14;
+  private static final int CAPABILITY = 15;
+  private static final int PROPERTY = 16;
+  private static final int HIERARCHY = 17;
+
+  // model flags
+  private static final int FINISHED = 1;
+
+  /**
+   * Static method that writes the model of an architecture to a file.
+   *
+   * @param archFunc
+   *          the architecture from the GUI
+   * @param file
+   *          the file to write
+   * @throws IOException
+   *          if the file can not be written
+   */
+  public static void write(ArchitectureFunctions archFunc, Path file) throws IOException {
+    try (OutputStream out = Files.newOutputStream(file)) {
+      write(archFunc, out);
+    }
+  }
+
+  /**
+   * Static method that writes the model of an architecture to a stream.
+   *
+   * @param archFunc
+   *          the architecture from the GUI
+   * @param out
+   *          the stream to write to
+   * @throws IOException
+   *          if the stream can not be written
+   */
+  public static void write(ArchitectureFunctions archFunc, OutputStream out) throws IOException {
+    Writer writer = new Writer();
+    // the model refers to the records, which are written on the fly
+    Encoder model = new Encoder();
+    model.varint(archFunc.getArch() != null ? FINISHED : 0);
+    writer.set(model, archFunc.getcSet());
+    writer.set(model, archFunc.getvSet());
+    writer.set(model, archFunc.gettSet());
+    writer.set(model, archFunc.geteSet());
+    writer.set(model, archFunc.gettrustSet());
+    writer.set(model, archFunc.getcomposSet());
+    writer.set(model, archFunc.getaSet());
+    writer.set(model, archFunc.getstSet());
+    writer.set(model, archFunc.getdSet());
+    writer.set(model, archFunc.getdedSet());
+    writer.set(model, archFunc.getDeducs());
+    writer.set(model, archFunc.getpSet());
+    writer.set(model, archFunc.getpuSet());
+    writer.set(model, archFunc.getdtSet());
+    model.varint(writer.ref(archFunc.getPurpHier()));
+    // header and string table
+    Encoder header = new Encoder();
+    header.fixed(MAGIC);
+    header.varint(VERSION);
+    header.varint(writer.strings.size());
+    for (String s : writer.strings) {
+      byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+      header.varint(bytes.length);
+      header.write(bytes, 0, bytes.length);
+    }
+    header.varint(writer.count);
+    header.writeTo(out);
+    writer.records.writeTo(out);
+    model.writeTo(out);
+  }
+
+  /**
+   * Static method that reads the model of an architecture from a memory-mapped file.
+   *
+   * @param file
+   *          the file to read
+   * @return the architecture for the GUI, finished if it was finished when written
+   * @throws IOException
+   *          if the file can not be read or is no architecture of a known version
+   */
+  public static ArchitectureFunctions read(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Static method that reads the model of an architecture from a buffer.
+   *
+   * @param buffer
+   *          the buffer positioned at the start of the file
+   * @return the architecture for the GUI, finished if it was finished when written
+   * @throws IOException
+   *          if the buffer contains no architecture of a known version
+   */
+  public static ArchitectureFunctions read(ByteBuffer buffer) throws IOException {
+    Reader reader = new Reader(buffer);
+    try {
+      if (buffer.getInt() != MAGIC) {
+        throw new IOException("Not an architecture file");
+      }
+      int version = reader.varint();
+      if (version < 1 || version > VERSION) {
+        throw new IOException("Unsupported architecture file version " + version);
+      }
+      reader.strings = new String[reader.varint()];
+      for (int i = 0; i < reader.strings.length; i++) {
+        byte[] bytes = new byte[reader.varint()];
+        buffer.get(bytes);
+        reader.strings[i] = new String(bytes, StandardCharsets.UTF_8);
+      }
+      reader.table = new Object[reader.varint()];
+      for (int i = 0; i < reader.table.length; i++) {
+        reader.table[i] = reader.record();
+      }
+      // the model
+      int flags = reader.varint();
+      ArchitectureFunctions archFunc = new ArchitectureFunctions();
+      archFunc.setcSet(reader.<Component>set());
+      archFunc.setvSet(reader.<Variable>set());
+      archFunc.settSet(reader.<Term>set());
+      archFunc.seteSet(reader.<Equation>set());
+      archFunc.settrustSet(reader.<Trust>set());
+      archFunc.setcomposSet(reader.<Composition>set());
+      archFunc.setaSet(reader.<Action>set());
+      archFunc.setstSet(reader.<Statement>set());
+      archFunc.setdSet(reader.<DependenceRelation>set());
+      archFunc.setdedSet(reader.<DeductionCapability>set());
+      archFunc.setDeducs(reader.<Deduction>set());
+      archFunc.setpSet(reader.<Property>set());
+      archFunc.setpuSet(reader.<Purpose>set());
+      archFunc.setdtSet(reader.<DataType>set());
+      archFunc.setPurpHier((PurposeHierarchy) reader.ref());
+      if ((flags & FINISHED) != 0) {
+        // build the architecture and the parser again
+        archFunc.finish();
+      }
+      return archFunc;
+    } catch (RuntimeException e) {
+      // truncated buffer, bad reference or cast
+      throw new IOException("Corrupt architecture file", e);
+    }
+  }
+
+  /**
+   * Byte buffer with the encoding of numbers.
+   */
+  private static class Encoder extends ByteArrayOutputStream {
+
+    private void varint(int value) {
+      while ((value & ~0x7F) != 0) {
+        write((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      write(value);
+    }
+
+    private void fixed(int value) {
+      write(value >>> 24);
+      write(value >>> 16);
+      write(value >>> 8);
+      write(value);
+    }
+
+    private void fixed(double value) {
+      long bits = Double.doubleToLongBits(value);
+      fixed((int) (bits >>> 32));
+      fixed((int) bits);
+    }
+  }
+
+  /**
+   * The state of writing a model, i.e., the ids of the entities and strings written so far.
+   */
+  private static class Writer {
+    private final Map<Object, Integer> ids = new IdentityHashMap<Object, Integer>();
+    private final Map<String, Integer> stringIds = new HashMap<String, Integer>();
+    private final List<String> strings = new ArrayList<String>();
+    private final Encoder records = new Encoder();
+    private int count = 0;
+
+    /**
+     * Method that returns the reference of an entity and writes its record if necessary.
+     */
+    private int ref(Object o) {
+      if (o == null) {
+        return 0;
+      }
+      Integer id = ids.get(o);
+      if (id == null) {
+        id = record(o);
+        ids.put(o, id);
+      }
+      return id + 1;
+    }
+
+    private int string(String s) {
+      if (s == null) {
+        return 0;
+      }
+      Integer id = stringIds.get(s);
+      if (id == null) {
+        id = strings.size();
+        strings.add(s);
+        stringIds.put(s, id);
+      }
+      return id + 1;
+    }
+
+    private int[] refs(Collection<?> set) {
+      if (set == null) {
+        return null;
+      }
+      int[] refs = new int[set.size()];
+      int i = 0;
+      for (Object o : set) {
+        refs[i++] = ref(o);
+      }
+      return refs;
+    }
+
+    private void set(Encoder out, Collection<?> set) {
+      int[] refs = refs(set);
+      if (refs == null) {
+        out.varint(0);
+        return;
+      }
+      out.varint(refs.length + 1);
+      for (int ref : refs) {
+        out.varint(ref);
+      }
+    }
+
+    private int record(Object o) {
+      // the referenced entities are written before the record itself
+      Encoder out = new Encoder();
+      if (o instanceof Variable) {
+        Variable var = (Variable) o;
+        out.varint(VARIABLE);
+        out.varint(string(var.getName()));
+        out.varint(string(var.getIndex()));
+      } else if (o instanceof Component) {
+        Component comp = (Component) o;
+        out.varint(COMPONENT);
+        out.varint(string(comp.getName()));
+        out.varint(string(comp.getInstance()));
+      } else if (o instanceof Term) {
+        Term term = (Term) o;
+        int atom = ref(term.getAtom());
+        int t1 = ref(term.getT1());
+        int t2 = ref(term.getT2());
+        int t3 = ref(term.getT3());
+        out.varint(TERM);
+        out.varint(term.getType().ordinal());
+        out.varint(term.getOpType() == null ? 0 : term.getOpType().ordinal() + 1);
+        out.varint(term.getOp() == null ? 0 : term.getOp().ordinal() + 1);
+        out.varint(string(term.getFuncName()));
+        out.varint(atom);
+        out.varint(t1);
+        out.varint(t2);
+        out.varint(t3);
+        out.varint(term.isMatchVar() ? 1 : 0);
+      } else if (o instanceof Equation) {
+        Equation eq = (Equation) o;
+        int op1 = ref(eq.getOp1());
+        int op2 = ref(eq.getOp2());
+        int eq1 = ref(eq.getEq1());
+        int eq2 = ref(eq.getEq2());
+        out.varint(EQUATION);
+        out.varint(string(eq.getName()));
+        out.varint(eq.getType().ordinal());
+        out.varint(eq.getRel() == null ? 0 : eq.getRel().ordinal() + 1);
+        out.varint(op1);
+        out.varint(op2);
+        out.varint(eq1);
+        out.varint(eq2);
+      } else if (o instanceof Purpose) {
+        Purpose purp = (Purpose) o;
+        int[] vars = refs(purp.getVars());
+        out.varint(PURPOSE);
+        out.varint(string(purp.toString()));
+        refs(out, vars);
+      } else if (o instanceof DataType) {
+        DataType dt = (DataType) o;
+        int[] vars = refs(dt.getVars());
+        out.varint(DATATYPE);
+        out.varint(string(dt.toString()));
+        refs(out, vars);
+      } else if (o instanceof Attest) {
+        Attest att = (Attest) o;
+        int comp = ref(att.getComponent());
+        int[] eqs = refs(att.getEqSet());
+        out.varint(ATTEST);
+        out.varint(comp);
+        refs(out, eqs);
+      } else if (o instanceof Proof) {
+        Proof pro = (Proof) o;
+        int comp = ref(pro.getComponent());
+        int[] ps = refs(pro.getpSet());
+        out.varint(PROOF);
+        out.varint(comp);
+        refs(out, ps);
+      } else if (o instanceof Action) {
+        Action a = (Action) o;
+        int[] fields = {ref(a.getComponent()), ref(a.getVar()), ref(a.getEq()), ref(a.getComPartner()),
+            ref(a.getPro()), ref(a.getAtt()), ref(a.getPurpose()), ref(a.getDt())};
+        int[] vars = refs(a.getVarSet());
+        int[] eqs = refs(a.getEqSet());
+        int[] sts = refs(a.getStSet());
+        out.varint(ACTION);
+        out.varint(a.getAction().ordinal());
+        for (int field : fields) {
+          out.varint(field);
+        }
+        refs(out, vars);
+        refs(out, eqs);
+        refs(out, sts);
+      } else if (o instanceof Trust) {
+        Trust trust = (Trust) o;
+        int truster = ref(trust.getTruster());
+        int trustee = ref(trust.getTrustee());
+        int[] vars = refs(trust.getVars());
+        out.varint(TRUST);
+        out.varint(truster);
+        out.varint(trustee);
+        refs(out, vars);
+      } else if (o instanceof Composition) {
+        Composition compos = (Composition) o;
+        int container = ref(compos.getContainer());
+        int component = ref(compos.getComponent());
+        out.varint(COMPOSITION);
+        out.varint(container);
+        out.varint(component);
+      } else if (o instanceof Dep) {
+        Dep dep = (Dep) o;
+        int var = ref(dep.getVar());
+        int[] vars = refs(dep.getVarSet());
+        out.varint(DEP);
+        out.varint(var);
+        refs(out, vars);
+        out.fixed(dep.getProb());
+      } else if (o instanceof DependenceRelation) {
+        DependenceRelation dr = (DependenceRelation) o;
+        int comp = ref(dr.getComp());
+        int dep = ref(dr.getDep());
+        out.varint(DEPENDENCE);
+        out.varint(comp);
+        out.varint(dep);
+      } else if (o instanceof Deduction) {
+        Deduction deduc = (Deduction) o;
+        int[] premises = refs(deduc.getPremises());
+        int conclusion = ref(deduc.getConclusion());
+        out.varint(DEDUCTION);
+        out.varint(deduc.getType().ordinal());
+        refs(out, premises);
+        out.varint(conclusion);
+        out.varint(string(deduc.getName()));
+        out.fixed(deduc.getProb());
+      } else if (o instanceof DeductionCapability) {
+        DeductionCapability ded = (DeductionCapability) o;
+        int comp = ref(ded.getComp());
+        int[] deducs = refs(ded.getDeducSet());
+        out.varint(CAPABILITY);
+        out.varint(comp);
+        refs(out, deducs);
+      } else if (o instanceof Property) {
+        Property prop = (Property) o;
+        int[] fields = {ref(prop.getOwner()), ref(prop.getVar()), ref(prop.getEq()), ref(prop.getSt1()),
+            ref(prop.getSt2()), ref(prop.getDt())};
+        out.varint(PROPERTY);
+        out.varint(prop.getType().ordinal());
+        for (int field : fields) {
+          out.varint(field);
+        }
+        out.varint((prop.getProb() != null ? 1 : 0) | (prop.getBound() != null ? 2 : 0));
+        if (prop.getProb() != null) {
+          out.fixed(prop.getProb());
+        }
+        if (prop.getBound() != null) {
+          out.varint(prop.getBound());
+        }
+      } else if (o instanceof PurposeHierarchy) {
+        PurposeHierarchy purpHier = (PurposeHierarchy) o;
+        int[] purposes = refs(purpHier.getPurposes());
+        boolean[][] am = purpHier.getAM();
+        out.varint(HIERARCHY);
+        refs(out, purposes);
+        out.varint(am.length);
+        for (boolean[] row : am) {
+          out.varint(row.length);
+          for (boolean b : row) {
+            out.write(b ? 1 : 0);
+          }
+        }
+      } else {
+        throw new IllegalArgumentException("Can not write " + o.getClass().getName());
+      }
+      records.write(out.toByteArray(), 0, out.size());
+      return count++;
+    }
+
+    private void refs(Encoder out, int[] refs) {
+      if (refs == null) {
+        out.varint(0);
+        return;
+      }
+      out.varint(refs.length + 1);
+      for (int ref : refs) {
+        out.varint(ref);
+      }
+    }
+  }
+
+  /**
+   * The state of reading a model, i.e., the strings and the entities read so far.
+   */
+  private static class Reader {
+    private final ByteBuffer buffer;
+    private String[] strings;
+    private Object[] table;
+
+    private Reader(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    private int varint() {
+      int value = 0;
+      for (int shift = 0; ; shift += 7) {
+        byte b = buffer.get();
+        value |= (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+    }
+
+    private String string() {
+      int ref = varint();
+      return ref == 0 ? null : strings[ref - 1];
+    }
+
+    private Object ref() {
+      int ref = varint();
+      return ref == 0 ? null : table[ref - 1];
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Set<T> set() {
+      int size = varint();
+      if (size == 0) {
+        return null;
+      }
+      Set<T> set = new LinkedHashSet<T>();
+      for (int i = 1; i < size; i++) {
+        set.add((T) ref());
+      }
+      return set;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> list() {
+      int size = varint();
+      List<T> list = new ArrayList<T>();
+      for (int i = 1; i < size; i++) {
+        list.add((T) ref());
+      }
+      return list;
+    }
+
+    private Object record() throws IOException {
+      int tag = varint();
+      switch (tag) {
+      case VARIABLE:
+        return new Variable(string(), string());
+      case COMPONENT:
+        return new Component(string(), string());
+      case TERM: {
+        TermType type = TermType.values()[varint()];
+        int opType = varint();
+        int op = varint();
+        String funcName = string();
+        Variable atom = (Variable) ref();
+        Term t1 = (Term) ref();
+        Term t2 = (Term) ref();
+        Term t3 = (Term) ref();
+        return new Term(type, opType == 0 ? null : OperatorType.values()[opType - 1],
+            op == 0 ? null : Operator.values()[op - 1], funcName, atom, t1, t2, t3, varint() != 0);
+      }
+      case EQUATION: {
+        String name = string();
+        Type type = Type.values()[varint()];
+        int rel = varint();
+        return new Equation(name, type, rel == 0 ? null : Relation.values()[rel - 1],
+            (Term) ref(), (Term) ref(), (Equation) ref(), (Equation) ref());
+      }
+      case PURPOSE:
+        return new Purpose(string(), this.<Variable>set());
+      case DATATYPE:
+        return new DataType(string(), this.<Variable>set());
+      case ATTEST:
+        return new Attest((Component) ref(), this.<Equation>set());
+      case PROOF:
+        return new Proof((Component) ref(), this.<P>set());
+      case ACTION: {
+        ActionType type = ActionType.values()[varint()];
+        Component component = (Component) ref();
+        Variable var = (Variable) ref();
+        Equation eq = (Equation) ref();
+        Component comPartner = (Component) ref();
+        Proof pro = (Proof) ref();
+        Attest att = (Attest) ref();
+        Purpose purp = (Purpose) ref();
+        DataType dt = (DataType) ref();
+        Set<Variable> varSet = set();
+        Set<Equation> eqSet = set();
+        Set<Statement> stSet = set();
+        return new Action(type, component, var, eq, comPartner, varSet, eqSet, stSet, pro, att, purp, dt);
+      }
+      case TRUST:
+        return new Trust((Component) ref(), (Component) ref(), this.<Variable>set());
+      case COMPOSITION:
+        return new Composition((Component) ref(), (Component) ref());
+      case DEP:
+        return new Dep((Variable) ref(), this.<Variable>set(), buffer.getDouble());
+      case DEPENDENCE:
+        return new DependenceRelation((Component) ref(), (Dep) ref());
+      case DEDUCTION: {
+        Deduction.Type type = Deduction.Type.values()[varint()];
+        Set<Equation> premises = set();
+        Equation conclusion = (Equation) ref();
+        return new Deduction(type, premises, conclusion, string(), buffer.getDouble());
+      }
+      case CAPABILITY:
+        return new DeductionCapability((Component) ref(), this.<Deduction>set());
+      case PROPERTY: {
+        PropertyType type = PropertyType.values()[varint()];
+        Component owner = (Component) ref();
+        Variable var = (Variable) ref();
+        Equation eq = (Equation) ref();
+        Property st1 = (Property) ref();
+        Property st2 = (Property) ref();
+        DataType dt = (DataType) ref();
+        int present = varint();
+        Double prob = (present & 1) != 0 ? buffer.getDouble() : null;
+        Integer bound = (present & 2) != 0 ? varint() : null;
+        return new Property(type, owner, prob, bound, var, eq, st1, st2, dt);
+      }
+      case HIERARCHY: {
+        List<Purpose> purposes = list();
+        PurposeHierarchy purpHier = new PurposeHierarchy();
+        // replace the default top and bot with the written purposes
+        purpHier.getPurposes().clear();
+        purpHier.getPurposes().addAll(purposes);
+        boolean[][] am = new boolean[varint()][];
+        for (int i = 0; i < am.length; i++) {
+          am[i] = new boolean[varint()];
+          for (int j = 0; j < am[i].length; j++) {
+            am[i][j] = buffer.get() != 0;
+          }
+        }
+        purpHier.setAM(am);
+        return purpHier;
+      }
+      default:
+        throw new IOException("Unknown record " + tag);
+      }
+    }
+  }
+}
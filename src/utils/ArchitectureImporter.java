@@ -0,0 +1,525 @@
+package utils;
+
+import gui.ArchitectureFunctions;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import architecture.Action;
+import architecture.Action.ActionType;
+import architecture.Attest;
+import architecture.Component;
+import architecture.Composition;
+import architecture.DataType;
+import architecture.Deduction;
+import architecture.DeductionCapability;
+import architecture.Dep;
+import architecture.DependenceRelation;
+import architecture.Equation;
+import architecture.Equation.Relation;
+import architecture.Equation.Type;
+import architecture.P;
+import architecture.Proof;
+import architecture.Purpose;
+import architecture.Statement;
+import architecture.Term;
+import architecture.Term.Operator;
+import architecture.Term.OperatorType;
+import architecture.Term.TermType;
+import architecture.Trust;
+import architecture.Variable;
+import properties.Property;
+import properties.Property.PropertyType;
+
+/**
+ * Streaming importer for architectures in a declarative text format.
+ * Every line declares one entity and may only refer to entities declared before,
+ * so that the file is read in a single pass. Names are resolved with hash maps.
+ * Empty lines and lines starting with '#' are ignored. Sets are written in braces
+ * and separated by commas, e.g. {x,y}.
+ *
+ * <pre>
+ * component &lt;name&gt; [&lt;instance&gt;]
+ * variable &lt;name&gt; [&lt;instance&gt;]
+ * match &lt;name&gt;                                   (match variable for deductions)
+ * term &lt;name&gt; &lt;function&gt; &lt;t1&gt; [&lt;t2&gt; [&lt;t3&gt;]]     (function: a name, +, *, - or /)
+ * equation &lt;name&gt; &lt;t1&gt; &lt;relation&gt; &lt;t2&gt;          (relation: =, !=, &lt;, &gt;, &lt;= or &gt;=)
+ * equation &lt;name&gt; &lt;e1&gt; AND &lt;e2&gt;
+ * trust &lt;comp1&gt; &lt;comp2&gt;
+ * composition &lt;container&gt; &lt;component&gt;
+ * purpose &lt;name&gt; {vars} [{parents} [{children}]]
+ * datatype &lt;name&gt; {vars}
+ * attest &lt;name&gt; &lt;comp&gt; {equations}
+ * proof &lt;name&gt; &lt;comp&gt; {equations and attests}
+ * has|delete &lt;comp&gt; &lt;var&gt;
+ * compute &lt;comp&gt; &lt;equation&gt;
+ * check &lt;comp&gt; {equations}
+ * receive &lt;comp1&gt; &lt;comp2&gt; {vars} [{statements}]
+ * preceive &lt;comp1&gt; &lt;comp2&gt; &lt;purpose&gt; {vars}
+ * creceive &lt;comp1&gt; &lt;comp2&gt; &lt;datatype&gt; {vars}
+ * permission|revoke &lt;comp1&gt; &lt;comp2&gt; &lt;datatype&gt;
+ * verify &lt;comp&gt; &lt;statement&gt;
+ * dep &lt;comp&gt; &lt;var&gt; {vars} &lt;probability&gt;
+ * deduction &lt;name&gt; {premises} &lt;conclusion&gt; &lt;probability&gt; [TRANS|SUBST|HOMO|ELSE]
+ * deductions &lt;comp&gt; {deductions}
+ * property &lt;name&gt; has &lt;comp&gt; &lt;var&gt; [&lt;probability&gt;]
+ * property &lt;name&gt; knows &lt;comp&gt; &lt;equation&gt; [&lt;probability&gt;]
+ * property &lt;name&gt; notshared &lt;comp&gt; &lt;var&gt;
+ * property &lt;name&gt; notstored &lt;comp&gt; &lt;var&gt; &lt;bound&gt;
+ * property &lt;name&gt; notpurp &lt;comp&gt;
+ * property &lt;name&gt; consentviolated &lt;comp&gt; &lt;datatype&gt;
+ * property &lt;name&gt; and &lt;prop1&gt; &lt;prop2&gt;
+ * property &lt;name&gt; not &lt;prop&gt;
+ * </pre>
+ */
+public class ArchitectureImporter {
+
+  // Class fields
+  private final ArchitectureFunctions archFunc;
+  private final Map<String, Component> components;
+  private final Map<String, Variable> variables;
+  private final Map<String, Term> terms;
+  private final Map<String, Equation> equations;
+  private final Map<String, Purpose> purposes;
+  private final Map<String, DataType> dataTypes;
+  private final Map<String, Statement> statements;
+  private final Map<String, Deduction> deductions;
+  private final Map<String, Property> properties;
+  private int lineNumber;
+
+  /**
+   * The Constructor for an importer into an empty architecture.
+   */
+  public ArchitectureImporter() {
+    this(new ArchitectureFunctions());
+  }
+
+  /**
+   * The Constructor for an importer that adds to an existing architecture.
+   * The existing entities can be referenced by their names, i.e., their string
+   * representations, and equations and deductions also by their declared names.
+   *
+   * @param archFunc
+   *          the architecture for the GUI to add to
+   */
+  public ArchitectureImporter(ArchitectureFunctions archFunc) {
+    this.archFunc = archFunc;
+    components = new HashMap<String, Component>();
+    variables = new HashMap<String, Variable>();
+    terms = new HashMap<String, Term>();
+    equations = new HashMap<String, Equation>();
+    purposes = new HashMap<String, Purpose>();
+    dataTypes = new HashMap<String, DataType>();
+    statements = new HashMap<String, Statement>();
+    deductions = new HashMap<String, Deduction>();
+    properties = new HashMap<String, Property>();
+    lineNumber = 0;
+    // the existing entities (at least the default deductions) can be referenced
+    register(components, archFunc.getcSet());
+    register(variables, archFunc.getvSet());
+    register(terms, archFunc.gettSet());
+    register(equations, archFunc.geteSet());
+    register(purposes, archFunc.getpuSet());
+    register(dataTypes, archFunc.getdtSet());
+    register(statements, archFunc.getstSet());
+    register(properties, archFunc.getpSet());
+    for (Equation eq : archFunc.geteSet()) {
+      equations.put(eq.getName(), eq);
+    }
+    for (Deduction deduc : archFunc.getDeducs()) {
+      deductions.put(deduc.getName(), deduc);
+    }
+  }
+
+  /**
+   * Static method that imports an architecture from a file.
+   *
+   * @param file
+   *          the file to read
+   * @return the architecture for the GUI with the architecture already built
+   * @throws IOException
+   *          if the file can not be read or contains an invalid line
+   */
+  public static ArchitectureFunctions importArch(Path file) throws IOException {
+    try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      return importArch(in);
+    }
+  }
+
+  /**
+   * Static method that imports an architecture from a reader.
+   *
+   * @param in
+   *          the reader
+   * @return the architecture for the GUI with the architecture already built
+   * @throws IOException
+   *          if the input can not be read or contains an invalid line
+   */
+  public static ArchitectureFunctions importArch(Reader in) throws IOException {
+    ArchitectureImporter importer = new ArchitectureImporter();
+    BufferedReader reader = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in);
+    String line;
+    while ((line = reader.readLine()) != null) {
+      importer.readLine(line);
+    }
+    return importer.build();
+  }
+
+  /**
+   * Method that reads a single line of the format.
+   *
+   * @param line
+   *          the line
+   * @throws IOException
+   *          if the line is invalid
+   */
+  public void readLine(String line) throws IOException {
+    lineNumber++;
+    List<String> tokens = tokenize(line);
+    if (tokens.isEmpty() || tokens.get(0).startsWith("#")) {
+      return;
+    }
+    try {
+      declare(tokens);
+    } catch (IndexOutOfBoundsException e) {
+      throw error("missing argument");
+    } catch (IllegalArgumentException e) {
+      // also covers invalid numbers
+      throw error(e.getMessage());
+    }
+  }
+
+  /**
+   * Method that builds the architecture from all lines read so far.
+   *
+   * @return the architecture for the GUI
+   */
+  public ArchitectureFunctions build() {
+    archFunc.build();
+    return archFunc;
+  }
+
+  private void declare(List<String> t) throws IOException {
+    String keyword = t.get(0).toLowerCase();
+    switch (keyword) {
+    case "component": {
+      Component comp = new Component(t.get(1), t.size() > 2 ? t.get(2) : null);
+      put(components, t.get(1), comp);
+      archFunc.getcSet().add(comp);
+      break;
+    }
+    case "variable": {
+      Variable var = new Variable(t.get(1), t.size() > 2 ? t.get(2) : null);
+      put(variables, t.get(1), var);
+      archFunc.getvSet().add(var);
+      // the variable can be used as a term
+      Term term = new Term(TermType.ATOM, var, false);
+      put(terms, t.get(1), term);
+      archFunc.gettSet().add(term);
+      break;
+    }
+    case "match":
+      put(terms, t.get(1), new Term(TermType.ATOM, new Variable(t.get(1)), true));
+      break;
+    case "term":
+      put(terms, t.get(1), term(t));
+      archFunc.gettSet().add(terms.get(t.get(1)));
+      break;
+    case "equation": {
+      Equation eq;
+      if (t.get(3).equals("AND")) {
+        eq = new Equation(t.get(1), Type.CONJUNCTION, get(equations, t.get(2)), get(equations, t.get(4)));
+      } else {
+        eq = new Equation(t.get(1), Type.RELATION, relation(t.get(3)), get(terms, t.get(2)), get(terms, t.get(4)));
+      }
+      put(equations, t.get(1), eq);
+      archFunc.geteSet().add(eq);
+      break;
+    }
+    case "trust":
+      archFunc.gettrustSet().add(new Trust(get(components, t.get(1)), get(components, t.get(2))));
+      break;
+    case "composition":
+      archFunc.getcomposSet().add(new Composition(get(components, t.get(1)), get(components, t.get(2))));
+      break;
+    case "purpose": {
+      Purpose purp = new Purpose(t.get(1), set(variables, t.get(2)));
+      Set<Purpose> parents = t.size() > 3 ? set(purposes, t.get(3)) : new LinkedHashSet<Purpose>();
+      Set<Purpose> children = t.size() > 4 ? set(purposes, t.get(4)) : new LinkedHashSet<Purpose>();
+      put(purposes, t.get(1), purp);
+      archFunc.getpuSet().add(purp);
+      archFunc.getPurpHier().addPurpose(purp, parents, children);
+      break;
+    }
+    case "datatype": {
+      DataType dt = new DataType(t.get(1), set(variables, t.get(2)));
+      put(dataTypes, t.get(1), dt);
+      archFunc.getdtSet().add(dt);
+      break;
+    }
+    case "attest": {
+      Attest att = new Attest(get(components, t.get(2)), set(equations, t.get(3)));
+      put(statements, t.get(1), att);
+      archFunc.getstSet().add(att);
+      break;
+    }
+    case "proof": {
+      Set<P> ps = new LinkedHashSet<P>();
+      for (String name : elements(t.get(3))) {
+        if (equations.containsKey(name)) {
+          ps.add(equations.get(name));
+        } else if (statements.get(name) instanceof Attest) {
+          ps.add((Attest) statements.get(name));
+        } else {
+          throw error("unknown equation or attest '" + name + "'");
+        }
+      }
+      Proof pro = new Proof(get(components, t.get(2)), ps);
+      put(statements, t.get(1), pro);
+      archFunc.getstSet().add(pro);
+      break;
+    }
+    case "has":
+      action(new Action(ActionType.HAS, get(components, t.get(1)), get(variables, t.get(2))));
+      break;
+    case "delete":
+      action(new Action(ActionType.DELETE, get(components, t.get(1)), get(variables, t.get(2))));
+      break;
+    case "compute":
+      action(new Action(ActionType.COMPUTE, get(components, t.get(1)), get(equations, t.get(2))));
+      break;
+    case "check":
+      action(new Action(ActionType.CHECK, get(components, t.get(1)), set(equations, t.get(2))));
+      break;
+    case "receive":
+      action(new Action(ActionType.RECEIVE, get(components, t.get(1)), get(components, t.get(2)),
+          t.size() > 4 ? set(statements, t.get(4)) : new LinkedHashSet<Statement>(), set(variables, t.get(3))));
+      break;
+    case "preceive":
+      action(new Action(ActionType.PRECEIVE, get(components, t.get(1)), get(components, t.get(2)),
+          get(purposes, t.get(3)), set(variables, t.get(4))));
+      break;
+    case "creceive":
+      action(new Action(ActionType.CRECEIVE, get(components, t.get(1)), get(components, t.get(2)),
+          get(dataTypes, t.get(3)), set(variables, t.get(4))));
+      break;
+    case "permission":
+      action(new Action(ActionType.PERMISSION, get(components, t.get(1)), get(components, t.get(2)),
+          get(dataTypes, t.get(3))));
+      break;
+    case "revoke":
+      action(new Action(ActionType.REVOKE, get(components, t.get(1)), get(components, t.get(2)),
+          get(dataTypes, t.get(3))));
+      break;
+    case "verify": {
+      Statement st = get(statements, t.get(2));
+      if (st instanceof Proof) {
+        action(new Action(ActionType.VERIF_P, get(components, t.get(1)), (Proof) st));
+      } else {
+        action(new Action(ActionType.VERIF_A, get(components, t.get(1)), (Attest) st));
+      }
+      break;
+    }
+    case "dep":
+      archFunc.getdSet().add(new DependenceRelation(get(components, t.get(1)),
+          new Dep(get(variables, t.get(2)), set(variables, t.get(3)), Double.parseDouble(t.get(4)))));
+      break;
+    case "deduction": {
+      Deduction.Type type = t.size() > 5 ? Deduction.Type.valueOf(t.get(5).toUpperCase()) : Deduction.Type.ELSE;
+      Deduction deduc = new Deduction(type, set(equations, t.get(2)), get(equations, t.get(3)), t.get(1),
+          Double.parseDouble(t.get(4)));
+      // later declarations replace the default deductions
+      deductions.put(t.get(1), deduc);
+      archFunc.getDeducs().add(deduc);
+      break;
+    }
+    case "deductions":
+      archFunc.getdedSet().add(new DeductionCapability(get(components, t.get(1)), set(deductions, t.get(2))));
+      break;
+    case "property": {
+      Property prop = property(t);
+      put(properties, t.get(1), prop);
+      archFunc.getpSet().add(prop);
+      break;
+    }
+    default:
+      throw error("unknown keyword '" + t.get(0) + "'");
+    }
+  }
+
+  private Term term(List<String> t) throws IOException {
+    List<Term> args = new ArrayList<Term>();
+    for (int i = 3; i < t.size(); i++) {
+      args.add(get(terms, t.get(i)));
+    }
+    Operator op;
+    switch (t.get(2)) {
+    case "+":
+      op = Operator.ADD;
+      break;
+    case "*":
+      op = Operator.MULT;
+      break;
+    case "-":
+      op = Operator.SUB;
+      break;
+    case "/":
+      op = Operator.DIV;
+      break;
+    default:
+      op = Operator.FUNC;
+      break;
+    }
+    String funcName = op == Operator.FUNC ? t.get(2) : null;
+    switch (args.size()) {
+    case 1:
+      return new Term(TermType.COMPOSITION, OperatorType.UNARY, op, funcName, args.get(0), false);
+    case 2:
+      return new Term(TermType.COMPOSITION, OperatorType.BINARY, op, funcName, args.get(0), args.get(1), false);
+    case 3:
+      return new Term(TermType.COMPOSITION, OperatorType.TERTIARY, op, funcName,
+          args.get(0), args.get(1), args.get(2), false);
+    default:
+      throw error("a term needs one to three arguments");
+    }
+  }
+
+  private Property property(List<String> t) throws IOException {
+    switch (t.get(2).toLowerCase()) {
+    case "has":
+      return new Property(PropertyType.HAS, get(components, t.get(3)), probability(t, 5),
+          get(variables, t.get(4)));
+    case "knows":
+      return new Property(PropertyType.KNOWS, get(components, t.get(3)), probability(t, 5),
+          get(equations, t.get(4)));
+    case "notshared":
+      return new Property(PropertyType.NOTSHARED, get(components, t.get(3)), get(variables, t.get(4)));
+    case "notstored":
+      return new Property(PropertyType.NOTSTORED, get(components, t.get(3)), get(variables, t.get(4)),
+          Integer.parseInt(t.get(5)));
+    case "notpurp":
+      return new Property(PropertyType.NOTPURP, get(components, t.get(3)));
+    case "consentviolated":
+      return new Property(PropertyType.CONSENTVIOLATED, get(components, t.get(3)), get(dataTypes, t.get(4)));
+    case "and":
+      return new Property(PropertyType.CONJUNCTION, get(properties, t.get(3)), get(properties, t.get(4)));
+    case "not":
+      return new Property(PropertyType.NEGATION, get(properties, t.get(3)));
+    default:
+      throw error("unknown property type '" + t.get(2) + "'");
+    }
+  }
+
+  private Double probability(List<String> t, int index) {
+    return t.size() > index ? Double.parseDouble(t.get(index)) : 1.0;
+  }
+
+  private Relation relation(String rel) throws IOException {
+    switch (rel) {
+    case "=":
+      return Relation.EQUALITY;
+    case "!=":
+      return Relation.INEQUALITY;
+    case "<":
+      return Relation.LESSTHAN;
+    case ">":
+      return Relation.GREATERTHAN;
+    case "<=":
+      return Relation.LESSEQUAL;
+    case ">=":
+      return Relation.GREATEREQUAL;
+    default:
+      throw error("unknown relation '" + rel + "'");
+    }
+  }
+
+  private void action(Action action) {
+    archFunc.getaSet().add(action);
+  }
+
+  private static <T> void register(Map<String, T> map, Set<T> entities) {
+    if (entities != null) {
+      for (T entity : entities) {
+        map.put(entity.toString(), entity);
+      }
+    }
+  }
+
+  private <T> void put(Map<String, T> map, String name, T entity) throws IOException {
+    if (map.put(name, entity) != null) {
+      throw error("'" + name + "' is already declared");
+    }
+  }
+
+  private <T> T get(Map<String, T> map, String name) throws IOException {
+    T entity = map.get(name);
+    if (entity == null) {
+      throw error("unknown name '" + name + "'");
+    }
+    return entity;
+  }
+
+  private <T> Set<T> set(Map<String, T> map, String token) throws IOException {
+    Set<T> set = new LinkedHashSet<T>();
+    for (String name : elements(token)) {
+      set.add(get(map, name));
+    }
+    return set;
+  }
+
+  private List<String> elements(String token) throws IOException {
+    if (!token.startsWith("{") || !token.endsWith("}")) {
+      throw error("expected a set in braces instead of '" + token + "'");
+    }
+    List<String> elements = new ArrayList<String>();
+    for (String name : token.substring(1, token.length() - 1).split(",")) {
+      if (!name.trim().isEmpty()) {
+        elements.add(name.trim());
+      }
+    }
+    return elements;
+  }
+
+  private IOException error(String message) {
+    return new IOException("Line " + lineNumber + ": " + message);
+  }
+
+  /**
+   * Helper method that splits a line at white space, where sets in braces are single tokens.
+   */
+  private static List<String> tokenize(String line) {
+    List<String> tokens = new ArrayList<String>();
+    StringBuilder token = new StringBuilder();
+    int depth = 0;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (c == '{') {
+        depth++;
+      } else if (c == '}') {
+        depth--;
+      }
+      if (Character.isWhitespace(c) && depth == 0) {
+        if (token.length() > 0) {
+          tokens.add(token.toString());
+          token.setLength(0);
+        }
+      } else {
+        token.append(c);
+      }
+    }
+    if (token.length() > 0) {
+      tokens.add(token.toString());
+    }
+    return tokens;
+  }
+}
@@ -0,0 +1,224 @@
+package utils;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+/**
+ * Insertion-ordered set that additionally indexes its elements by their names,
+ * i.e., the string returned by toString() when the element is added.
+ * Lookups by name take constant time instead of a scan over the set.
+ * If several elements have the same name, the one added last is returned.
+ * The index is built on the first lookup, so that filling a set in bulk does not
+ * compute any names, and is kept in sync on every change afterwards.
+ * An optional observer is informed about every change, e.g. to update a view.
+ *
+ * @param <T>
+ *          the type of the elements
+ */
+public class IndexedSet<T> extends AbstractSet<T> implements Serializable {
+
+  /**
+   * Observer of the changes of a set.
+   *
+   * @param <T>
+   *          the type of the elements
+   */
+  public interface Observer<T> {
+
+    /**
+     * Method that is called after an element was added.
+     *
+     * @param e
+     *          the element
+     */
+    void added(T e);
+
+    /**
+     * Method that is called after an element was removed.
+     *
+     * @param o
+     *          the removed element or an equal object
+     */
+    void removed(Object o);
+
+    /**
+     * Method that is called after all elements were removed.
+     */
+    void cleared();
+  }
+
+  /**
+   * @serial Serial ID for storing architecture objects in files.
+   */
+  private static final long serialVersionUID = -3170563921845521937L;
+
+  // Class fields
+  private LinkedHashSet<T> elements;
+  // null until the first lookup
+  private Map<String, T> byName;
+  // number of elements whose name was already taken when they were added
+  private int collisions;
+  // not saved with the set
+  private transient Observer<? super T> observer;
+
+  /**
+   * The Constructor for an empty set.
+   */
+  public IndexedSet() {
+    elements = new LinkedHashSet<T>();
+    byName = null;
+    collisions = 0;
+  }
+
+  /**
+   * The Constructor for a set with the elements of a collection.
+   *
+   * @param c
+   *          the elements to add
+   */
+  public IndexedSet(Collection<? extends T> c) {
+    this();
+    addAll(c);
+  }
+
+  /**
+   * Method that returns the element with the given name.
+   *
+   * @param name
+   *          the name, i.e., the string representation of the element
+   * @return the element or null, if there is no such element
+   */
+  public T get(String name) {
+    if (name == null) {
+      return null;
+    }
+    if (byName == null) {
+      byName = new HashMap<String, T>();
+      for (T e : elements) {
+        index(e);
+      }
+    }
+    return byName.get(name);
+  }
+
+  @Override
+  public boolean add(T e) {
+    if (!elements.add(e)) {
+      return false;
+    }
+    if (byName != null) {
+      index(e);
+    }
+    if (observer != null) {
+      observer.added(e);
+    }
+    return true;
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    if (!elements.remove(o)) {
+      return false;
+    }
+    if (byName != null) {
+      unindex(o);
+    }
+    if (observer != null) {
+      observer.removed(o);
+    }
+    return true;
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return elements.contains(o);
+  }
+
+  @Override
+  public void clear() {
+    elements.clear();
+    byName = null;
+    collisions = 0;
+    if (observer != null) {
+      observer.cleared();
+    }
+  }
+
+  @Override
+  public int size() {
+    return elements.size();
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    final Iterator<T> it = elements.iterator();
+    return new Iterator<T>() {
+      private T current;
+
+      @Override
+      public boolean hasNext() {
+        return it.hasNext();
+      }
+
+      @Override
+      public T next() {
+        current = it.next();
+        return current;
+      }
+
+      @Override
+      public void remove() {
+        it.remove();
+        if (byName != null) {
+          unindex(current);
+        }
+        if (observer != null) {
+          observer.removed(current);
+        }
+      }
+    };
+  }
+
+  /**
+   * Method that sets the observer of the set, which replaces the previous one.
+   *
+   * @param observer
+   *          the observer or null
+   */
+  public void setObserver(Observer<? super T> observer) {
+    this.observer = observer;
+  }
+
+  private void index(T e) {
+    if (byName.put(String.valueOf(e), e) != null) {
+      collisions++;
+    }
+  }
+
+  private void unindex(Object o) {
+    String name = String.valueOf(o);
+    T indexed = byName.get(name);
+    if (indexed == null || !indexed.equals(o)) {
+      // another element with the same name is indexed
+      collisions--;
+      return;
+    }
+    byName.remove(name);
+    if (collisions > 0) {
+      // fall back to the last remaining element with the same name
+      for (T e : elements) {
+        if (name.equals(String.valueOf(e))) {
+          byName.put(name, e);
+        }
+      }
+      if (byName.containsKey(name)) {
+        collisions--;
+      }
+    }
+  }
+}
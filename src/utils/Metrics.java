@@ -0,0 +1,270 @@
+package utils;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * The metrics of the verifications in a {@link VerificationContext}, i.e. counters with
+ * histograms of the recorded values, which show where the time of the verification of a
+ * model goes. The metrics can be read with {@link #getMetrics()} or in a JMX client, if
+ * they are {@link #register(String) registered}. Times are recorded in nanoseconds.
+ */
+public class Metrics implements MetricsMXBean {
+
+  // the names of the metrics that are recorded by the tool
+  public static final String BUILD = "architecture.build";
+  public static final String CONSISTENCY = "consistency.check";
+  // followed by the name of the rule, e.g. rule.H1
+  public static final String RULE = "rule.";
+  public static final String MEMO_HIT = "memo.hit";
+  public static final String MEMO_MISS = "memo.miss";
+  public static final String DEDUCTION = "deduction.match";
+  // the size of the SMT2 scripts in bytes
+  public static final String SMT_SIZE = "smt.size";
+  public static final String SOLVER = "solver.time";
+  public static final String PROLOG = "prolog.goal";
+
+  // bucket i of a histogram counts the values from 2^(i-1) to below 2^i
+  private static final int BUCKETS = 64;
+
+  /**
+   * A counter with a histogram of the recorded values. The values are recorded without
+   * locks, so a metric can be recorded by several threads at once.
+   */
+  public static final class Metric {
+
+    // class fields
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    private Metric() {
+    }
+
+    /**
+     * Method that counts an event without a value, e.g. a hit of a cache.
+     */
+    public void increment() {
+      count.increment();
+    }
+
+    /**
+     * Method that records a value, e.g. a time in nanoseconds or a size.
+     *
+     * @param value
+     *          the value
+     */
+    public void record(long value) {
+      count.increment();
+      sum.add(value);
+      max.accumulate(value);
+      buckets.incrementAndGet(value <= 0 ? 0 : BUCKETS - Long.numberOfLeadingZeros(value));
+    }
+  }
+
+  /**
+   * The values of a metric at one point in time.
+   */
+  public static final class Snapshot {
+
+    // class fields
+    private final String name;
+    private final long count;
+    private final long sum;
+    private final long max;
+    private final long[] buckets;
+
+    private Snapshot(String name, Metric metric) {
+      this.name = name;
+      buckets = new long[BUCKETS];
+      for (int i = 0; i < BUCKETS; i++) {
+        buckets[i] = metric.buckets.get(i);
+      }
+      count = metric.count.sum();
+      sum = metric.sum.sum();
+      max = metric.max.get();
+    }
+
+    /**
+     * Method that returns an upper bound of a percentile of the recorded values, which is
+     * at most twice the percentile, as the histogram only knows the powers of two.
+     *
+     * @param fraction
+     *          the percentile as a fraction, e.g. 0.99
+     * @return the upper bound of the percentile, or 0 if no value was recorded
+     */
+    public long getPercentile(double fraction) {
+      long total = 0;
+      for (long bucket : buckets) {
+        total += bucket;
+      }
+      long rank = (long) Math.ceil(fraction * total);
+      long seen = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+        seen += buckets[i];
+        if (seen >= rank && seen > 0) {
+          long bound = i == 0 ? 0 : i == BUCKETS - 1 ? Long.MAX_VALUE : 1L << i;
+          return Math.min(bound, max);
+        }
+      }
+      return 0;
+    }
+
+    public double getMean() {
+      return count == 0 ? 0 : (double) sum / count;
+    }
+
+    public long getMedian() {
+      return getPercentile(0.5);
+    }
+
+    public long getPercentile99() {
+      return getPercentile(0.99);
+    }
+
+    // getter methods
+    public String getName() {
+      return name;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public long getSum() {
+      return sum;
+    }
+
+    public long getMax() {
+      return max;
+    }
+  }
+
+  // class fields
+  private final ConcurrentMap<String, Metric> metrics = new ConcurrentHashMap<String, Metric>();
+  private ObjectName objectName;
+
+  /**
+   * Method that returns a metric, which is created when it is used for the first time.
+   *
+   * @param name
+   *          the name of the metric
+   * @return the metric
+   */
+  public Metric get(String name) {
+    Metric metric = metrics.get(name);
+    if (metric == null) {
+      metric = metrics.computeIfAbsent(name, k -> new Metric());
+    }
+    return metric;
+  }
+
+  /**
+   * Method that counts an event of a metric without a value.
+   *
+   * @param name
+   *          the name of the metric
+   */
+  public void count(String name) {
+    get(name).increment();
+  }
+
+  /**
+   * Method that records a value of a metric.
+   *
+   * @param name
+   *          the name of the metric
+   * @param value
+   *          the value
+   */
+  public void record(String name, long value) {
+    get(name).record(value);
+  }
+
+  /**
+   * Method that records the time since a start, which was taken with
+   * {@link System#nanoTime()}.
+   *
+   * @param name
+   *          the name of the metric
+   * @param start
+   *          the start in nanoseconds
+   */
+  public void time(String name, long start) {
+    get(name).record(System.nanoTime() - start);
+  }
+
+  /**
+   * Method that returns the current values of a metric.
+   *
+   * @param name
+   *          the name of the metric
+   * @return the snapshot, or null if the metric was never recorded
+   */
+  public Snapshot getSnapshot(String name) {
+    Metric metric = metrics.get(name);
+    return metric == null ? null : new Snapshot(name, metric);
+  }
+
+  @Override
+  public List<Snapshot> getMetrics() {
+    List<Snapshot> snapshots = new ArrayList<Snapshot>();
+    for (Map.Entry<String, Metric> entry : new TreeMap<String, Metric>(metrics).entrySet()) {
+      snapshots.add(new Snapshot(entry.getKey(), entry.getValue()));
+    }
+    return snapshots;
+  }
+
+  @Override
+  public void reset() {
+    metrics.clear();
+  }
+
+  /**
+   * Method that registers the metrics in the platform MBean server, so that JMX clients
+   * can read them. Metrics that were registered before are registered under the new name.
+   *
+   * @param name
+   *          the name of the metrics, e.g. the name of the model
+   * @return success
+   */
+  public synchronized boolean register(String name) {
+    unregister();
+    try {
+      ObjectName object = new ObjectName("capverde:type=Metrics,name=" + ObjectName.quote(name));
+      ManagementFactory.getPlatformMBeanServer().registerMBean(this, object);
+      objectName = object;
+    } catch (JMException e) {
+      e.printStackTrace();
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Method that removes the metrics from the platform MBean server, if they are
+   * registered, e.g. when the model is not verified anymore.
+   */
+  public synchronized void unregister() {
+    if (objectName != null) {
+      try {
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+      } catch (JMException e) {
+        e.printStackTrace();
+      }
+      objectName = null;
+    }
+  }
+}
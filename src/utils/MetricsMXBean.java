@@ -0,0 +1,23 @@
+package utils;
+
+import java.util.List;
+
+/**
+ * The management interface of the {@link Metrics} of a {@link VerificationContext}, which
+ * shows the metrics in JMX clients, e.g. JConsole, under the object name
+ * capverde:type=Metrics,name=&lt;name&gt;.
+ */
+public interface MetricsMXBean {
+
+  /**
+   * Method that returns the current values of all metrics.
+   *
+   * @return the snapshots of the metrics ordered by their names
+   */
+  List<Metrics.Snapshot> getMetrics();
+
+  /**
+   * Method that resets all metrics, e.g. before the verification of a model is measured.
+   */
+  void reset();
+}
@@ -0,0 +1,334 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable hash map with structural sharing (a hash array mapped trie).
+ * Adding or removing a key returns a new map that shares all untouched nodes with
+ * the old one, so both only take O(log n) time and memory. Keys must not be null.
+ *
+ * @param <K>
+ *          the type of the keys
+ * @param <V>
+ *          the type of the values
+ */
+public final class PersistentMap<K, V> {
+
+  private static final Object NOT_FOUND = new Object();
+  private static final PersistentMap<?, ?> EMPTY = new PersistentMap<Object, Object>(BitmapNode.EMPTY, 0);
+
+  // Class fields
+  private final Node root;
+  private final int size;
+
+  private PersistentMap(Node root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  /**
+   * Static method that returns the empty map.
+   *
+   * @return the empty map
+   */
+  @SuppressWarnings("unchecked")
+  public static <K, V> PersistentMap<K, V> empty() {
+    return (PersistentMap<K, V>) EMPTY;
+  }
+
+  /**
+   * Method that returns the value of a key.
+   *
+   * @param key
+   *          the key
+   * @return the value or null, if the key is not contained
+   */
+  @SuppressWarnings("unchecked")
+  public V get(Object key) {
+    Object value = root.get(key, key.hashCode(), 0);
+    return value == NOT_FOUND ? null : (V) value;
+  }
+
+  /**
+   * Method that checks if a key is contained.
+   *
+   * @param key
+   *          the key
+   * @return true, if the key is contained
+   */
+  public boolean containsKey(Object key) {
+    return root.get(key, key.hashCode(), 0) != NOT_FOUND;
+  }
+
+  /**
+   * Method that returns a map with an additional or replaced mapping.
+   *
+   * @param key
+   *          the key
+   * @param value
+   *          the value
+   * @return the new map or this map, if the key is already mapped to the value
+   */
+  public PersistentMap<K, V> plus(K key, V value) {
+    boolean[] added = new boolean[1];
+    Node newRoot = root.plus(key, value, key.hashCode(), 0, added);
+    if (newRoot == root) {
+      return this;
+    }
+    return new PersistentMap<K, V>(newRoot, added[0] ? size + 1 : size);
+  }
+
+  /**
+   * Method that returns a map without the mapping of a key.
+   *
+   * @param key
+   *          the key
+   * @return the new map or this map, if the key is not contained
+   */
+  public PersistentMap<K, V> minus(Object key) {
+    Node newRoot = root.minus(key, key.hashCode(), 0);
+    if (newRoot == root) {
+      return this;
+    }
+    return new PersistentMap<K, V>(newRoot == null ? BitmapNode.EMPTY : newRoot, size - 1);
+  }
+
+  /**
+   * Method that passes all mappings to an action in no particular order.
+   *
+   * @param action
+   *          the action
+   */
+  @SuppressWarnings("unchecked")
+  public void forEach(BiConsumer<? super K, ? super V> action) {
+    root.forEach((BiConsumer<Object, Object>) action);
+  }
+
+  /**
+   * Method that returns all keys in no particular order.
+   *
+   * @return a new list of the keys
+   */
+  public List<K> keys() {
+    final List<K> keys = new ArrayList<K>(size);
+    forEach((k, v) -> keys.add(k));
+    return keys;
+  }
+
+  // getter methods
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * A node of the trie.
+   */
+  private abstract static class Node {
+    abstract Object get(Object key, int hash, int shift);
+
+    abstract Node plus(Object key, Object value, int hash, int shift, boolean[] added);
+
+    abstract Node minus(Object key, int hash, int shift);
+
+    abstract void forEach(BiConsumer<Object, Object> action);
+  }
+
+  /**
+   * Node with up to 32 slots that are selected by five bits of the hash. A slot holds
+   * either a key and its value or null and a sub-node.
+   */
+  private static final class BitmapNode extends Node {
+    private static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+    private final int bitmap;
+    private final Object[] array;
+
+    private BitmapNode(int bitmap, Object[] array) {
+      this.bitmap = bitmap;
+      this.array = array;
+    }
+
+    @Override
+    Object get(Object key, int hash, int shift) {
+      int bit = 1 << ((hash >>> shift) & 31);
+      if ((bitmap & bit) == 0) {
+        return NOT_FOUND;
+      }
+      int i = 2 * Integer.bitCount(bitmap & (bit - 1));
+      if (array[i] == null) {
+        return ((Node) array[i + 1]).get(key, hash, shift + 5);
+      }
+      return array[i].equals(key) ? array[i + 1] : NOT_FOUND;
+    }
+
+    @Override
+    Node plus(Object key, Object value, int hash, int shift, boolean[] added) {
+      int bit = 1 << ((hash >>> shift) & 31);
+      int i = 2 * Integer.bitCount(bitmap & (bit - 1));
+      if ((bitmap & bit) == 0) {
+        Object[] newArray = new Object[array.length + 2];
+        System.arraycopy(array, 0, newArray, 0, i);
+        newArray[i] = key;
+        newArray[i + 1] = value;
+        System.arraycopy(array, i, newArray, i + 2, array.length - i);
+        added[0] = true;
+        return new BitmapNode(bitmap | bit, newArray);
+      }
+      Object k = array[i];
+      Object v = array[i + 1];
+      Node child;
+      if (k == null) {
+        child = ((Node) v).plus(key, value, hash, shift + 5, added);
+        if (child == v) {
+          return this;
+        }
+      } else if (k.equals(key)) {
+        if (v == value) {
+          return this;
+        }
+        return replace(i + 1, value);
+      } else {
+        // both keys share the slot, so they are moved to a new sub-node
+        child = pair(k, v, key, value, hash, shift + 5);
+        added[0] = true;
+      }
+      Node node = replace(i + 1, child);
+      ((BitmapNode) node).array[i] = null;
+      return node;
+    }
+
+    @Override
+    Node minus(Object key, int hash, int shift) {
+      int bit = 1 << ((hash >>> shift) & 31);
+      if ((bitmap & bit) == 0) {
+        return this;
+      }
+      int i = 2 * Integer.bitCount(bitmap & (bit - 1));
+      if (array[i] == null) {
+        Node child = ((Node) array[i + 1]).minus(key, hash, shift + 5);
+        if (child == array[i + 1]) {
+          return this;
+        }
+        if (child != null) {
+          return replace(i + 1, child);
+        }
+      } else if (!array[i].equals(key)) {
+        return this;
+      }
+      if (bitmap == bit) {
+        return null;
+      }
+      Object[] newArray = new Object[array.length - 2];
+      System.arraycopy(array, 0, newArray, 0, i);
+      System.arraycopy(array, i + 2, newArray, i, array.length - i - 2);
+      return new BitmapNode(bitmap ^ bit, newArray);
+    }
+
+    @Override
+    void forEach(BiConsumer<Object, Object> action) {
+      for (int i = 0; i < array.length; i += 2) {
+        if (array[i] == null) {
+          ((Node) array[i + 1]).forEach(action);
+        } else {
+          action.accept(array[i], array[i + 1]);
+        }
+      }
+    }
+
+    private Node replace(int i, Object value) {
+      Object[] newArray = array.clone();
+      newArray[i] = value;
+      return new BitmapNode(bitmap, newArray);
+    }
+
+    private static Node pair(Object k1, Object v1, Object k2, Object v2, int hash2, int shift) {
+      int hash1 = k1.hashCode();
+      if (hash1 == hash2) {
+        return new CollisionNode(hash1, new Object[] {k1, v1, k2, v2});
+      }
+      boolean[] added = new boolean[1];
+      return EMPTY.plus(k1, v1, hash1, shift, added).plus(k2, v2, hash2, shift, added);
+    }
+  }
+
+  /**
+   * Node for keys that have the same hash.
+   */
+  private static final class CollisionNode extends Node {
+    private final int hash;
+    private final Object[] array;
+
+    private CollisionNode(int hash, Object[] array) {
+      this.hash = hash;
+      this.array = array;
+    }
+
+    @Override
+    Object get(Object key, int hash, int shift) {
+      int i = indexOf(key);
+      return i < 0 ? NOT_FOUND : array[i + 1];
+    }
+
+    @Override
+    Node plus(Object key, Object value, int hash, int shift, boolean[] added) {
+      if (hash != this.hash) {
+        // the new key differs in a later part of the hash
+        Node node = new BitmapNode(1 << ((this.hash >>> shift) & 31), new Object[] {null, this});
+        return node.plus(key, value, hash, shift, added);
+      }
+      int i = indexOf(key);
+      if (i >= 0) {
+        if (array[i + 1] == value) {
+          return this;
+        }
+        Object[] newArray = array.clone();
+        newArray[i + 1] = value;
+        return new CollisionNode(hash, newArray);
+      }
+      Object[] newArray = Arrays.copyOf(array, array.length + 2);
+      newArray[array.length] = key;
+      newArray[array.length + 1] = value;
+      added[0] = true;
+      return new CollisionNode(hash, newArray);
+    }
+
+    @Override
+    Node minus(Object key, int hash, int shift) {
+      int i = indexOf(key);
+      if (i < 0) {
+        return this;
+      }
+      if (array.length == 2) {
+        return null;
+      }
+      Object[] newArray = new Object[array.length - 2];
+      System.arraycopy(array, 0, newArray, 0, i);
+      System.arraycopy(array, i + 2, newArray, i, array.length - i - 2);
+      return new CollisionNode(hash, newArray);
+    }
+
+    @Override
+    void forEach(BiConsumer<Object, Object> action) {
+      for (int i = 0; i < array.length; i += 2) {
+        action.accept(array[i], array[i + 1]);
+      }
+    }
+
+    private int indexOf(Object key) {
+      for (int i = 0; i < array.length; i += 2) {
+        if (Objects.equals(array[i], key)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+  }
+}
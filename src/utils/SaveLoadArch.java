@@ -6,14 +6,19 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 /**
  * Class that helps with the serialization of architectures.
+ * Architectures are saved in the binary format of {@link ArchitectureFormat},
+ * files written with Java serialization can still be loaded.
  */
 public class SaveLoadArch {
 
   /**
-   * Static method that saves an architecture with all its objects for the GUI.
+   * Static method that saves the model of an architecture for the GUI.
    * @param archFunc
    *          the architecture from the GUI
    * @param name
@@ -21,6 +26,26 @@ public class SaveLoadArch {
    */
   public static void saveArch(ArchitectureFunctions archFunc, String name) {
 
+    // save the model into the 'saves' directory
+    Path path = Paths.get("./saves/" + name + ".arch");
+
+    try {
+      ArchitectureFormat.write(archFunc, path);
+    } catch (Exception ex) {
+      ex.printStackTrace();
+    }
+  }
+
+  /**
+   * Static method that saves an architecture with all its objects for the GUI
+   * with Java serialization.
+   * @param archFunc
+   *          the architecture from the GUI
+   * @param name
+   *          a name to save the file as
+   */
+  public static void saveArchSerialized(ArchitectureFunctions archFunc, String name) {
+
     // save all objects into the 'saves' directory
     String path = "./saves/" + name + ".ser";
 
@@ -35,24 +60,6 @@ public class SaveLoadArch {
     } catch (Exception ex) {
       ex.printStackTrace();
     }
-
-    /*
-     * // file and object stream FileOutputStream fout = null;
-     * ObjectOutputStream oos = null;
-     * 
-     * try { // create filestream from path fout = new FileOutputStream(path);
-     * oos = new ObjectOutputStream(fout); // write the architecture into file
-     * oos.writeObject(arch);
-     * 
-     * // Debug System.out.println("Written to disk");
-     * 
-     * } catch (FileNotFoundException e) { // TODO Auto-generated catch block
-     * e.printStackTrace(); } catch (IOException e) { // TODO Auto-generated
-     * catch block e.printStackTrace(); } finally {
-     * 
-     * }
-     */
-
   }
 
   /**
@@ -63,6 +70,18 @@ public class SaveLoadArch {
    */
   public static ArchitectureFunctions loadArch(String fileName) {
     ArchitectureFunctions archFunc = null;
+    Path path = Paths.get("./saves/" + fileName + ".arch");
+    if (Files.exists(path)) {
+      try {
+        archFunc = ArchitectureFormat.read(path);
+      } catch (Exception ex) {
+        ex.printStackTrace();
+        return null;
+      }
+      return archFunc;
+    }
+
+    // fall back to files written with Java serialization
     String filePath = "./saves/" + fileName + ".ser";
 
     // single line version
@@ -1,13 +1,14 @@
 package utils;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import properties.Property;
 
 /**
  * Objects that represent a buffer for tracing and logging messages.
+ * Every {@link VerificationContext} has its own buffer.
  */
 public class TraceBuffer {
 
@@ -19,9 +20,10 @@ public class TraceBuffer {
   }
 
   // class fields
-  private static String[] buffer = new String[100];
-  private static Map<Property, Integer> lookUp = new HashMap<Property, Integer>();
-  private static int position = 0;
+  // the finished traces of the top-level properties
+  private final Map<Property, String> lookUp = new ConcurrentHashMap<Property, String>();
+  // the trace that is currently written by each thread, as parsers may run in parallel
+  private final ThreadLocal<StringBuilder> current = ThreadLocal.withInitial(StringBuilder::new);
 
   /**
    * Method to get a logging information for a specific property.
@@ -30,8 +32,8 @@ public class TraceBuffer {
    *          the property to get the message for
    * @return the logging message
    */
-  public static String getMessage(Property property) {
-    return buffer[lookUp.get(property)];
+  public String getMessage(Property property) {
+    return lookUp.get(property);
   }
 
   /**
@@ -46,22 +48,43 @@ public class TraceBuffer {
    * @param type
    *          the kind of logging, e.g. start or end
    */
-  public static void logMessage(Property property, String message, int recurseDepth, LogType type) {
+  public void logMessage(Property property, String message, int recurseDepth, LogType type) {
+    StringBuilder buffer = current.get();
     if (recurseDepth == 0 && type == LogType.START) {
-      position++;
-      buffer[position] = "";
+      buffer.setLength(0);
     }
     String spacing = String.join("", Collections.nCopies(recurseDepth, "     "));
-    buffer[position] += spacing + message + System.lineSeparator();
+    buffer.append(spacing).append(message).append(System.lineSeparator());
     if (recurseDepth == 0 && type == LogType.END) {
-      if (lookUp.get(property) != null) {
-        // entry already exists, so update the buffer of the value
-        buffer[lookUp.get(property)] += System.lineSeparator()
-            + buffer[position] + System.lineSeparator();
-      } else {
-        lookUp.put(property, position);
-      }
+      // if an entry already exists, the new trace is appended
+      lookUp.merge(property, buffer.toString(),
+          (old, trace) -> old + System.lineSeparator() + trace + System.lineSeparator());
     }
   }
 
+  /**
+   * Method that replaces the trace that is currently written by this thread, e.g. to
+   * write the trace of a sub-goal that is verified for another thread.
+   *
+   * @param trace
+   *          the new trace of this thread
+   * @return the previous trace of this thread
+   */
+  public StringBuilder swap(StringBuilder trace) {
+    StringBuilder previous = current.get();
+    current.set(trace);
+    return previous;
+  }
+
+  /**
+   * Method that appends a part of a trace, e.g. the trace of a sub-goal that was verified
+   * by another thread, to the trace that is currently written by this thread.
+   *
+   * @param trace
+   *          the part of the trace
+   */
+  public void append(CharSequence trace) {
+    current.get().append(trace);
+  }
+
 }
@@ -0,0 +1,110 @@
+package utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import properties.ConsistencyListener;
+import solver.ConfigReader;
+
+/**
+ * The state of a verification job that is not shared with other jobs, i.e. the
+ * configuration of the solver, the traces, the listener for the consistency checks, the
+ * {@link Metrics} and the files the solvers are run on. The parsers, handlers and architectures take the
+ * context of their job, so that several architectures can be verified at the same time
+ * in one JVM, e.g. by the sessions of the {@link engine.VerificationDaemon}.
+ *
+ * <p>The {@link #getDefault() default context} is used by the GUI and by all code that
+ * does not pass a context. Other contexts take the configuration of the default context,
+ * unless they have their own, and write their solver files with a prefix of their own.
+ */
+public class VerificationContext {
+
+  // numbers the contexts for the names of their files
+  private static final AtomicInteger ids = new AtomicInteger();
+  private static final VerificationContext DEFAULT = new VerificationContext(0, null);
+
+  // class fields
+  private final int id;
+  // null to use the configuration of the default context
+  private volatile ConfigReader config;
+  private final TraceBuffer trace;
+  private volatile ConsistencyListener listener;
+  private final Metrics metrics = new Metrics();
+
+  /**
+   * The Constructor for a new context with the configuration of the default context.
+   */
+  public VerificationContext() {
+    this(ids.incrementAndGet(), null);
+  }
+
+  /**
+   * The Constructor for a new context with its own configuration.
+   *
+   * @param config
+   *          the configuration of the solver
+   */
+  public VerificationContext(ConfigReader config) {
+    this(ids.incrementAndGet(), config);
+  }
+
+  private VerificationContext(int id, ConfigReader config) {
+    this.id = id;
+    this.config = config;
+    trace = new TraceBuffer();
+  }
+
+  /**
+   * Static method that returns the default context, which is used by the GUI and by all
+   * code that does not pass a context.
+   *
+   * @return the default context
+   */
+  public static VerificationContext getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Method that returns the name of a file of this context, which is the name itself for
+   * the default context and has a prefix for the other contexts, so that the jobs do not
+   * overwrite the files of each other.
+   *
+   * @param name
+   *          the name of the file
+   * @return the name of the file of this context
+   */
+  public String getFileName(String name) {
+    if (id == 0 || name == null) {
+      return name;
+    }
+    return "context" + id + "_" + name;
+  }
+
+  // getter and setter methods
+  public ConfigReader getConfig() {
+    ConfigReader current = config;
+    if (current == null && this != DEFAULT) {
+      current = DEFAULT.getConfig();
+    }
+    return current == null ? ConfigReader.EMPTY : current;
+  }
+
+  public void setConfig(ConfigReader config) {
+    this.config = config;
+  }
+
+  public TraceBuffer getTrace() {
+    return trace;
+  }
+
+  public Metrics getMetrics() {
+    return metrics;
+  }
+
+  public ConsistencyListener getListener() {
+    return listener;
+  }
+
+  public void setListener(ConsistencyListener listener) {
+    this.listener = listener;
+  }
+}
@@ -0,0 +1,215 @@
+package utils;
+
+import architecture.Architecture;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import properties.Property;
+
+/**
+ * The Java Flight Recorder events of the main steps of a verification, so that slow jobs
+ * can be correlated with the GC and the I/O of the JVM in a recording, e.g. with
+ * -XX:StartFlightRecording. The events are only written if they are enabled in the
+ * settings of the recording, and the fields are only filled for events that are written,
+ * so the events cost almost nothing otherwise.
+ */
+public final class VerificationEvents {
+
+  private static final String CATEGORY = "CAPVerDE";
+
+  private VerificationEvents() {
+  }
+
+  /**
+   * A phase of {@link gui.ArchitectureFunctions#finish()}.
+   */
+  @Name("capverde.Phase")
+  @Label("Architecture Phase")
+  @Category(CATEGORY)
+  @Description("A phase of the creation of an architecture")
+  public static final class Phase extends Event {
+
+    @Label("Phase")
+    private final String phase;
+
+    public Phase(String phase) {
+      this.phase = phase;
+    }
+  }
+
+  /**
+   * The consistency check of an architecture.
+   */
+  @Name("capverde.Consistency")
+  @Label("Consistency Check")
+  @Category(CATEGORY)
+  @Description("The check of an architecture for consistency")
+  public static final class Consistency extends Event {
+
+    @Label("Actions")
+    private int actions;
+    @Label("Consistent")
+    private boolean consistent;
+
+    /**
+     * Method that ends the event and writes it, if it is recorded.
+     *
+     * @param arch
+     *          the architecture
+     * @param result
+     *          the result of the check
+     */
+    public void finish(Architecture arch, SuccessIndexPair result) {
+      if (shouldCommit()) {
+        actions = arch.getAllActions().size();
+        consistent = result.isSuccess();
+        commit();
+      }
+    }
+  }
+
+  /**
+   * The verification of a top-level statement by a parser.
+   */
+  @Name("capverde.Verification")
+  @Label("Verification")
+  @Category(CATEGORY)
+  @Description("The verification of a property by a parser")
+  public static final class Verification extends Event {
+
+    @Label("Parser")
+    private final String parser;
+    @Label("Property")
+    private String property;
+    @Label("Property Type")
+    private String propertyType;
+    @Label("Result")
+    private boolean result;
+
+    public Verification(Object parser) {
+      this.parser = parser.getClass().getSimpleName();
+    }
+
+    /**
+     * Method that ends the event and writes it, if it is recorded.
+     *
+     * @param statement
+     *          the verified statement
+     * @param result
+     *          true, if the statement holds
+     */
+    public void finish(Property statement, boolean result) {
+      if (shouldCommit()) {
+        property = statement.toString();
+        propertyType = statement.getType().name();
+        this.result = result;
+        commit();
+      }
+    }
+  }
+
+  /**
+   * The generation of a part of an SMT2 script.
+   */
+  @Name("capverde.SmtGeneration")
+  @Label("SMT Generation")
+  @Category(CATEGORY)
+  @Description("The generation of the declarations or of a statement of an SMT2 script")
+  public static final class SmtGeneration extends Event {
+
+    @Label("Property")
+    @Description("The statement, or null for the declarations")
+    private String property;
+    @Label("Script Size")
+    @DataAmount
+    private long size;
+
+    /**
+     * Method that ends the event and writes it, if it is recorded.
+     *
+     * @param statement
+     *          the statement, or null for the declarations
+     * @param script
+     *          the script after the generation
+     */
+    public void finish(Property statement, String script) {
+      if (shouldCommit()) {
+        property = statement == null ? null : statement.toString();
+        size = script.length();
+        commit();
+      }
+    }
+  }
+
+  /**
+   * A run of the SMT solver.
+   */
+  @Name("capverde.Solver")
+  @Label("Solver Run")
+  @Category(CATEGORY)
+  @Description("A run of the SMT solver on a script")
+  public static final class Solver extends Event {
+
+    @Label("Property")
+    private String property;
+    @Label("Bytes Written")
+    @DataAmount
+    private long bytesWritten;
+    @Label("Exit Status")
+    @Description("The exit status of the solver, or -1 if it was stopped or could not be run")
+    private int exitStatus;
+
+    /**
+     * Method that ends the event and writes it, if it is recorded.
+     *
+     * @param statement
+     *          the statement that was verified
+     * @param bytesWritten
+     *          the size of the script
+     * @param exitStatus
+     *          the exit status of the solver, or -1 if it was stopped or could not be run
+     */
+    public void finish(Property statement, long bytesWritten, int exitStatus) {
+      if (shouldCommit()) {
+        property = statement == null ? null : statement.toString();
+        this.bytesWritten = bytesWritten;
+        this.exitStatus = exitStatus;
+        commit();
+      }
+    }
+  }
+
+  /**
+   * A goal of the Prolog interpreter.
+   */
+  @Name("capverde.PrologGoal")
+  @Label("Prolog Goal")
+  @Category(CATEGORY)
+  @Description("The run of the Prolog goal of a property")
+  public static final class PrologGoal extends Event {
+
+    @Label("Property")
+    private String property;
+    @Label("Result")
+    private boolean result;
+
+    /**
+     * Method that ends the event and writes it, if it is recorded.
+     *
+     * @param statement
+     *          the statement of the goal
+     * @param result
+     *          true, if the goal succeeded
+     */
+    public void finish(Property statement, boolean result) {
+      if (shouldCommit()) {
+        property = statement.toString();
+        this.result = result;
+        commit();
+      }
+    }
+  }
+}
@@ -4,8 +4,34 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
+import diagrams.DiagramModelTest;
+import engine.VerificationDaemonTest;
+import engine.VerificationEngineTest;
+import gui.ArchitectureFunctionsTest;
+import properties.ModularVerifierTest;
+import properties.RuleStatisticsTest;
+import properties.RulesOfInferenceParserBottomupTest;
+import properties.SymmetryReductionTest;
+import solver.SolverExecutorTest;
+import utils.ArchGeneratorTest;
+import utils.ArchitectureFormatTest;
+import utils.ArchitectureImporterTest;
+import utils.IndexedSetTest;
+import utils.MetricsTest;
+import utils.PersistentMapTest;
+import utils.VerificationContextTest;
+import utils.VerificationEventsTest;
+
 @RunWith(Suite.class)
-@SuiteClasses({ PurposeHierarchyTest.class, ParserTest.class })
+@SuiteClasses({ PurposeHierarchyTest.class, ParserTest.class, StorageAnalysisTest.class,
+		EquationIndexTest.class, ComponentTest.class, UnifierTest.class, DeductionNetworkTest.class,
+		RuleStatisticsTest.class, ArchitectureFormatTest.class, ArchitectureImporterTest.class,
+		IndexedSetTest.class, FrozenArchitectureTest.class, ArchitectureVersionTest.class,
+		PersistentMapTest.class, SymmetryReductionTest.class, ModularVerifierTest.class,
+		PartitioningTest.class, ArchGeneratorTest.class, VerificationEngineTest.class,
+		VerificationDaemonTest.class, ArchitectureFunctionsTest.class, DiagramModelTest.class,
+		VerificationContextTest.class, RulesOfInferenceParserBottomupTest.class,
+		SolverExecutorTest.class, MetricsTest.class, VerificationEventsTest.class })
 public class AllTests {
 
 }
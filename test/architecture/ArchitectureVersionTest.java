@@ -0,0 +1,39 @@
+package architecture;
+
+import java.util.Set;
+
+import org.junit.Test;
+
+import architecture.Action.ActionType;
+import junit.framework.TestCase;
+import properties.Property;
+import properties.Property.PropertyType;
+
+public class ArchitectureVersionTest extends TestCase {
+
+	Component comp1 = new Component("c1");
+	Component comp2 = new Component("c2");
+	Component comp3 = new Component("c3");
+	Architecture arch = new Architecture(Set.of(comp1, comp2, comp3));
+	Variable var1;
+	Variable var2;
+
+	@Test
+	public void testArchitectureVersions() {
+		var1 = new Variable("x");
+		var2 = new Variable("y");
+		ArchitectureVersion root = ArchitectureVersion.of(arch);
+		ArchitectureVersion v1 = root.withAction(new Action(ActionType.HAS, comp1, var1));
+		ArchitectureVersion v2 = v1.withAction(new Action(ActionType.HAS, comp3, var2));
+		Property prop = new Property(PropertyType.HAS, comp1, 1.0, var1);
+		assertFalse( "The property has_comp1(x) should not hold without the has action.",
+				root.verify(prop) );
+		assertTrue( "The property has_comp1(x) should hold after adding the has action.",
+				v1.verify(prop) );
+		assertTrue( "The property has_comp1(x) should still hold in the later version.",
+				v2.verify(prop) );
+		assertEquals( "The original architecture should not change.", 0, arch.getAllActions().size() );
+		assertEquals( "The later version should contain both actions.", 2,
+				v2.getArchitecture().getAllActions().size() );
+	}
+}
@@ -0,0 +1,111 @@
+package architecture;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import architecture.Equation.Relation;
+import architecture.Equation.Type;
+import architecture.Term.TermType;
+import junit.framework.TestCase;
+
+public class ComponentTest extends TestCase {
+
+	Term x = atom("x", false);
+	Term y = atom("y", false);
+	Term z = atom("z", false);
+	Term w = atom("w", false);
+	Term matchX = atom("X", true);
+	Term matchY = atom("Y", true);
+	Term matchZ = atom("Z", true);
+
+	private static Term atom(String name, boolean matchVar) {
+		return new Term(TermType.ATOM, new Variable(name), matchVar);
+	}
+
+	private static Equation eq(Term op1, Term op2) {
+		return new Equation(op1 + "=" + op2, Type.RELATION, Relation.EQUALITY, op1, op2);
+	}
+
+	private static Set<Equation> set(Equation... equations) {
+		return new LinkedHashSet<Equation>(List.of(equations));
+	}
+
+	private Deduction transitivity() {
+		// X=Y, Y=Z |- X=Z
+		return new Deduction(Deduction.Type.TRANS, set(eq(matchX, matchY), eq(matchY, matchZ)),
+				eq(matchX, matchZ), "Transitivity", 1);
+	}
+
+	private Component component() {
+		Component comp = new Component("C");
+		comp.addDeduction(transitivity());
+		return comp;
+	}
+
+	private static Set<String> conclusions(Component comp) {
+		Set<String> conclusions = new LinkedHashSet<String>();
+		for (Deduction deduc : comp.getDeductionCapability()) {
+			conclusions.add(deduc.getPremises() + " |- " + deduc.getConclusion());
+		}
+		return conclusions;
+	}
+
+	@Test public void testConclusionsAreFedBack() throws Exception {
+		Component comp = component();
+		comp.setEqSet(set(eq(x, y), eq(y, z), eq(z, w)));
+		assertEquals("The known equations should be closed under the deductions.",
+				set(eq(x, y), eq(y, z), eq(z, w), eq(x, z), eq(y, w), eq(x, w)), comp.getEqSet());
+		assertTrue("A conclusion should be a premise of further deductions.",
+				conclusions(comp).contains(set(eq(x, z), eq(z, w)) + " |- " + eq(x, w)));
+	}
+
+	@Test public void testIncrementalEqualsFromScratch() throws Exception {
+		Component incremental = component();
+		incremental.setEqSet(set(eq(x, y)));
+		incremental.setEqSet(set(eq(x, y), eq(y, z)));
+		incremental.setEqSet(set(eq(x, y), eq(y, z), eq(z, w)));
+		Component scratch = component();
+		scratch.setEqSet(set(eq(x, y), eq(y, z), eq(z, w)));
+		assertEquals("Adding equations should know the same equations as starting over.",
+				scratch.getEqSet(), incremental.getEqSet());
+		assertEquals("Adding equations should make the same deductions as starting over.",
+				conclusions(scratch), conclusions(incremental));
+		assertEquals("No deduction should be made twice.",
+				scratch.getDeductionCapability().size(), incremental.getDeductionCapability().size());
+	}
+
+	@Test public void testSameEquationsMakeNoNewDeductions() throws Exception {
+		Component comp = component();
+		comp.setEqSet(set(eq(x, y), eq(y, z)));
+		Set<Deduction> capability = new LinkedHashSet<Deduction>(comp.getDeductionCapability());
+		comp.setEqSet(set(eq(x, y), eq(y, z)));
+		assertEquals("Setting the same equations again should keep the deductions.",
+				capability, comp.getDeductionCapability());
+		comp.setEqSet(set(eq(x, y), eq(y, z), eq(x, z)));
+		assertEquals("Setting a known conclusion should keep the deductions.",
+				capability, comp.getDeductionCapability());
+	}
+
+	@Test public void testRemovedEquationsStartOver() throws Exception {
+		Component comp = component();
+		comp.setEqSet(set(eq(x, y), eq(y, z)));
+		comp.setEqSet(set(eq(x, y)));
+		assertEquals("The conclusions of removed equations should be forgotten.",
+				set(eq(x, y)), comp.getEqSet());
+		assertTrue("The deductions of removed equations should be forgotten.",
+				comp.getDeductionCapability().isEmpty());
+	}
+
+	@Test public void testNewDeductionStartsOver() throws Exception {
+		Component comp = new Component("C");
+		comp.setEqSet(set(eq(x, y), eq(y, z)));
+		assertTrue("Without deductions nothing should be deduced.", comp.getDeductionCapability().isEmpty());
+		comp.addDeduction(transitivity());
+		comp.setEqSet(set(eq(x, y), eq(y, z)));
+		assertEquals("A new deduction should be used for the known equations.",
+				set(eq(x, y), eq(y, z), eq(x, z)), comp.getEqSet());
+	}
+}
@@ -0,0 +1,92 @@
+package architecture;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import architecture.Equation.Relation;
+import architecture.Equation.Type;
+import architecture.Term.TermType;
+import junit.framework.TestCase;
+
+public class DeductionNetworkTest extends TestCase {
+
+	Term x = atom("x", false);
+	Term y = atom("y", false);
+	Term z = atom("z", false);
+	Term w = atom("w", false);
+	Term matchX = atom("X", true);
+	Term matchY = atom("Y", true);
+	Term matchZ = atom("Z", true);
+	Term matchW = atom("W", true);
+
+	private static Term atom(String name, boolean matchVar) {
+		return new Term(TermType.ATOM, new Variable(name), matchVar);
+	}
+
+	private static Equation eq(Term op1, Term op2) {
+		return new Equation(op1 + "=" + op2, Type.RELATION, Relation.EQUALITY, op1, op2);
+	}
+
+	private static Set<Equation> set(Equation... equations) {
+		return new LinkedHashSet<Equation>(List.of(equations));
+	}
+
+	private DeductionNetwork transitivity() {
+		// X=Y, Y=Z |- X=Z
+		return new DeductionNetwork(Set.of(new Deduction(Deduction.Type.TRANS,
+				set(eq(matchX, matchY), eq(matchY, matchZ)), eq(matchX, matchZ), "Transitivity", 1)));
+	}
+
+	@Test public void testTokenJoin() throws Exception {
+		DeductionNetwork network = transitivity();
+		assertTrue("A single equation should complete no deduction.", network.insert(eq(x, y)).isEmpty());
+		List<Deduction> explicit = network.insert(eq(y, z));
+		assertEquals("The new equation should be joined with the partial match.", 1, explicit.size());
+		assertEquals("The conclusion should use the bindings of both premises.",
+				eq(x, z), explicit.get(0).getConclusion());
+		assertEquals("The premises should be in the order of the deduction.",
+				List.of(eq(x, y), eq(y, z)), List.copyOf(explicit.get(0).getPremises()));
+	}
+
+	@Test public void testTokenJoinWithEarlierEquation() throws Exception {
+		DeductionNetwork network = transitivity();
+		assertTrue("A single equation should complete no deduction.", network.insert(eq(y, z)).isEmpty());
+		List<Deduction> explicit = network.insert(eq(x, y));
+		assertEquals("The new partial match should be joined with the known equations.", 1, explicit.size());
+		assertEquals("The conclusion should use the bindings of both premises.",
+				eq(x, z), explicit.get(0).getConclusion());
+		explicit = network.insert(eq(w, x));
+		assertEquals("Only the deductions with the new equation should be returned.", 1, explicit.size());
+		assertEquals("The conclusion should use the new equation.", eq(w, y), explicit.get(0).getConclusion());
+	}
+
+	@Test public void testNoJoinOfDifferentBindings() throws Exception {
+		DeductionNetwork network = transitivity();
+		network.insert(eq(x, y));
+		assertTrue("Equations without a shared term should not be joined.",
+				network.insert(eq(z, w)).isEmpty());
+	}
+
+	@Test public void testEquationFillsOnePremise() throws Exception {
+		DeductionNetwork network = transitivity();
+		assertTrue("An equation should not be joined with itself.", network.insert(eq(y, y)).isEmpty());
+	}
+
+	@Test public void testTokenJoinOnBothSides() throws Exception {
+		// X=Y, Y=Z, Z=W |- X=W
+		DeductionNetwork network = new DeductionNetwork(Set.of(new Deduction(Deduction.Type.TRANS,
+				set(eq(matchX, matchY), eq(matchY, matchZ), eq(matchZ, matchW)), eq(matchX, matchW),
+				"Chain", 1)));
+		assertTrue("The first premise alone should complete no deduction.", network.insert(eq(x, y)).isEmpty());
+		assertTrue("The last premise alone should complete no deduction.", network.insert(eq(z, w)).isEmpty());
+		List<Deduction> explicit = network.insert(eq(y, z));
+		assertEquals("The middle premise should be joined with both sides.", 1, explicit.size());
+		assertEquals("The conclusion should use the bindings of all premises.",
+				eq(x, w), explicit.get(0).getConclusion());
+		assertEquals("The explicit deduction should have all three premises.",
+				3, explicit.get(0).getPremises().size());
+	}
+}
@@ -0,0 +1,148 @@
+package architecture;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import architecture.Equation.Relation;
+import architecture.Equation.Type;
+import architecture.Term.Operator;
+import architecture.Term.OperatorType;
+import architecture.Term.TermType;
+import junit.framework.TestCase;
+
+public class EquationIndexTest extends TestCase {
+
+	Term x = atom("x");
+	Term y = atom("y");
+	Term z = atom("z");
+	Term w = atom("w");
+	Term matchX = matchVar("X");
+	Term matchY = matchVar("Y");
+	Term matchZ = matchVar("Z");
+	Term matchW = matchVar("W");
+
+	private static Term atom(String name) {
+		return new Term(TermType.ATOM, new Variable(name), false);
+	}
+
+	private static Term matchVar(String name) {
+		return new Term(TermType.ATOM, new Variable(name), true);
+	}
+
+	private static Term func(String name, Term t1) {
+		return new Term(TermType.COMPOSITION, OperatorType.UNARY, Operator.FUNC, name, t1, t1.isMatchVar());
+	}
+
+	private static Term func(String name, Term t1, Term t2) {
+		return new Term(TermType.COMPOSITION, OperatorType.BINARY, Operator.FUNC, name, t1, t2,
+				t1.isMatchVar() || t2.isMatchVar());
+	}
+
+	private static Equation eq(String name, Term op1, Term op2) {
+		return new Equation(name, Type.RELATION, Relation.EQUALITY, op1, op2);
+	}
+
+	private static Set<Equation> set(Equation... equations) {
+		return new LinkedHashSet<Equation>(List.of(equations));
+	}
+
+	private static Component component(Deduction deduc) {
+		Component comp = new Component("C");
+		comp.addDeduction(deduc);
+		return comp;
+	}
+
+	private static Set<Equation> candidates(EquationIndex index, Equation pattern) {
+		Unifier.Pattern compiled = Unifier.compile(pattern, new HashMap<Variable, Integer>());
+		return new LinkedHashSet<Equation>(index.candidates(compiled, new Unifier(4)));
+	}
+
+	@Test public void testMatchingAtoms() throws Exception {
+		// X=f(x) |- f(X)=x
+		Deduction deduc = new Deduction(Deduction.Type.ELSE, set(eq("p", matchX, func("f", x))),
+				eq("c", func("f", matchX), x), "Atom", 1);
+		Set<Deduction> explicit = component(deduc).deduce(set(eq("e1", y, func("f", x))));
+		assertEquals("An equal explicit atom should match.", 1, explicit.size());
+		assertEquals("The conclusion should be instantiated.",
+				eq("c", func("f", y), x), explicit.iterator().next().getConclusion());
+		explicit = component(deduc).deduce(set(eq("e2", y, func("f", z))));
+		assertTrue("A different explicit atom should not match.", explicit.isEmpty());
+	}
+
+	@Test public void testMatchingFunctions() throws Exception {
+		// X=h(Y) |- Y=g(X)
+		Deduction deduc = new Deduction(Deduction.Type.ELSE, set(eq("p", matchX, func("h", matchY))),
+				eq("c", matchY, func("g", matchX)), "Function", 1);
+		Set<Deduction> explicit = component(deduc).deduce(set(eq("e1", x, func("h", y))));
+		assertEquals("An equal function should match.", 1, explicit.size());
+		assertEquals("The conclusion should be instantiated.",
+				eq("c", y, func("g", x)), explicit.iterator().next().getConclusion());
+		assertTrue("A different function name should not match.",
+				component(deduc).deduce(set(eq("e2", x, func("k", y)))).isEmpty());
+		assertTrue("A function with another arity should not match.",
+				component(deduc).deduce(set(eq("e3", x, func("h", y, z)))).isEmpty());
+		assertTrue("An atom should not match a function.",
+				component(deduc).deduce(set(eq("e4", x, y))).isEmpty());
+		assertEquals("A match variable should match a whole sub-term.",
+				1, component(deduc).deduce(set(eq("e5", x, func("h", func("k", z))))).size());
+	}
+
+	@Test public void testRepeatedMatchVariables() throws Exception {
+		// X=h(Y,Y) |- X=g(Y)
+		Deduction deduc = new Deduction(Deduction.Type.ELSE, set(eq("p", matchX, func("h", matchY, matchY))),
+				eq("c", matchX, func("g", matchY)), "Repeated", 1);
+		Set<Deduction> explicit = component(deduc).deduce(set(eq("e1", x, func("h", y, y))));
+		assertEquals("A repeated match variable should match equal sub-terms.", 1, explicit.size());
+		assertEquals("The conclusion should be instantiated.",
+				eq("c", x, func("g", y)), explicit.iterator().next().getConclusion());
+		assertTrue("A repeated match variable should not match different sub-terms.",
+				component(deduc).deduce(set(eq("e2", x, func("h", y, z)))).isEmpty());
+	}
+
+	@Test public void testSharedMatchVariablesOfPremises() throws Exception {
+		// X=Y, Y=Z |- X=Z
+		Deduction deduc = new Deduction(Deduction.Type.TRANS,
+				set(eq("p1", matchX, matchY), eq("p2", matchY, matchZ)), eq("c", matchX, matchZ), "Transitivity", 1);
+		Set<Deduction> explicit = component(deduc).deduce(set(eq("e1", x, y), eq("e2", z, w)));
+		assertTrue("Premises that do not share the match variable should not be joined.", explicit.isEmpty());
+		explicit = component(deduc).deduce(set(eq("e1", x, y), eq("e2", y, z)));
+		assertEquals("Premises that share the match variable should be joined.", 1, explicit.size());
+		Deduction result = explicit.iterator().next();
+		assertEquals("The conclusion should be instantiated.", eq("c", x, z), result.getConclusion());
+		assertEquals("The explicit deduction should have both premises.",
+				set(eq("e1", x, y), eq("e2", y, z)), result.getPremises());
+	}
+
+	@Test public void testNPremiseDeductions() throws Exception {
+		// X=Y, Y=Z, Z=W |- X=W
+		Deduction deduc = new Deduction(Deduction.Type.TRANS,
+				set(eq("p1", matchX, matchY), eq("p2", matchY, matchZ), eq("p3", matchZ, matchW)),
+				eq("c", matchX, matchW), "Chain", 1);
+		Set<Deduction> explicit = component(deduc).deduce(set(eq("e1", x, y), eq("e2", y, z)));
+		assertTrue("A deduction should not be made without all premises.", explicit.isEmpty());
+		// the last premise is known first, so the join has to look back
+		explicit = component(deduc).deduce(set(eq("e3", z, w), eq("e2", y, z), eq("e1", x, y)));
+		assertEquals("The deduction should be made with all three premises.", 1, explicit.size());
+		Deduction result = explicit.iterator().next();
+		assertEquals("The conclusion should be instantiated.", eq("c", x, w), result.getConclusion());
+		assertEquals("The explicit deduction should have all three premises.", 3, result.getPremises().size());
+		assertEquals("The explicit deduction should be named after the variable one.",
+				"ChainExplicitFinal", result.getName());
+	}
+
+	@Test public void testCandidates() throws Exception {
+		EquationIndex index = new EquationIndex(List.of(eq("e1", x, func("h", y)), eq("e2", x, func("g", y)),
+				eq("e3", y, func("h", func("h", z))), eq("e4", x, y)));
+		assertEquals("Only the equations with the function should be candidates.",
+				set(eq("e1", x, func("h", y)), eq("e3", y, func("h", func("h", z)))),
+				candidates(index, eq("p", matchX, func("h", matchY))));
+		assertEquals("An explicit atom of the pattern should restrict the candidates.",
+				set(eq("e1", x, func("h", y))), candidates(index, eq("p", x, func("h", matchY))));
+		assertTrue("A different relation should have no candidates.", candidates(index,
+				new Equation("p", Type.RELATION, Relation.LESSTHAN, matchX, matchY)).isEmpty());
+	}
+}
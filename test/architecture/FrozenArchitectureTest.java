@@ -0,0 +1,139 @@
+package architecture;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import architecture.Action.ActionType;
+import architecture.Equation.Relation;
+import architecture.Equation.Type;
+import architecture.Term.TermType;
+import junit.framework.TestCase;
+import properties.Property;
+import properties.Property.PropertyType;
+import properties.RulesOfInferenceParserBottomup;
+import properties.RulesOfInferenceParserTopdown;
+import utils.Metrics;
+import utils.SuccessIndexPair;
+import utils.VerificationContext;
+
+public class FrozenArchitectureTest extends TestCase {
+
+	Component sender = new Component("S");
+	Component receiver = new Component("R");
+	Variable x = new Variable("x");
+	Variable y = new Variable("y");
+
+	private Architecture architecture() {
+		Architecture arch = new Architecture(Set.of(sender, receiver));
+		arch.addVariable(x);
+		arch.addAction(send());
+		return arch;
+	}
+
+	private Action send() {
+		return new Action(ActionType.RECEIVE, receiver, sender, Collections.<Statement>emptySet(), Set.of(x));
+	}
+
+	@Test public void testSnapshotKeepsItsCounters() throws Exception {
+		Architecture arch = architecture();
+		FrozenArchitecture frozen = arch.freeze();
+		arch.addAction(send());
+		assertEquals("The original should count the new send.",
+				2, arch.getStorage().getCounter(sender, x));
+		assertEquals("The snapshot should keep the counters of its actions.",
+				1, frozen.getStorage().getCounter(sender, x));
+	}
+
+	@Test public void testCopyHasItsOwnCounters() throws Exception {
+		FrozenArchitecture frozen = architecture().freeze();
+		Architecture copy = new Architecture(frozen);
+		copy.addAction(send());
+		assertEquals("The copy should count the new send.",
+				2, copy.getStorage().getCounter(sender, x));
+		assertEquals("The snapshot should not see the actions of the copy.",
+				1, frozen.getStorage().getCounter(sender, x));
+	}
+
+	@Test public void testTopdownParserDoesNotChangeComponents() throws Exception {
+		Architecture arch = architecture();
+		arch.addVariable(y);
+		Equation eq = new Equation("e", Type.RELATION, Relation.EQUALITY,
+				new Term(TermType.ATOM, x, false), new Term(TermType.ATOM, y, false));
+		arch.addAction(new Action(ActionType.CHECK, sender, Set.of(eq)));
+		new RulesOfInferenceParserTopdown(arch.freeze());
+		assertTrue("The shared components of a snapshot should not learn equations.",
+				sender.getEqSet().isEmpty());
+		new RulesOfInferenceParserTopdown(arch);
+		assertTrue("The components of a mutable architecture should learn the equations.",
+				sender.getEqSet().contains(eq));
+	}
+
+	@Test public void testParserOnSnapshot() throws Exception {
+		Architecture arch = new Architecture(Set.of(sender, receiver));
+		arch.addVariable(x);
+		Purpose purpose = new Purpose("general");
+		arch.getPurposeHierarchy().addPurpose(purpose, Collections.emptySet(), Collections.emptySet());
+		arch.addAction(new Action(ActionType.PRECEIVE, sender, receiver, purpose, Collections.singleton(x)));
+		FrozenArchitecture frozen = arch.freeze();
+		Property prop = new Property(PropertyType.NOTPURP, sender);
+		assertTrue("The property notPurp_S should also hold for the frozen architecture.",
+				new RulesOfInferenceParserBottomup(frozen).verifyStatement(prop, 0));
+		assertEquals("The frozen architecture should index its variables.",
+				arch.getVariables().indexOf(x), frozen.indexOf(x));
+		try {
+			frozen.addAction(new Action(ActionType.HAS, sender, x));
+			fail("A frozen architecture should not accept new actions.");
+		} catch (UnsupportedOperationException e) {
+			assertEquals("The frozen architecture should not change.", 1, frozen.getAllActions().size());
+		}
+	}
+
+	@Test public void testSnapshotKeepsComponentState() throws Exception {
+		Architecture arch = architecture();
+		arch.addVariable(y);
+		arch.addAction(new Action(ActionType.HAS, sender, x));
+		FrozenArchitecture frozen = arch.freeze();
+		sender.addDependence(new Dep(y, Set.of(x), 1.0));
+		sender.addAction(new Action(ActionType.HAS, sender, y));
+		assertTrue("The snapshot should keep the dependences of the component.",
+				frozen.getDepSet(sender).isEmpty());
+		assertFalse("The snapshot should keep the variables of the component.",
+				frozen.getVarSet(sender).contains(y));
+		Property has = new Property(PropertyType.HAS, sender, 1.0, y);
+		assertTrue("The new dependence should be used for the original.",
+				new RulesOfInferenceParserBottomup(arch).verifyStatement(has, 0));
+		assertFalse("The new dependence should not be used for the snapshot.",
+				new RulesOfInferenceParserBottomup(frozen).verifyStatement(has, 0));
+		try {
+			frozen.getDepSet(sender).add(new Dep(x, Set.of(y), 1.0));
+			fail("The dependences of a snapshot should not be changed.");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+	}
+
+	@Test public void testConsistencyIsReportedInEveryContext() throws Exception {
+		FrozenArchitecture frozen = architecture().freeze();
+		List<SuccessIndexPair> first = new ArrayList<SuccessIndexPair>();
+		List<SuccessIndexPair> second = new ArrayList<SuccessIndexPair>();
+		VerificationContext context1 = new VerificationContext();
+		context1.setListener((checked, result) -> first.add(result));
+		VerificationContext context2 = new VerificationContext();
+		context2.setListener((checked, result) -> second.add(result));
+		new RulesOfInferenceParserBottomup(frozen, context1);
+		new RulesOfInferenceParserBottomup(frozen, context1);
+		new RulesOfInferenceParserBottomup(frozen, context2);
+		assertEquals("Every parser should report the consistency.", 2, first.size());
+		assertEquals("A parser in another context should also report the consistency.", 1, second.size());
+		assertSame("All parsers should report the result of the first check.", first.get(0), second.get(0));
+		assertSame("The snapshot should keep the result.", first.get(0), frozen.getConsistency());
+		assertEquals("The snapshot should only be checked once.",
+				1, context1.getMetrics().getSnapshot(Metrics.CONSISTENCY).getCount());
+		assertNull("The snapshot should not be checked in another context.",
+				context2.getMetrics().getSnapshot(Metrics.CONSISTENCY));
+	}
+}
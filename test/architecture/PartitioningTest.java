@@ -0,0 +1,132 @@
+package architecture;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import architecture.Action.ActionType;
+import architecture.Equation.Relation;
+import architecture.Equation.Type;
+import architecture.Term.TermType;
+import junit.framework.TestCase;
+import properties.Property;
+import properties.Property.PropertyType;
+
+public class PartitioningTest extends TestCase {
+
+	Component sender = new Component("S");
+	Component receiver = new Component("R");
+	Component other = new Component("O");
+	Variable x = new Variable("x");
+	Variable y = new Variable("y");
+
+	/**
+	 * Helper method that returns an architecture with two parts, where R receives x from S
+	 * and O has y on its own.
+	 */
+	private Architecture architecture() {
+		Architecture arch = new Architecture(new LinkedHashSet<Component>(List.of(sender, receiver, other)));
+		arch.addVariable(x);
+		arch.addVariable(y);
+		arch.addAction(new Action(ActionType.HAS, sender, x));
+		arch.addAction(new Action(ActionType.RECEIVE, receiver, sender, Collections.<Statement>emptySet(), Set.of(x)));
+		arch.addAction(new Action(ActionType.HAS, other, y));
+		return arch;
+	}
+
+	private static Equation equation(String name, Variable left, Variable right) {
+		return new Equation(name, Type.RELATION, Relation.EQUALITY,
+				new Term(TermType.ATOM, left, false), new Term(TermType.ATOM, right, false));
+	}
+
+	private static Property has(Component comp, Variable var) {
+		return new Property(PropertyType.HAS, comp, 1.0, var);
+	}
+
+	private static Property and(Property st1, Property st2) {
+		return new Property(PropertyType.CONJUNCTION, st1, st2);
+	}
+
+	@Test
+	public void testEmptyArchitecture() {
+		Partitioning partitioning = new Partitioning(new Architecture(Collections.<Component>emptySet()));
+		assertTrue( "An empty architecture should have no parts.", partitioning.getParts().isEmpty() );
+		assertEquals( "An unknown component should not be in a part.", -1, partitioning.partOf(sender) );
+		assertSame( "A property of an unknown component should need the whole architecture.",
+				partitioning.getArchitecture(), partitioning.slice(has(sender, x)) );
+	}
+
+	@Test
+	public void testConnections() {
+		Set<Component> comps = new LinkedHashSet<Component>(List.of(sender, receiver, other));
+		assertEquals( "Unconnected components should be in their own parts.", 3,
+				new Partitioning(new Architecture(comps)).getParts().size() );
+		Set<Trust> trusts = Set.of(new Trust(sender, receiver));
+		Partitioning partitioning = new Partitioning(new Architecture(comps, Collections.<Action>emptySet(),
+				trusts, Collections.<Composition>emptySet(), new PurposeHierarchy()));
+		assertEquals( "A trust relation should connect two components.", partitioning.partOf(sender),
+				partitioning.partOf(receiver) );
+		assertFalse( "Other components should stay in their own part.",
+				partitioning.partOf(sender) == partitioning.partOf(other) );
+		partitioning = new Partitioning(new Architecture(comps, Collections.<Action>emptySet(), trusts,
+				Set.of(new Composition(other, receiver)), new PurposeHierarchy()));
+		assertEquals( "A composition should connect its container and component.", 1,
+				partitioning.getParts().size() );
+	}
+
+	@Test
+	public void testSliceOfPart() {
+		Partitioning partitioning = new Partitioning(architecture());
+		FrozenArchitecture slice = partitioning.slice(has(receiver, x));
+		assertSame( "The property has_R(x) should be verified in the part of R.",
+				partitioning.getParts().get(partitioning.partOf(receiver)), slice );
+		assertEquals( "The slice should only contain the components of the part.", List.of(sender, receiver),
+				slice.getCompList() );
+		assertEquals( "The slice should only contain the variables of the part.", List.of(x),
+				slice.getVariables() );
+		assertEquals( "The slice should only contain the actions of the part.", 2, slice.getAllActions().size() );
+	}
+
+	@Test
+	public void testConjunctionInOnePart() {
+		Partitioning partitioning = new Partitioning(architecture());
+		Property conjunction = and(has(sender, x), new Property(PropertyType.NEGATION, has(receiver, x)));
+		assertEquals( "A conjunction over one part should be verified in that part.",
+				partitioning.partOf(sender), partitioning.partOf(conjunction) );
+	}
+
+	@Test
+	public void testPropertyOverSeveralParts() {
+		Partitioning partitioning = new Partitioning(architecture());
+		Property conjunction = and(has(receiver, x), has(other, y));
+		assertEquals( "A conjunction over several parts should not be in a part.", -1,
+				partitioning.partOf(conjunction) );
+		assertSame( "A conjunction over several parts should need the whole architecture.",
+				partitioning.getArchitecture(), partitioning.slice(conjunction) );
+	}
+
+	@Test
+	public void testReferencesOutsideSlice() {
+		Variable z = new Variable("z");
+		Architecture arch = architecture();
+		arch.addVariable(z);
+		Equation inside = equation("e1", x, z);
+		Equation outside = equation("e2", y, z);
+		arch.addEquation(inside);
+		arch.addEquation(outside);
+		Partitioning partitioning = new Partitioning(arch);
+		assertSame( "The property has_R(y) should need the whole architecture.", partitioning.getArchitecture(),
+				partitioning.slice(has(receiver, y)) );
+		assertEquals( "An equation over a variable of the part should be in the slice.",
+				partitioning.partOf(receiver),
+				partitioning.partOf(new Property(PropertyType.KNOWS, receiver, 1.0, inside)) );
+		assertSame( "An equation over the variables of another part should need the whole architecture.",
+				partitioning.getArchitecture(),
+				partitioning.slice(new Property(PropertyType.KNOWS, receiver, 1.0, outside)) );
+		assertTrue( "The slice should contain the equations over its variables.",
+				partitioning.getParts().get(partitioning.partOf(receiver)).getAllEquations().contains(inside) );
+	}
+}
@@ -0,0 +1,53 @@
+package architecture;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import architecture.Action.ActionType;
+import junit.framework.TestCase;
+
+public class StorageAnalysisTest extends TestCase {
+
+	Component sender = new Component("S");
+	Component receiver = new Component("R");
+	Variable x = new Variable("x");
+
+	@Test public void testSendsCountAsUses() throws Exception {
+		Action send = new Action(ActionType.RECEIVE, receiver, sender, Set.of(x));
+		StorageAnalysis storage = new StorageAnalysis(List.of(send, send));
+		assertEquals("Two sends should be two uses by the sender.",
+				2, storage.getCounter(sender, x));
+		assertEquals("The receiver does not use the variable.",
+				0, storage.getCounter(receiver, x));
+	}
+
+	@Test public void testDeleteResetsUses() throws Exception {
+		Action send = new Action(ActionType.RECEIVE, receiver, sender, Set.of(x));
+		Action delete = new Action(ActionType.DELETE, sender, x);
+		StorageAnalysis storage = new StorageAnalysis(List.of(send, delete, send));
+		assertEquals("A delete should reset the uses.",
+				1, storage.getCounter(sender, x));
+		storage.record(send);
+		assertEquals("Recording a further send should increase the maximum.",
+				2, storage.getCounter(sender, x));
+	}
+
+	@Test public void testComponentReadsItsArchitecture() throws Exception {
+		Action send = new Action(ActionType.RECEIVE, receiver, sender, Set.of(x));
+		Architecture arch = new Architecture(Set.of(sender, receiver));
+		arch.addVariable(x);
+		arch.addAction(send);
+		assertEquals("The component should read the counter of its architecture.",
+				1, sender.getCounter(x));
+		FrozenArchitecture frozen = arch.freeze();
+		arch.addAction(send);
+		assertEquals("The component should read the new counter of its architecture.",
+				2, sender.getCounter(x));
+		assertEquals("The snapshot should keep its own counters.",
+				1, frozen.getStorage().getCounter(sender, x));
+		assertEquals("A component without an architecture should have no counters.",
+				0, new Component("C").getCounter(x));
+	}
+}
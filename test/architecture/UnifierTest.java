@@ -0,0 +1,95 @@
+package architecture;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import architecture.Equation.Relation;
+import architecture.Equation.Type;
+import architecture.Term.Operator;
+import architecture.Term.OperatorType;
+import architecture.Term.TermType;
+import junit.framework.TestCase;
+
+public class UnifierTest extends TestCase {
+
+	Term x = atom("x", false);
+	Term y = atom("y", false);
+	Term z = atom("z", false);
+	Term matchX = atom("X", true);
+	Term matchY = atom("Y", true);
+	Map<Variable, Integer> slots = new HashMap<Variable, Integer>();
+
+	private static Term atom(String name, boolean matchVar) {
+		return new Term(TermType.ATOM, new Variable(name), matchVar);
+	}
+
+	private static Term func(String name, Term t1, Term t2) {
+		return new Term(TermType.COMPOSITION, OperatorType.BINARY, Operator.FUNC, name, t1, t2,
+				t1.isMatchVar() || t2.isMatchVar());
+	}
+
+	private static Equation eq(Term op1, Term op2) {
+		return new Equation(op1 + "=" + op2, Type.RELATION, Relation.EQUALITY, op1, op2);
+	}
+
+	@Test public void testBind() throws Exception {
+		Unifier.Pattern pattern = Unifier.compile(eq(matchX, func("h", matchY, z)), slots);
+		Unifier unifier = new Unifier(slots.size());
+		assertTrue("The equation should be an instance of the pattern.",
+				unifier.unify(pattern, eq(x, func("h", y, z))));
+		assertEquals("The first match variable should be bound.",
+				x, unifier.getBinding(slots.get(matchX.getAtom())));
+		assertEquals("The second match variable should be bound.",
+				y, unifier.getBinding(slots.get(matchY.getAtom())));
+		assertEquals("The pattern should be instantiated with the bindings.", eq(x, func("h", y, z)),
+				pattern.instantiate(unifier, "", Collections.<Equation>emptyList()));
+	}
+
+	@Test public void testBoundVariableMustBeEqual() throws Exception {
+		Unifier.Pattern first = Unifier.compile(eq(matchX, matchY), slots);
+		Unifier.Pattern second = Unifier.compile(eq(matchY, x), slots);
+		Unifier unifier = new Unifier(slots.size());
+		assertTrue("The first pattern should bind both match variables.", unifier.unify(first, eq(x, y)));
+		assertFalse("A bound match variable should not match another term.",
+				unifier.unify(second, eq(z, x)));
+		assertTrue("A bound match variable should match its term.", unifier.unify(second, eq(y, x)));
+	}
+
+	@Test public void testUndoToTrail() throws Exception {
+		Unifier.Pattern first = Unifier.compile(eq(matchX, z), slots);
+		Unifier.Pattern second = Unifier.compile(eq(matchY, matchX), slots);
+		Unifier unifier = new Unifier(slots.size());
+		int slotX = slots.get(matchX.getAtom());
+		int slotY = slots.get(matchY.getAtom());
+		assertTrue("The first pattern should match.", unifier.unify(first, eq(x, z)));
+		// Y is bound before X fails, so the binding of Y has to be undone
+		assertFalse("The second pattern should fail on X.", unifier.unify(second, eq(y, z)));
+		assertEquals("The bindings before the failed match should be kept.", x, unifier.getBinding(slotX));
+		assertNull("The bindings of the failed match should be undone.", unifier.getBinding(slotY));
+		assertTrue("The second pattern should match after the failure.", unifier.unify(second, eq(y, x)));
+		assertEquals("The new binding should be made.", y, unifier.getBinding(slotY));
+		unifier.undo(0);
+		assertNull("Undoing the whole trail should remove the first binding.", unifier.getBinding(slotX));
+		assertNull("Undoing the whole trail should remove the second binding.", unifier.getBinding(slotY));
+	}
+
+	@Test public void testSaveAndLoad() throws Exception {
+		Unifier.Pattern pattern = Unifier.compile(eq(matchX, matchY), slots);
+		Unifier unifier = new Unifier(slots.size());
+		assertTrue("The pattern should match.", unifier.unify(pattern, eq(x, y)));
+		Term[] saved = unifier.save();
+		unifier.load(null);
+		assertNull("Loading no bindings should clear them.",
+				unifier.getBinding(slots.get(matchX.getAtom())));
+		assertTrue("The pattern should match a new equation.", unifier.unify(pattern, eq(y, z)));
+		unifier.load(saved);
+		assertEquals("Loading saved bindings should restore them.",
+				x, unifier.getBinding(slots.get(matchX.getAtom())));
+		unifier.undo(0);
+		assertEquals("Loaded bindings should not be on the trail.",
+				x, unifier.getBinding(slots.get(matchX.getAtom())));
+	}
+}
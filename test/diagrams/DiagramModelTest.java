@@ -0,0 +1,38 @@
+package diagrams;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import diagrams.DiagramModel.LevelOfDetail;
+import gui.ArchitectureFunctions;
+import junit.framework.TestCase;
+import utils.ArchGenerator;
+
+public class DiagramModelTest extends TestCase {
+
+
+	@Test
+	public void testDiagramModel() {
+		ArchGenerator generator = new ArchGenerator(42);
+		generator.setComponents(300);
+		generator.setCompositionDepth(3);
+		ArchitectureFunctions archFunc = generator.generate();
+		DiagramModel full = new DiagramModel(archFunc.getcSet(), archFunc.getaSet(), archFunc.gettrustSet(),
+				archFunc.getcomposSet(), LevelOfDetail.FULL);
+		DiagramModel summary = new DiagramModel(archFunc.getcSet(), archFunc.getaSet(), archFunc.gettrustSet(),
+				archFunc.getcomposSet(), LevelOfDetail.SUMMARY);
+		assertEquals( "Every component should be a node.", 300, full.getNodes().size() );
+		assertEquals( "The compositions of four components should be collapsed.", 75, summary.getNodes().size() );
+		assertEquals( "The summary should name the collapsed components.", "c0 (+3)",
+				summary.getNodes().get("c0").getLabel() );
+		assertTrue( "The relations between collapsed components should be bundled.",
+				summary.getEdges().size() < full.getEdges().size() );
+		DiagramLayout layout = new DiagramLayout(18, 100, 100);
+		layout.update(full.getNodes().keySet());
+		assertEquals( "Only the nodes in the area should be visible.", Arrays.asList("c0", "c1", "c18", "c19"),
+				layout.visible(0, 0, 150, 150) );
+		layout.update(summary.getNodes().keySet());
+		assertEquals( "The remaining nodes should keep their cells.", 400, layout.getX("c4") );
+	}
+}
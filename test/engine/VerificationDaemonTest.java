@@ -0,0 +1,137 @@
+package engine;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import engine.VerificationEngine.Backend;
+import junit.framework.TestCase;
+
+public class VerificationDaemonTest extends TestCase {
+
+	private static String withoutTimes(String response) {
+		return response.replaceAll("\"timeMs\": [0-9.]+", "");
+	}
+
+	private static List<String> holds(String response) {
+		List<String> holds = new ArrayList<String>();
+		Matcher matcher = Pattern.compile("\"holds\": (true|false)").matcher(response);
+		while (matcher.find()) {
+			holds.add(matcher.group(1));
+		}
+		return holds;
+	}
+
+	@Test
+	public void testErrorReplies() {
+		VerificationDaemon daemon = new VerificationDaemon(Backend.BOTTOMUP, 1);
+		assertEquals( "A missing argument should be reported.", "error missing argument", daemon.handle("verify") );
+		assertEquals( "An unknown request should be reported.", "error Unknown request frobnicate",
+				daemon.handle("frobnicate s") );
+		assertEquals( "An unknown session should be reported.", "error No session t", daemon.handle("verify t") );
+		assertEquals( "An unknown session should not be unloaded.", "error No session t", daemon.handle("unload t") );
+		assertEquals( "An unknown model should be reported.", "error No case study or file no-such-model",
+				daemon.handle("load s no-such-model") );
+		assertEquals( "A failed load should not create a session.", "ok []", daemon.handle("sessions") );
+		assertEquals( "The case study should be loaded.", "ok 2", daemon.handle("load errors SEM") );
+		try {
+			assertEquals( "An unknown query should be reported.", "error Unknown query nothing",
+					daemon.handle("query errors nothing") );
+			assertEquals( "An unknown property should be reported.", "error No property no such property",
+					daemon.handle("verify errors no such property") );
+			assertTrue( "An unknown backend should be reported.",
+					daemon.handle("verify errors -b fancy").startsWith("error ") );
+			assertTrue( "An invalid edit should be reported.",
+					daemon.handle("edit errors has Nobody nothing").startsWith("error ") );
+			assertTrue( "The session should be used after errors.",
+					daemon.handle("verify errors").startsWith("ok {") );
+		} finally {
+			daemon.handle("unload errors");
+		}
+	}
+
+	@Test
+	public void testSessions() {
+		VerificationDaemon daemon = new VerificationDaemon(Backend.BOTTOMUP, 1);
+		assertEquals( "The daemon should start without sessions.", "ok []", daemon.handle("sessions") );
+		assertEquals( "The case study should be loaded with its properties.", "ok 2", daemon.handle("load s SEM") );
+		assertEquals( "A loaded session should be listed.", "ok [\"s\"]", daemon.handle("sessions") );
+		assertEquals( "A session should be loaded again.", "ok 2", daemon.handle("load s SEM") );
+		assertEquals( "A session should be unloaded.", "ok", daemon.handle("unload s") );
+		assertEquals( "An unloaded session should not be listed.", "ok []", daemon.handle("sessions") );
+	}
+
+	@Test
+	public void testWarmSession() {
+		VerificationDaemon daemon = new VerificationDaemon(Backend.BOTTOMUP, 1);
+		daemon.handle("load warm SEM");
+		try {
+			String first = daemon.handle("verify warm");
+			assertTrue( "The properties should be verified.", first.startsWith("ok {") );
+			assertEquals( "The warm session should give the same results.", withoutTimes(first),
+					withoutTimes(daemon.handle("verify warm")) );
+			assertEquals( "The modular backend should give the same results.", holds(first),
+					holds(daemon.handle("verify warm -b modular")) );
+			assertEquals( "An edit should be applied to the session.", "ok", daemon.handle("edit warm component Extra") );
+			assertTrue( "The edit should be visible to queries.",
+					daemon.handle("query warm components").contains("\"Extra\"") );
+			assertEquals( "The case study should be consistent.", "ok {\"consistent\": true}",
+					daemon.handle("query warm consistency") );
+			assertTrue( "The metrics should be counted.", daemon.handle("query warm metrics").contains("\"count\": ") );
+		} finally {
+			daemon.handle("unload warm");
+		}
+	}
+
+	@Test
+	public void testInconsistentModel() throws Exception {
+		Path model = Files.createTempFile("daemon", ".txt");
+		try {
+			Files.write(model, List.of("component A", "component B", "variable x", "receive B A {x}"));
+			VerificationDaemon daemon = new VerificationDaemon(Backend.BOTTOMUP, 1);
+			assertEquals( "A model without properties should be loaded.", "ok 0", daemon.handle("load bad " + model) );
+			String consistency = daemon.handle("query bad consistency");
+			assertTrue( "The inconsistency should be reported.",
+					consistency.startsWith("ok {\"consistent\": false, \"inconsistentAction\": ") );
+			assertTrue( "The report should contain the consistency.",
+					daemon.handle("verify bad").contains("\"consistent\": false") );
+			daemon.handle("unload bad");
+		} finally {
+			Files.delete(model);
+		}
+	}
+
+	@Test
+	public void testCancellation() {
+		VerificationDaemon daemon = new VerificationDaemon(Backend.BOTTOMUP, 1);
+		daemon.handle("load cancel SEM");
+		try {
+			Thread.currentThread().interrupt();
+			String cancelled = daemon.handle("verify cancel");
+			assertTrue( "The cancelled thread should stay interrupted.", Thread.interrupted() );
+			assertTrue( "A cancelled verification should be reported.", cancelled.startsWith("error ") );
+			assertTrue( "The session should verify again after a cancellation.",
+					daemon.handle("verify cancel").startsWith("ok {") );
+		} finally {
+			Thread.interrupted();
+			daemon.handle("unload cancel");
+		}
+	}
+
+	@Test
+	public void testServe() throws Exception {
+		VerificationDaemon daemon = new VerificationDaemon(Backend.BOTTOMUP, 1);
+		StringWriter out = new StringWriter();
+		daemon.serve(new BufferedReader(new StringReader("# a comment\n\nsessions\nnothing\nquit\nsessions\n")), out);
+		assertEquals( "Every request should be answered by one line until quit.",
+				List.of("ok []", "error Unknown request nothing", "ok"), List.of(out.toString().split("\\R")) );
+	}
+}
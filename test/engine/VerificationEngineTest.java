@@ -0,0 +1,178 @@
+package engine;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import org.junit.Test;
+
+import architecture.Component;
+import architecture.FrozenArchitecture;
+import architecture.Variable;
+import engine.VerificationEngine.Backend;
+import gui.ArchitectureFunctions;
+import junit.framework.TestCase;
+import properties.ProgressListener;
+import properties.Property;
+import properties.Property.PropertyType;
+import properties.VerificationMonitor;
+import utils.SuccessIndexPair;
+import utils.VerificationContext;
+
+public class VerificationEngineTest extends TestCase {
+
+	/**
+	 * Helper method that returns a model where R receives x from S and O has y on its own.
+	 */
+	private static ArchitectureFunctions model(VerificationContext context) throws IOException {
+		ArchitectureFunctions model = new ArchitectureFunctions(context);
+		model.batch(List.of("component S", "component R", "component O", "variable x", "variable y",
+				"has S x", "receive R S {x}", "has O y"));
+		model.build();
+		return model;
+	}
+
+	private static Property has(ArchitectureFunctions model, String comp, String var) {
+		Component owner = model.getcSet().stream().filter(c -> c.toString().equals(comp)).findFirst().get();
+		Variable variable = model.getvSet().stream().filter(v -> v.toString().equals(var)).findFirst().get();
+		return new Property(PropertyType.HAS, owner, 1.0, variable);
+	}
+
+	/**
+	 * Helper method that returns properties of the model, where every second one holds.
+	 */
+	private static List<Property> properties(ArchitectureFunctions model) {
+		Property received = has(model, "R", "x");
+		return List.of(received, has(model, "O", "x"), has(model, "O", "y"), has(model, "R", "y"),
+				new Property(PropertyType.NEGATION, has(model, "S", "y")),
+				new Property(PropertyType.CONJUNCTION, received, has(model, "S", "y")));
+	}
+
+	private static List<Boolean> holds(VerificationReport report) {
+		List<Boolean> holds = new ArrayList<Boolean>();
+		for (VerificationReport.Result result : report.getResults()) {
+			holds.add(result.holds());
+		}
+		return holds;
+	}
+
+	@Test
+	public void testCaseStudy() throws Exception {
+		VerificationEngine engine = new VerificationEngine(VerificationEngine.load("SEM"), "SEM");
+		VerificationReport report = engine.verifyAll();
+		assertTrue( "The case study should be consistent.", report.isConsistent() );
+		assertEquals( "Every property of the case study should have a result.",
+				engine.getModel().getpSet().size(), report.getResults().size() );
+		StringBuilder json = new StringBuilder();
+		report.writeJson(json);
+		assertTrue( "The report should name the backend.", json.toString().contains("\"backend\": \"bottomup\"") );
+	}
+
+	@Test
+	public void testUnknownModel() {
+		try {
+			VerificationEngine.load("no such model");
+			fail( "An unknown model should not be loaded." );
+		} catch (IOException e) {
+			assertEquals( "The model should be named.", "No case study or file no such model", e.getMessage() );
+		}
+	}
+
+	@Test
+	public void testEmptyArchitecture() throws Exception {
+		ArchitectureFunctions model = new ArchitectureFunctions(new VerificationContext());
+		model.build();
+		VerificationEngine engine = new VerificationEngine(model, "empty");
+		for (Backend backend : List.of(Backend.BOTTOMUP, Backend.MODULAR)) {
+			engine.setBackend(backend);
+			VerificationReport report = engine.verifyAll();
+			assertTrue( "An empty architecture should be consistent.", report.isConsistent() );
+			assertTrue( "An empty architecture should have no results.", report.getResults().isEmpty() );
+		}
+	}
+
+	@Test
+	public void testBackendsAgree() throws Exception {
+		ArchitectureFunctions model = model(new VerificationContext());
+		List<Property> properties = properties(model);
+		VerificationEngine engine = new VerificationEngine(model, "model");
+		List<Boolean> expected = List.of(true, false, true, false, true, false);
+		assertEquals( "The bottom up parser should verify the properties.", expected,
+				holds(engine.verify(properties)) );
+		engine.setBackend(Backend.MODULAR);
+		engine.setThreads(2);
+		VerificationReport report = engine.verify(properties);
+		assertEquals( "The modular backend should give the same results.", expected, holds(report) );
+		assertEquals( "The report should name the backend.", Backend.MODULAR, report.getBackend() );
+	}
+
+	@Test
+	public void testWarmState() throws Exception {
+		List<SuccessIndexPair> reports = new ArrayList<SuccessIndexPair>();
+		VerificationContext context = new VerificationContext();
+		context.setListener((arch, result) -> reports.add(result));
+		ArchitectureFunctions model = model(context);
+		Property property = has(model, "R", "y");
+		VerificationEngine engine = new VerificationEngine(model, "model");
+		FrozenArchitecture frozen = engine.getArchitecture();
+		assertFalse( "The property has_R(y) should not hold.", holds(engine.verify(List.of(property))).get(0) );
+		int reported = reports.size();
+		assertFalse( "The result should be kept.", holds(engine.verify(List.of(property))).get(0) );
+		assertSame( "The architecture should be kept between verifications.", frozen, engine.getArchitecture() );
+		assertEquals( "The parser should be kept between verifications.", reported, reports.size() );
+		engine.edit(List.of("receive R O {y}"));
+		assertNotSame( "An edit should create a new architecture.", frozen, engine.getArchitecture() );
+		assertTrue( "The new architecture should be reported.", reports.size() > reported );
+		assertTrue( "The results should be discarded after an edit.",
+				holds(engine.verify(List.of(property))).get(0) );
+	}
+
+	@Test
+	public void testInvalidEdit() throws Exception {
+		VerificationEngine engine = new VerificationEngine(model(new VerificationContext()), "model");
+		FrozenArchitecture frozen = engine.getArchitecture();
+		try {
+			engine.edit(List.of("variable z", "has S unknown"));
+			fail( "An edit with an unknown variable should fail." );
+		} catch (IOException e) {
+			assertNotSame( "The warm state should be discarded after a failed edit.", frozen,
+					engine.getArchitecture() );
+			assertEquals( "The lines before the invalid one should be applied.", 3,
+					engine.getModel().getvSet().size() );
+		}
+	}
+
+	@Test
+	public void testCancellationMidBatch() throws Exception {
+		ArchitectureFunctions model = model(new VerificationContext());
+		List<Property> properties = properties(model);
+		VerificationEngine engine = new VerificationEngine(model, "model");
+		Property cancelled = properties.get(2);
+		VerificationMonitor.setListener(new ProgressListener() {
+			@Override
+			public void ruleTried(Property statement, String rule) {
+				if (statement == cancelled) {
+					Thread.currentThread().interrupt();
+				}
+			}
+
+			@Override
+			public void solverFinished(Property property, long time) {
+			}
+		});
+		try {
+			engine.verify(properties);
+			fail( "The verification should be cancelled." );
+		} catch (CancellationException e) {
+			assertTrue( "The cancelled thread should stay interrupted.", Thread.interrupted() );
+		} finally {
+			VerificationMonitor.setListener(null);
+		}
+		assertEquals( "The engine should verify again after a cancellation.", List.of(true, false, true, false,
+				true, false), holds(engine.verify(properties)) );
+		assertEquals( "The engine should verify other properties after a cancellation.", Collections.emptyList(),
+				engine.verify(Collections.<Property>emptyList()).getResults() );
+	}
+}
@@ -0,0 +1,87 @@
+package gui;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import architecture.Action;
+import architecture.Component;
+import architecture.Variable;
+import gui.ArchitectureFunctions.CaseStudy;
+import junit.framework.TestCase;
+import properties.Property;
+
+public class ArchitectureFunctionsTest extends TestCase {
+
+	@Test public void testTraceOfSymmetricInstance() throws Exception {
+		ArchitectureFunctions archFunc = new ArchitectureFunctions();
+		archFunc.getcSet().add(new Component("edge1", "1"));
+		archFunc.getcSet().add(new Component("edge2", "2"));
+		archFunc.getvSet().add(new Variable("r1", "1"));
+		archFunc.getvSet().add(new Variable("r2", "2"));
+		archFunc.addHas("edge1", "r1");
+		archFunc.addHas("edge2", "r2");
+		archFunc.addPropHas("edge1", "r1", "1");
+		archFunc.addPropHas("edge2", "r2", "1");
+		archFunc.finish();
+		for (Property property : archFunc.getpSet()) {
+			assertTrue("The property " + property + " should hold.", archFunc.verify(property.toString()));
+			String trace = archFunc.getTrace("[holds] " + property);
+			assertNotNull("There should be a trace for " + property + ".", trace);
+			assertFalse("The trace of " + property + " should be found.", trace.startsWith("null"));
+		}
+	}
+
+	@Test
+	public void testModelEvents() {
+		ArchitectureFunctions archFunc = new ArchitectureFunctions();
+		List<String> events = new ArrayList<String>();
+		archFunc.addModelListener(new ModelListener() {
+			@Override
+			public void elementAdded(Set<?> set, Object element) {
+				events.add("added " + element);
+			}
+
+			@Override
+			public void elementRemoved(Set<?> set, Object element) {
+				events.add("removed " + element);
+			}
+
+			@Override
+			public void setChanged(Set<?> set) {
+				events.add("changed");
+			}
+		});
+		archFunc.addComponent("C");
+		archFunc.removeComponent("C");
+		assertEquals( "Only the changed component should be reported.", "[added C, removed C]",
+				events.toString() );
+		archFunc.setcSet(archFunc.getcSet());
+		assertEquals( "A replaced set should be reported.", "changed", events.get(events.size() - 1) );
+	}
+
+	@Test public void testBatch() throws Exception {
+		ArchitectureFunctions archFunc = new ArchitectureFunctions();
+		archFunc.load(CaseStudy.SEM.toString());
+		Component existing = archFunc.getcSet().iterator().next();
+		Variable var = archFunc.getvSet().iterator().next();
+		int actions = archFunc.getaSet().size();
+		archFunc.batch(List.of("component Extra", "receive Extra " + existing + " {" + var + "}"));
+		assertEquals("The batch should add the action.", actions + 1, archFunc.getaSet().size());
+		Action receive = new ArrayList<Action>(archFunc.getaSet()).get(actions);
+		assertEquals("The new component should be declared.", "Extra", receive.getComponent().getName());
+		assertSame("The existing component should be referenced by its name.", existing, receive.getComPartner());
+		assertSame("The existing variable should be referenced by its name.",
+				var, receive.getVarSet().iterator().next());
+		try {
+			archFunc.batch(List.of("has Extra " + var, "has Missing " + var));
+			fail("An unknown component should not be accepted.");
+		} catch (IOException e) {
+			assertEquals("The invalid line should be reported.", "Line 2: unknown name 'Missing'", e.getMessage());
+		}
+		assertEquals("The lines before the invalid one should be applied.", actions + 2, archFunc.getaSet().size());
+	}
+}
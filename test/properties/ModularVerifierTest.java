@@ -0,0 +1,161 @@
+package properties;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import architecture.Action;
+import architecture.Action.ActionType;
+import architecture.Architecture;
+import architecture.Component;
+import architecture.Statement;
+import architecture.Variable;
+import junit.framework.TestCase;
+import properties.Property.PropertyType;
+import utils.SuccessIndexPair;
+import utils.VerificationContext;
+
+public class ModularVerifierTest extends TestCase {
+
+	Component sender = new Component("S");
+	Component receiver = new Component("R");
+	Component other = new Component("O");
+	Variable x = new Variable("x");
+	Variable y = new Variable("y");
+
+	/**
+	 * Helper method that returns an architecture with two parts, where R receives x from S
+	 * and O has y on its own.
+	 */
+	private Architecture architecture() {
+		Architecture arch = new Architecture(new LinkedHashSet<Component>(List.of(sender, receiver, other)));
+		arch.addVariable(x);
+		arch.addVariable(y);
+		arch.addAction(new Action(ActionType.HAS, sender, x));
+		arch.addAction(receive(receiver, sender, x));
+		arch.addAction(new Action(ActionType.HAS, other, y));
+		return arch;
+	}
+
+	private static Action receive(Component comp, Component partner, Variable var) {
+		return new Action(ActionType.RECEIVE, comp, partner, Collections.<Statement>emptySet(), Set.of(var));
+	}
+
+	private static Property has(Component comp, Variable var) {
+		return new Property(PropertyType.HAS, comp, 1.0, var);
+	}
+
+	private static Property and(Property st1, Property st2) {
+		return new Property(PropertyType.CONJUNCTION, st1, st2);
+	}
+
+	private static Property not(Property st1) {
+		return new Property(PropertyType.NEGATION, st1);
+	}
+
+	@Test
+	public void testEmptyArchitecture() throws Exception {
+		ModularVerifier verifier = new ModularVerifier(new Architecture(Collections.<Component>emptySet()));
+		assertEquals( "An empty architecture should have no parts.", 0, verifier.getPartCount() );
+		assertFalse( "A property of an unknown component should not hold.", verifier.verify(has(sender, x)) );
+		assertTrue( "No properties should give no results.",
+				verifier.verifyAll(Collections.<Property>emptyList(), 4).isEmpty() );
+	}
+
+	@Test
+	public void testPartCount() {
+		Architecture connected = new Architecture(new LinkedHashSet<Component>(List.of(sender, receiver)));
+		connected.addVariable(x);
+		connected.addAction(receive(receiver, sender, x));
+		assertEquals( "Connected components should be verified together.", 1,
+				new ModularVerifier(connected).getPartCount() );
+		assertEquals( "Each connected group of components should be a part.", 2,
+				new ModularVerifier(architecture()).getPartCount() );
+		assertEquals( "Unconnected components should be verified separately.", 3,
+				new ModularVerifier(new Architecture(Set.of(sender, receiver, other))).getPartCount() );
+	}
+
+	@Test
+	public void testPropertiesOfParts() {
+		ModularVerifier verifier = new ModularVerifier(architecture());
+		assertTrue( "The property has_R(x) should hold in the part of S and R.", verifier.verify(has(receiver, x)) );
+		assertTrue( "The property has_O(y) should hold in the part of O.", verifier.verify(has(other, y)) );
+		assertFalse( "The property has_O(x) should not hold in the part of O.", verifier.verify(has(other, x)) );
+		assertFalse( "The property has_R(y) should not hold in the whole architecture.",
+				verifier.verify(has(receiver, y)) );
+	}
+
+	@Test
+	public void testNegatedAndConjunctiveGoals() {
+		ModularVerifier verifier = new ModularVerifier(architecture());
+		RulesOfInferenceParserBottomup whole = new RulesOfInferenceParserBottomup(architecture());
+		List<Property> goals = List.of(
+				and(has(receiver, x), has(other, y)),
+				and(has(receiver, x), not(has(other, y))),
+				not(and(has(sender, x), has(other, x))),
+				not(not(has(receiver, x))),
+				and(has(sender, x), and(has(receiver, x), not(has(receiver, y)))));
+		List<Boolean> expected = List.of(true, false, true, true, true);
+		for (int i = 0; i < goals.size(); i++) {
+			assertEquals( "The goal " + i + " should be split into the statements of the parts.",
+					expected.get(i).booleanValue(), verifier.verify(goals.get(i)) );
+			assertEquals( "The goal " + i + " should hold as in the whole architecture.",
+					whole.verifyStatement(goals.get(i), 0), verifier.verify(goals.get(i)) );
+		}
+	}
+
+	@Test
+	public void testVerifyAllInParallel() throws Exception {
+		ModularVerifier verifier = new ModularVerifier(architecture());
+		Property shared = has(receiver, x);
+		List<Property> properties = List.of(shared, not(has(other, x)), and(shared, has(other, y)),
+				has(receiver, y), not(shared));
+		List<Boolean> expected = new ArrayList<Boolean>();
+		for (Property property : properties) {
+			expected.add(verifier.verify(property));
+		}
+		assertEquals( "A single thread should give the results of single verifications.", expected,
+				verifier.verifyAll(properties, 1) );
+		assertEquals( "Several threads should give the results in the order of the properties.", expected,
+				verifier.verifyAll(properties, 4) );
+	}
+
+	@Test
+	public void testConsistencyIsReportedOnce() {
+		List<Architecture> checked = new ArrayList<Architecture>();
+		List<SuccessIndexPair> results = new ArrayList<SuccessIndexPair>();
+		VerificationContext context = new VerificationContext();
+		context.setListener((arch, result) -> {
+			checked.add(arch);
+			results.add(result);
+		});
+		ModularVerifier verifier = new ModularVerifier(architecture(), context);
+		verifier.verify(and(has(receiver, x), has(other, y)));
+		verifier.verify(has(receiver, y));
+		assertEquals( "The parts should not be reported on their own.", 1, results.size() );
+		assertSame( "The whole architecture should be reported.", verifier.getPartitioning().getArchitecture(),
+				checked.get(0) );
+		assertTrue( "The architecture should be consistent.", results.get(0).isSuccess() );
+	}
+
+	@Test
+	public void testInconsistentPart() {
+		Component partner = new Component("P");
+		Architecture arch = architecture();
+		arch.addComponent(partner);
+		Action invalid = receive(other, partner, y);
+		arch.addAction(invalid);
+		List<SuccessIndexPair> results = new ArrayList<SuccessIndexPair>();
+		VerificationContext context = new VerificationContext();
+		context.setListener((checked, result) -> results.add(result));
+		ModularVerifier verifier = new ModularVerifier(arch, context);
+		assertEquals( "The inconsistency should be reported once.", 1, results.size() );
+		assertFalse( "The architecture should not be consistent.", results.get(0).isSuccess() );
+		assertSame( "The index should refer to the action in the whole architecture.", invalid,
+				verifier.getPartitioning().getArchitecture().getAllActions().get(results.get(0).getIndex()) );
+	}
+}
@@ -0,0 +1,62 @@
+package properties;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.Test;
+
+import architecture.Action;
+import architecture.Action.ActionType;
+import architecture.Architecture;
+import architecture.Component;
+import architecture.Purpose;
+import architecture.Variable;
+import junit.framework.TestCase;
+import properties.Property.PropertyType;
+import properties.RuleStatistics.Rule;
+
+public class RuleStatisticsTest extends TestCase {
+
+	Component comp1 = new Component("c1");
+	Component comp2 = new Component("c2");
+	Component comp3 = new Component("c3");
+	Architecture arch = new Architecture(Set.of(comp1, comp2, comp3));
+	RulesOfInferenceParserBottomup parser = new RulesOfInferenceParserBottomup(arch);
+	Variable var1;
+
+	@Test
+	public void testRuleStatistics() {
+		var1 = new Variable("x");
+		arch.addVariable(var1);
+		Purpose purp1 = new Purpose("general");
+		arch.getPurposeHierarchy().addPurpose(purp1, Collections.emptySet(), Collections.emptySet());
+		Action pr1 = new Action(ActionType.PRECEIVE, comp1, comp2, purp1, Collections.singleton(var1));
+		arch.addAction(pr1);
+		parser.setAdaptive(true);
+		Property prop = new Property(PropertyType.NOTPURP, comp1);
+		assertTrue( "The property notPurp_comp1 should hold in the adaptive mode as well.",
+				parser.verifyStatement(prop, 0) );
+		assertEquals( "Rule P1 should have been applied once.",
+				1, parser.getStatistics().getHits(Rule.P1) );
+		assertEquals( "Rule P2 should not have been tried after P1 applied.",
+				0, parser.getStatistics().getAttempts(Rule.P2) );
+	}
+
+	@Test
+	public void testOrder() {
+		RuleStatistics statistics = new RuleStatistics();
+		assertEquals( "Rules without statistics should keep the default order.",
+				RuleStatistics.rulesFor(PropertyType.HAS), statistics.order(PropertyType.HAS) );
+		statistics.record(Rule.H1, false, 3000);
+		statistics.record(Rule.H2, true, 2000);
+		statistics.record(Rule.H3, true, 1000);
+		statistics.record(Rule.H4, true, 10);
+		statistics.record(Rule.H5, true, 1);
+		assertEquals( "The cheap rules should be ordered, the recursive rules should keep their positions.",
+				Arrays.asList(Rule.H3, Rule.H2, Rule.H1, Rule.H4, Rule.H5), statistics.order(PropertyType.HAS) );
+		statistics.record(Rule.KDED, true, 1);
+		assertEquals( "The deduction rule should stay the last rule.", Rule.KDED,
+				statistics.order(PropertyType.KNOWS).get(RuleStatistics.rulesFor(PropertyType.KNOWS).size() - 1) );
+	}
+}
@@ -0,0 +1,143 @@
+package properties;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+
+import org.junit.Test;
+
+import architecture.Action;
+import architecture.Action.ActionType;
+import architecture.Architecture;
+import architecture.Component;
+import architecture.Statement;
+import architecture.Variable;
+import junit.framework.TestCase;
+import properties.Property.PropertyType;
+
+public class RulesOfInferenceParserBottomupTest extends TestCase {
+
+	Component sender = new Component("S");
+	Component receiver = new Component("R");
+	Component other = new Component("O");
+	Variable x = new Variable("x");
+	Variable y = new Variable("y");
+
+	/**
+	 * Helper method that returns an architecture where R receives x from S and O has y.
+	 */
+	private Architecture architecture() {
+		Architecture arch = new Architecture(new LinkedHashSet<Component>(List.of(sender, receiver, other)));
+		arch.addVariable(x);
+		arch.addVariable(y);
+		arch.addAction(new Action(ActionType.HAS, sender, x));
+		arch.addAction(new Action(ActionType.RECEIVE, receiver, sender, Collections.<Statement>emptySet(), Set.of(x)));
+		arch.addAction(new Action(ActionType.HAS, other, y));
+		return arch;
+	}
+
+	private RulesOfInferenceParserBottomup parser(boolean parallel) {
+		RulesOfInferenceParserBottomup parser = new RulesOfInferenceParserBottomup(architecture());
+		parser.setParallel(parallel);
+		return parser;
+	}
+
+	private static Property has(Component comp, Variable var) {
+		return new Property(PropertyType.HAS, comp, 1.0, var);
+	}
+
+	private static Property and(Property st1, Property st2) {
+		return new Property(PropertyType.CONJUNCTION, st1, st2);
+	}
+
+	private static Property not(Property st1) {
+		return new Property(PropertyType.NEGATION, st1);
+	}
+
+	@Test
+	public void testModes() {
+		RulesOfInferenceParserBottomup parser = parser(false);
+		assertFalse( "The parser should start in the sequential mode.", parser.isParallel() );
+		Property both = and(has(receiver, x), has(other, y));
+		assertTrue( "The conjunction should hold in the sequential mode.", parser.verifyStatement(both, 0) );
+		parser.setParallel(true);
+		assertTrue( "The parser should be in the parallel mode.", parser.isParallel() );
+		assertTrue( "The results should be kept in the parallel mode.", parser.verifyStatement(both, 0) );
+		assertFalse( "New statements should be verified in the parallel mode.",
+				parser.verifyStatement(has(other, x), 0) );
+		parser.setParallel(false);
+		assertFalse( "The parser should be in the sequential mode again.", parser.isParallel() );
+		assertFalse( "The results should be kept in the sequential mode.", parser.verifyStatement(has(other, x), 0) );
+	}
+
+	@Test
+	public void testConjunctiveGoals() {
+		RulesOfInferenceParserBottomup parser = parser(true);
+		assertTrue( "All sides of the conjunction should hold in parallel.",
+				parser.verifyStatement(and(has(receiver, x), and(has(sender, x), has(other, y))), 0) );
+		assertFalse( "A failing first side should fail the conjunction in parallel.",
+				parser.verifyStatement(and(has(other, x), has(receiver, x)), 0) );
+		assertFalse( "A failing last side should fail the conjunction in parallel.",
+				parser.verifyStatement(and(has(receiver, x), and(has(sender, x), has(sender, y))), 0) );
+	}
+
+	@Test
+	public void testNegatedGoals() {
+		RulesOfInferenceParserBottomup parser = parser(true);
+		assertTrue( "The negation of a failing statement should hold in parallel.",
+				parser.verifyStatement(not(has(other, x)), 0) );
+		assertFalse( "The negation of a holding statement should fail in parallel.",
+				parser.verifyStatement(not(has(receiver, x)), 0) );
+		assertTrue( "A double negation should hold in parallel.", parser.verifyStatement(not(not(has(other, y))), 0) );
+		assertTrue( "The negation of a failing conjunction should hold in parallel.",
+				parser.verifyStatement(not(and(has(receiver, x), has(receiver, y))), 0) );
+		assertTrue( "A conjunction with a negated side should hold in parallel.",
+				parser.verifyStatement(and(has(sender, x), not(has(sender, y))), 0) );
+	}
+
+	@Test
+	public void testModesAgree() {
+		List<Property> goals = List.of(
+				and(has(other, y), not(has(receiver, y))),
+				not(and(not(has(sender, x)), has(other, y))),
+				and(and(has(receiver, x), not(has(other, x))), not(not(has(other, y)))),
+				and(not(has(other, y)), has(receiver, x)),
+				new Property(PropertyType.NOTSHARED, other, x));
+		RulesOfInferenceParserBottomup sequential = parser(false);
+		RulesOfInferenceParserBottomup parallel = parser(true);
+		for (int i = 0; i < goals.size(); i++) {
+			assertEquals( "Both modes should have the same result for goal " + i + ".",
+					sequential.verifyStatement(goals.get(i), 0), parallel.verifyStatement(goals.get(i), 0) );
+		}
+	}
+
+	@Test
+	public void testCancellation() {
+		RulesOfInferenceParserBottomup parser = parser(true);
+		Thread owner = Thread.currentThread();
+		VerificationMonitor.setListener(new ProgressListener() {
+			@Override
+			public void ruleTried(Property statement, String rule) {
+				// the workers of the pool are cancelled together with the owner
+				owner.interrupt();
+			}
+
+			@Override
+			public void solverFinished(Property property, long time) {
+			}
+		});
+		try {
+			parser.verifyStatement(and(has(receiver, x), not(has(other, x))), 0);
+			fail( "The verification should be cancelled." );
+		} catch (CancellationException e) {
+			assertTrue( "The cancelled thread should stay interrupted.", Thread.interrupted() );
+		} finally {
+			VerificationMonitor.setListener(null);
+			Thread.interrupted();
+		}
+		assertTrue( "A new parser should verify after a cancellation.",
+				parser(true).verifyStatement(and(has(receiver, x), not(has(other, x))), 0) );
+	}
+}
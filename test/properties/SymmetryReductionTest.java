@@ -0,0 +1,40 @@
+package properties;
+
+import java.util.Set;
+
+import org.junit.Test;
+
+import architecture.Action;
+import architecture.Action.ActionType;
+import architecture.Architecture;
+import architecture.Component;
+import architecture.Variable;
+import junit.framework.TestCase;
+import properties.Property.PropertyType;
+
+public class SymmetryReductionTest extends TestCase {
+
+	Component comp1 = new Component("c1");
+
+	@Test
+	public void testSymmetryReduction() {
+		Component edge1 = new Component("edge1", "1");
+		Component edge2 = new Component("edge2", "2");
+		Variable r1 = new Variable("r1", "1");
+		Variable r2 = new Variable("r2", "2");
+		Architecture fleet = new Architecture(Set.of(comp1, edge1, edge2));
+		fleet.addVariable(r1);
+		fleet.addVariable(r2);
+		fleet.addAction(new Action(ActionType.HAS, edge1, r1));
+		fleet.addAction(new Action(ActionType.HAS, edge2, r2));
+		SymmetryReduction symmetry = new SymmetryReduction(fleet);
+		assertEquals( "The two instances should be symmetric.", 1, symmetry.getClasses().size() );
+		Property prop = new Property(PropertyType.HAS, edge2, 1.0, r2);
+		Property canonical = symmetry.canonical(prop);
+		assertEquals( "The property should be mapped to the representative.",
+				symmetry.getRepresentative(edge2), canonical.getOwner() );
+		RulesOfInferenceParserBottomup parser2 = new RulesOfInferenceParserBottomup(fleet);
+		assertEquals( "The representative should have the same result.",
+				parser2.verifyStatement(prop, 0), parser2.verifyStatement(canonical, 0) );
+	}
+}
@@ -0,0 +1,232 @@
+package solver;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.stream.Stream;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import architecture.Action;
+import architecture.Action.ActionType;
+import architecture.Architecture;
+import architecture.Component;
+import architecture.Variable;
+import junit.framework.TestCase;
+import properties.Property;
+import properties.Property.PropertyType;
+import properties.RulesOfInferenceParserTopdown;
+import utils.VerificationContext;
+
+public class SolverExecutorTest extends TestCase {
+
+	Component comp1 = new Component("c1");
+	Component comp2 = new Component("c2");
+	Component comp3 = new Component("c3");
+	Architecture arch = new Architecture(Set.of(comp1, comp2, comp3));
+	Variable var1;
+	Path dir;
+	Path log;
+
+	/**
+	 * Helper method that writes a solver that sleeps for the seconds on the first line of its
+	 * script and then prints the second line, and that logs when it starts and ends.
+	 * Returns null where the solver cannot run as a shell script.
+	 */
+	private VerificationContext stubSolver() throws IOException {
+		if (File.separatorChar != '/') {
+			return null;
+		}
+		dir = Files.createTempDirectory("solver");
+		log = dir.resolve("log");
+		Path solver = dir.resolve("stub");
+		Files.write(solver, List.of(
+				"#!/bin/sh",
+				"echo start >> \"" + log + "\"",
+				"sleep \"$(head -n 1 \"$2\")\"",
+				"echo end >> \"" + log + "\"",
+				"tail -n 1 \"$2\""));
+		solver.toFile().setExecutable(true);
+		return new VerificationContext(new ConfigReader(dir + "/", "stub", dir + "/", "smt.smt2", "linux"));
+	}
+
+	private static String job(String seconds, boolean holds) {
+		return seconds + "\n" + (holds ? "sat" : "unsat");
+	}
+
+	private Property property(int n) {
+		return new Property(PropertyType.HAS, comp1, 1.0 / n, var1);
+	}
+
+	private int count(String line) throws IOException {
+		return Files.exists(log) ? Collections.frequency(Files.readAllLines(log), line) : 0;
+	}
+
+	@BeforeClass public void setUp() throws Exception {
+		var1 = new Variable("x");
+	}
+
+	@AfterClass public void tearDown() throws Exception {
+		if (dir != null) {
+			try (Stream<Path> files = Files.walk(dir)) {
+				files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+			}
+		}
+	}
+
+	@Test
+	public void testSolverScripts() {
+		arch.addVariable(var1);
+		arch.addAction(new Action(ActionType.HAS, comp1, var1));
+		RulesOfInferenceParserTopdown topdown = new RulesOfInferenceParserTopdown(arch);
+		Property has = new Property(PropertyType.HAS, comp1, 1.0, var1);
+		Property hasNot = new Property(PropertyType.HAS, comp2, 1.0, var1);
+		String script = topdown.getScript(has);
+		assertTrue( "The script should check the property.", script.trim().endsWith("( check-sat )") );
+		assertEquals( "The script should not change the parser.", script, topdown.getScript(has) );
+		assertFalse( "Every property should have its own script.", script.equals(topdown.getScript(hasNot)) );
+		try {
+			new SolverExecutor(VerificationContext.getDefault(), 0).close();
+			fail( "An executor without solvers should not be created." );
+		} catch (IllegalArgumentException e) {
+			assertEquals( "The limit should be checked.", "At least one solver has to run at once", e.getMessage() );
+		}
+	}
+
+	@Test
+	public void testBackPressure() throws Exception {
+		VerificationContext context = stubSolver();
+		if (context == null) {
+			return;
+		}
+		Map<Property, String> scripts = new LinkedHashMap<Property, String>();
+		for (int i = 1; i <= 5; i++) {
+			scripts.put(property(i), job("0.2", true));
+		}
+		try (SolverExecutor executor = new SolverExecutor(context, 2)) {
+			Iterator<SolverExecutor.Result> results = executor.verify(scripts).iterator();
+			Thread.sleep(1000);
+			assertEquals( "Only as many solvers as the limit should start.", 2, count("start") );
+			assertEquals( "The started solvers should end without a taken result.", 2, count("end") );
+			results.next();
+			Thread.sleep(1000);
+			assertEquals( "Taking a result should start the next solver.", 3, count("start") );
+			int taken = 1;
+			while (results.hasNext()) {
+				results.next();
+				taken++;
+			}
+			assertEquals( "Every property should have a result.", 5, taken );
+		}
+		int running = 0;
+		for (String line : Files.readAllLines(log)) {
+			running += line.equals("start") ? 1 : -1;
+			assertTrue( "At most the limit of solvers should run at once.", running <= 2 );
+		}
+	}
+
+	@Test
+	public void testOrderOfResults() throws Exception {
+		VerificationContext context = stubSolver();
+		if (context == null) {
+			return;
+		}
+		Property slow = property(1);
+		Property fast = property(2);
+		Map<Property, String> scripts = new LinkedHashMap<Property, String>();
+		scripts.put(slow, job("1", true));
+		scripts.put(fast, job("0", false));
+		List<SolverExecutor.Result> results = new ArrayList<SolverExecutor.Result>();
+		try (SolverExecutor executor = new SolverExecutor(context, 2)) {
+			executor.verify(scripts).forEach(results::add);
+		}
+		assertEquals( "Every property should have one result.", 2, results.size() );
+		assertSame( "The solver that ends first should give the first result.", fast, results.get(0).getProperty() );
+		assertFalse( "An unsat result should not hold.", results.get(0).holds() );
+		assertSame( "The slow solver should give the last result.", slow, results.get(1).getProperty() );
+		assertTrue( "A sat result should hold.", results.get(1).holds() );
+		assertTrue( "The time of the slow solver should be measured.",
+				results.get(1).getTime() > results.get(0).getTime() );
+		results.clear();
+		try (SolverExecutor executor = new SolverExecutor(context, 1)) {
+			executor.verify(scripts).forEach(results::add);
+		}
+		assertSame( "A single solver should keep the order of the properties.", slow, results.get(0).getProperty() );
+		assertSame( "A single solver should keep the order of the properties.", fast, results.get(1).getProperty() );
+	}
+
+	@Test
+	public void testCancellation() throws Exception {
+		VerificationContext context = stubSolver();
+		if (context == null) {
+			return;
+		}
+		Map<Property, String> scripts = new LinkedHashMap<Property, String>();
+		for (int i = 1; i <= 3; i++) {
+			scripts.put(property(i), job("1", true));
+		}
+		Thread owner = Thread.currentThread();
+		Thread canceller = new Thread(() -> {
+			try {
+				Thread.sleep(300);
+			} catch (InterruptedException e) {
+				return;
+			}
+			owner.interrupt();
+		});
+		canceller.start();
+		try (SolverExecutor executor = new SolverExecutor(context, 2)) {
+			executor.verify(scripts).forEach(result -> fail( "No result should be taken after the cancellation." ));
+			fail( "The verification should be cancelled." );
+		} catch (CancellationException e) {
+			assertTrue( "The cancelled thread should stay interrupted.", Thread.interrupted() );
+		}
+		canceller.join();
+		Thread.sleep(1500);
+		assertEquals( "No further solver should start after the cancellation.", 2, count("start") );
+		assertEquals( "The running solvers should be stopped.", 0, count("end") );
+	}
+
+	@Test
+	public void testCancellationOfSingleSolver() throws Exception {
+		VerificationContext context = stubSolver();
+		if (context == null) {
+			return;
+		}
+		Thread owner = Thread.currentThread();
+		Thread canceller = new Thread(() -> {
+			try {
+				Thread.sleep(300);
+			} catch (InterruptedException e) {
+				return;
+			}
+			owner.interrupt();
+		});
+		canceller.start();
+		long start = System.nanoTime();
+		try {
+			new SolverHandler(context).runSolver(job("2", true), property(1));
+			fail( "The verification should be cancelled." );
+		} catch (CancellationException e) {
+			assertTrue( "The cancelled thread should stay interrupted.", Thread.interrupted() );
+		}
+		canceller.join();
+		assertTrue( "The solver should be stopped when the thread is interrupted.",
+				System.nanoTime() - start < 1500000000L );
+		Thread.sleep(2000);
+		assertEquals( "The solver should be started.", 1, count("start") );
+		assertEquals( "The solver should be stopped.", 0, count("end") );
+	}
+}
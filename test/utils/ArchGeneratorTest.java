@@ -0,0 +1,88 @@
+package utils;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import architecture.Architecture;
+import architecture.Partitioning;
+import gui.ArchitectureFunctions;
+import junit.framework.TestCase;
+import properties.ModularVerifier;
+
+public class ArchGeneratorTest extends TestCase {
+
+	private static long count(List<String> lines, String prefix) {
+		return lines.stream().filter(line -> line.startsWith(prefix)).count();
+	}
+
+	@Test
+	public void testSeed() {
+		ArchGenerator generator = new ArchGenerator(42);
+		assertEquals( "The same seed should generate the same lines.", generator.lines(), generator.lines() );
+		assertEquals( "The same seed should generate the same lines in another generator.", generator.lines(),
+				new ArchGenerator(42).lines() );
+		assertFalse( "Another seed should generate another architecture.",
+				generator.lines().equals(new ArchGenerator(43).lines()) );
+	}
+
+	@Test
+	public void testNoComponents() {
+		ArchGenerator generator = new ArchGenerator(42);
+		generator.setComponents(0);
+		assertEquals( "Without components only the seed should be written.", 1, generator.lines().size() );
+		Architecture arch = generator.generate().getArch();
+		assertTrue( "The architecture should be empty.", arch.getCompList().isEmpty() );
+		assertTrue( "The architecture should have no properties.", generator.generate().getpSet().isEmpty() );
+	}
+
+	@Test
+	public void testSizes() {
+		ArchGenerator generator = new ArchGenerator(42);
+		generator.setComponents(20);
+		generator.setVariables(4);
+		generator.setProperties(7);
+		ArchitectureFunctions archFunc = generator.generate();
+		Architecture arch = archFunc.getArch();
+		assertEquals( "The architecture should have 20 components.", 20, arch.getCompList().size() );
+		assertEquals( "Every component should have its own and one computed variable.", 20 * 5,
+				arch.getVariables().size() );
+		assertEquals( "The architecture should have 7 properties.", 7, archFunc.getpSet().size() );
+		generator.setEquationDepth(0);
+		assertEquals( "Without equations no variable should be computed.", 0,
+				count(generator.lines(), "compute ") );
+	}
+
+	@Test
+	public void testFanOut() {
+		ArchGenerator generator = new ArchGenerator(42);
+		generator.setComponents(10);
+		generator.setFanOut(3);
+		// component c<i> receives from min(3, i) components with smaller indices
+		assertEquals( "Every component should receive from up to fan-out partners.", 0 + 1 + 2 + 3 * 7,
+				count(generator.lines(), "receive ") );
+		generator.setCompositionDepth(1);
+		assertEquals( "Every second component should be in a composition.", 5,
+				count(generator.lines(), "composition ") );
+	}
+
+	@Test
+	public void testConsistency() {
+		ArchGenerator generator = new ArchGenerator(42);
+		generator.setComponents(20);
+		generator.setPurposes(2);
+		generator.setDataTypes(2);
+		Partitioning partitioning = new Partitioning(generator.generate().getArch());
+		assertTrue( "The generated architecture should be consistent.",
+				partitioning.getArchitecture().getConsistency().isSuccess() );
+		assertEquals( "The received variables should connect all components.", 1,
+				partitioning.getParts().size() );
+		generator.setFanOut(0);
+		generator.setPurposes(0);
+		generator.setDataTypes(0);
+		ModularVerifier verifier = new ModularVerifier(generator.generate().getArch());
+		assertEquals( "Without receive actions every component should be a part.", 20, verifier.getPartCount() );
+		assertTrue( "Every part should be consistent.", verifier.getPartitioning().getParts().stream()
+				.allMatch(part -> part.getConsistency().isSuccess()) );
+	}
+}
@@ -0,0 +1,83 @@
+package utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import engine.VerificationEngine;
+import engine.VerificationReport;
+import gui.ArchitectureFunctions;
+import gui.ArchitectureFunctions.CaseStudy;
+import junit.framework.TestCase;
+
+public class ArchitectureFormatTest extends TestCase {
+
+	private static byte[] write(ArchitectureFunctions archFunc) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ArchitectureFormat.write(archFunc, out);
+		return out.toByteArray();
+	}
+
+	private static void assertUnreadable(String message, byte[] bytes) {
+		try {
+			ArchitectureFormat.read(ByteBuffer.wrap(bytes));
+			fail(message);
+		} catch (IOException e) {
+			// expected
+		}
+	}
+
+	@Test public void testCaseStudiesRoundTrip() throws Exception {
+		for (CaseStudy example : CaseStudy.values()) {
+			ArchitectureFunctions original = VerificationEngine.load(example.name());
+			ArchitectureFunctions copy = ArchitectureFormat.read(ByteBuffer.wrap(write(original)));
+			assertNotNull("The architecture of " + example + " should be built again.", copy.getArch());
+			assertEquals("The components of " + example + " should be read.",
+					original.getcSet().toString(), copy.getcSet().toString());
+			assertEquals("The actions of " + example + " should be read.",
+					original.getaSet().toString(), copy.getaSet().toString());
+			assertEquals("The properties of " + example + " should be read.",
+					original.getpSet().toString(), copy.getpSet().toString());
+			VerificationReport expected = new VerificationEngine(original, example.name()).verifyAll();
+			VerificationReport actual = new VerificationEngine(copy, example.name()).verifyAll();
+			assertEquals("The consistency of " + example + " should be the same.",
+					expected.isConsistent(), actual.isConsistent());
+			List<VerificationReport.Result> results = actual.getResults();
+			assertEquals("Every property of " + example + " should be verified.",
+					expected.getResults().size(), results.size());
+			for (int i = 0; i < results.size(); i++) {
+				assertEquals("The property " + results.get(i).getProperty() + " of " + example
+						+ " should have the same result.",
+						expected.getResults().get(i).holds(), results.get(i).holds());
+			}
+		}
+	}
+
+	@Test public void testBadMagic() throws Exception {
+		byte[] bytes = write(VerificationEngine.load("SEM"));
+		bytes[0] ^= 0xFF;
+		assertUnreadable("A file with another magic number should not be read.", bytes);
+	}
+
+	@Test public void testFutureVersion() throws Exception {
+		byte[] bytes = write(VerificationEngine.load("SEM"));
+		// the version follows the magic number as a single byte
+		assertEquals("The version should be written after the magic number.",
+				ArchitectureFormat.VERSION, bytes[4]);
+		bytes[4] = (byte) (ArchitectureFormat.VERSION + 1);
+		assertUnreadable("A file of a future version should not be read.", bytes);
+	}
+
+	@Test public void testTruncatedInput() throws Exception {
+		byte[] bytes = write(VerificationEngine.load("SEM"));
+		assertUnreadable("An empty file should not be read.", new byte[0]);
+		assertUnreadable("A file without the model should not be read.",
+				Arrays.copyOf(bytes, bytes.length / 2));
+		assertUnreadable("A file without its last byte should not be read.",
+				Arrays.copyOf(bytes, bytes.length - 1));
+	}
+}
@@ -0,0 +1,90 @@
+package utils;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+import gui.ArchitectureFunctions;
+import junit.framework.TestCase;
+
+public class ArchitectureImporterTest extends TestCase {
+
+	private static ArchitectureFunctions importArch(String... lines) throws IOException {
+		return ArchitectureImporter.importArch(new StringReader(String.join("\n", lines)));
+	}
+
+	private static void assertError(String message, String error, String... lines) {
+		try {
+			importArch(lines);
+			fail(message);
+		} catch (IOException e) {
+			assertEquals(message, error, e.getMessage());
+		}
+	}
+
+	@Test public void testImport() throws Exception {
+		ArchitectureFunctions archFunc = importArch(
+				"# two components that share a variable",
+				"",
+				"component A",
+				"component B",
+				"variable x",
+				"has A x",
+				"receive B A {x}",
+				"property p has B x");
+		assertEquals("Both components should be imported.", 2, archFunc.getcSet().size());
+		assertEquals("Both actions should be imported.", 2, archFunc.getaSet().size());
+		assertEquals("The property should be imported.", 1, archFunc.getpSet().size());
+		assertNotNull("The architecture should be built.", archFunc.getArch());
+	}
+
+	@Test public void testUnknownName() throws Exception {
+		assertError("A variable that is not declared should be reported with its line.",
+				"Line 3: unknown name 'x'",
+				"component A",
+				"",
+				"has A x");
+		assertError("A set with an unknown element should be reported with its line.",
+				"Line 3: unknown name 'y'",
+				"component A",
+				"variable x",
+				"purpose general {x,y}");
+	}
+
+	@Test public void testDuplicate() throws Exception {
+		assertError("A name that is declared twice should be reported with its line.",
+				"Line 3: 'x' is already declared",
+				"variable x",
+				"# the same name again",
+				"variable x");
+	}
+
+	@Test public void testBadNumber() throws Exception {
+		assertError("A probability that is no number should be reported with its line.",
+				"Line 4: For input string: \"high\"",
+				"component A",
+				"variable x",
+				"variable y",
+				"dep A x {y} high");
+		assertError("A bound that is no integer should be reported with its line.",
+				"Line 3: For input string: \"1.5\"",
+				"component A",
+				"variable x",
+				"property p notstored A x 1.5");
+	}
+
+	@Test public void testInvalidLines() throws Exception {
+		assertError("A missing argument should be reported with its line.",
+				"Line 1: missing argument",
+				"component");
+		assertError("An unknown keyword should be reported with its line.",
+				"Line 1: unknown keyword 'connector'",
+				"connector A");
+		assertError("A set without braces should be reported with its line.",
+				"Line 3: expected a set in braces instead of 'x'",
+				"component A",
+				"variable x",
+				"check A x");
+	}
+}
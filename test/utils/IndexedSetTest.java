@@ -0,0 +1,131 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+public class IndexedSetTest extends TestCase {
+
+	/**
+	 * Element with a name, where different elements may have the same name.
+	 */
+	private static class Named {
+		private final String name;
+
+		private Named(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	Named a = new Named("a");
+	Named b = new Named("b");
+	Named x1 = new Named("x");
+	Named x2 = new Named("x");
+	Named x3 = new Named("x");
+
+	@Test public void testGet() throws Exception {
+		IndexedSet<Named> set = new IndexedSet<Named>(List.of(a, b));
+		assertSame("The element should be found by its name.", a, set.get("a"));
+		assertNull("An unknown name should not be found.", set.get("c"));
+		assertNull("No name should not be found.", set.get(null));
+		Named c = new Named("c");
+		set.add(c);
+		assertSame("An element added after the first lookup should be found.", c, set.get("c"));
+		set.remove(a);
+		assertNull("A removed element should not be found.", set.get("a"));
+	}
+
+	@Test public void testCollision() throws Exception {
+		IndexedSet<Named> set = new IndexedSet<Named>(List.of(x1, x2));
+		assertSame("The element added last should be found.", x2, set.get("x"));
+		set.remove(x2);
+		assertSame("The remaining element with the name should be found.", x1, set.get("x"));
+		set.remove(x1);
+		assertNull("No element with the name should be found.", set.get("x"));
+	}
+
+	@Test public void testRemoveShadowedElement() throws Exception {
+		IndexedSet<Named> set = new IndexedSet<Named>(List.of(x1, x2));
+		set.get("x");
+		set.remove(x1);
+		assertSame("Removing a shadowed element should keep the indexed one.", x2, set.get("x"));
+		set.remove(x2);
+		assertNull("The last element with the name should be removed from the index.", set.get("x"));
+	}
+
+	@Test public void testCollisionsAfterUnindex() throws Exception {
+		IndexedSet<Named> set = new IndexedSet<Named>();
+		set.get("x");
+		set.add(x1);
+		set.add(x2);
+		// the collision of x1 and x2 is resolved by removing x1
+		set.remove(x1);
+		set.add(x3);
+		assertSame("The element added last should be found.", x3, set.get("x"));
+		set.remove(x3);
+		assertSame("The remaining element should be found after the new collision.", x2, set.get("x"));
+		set.remove(x2);
+		assertNull("No element with the name should be found.", set.get("x"));
+		set.add(x1);
+		assertSame("A new element should be indexed without a collision.", x1, set.get("x"));
+	}
+
+	@Test public void testIteratorRemove() throws Exception {
+		IndexedSet<Named> set = new IndexedSet<Named>(List.of(a, x1, x2));
+		set.get("a");
+		Iterator<Named> it = set.iterator();
+		while (it.hasNext()) {
+			if (it.next() != x1) {
+				it.remove();
+			}
+		}
+		assertEquals("Only one element should remain.", 1, set.size());
+		assertNull("An element removed by the iterator should not be found.", set.get("a"));
+		assertSame("The remaining element should be found by its name.", x1, set.get("x"));
+	}
+
+	@Test public void testClear() throws Exception {
+		IndexedSet<Named> set = new IndexedSet<Named>(List.of(x1, x2));
+		set.get("x");
+		set.clear();
+		assertNull("A cleared set should find nothing.", set.get("x"));
+		set.add(x3);
+		assertSame("An element added after clearing should be found.", x3, set.get("x"));
+	}
+
+	@Test public void testObserver() throws Exception {
+		List<String> events = new ArrayList<String>();
+		IndexedSet<Named> set = new IndexedSet<Named>();
+		set.setObserver(new IndexedSet.Observer<Named>() {
+			@Override
+			public void added(Named e) {
+				events.add("added " + e);
+			}
+
+			@Override
+			public void removed(Object o) {
+				events.add("removed " + o);
+			}
+
+			@Override
+			public void cleared() {
+				events.add("cleared");
+			}
+		});
+		set.add(a);
+		set.add(a);
+		set.remove(b);
+		set.remove(a);
+		set.clear();
+		assertEquals("Only the changes should be observed.", "[added a, removed a, cleared]", events.toString());
+	}
+}
@@ -0,0 +1,129 @@
+package utils;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.management.ObjectName;
+
+import org.junit.Test;
+
+import architecture.Action;
+import architecture.Action.ActionType;
+import architecture.Architecture;
+import architecture.Component;
+import architecture.Variable;
+import junit.framework.TestCase;
+import properties.Property;
+import properties.Property.PropertyType;
+import properties.RuleStatistics.Rule;
+import properties.RulesOfInferenceParserBottomup;
+
+public class MetricsTest extends TestCase {
+
+	@Test
+	public void testEmptyMetric() {
+		Metrics metrics = new Metrics();
+		assertNull( "A metric that was never used should have no snapshot.", metrics.getSnapshot("empty") );
+		metrics.get("empty");
+		Metrics.Snapshot empty = metrics.getSnapshot("empty");
+		assertEquals( "An empty metric should have no count.", 0, empty.getCount() );
+		assertEquals( "The lowest percentile of an empty metric should be 0.", 0, empty.getPercentile(0) );
+		assertEquals( "The median of an empty metric should be 0.", 0, empty.getMedian() );
+		assertEquals( "The highest percentile of an empty metric should be 0.", 0, empty.getPercentile(1) );
+		assertEquals( "The mean of an empty metric should be 0.", 0.0, empty.getMean() );
+		metrics.count("counted");
+		Metrics.Snapshot counted = metrics.getSnapshot("counted");
+		assertEquals( "A counted event should be counted.", 1, counted.getCount() );
+		assertEquals( "A metric without values should have no percentiles.", 0, counted.getPercentile99() );
+	}
+
+	@Test
+	public void testPercentileBounds() {
+		Metrics metrics = new Metrics();
+		metrics.record("size", 100);
+		metrics.record("size", 1000);
+		Metrics.Snapshot size = metrics.getSnapshot("size");
+		assertEquals( "The median should be the bucket of the smaller value.", 128, size.getMedian() );
+		assertEquals( "The lowest percentile should be the bucket of the smallest value.", 128, size.getPercentile(0) );
+		assertEquals( "The largest percentile should be the maximum.", 1000, size.getPercentile99() );
+		assertEquals( "The highest percentile should be the maximum.", 1000, size.getPercentile(1) );
+		assertEquals( "The mean should be exact.", 550.0, size.getMean() );
+		metrics.record("zero", 0);
+		metrics.record("zero", -5);
+		assertEquals( "Values up to 0 should be in the lowest bucket.", 0, metrics.getSnapshot("zero").getPercentile(1) );
+		metrics.record("huge", Long.MAX_VALUE);
+		assertEquals( "The highest bucket should be bounded by the maximum.", Long.MAX_VALUE,
+				metrics.getSnapshot("huge").getMedian() );
+		for (int i = 1; i <= 1000; i++) {
+			metrics.record("values", i);
+		}
+		Metrics.Snapshot values = metrics.getSnapshot("values");
+		for (double fraction : new double[] { 0.1, 0.5, 0.9, 0.99 }) {
+			long exact = (long) Math.ceil(fraction * 1000);
+			long bound = values.getPercentile(fraction);
+			assertTrue( "The percentile should be an upper bound.", bound >= exact );
+			assertTrue( "The percentile should be at most twice the value.", bound <= 2 * exact );
+		}
+	}
+
+	@Test
+	public void testConcurrentRecording() throws Exception {
+		Metrics metrics = new Metrics();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int t = 0; t < 4; t++) {
+			Thread thread = new Thread(() -> {
+				for (int i = 1; i <= 1000; i++) {
+					metrics.record("time", i);
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		Metrics.Snapshot time = metrics.getSnapshot("time");
+		assertEquals( "No value should be lost.", 4000, time.getCount() );
+		assertEquals( "The sum should be exact.", 4 * 500500, time.getSum() );
+		assertEquals( "The maximum should be exact.", 1000, time.getMax() );
+	}
+
+	@Test
+	public void testParserMetrics() {
+		Component comp = new Component("c");
+		Variable var = new Variable("x");
+		Architecture arch = new Architecture(Set.of(comp));
+		arch.addVariable(var);
+		arch.addAction(new Action(ActionType.HAS, comp, var));
+		VerificationContext context = new VerificationContext();
+		Metrics metrics = context.getMetrics();
+		RulesOfInferenceParserBottomup bottomup = new RulesOfInferenceParserBottomup(arch, context);
+		Property has = new Property(PropertyType.HAS, comp, 1.0, var);
+		assertEquals( "The consistency check should be timed.", 1, metrics.getSnapshot(Metrics.CONSISTENCY).getCount() );
+		assertTrue( "The property should hold.", bottomup.verifyStatement(has, 0) );
+		assertTrue( "The property should hold again.", bottomup.verifyStatement(has, 0) );
+		assertEquals( "The first verification should miss the cache.", 1, metrics.getSnapshot(Metrics.MEMO_MISS).getCount() );
+		assertEquals( "The second verification should hit the cache.", 1, metrics.getSnapshot(Metrics.MEMO_HIT).getCount() );
+		Metrics.Snapshot h1 = metrics.getSnapshot(Metrics.RULE + Rule.H1.name());
+		assertEquals( "The rule should be timed once.", 1, h1.getCount() );
+		assertTrue( "The percentiles should be bounded by the maximum.", h1.getPercentile99() <= h1.getMax() );
+	}
+
+	@Test
+	public void testRegistration() throws Exception {
+		Metrics metrics = new Metrics();
+		ObjectName first = new ObjectName("capverde:type=Metrics,name=" + ObjectName.quote("first"));
+		ObjectName second = new ObjectName("capverde:type=Metrics,name=" + ObjectName.quote("second"));
+		assertTrue( "The metrics should be registered.", metrics.register("first") );
+		assertTrue( "The metrics should be visible in JMX.", ManagementFactory.getPlatformMBeanServer().isRegistered(first) );
+		assertTrue( "The metrics should be registered under a new name.", metrics.register("second") );
+		assertFalse( "The old name should be removed.", ManagementFactory.getPlatformMBeanServer().isRegistered(first) );
+		metrics.unregister();
+		assertFalse( "The metrics should be removed.", ManagementFactory.getPlatformMBeanServer().isRegistered(second) );
+		metrics.record("size", 1);
+		metrics.reset();
+		assertTrue( "The metrics should be reset.", metrics.getMetrics().isEmpty() );
+	}
+}
@@ -0,0 +1,166 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+public class PersistentMapTest extends TestCase {
+
+	/**
+	 * Key with a given hash code, so that keys can collide.
+	 */
+	private static class Key {
+		private final String name;
+		private final int hash;
+
+		private Key(String name, int hash) {
+			this.name = name;
+			this.hash = hash;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Key && ((Key) obj).name.equals(name);
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	private static <K, V> void assertContent(String message, Map<K, V> expected, PersistentMap<K, V> map) {
+		assertEquals(message, expected.size(), map.size());
+		assertEquals(message, expected.keySet(), new HashSet<K>(map.keys()));
+		for (Map.Entry<K, V> entry : expected.entrySet()) {
+			assertEquals(message, entry.getValue(), map.get(entry.getKey()));
+		}
+	}
+
+	@Test public void testPlusAndGet() throws Exception {
+		PersistentMap<Integer, String> map = PersistentMap.empty();
+		for (int i = 0; i < 1000; i++) {
+			map = map.plus(i, "v" + i);
+		}
+		assertEquals("Every key should be added.", 1000, map.size());
+		for (int i = 0; i < 1000; i++) {
+			assertEquals("Every key should be found.", "v" + i, map.get(i));
+		}
+		assertNull("A missing key should not be found.", map.get(1000));
+		assertFalse("A missing key should not be contained.", map.containsKey(-1));
+		PersistentMap<Integer, String> replaced = map.plus(7, "w");
+		assertEquals("A replaced value should not change the size.", 1000, replaced.size());
+		assertEquals("The value should be replaced.", "w", replaced.get(7));
+		assertSame("Mapping a key to its value should return the same map.", replaced, replaced.plus(7, "w"));
+	}
+
+	@Test public void testCollisions() throws Exception {
+		Key a = new Key("a", 1);
+		Key b = new Key("b", 1);
+		Key c = new Key("c", 1);
+		PersistentMap<Key, Integer> map = PersistentMap.<Key, Integer>empty().plus(a, 1).plus(b, 2).plus(c, 3);
+		assertEquals("Keys with the same hash should all be added.", 3, map.size());
+		assertEquals("The first key should be found.", Integer.valueOf(1), map.get(a));
+		assertEquals("The second key should be found.", Integer.valueOf(2), map.get(b));
+		assertEquals("The third key should be found.", Integer.valueOf(3), map.get(c));
+		assertNull("An equal hash should not be enough.", map.get(new Key("d", 1)));
+		PersistentMap<Key, Integer> replaced = map.plus(b, 4);
+		assertEquals("A replaced value should not change the size.", 3, replaced.size());
+		assertEquals("The value should be replaced.", Integer.valueOf(4), replaced.get(b));
+		PersistentMap<Key, Integer> smaller = map.minus(b);
+		assertEquals("The key should be removed.", 2, smaller.size());
+		assertFalse("The key should not be contained.", smaller.containsKey(b));
+		assertEquals("The other keys should be kept.", Integer.valueOf(3), smaller.get(c));
+		assertSame("Removing a missing key should return the same map.", smaller, smaller.minus(new Key("d", 1)));
+		assertTrue("Removing all keys should give an empty map.", smaller.minus(a).minus(c).isEmpty());
+	}
+
+	@Test public void testCollisionsWithLaterHash() throws Exception {
+		// a and b collide, c only shares the first five bits of their hash
+		Key a = new Key("a", 1);
+		Key b = new Key("b", 1);
+		Key c = new Key("c", 1 + (1 << 5));
+		PersistentMap<Key, Integer> map = PersistentMap.<Key, Integer>empty().plus(a, 1).plus(b, 2).plus(c, 3);
+		assertEquals("All keys should be added.", 3, map.size());
+		assertEquals("The colliding key should be found.", Integer.valueOf(2), map.get(b));
+		assertEquals("The key with the later hash should be found.", Integer.valueOf(3), map.get(c));
+		PersistentMap<Key, Integer> smaller = map.minus(a).minus(b);
+		assertEquals("Only the key with the later hash should remain.", 1, smaller.size());
+		assertEquals("The remaining key should be found.", Integer.valueOf(3), smaller.get(c));
+		assertTrue("Removing the last key should give an empty map.", smaller.minus(c).isEmpty());
+	}
+
+	@Test public void testMinusToEmpty() throws Exception {
+		PersistentMap<Integer, Integer> map = PersistentMap.empty();
+		for (int i = 0; i < 500; i++) {
+			map = map.plus(i * 31, i);
+		}
+		for (int i = 499; i >= 0; i -= 2) {
+			map = map.minus(i * 31);
+		}
+		for (int i = 0; i < 500; i += 2) {
+			map = map.minus(i * 31);
+		}
+		assertTrue("Removing all keys should give an empty map.", map.isEmpty());
+		assertEquals("The empty map should have no size.", 0, map.size());
+		assertTrue("The empty map should have no keys.", map.keys().isEmpty());
+		assertNull("The empty map should find nothing.", map.get(0));
+		assertSame("Removing from the empty map should return the same map.", map, map.minus(0));
+		assertEquals("The empty map should accept new keys.", Integer.valueOf(1), map.plus(0, 1).get(0));
+	}
+
+	@Test public void testUnchangedParents() throws Exception {
+		Key a = new Key("a", 1);
+		Key b = new Key("b", 1);
+		PersistentMap<Key, Integer> parent = PersistentMap.<Key, Integer>empty().plus(a, 1);
+		PersistentMap<Key, Integer> added = parent.plus(b, 2);
+		PersistentMap<Key, Integer> replaced = added.plus(a, 3);
+		PersistentMap<Key, Integer> removed = replaced.minus(b);
+		assertEquals("Adding should not change the parent.", 1, parent.size());
+		assertFalse("Adding should not change the parent.", parent.containsKey(b));
+		assertEquals("Replacing should not change the parent.", Integer.valueOf(1), added.get(a));
+		assertEquals("Removing should not change the parent.", Integer.valueOf(2), replaced.get(b));
+		assertEquals("The last map should have its own mappings.", Integer.valueOf(3), removed.get(a));
+		assertEquals("The last map should have its own size.", 1, removed.size());
+	}
+
+	@Test public void testAgainstHashMap() throws Exception {
+		Random random = new Random(42);
+		PersistentMap<Key, Integer> map = PersistentMap.empty();
+		Map<Key, Integer> expected = new HashMap<Key, Integer>();
+		List<PersistentMap<Key, Integer>> versions = new ArrayList<PersistentMap<Key, Integer>>();
+		List<Map<Key, Integer>> contents = new ArrayList<Map<Key, Integer>>();
+		for (int step = 0; step < 2000; step++) {
+			int n = random.nextInt(200);
+			// every third key gets one of few hash codes, so that there are many collisions
+			Key key = new Key("k" + n, n % 3 == 0 ? n % 7 : n * 0x9E3779B9);
+			if (random.nextInt(3) == 0) {
+				map = map.minus(key);
+				expected.remove(key);
+			} else {
+				map = map.plus(key, step);
+				expected.put(key, step);
+			}
+			if (step % 100 == 0) {
+				versions.add(map);
+				contents.add(new HashMap<Key, Integer>(expected));
+			}
+		}
+		assertContent("The map should have the same mappings as a hash map.", expected, map);
+		for (int i = 0; i < versions.size(); i++) {
+			assertContent("Every earlier version should keep its mappings.", contents.get(i), versions.get(i));
+		}
+	}
+}
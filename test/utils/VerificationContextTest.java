@@ -0,0 +1,89 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import engine.VerificationEngine;
+import engine.VerificationReport;
+import junit.framework.TestCase;
+import properties.Property;
+import solver.ConfigReader;
+
+public class VerificationContextTest extends TestCase {
+
+	@Test
+	public void testFileNames() {
+		VerificationContext first = new VerificationContext();
+		VerificationContext second = new VerificationContext();
+		assertEquals( "The default context should keep the names of the files.", "smt.smt2",
+				VerificationContext.getDefault().getFileName("smt.smt2") );
+		assertNull( "A missing name should stay missing.", first.getFileName(null) );
+		assertTrue( "Other contexts should add their number.", first.getFileName("smt.smt2").endsWith("_smt.smt2") );
+		assertFalse( "The contexts should write to different files.",
+				first.getFileName("smt.smt2").equals(second.getFileName("smt.smt2")) );
+	}
+
+	@Test
+	public void testConfig() {
+		VerificationContext context = new VerificationContext();
+		assertSame( "A context without a configuration should use the default one.",
+				VerificationContext.getDefault().getConfig(), context.getConfig() );
+		ConfigReader config = new ConfigReader("/solver/", "z3", "/files/", "smt.smt2", "linux");
+		context.setConfig(config);
+		assertSame( "A context should use its own configuration.", config, context.getConfig() );
+		assertSame( "A context should be created with a configuration.", config,
+				new VerificationContext(config).getConfig() );
+		context.setConfig(null);
+		assertSame( "A removed configuration should fall back to the default one.",
+				VerificationContext.getDefault().getConfig(), context.getConfig() );
+	}
+
+	@Test
+	public void testStateOfContexts() throws Exception {
+		VerificationContext first = new VerificationContext();
+		VerificationContext second = new VerificationContext();
+		List<SuccessIndexPair> firstReports = new ArrayList<SuccessIndexPair>();
+		List<SuccessIndexPair> secondReports = new ArrayList<SuccessIndexPair>();
+		first.setListener((arch, result) -> firstReports.add(result));
+		second.setListener((arch, result) -> secondReports.add(result));
+		VerificationEngine engine = new VerificationEngine(VerificationEngine.load("SEM", first), "SEM");
+		engine.verifyAll();
+		Property property = engine.getModel().getpSet().iterator().next();
+		assertNotNull( "The trace should be written into the context of the model.",
+				first.getTrace().getMessage(property) );
+		assertNull( "Other contexts should not see the trace.", second.getTrace().getMessage(property) );
+		assertNotNull( "The metrics should be recorded in the context of the model.",
+				first.getMetrics().getSnapshot(Metrics.CONSISTENCY) );
+		assertNull( "Other contexts should not record metrics.", second.getMetrics().getSnapshot(Metrics.CONSISTENCY) );
+		assertFalse( "The listener of the context of the model should be informed.", firstReports.isEmpty() );
+		assertTrue( "The listeners of other contexts should not be informed.", secondReports.isEmpty() );
+	}
+
+	@Test
+	public void testParallelVerification() throws Exception {
+		VerificationContext first = new VerificationContext();
+		VerificationContext second = new VerificationContext();
+		VerificationEngine one = new VerificationEngine(VerificationEngine.load("SEM", first), "SEM");
+		VerificationEngine two = new VerificationEngine(VerificationEngine.load("SEM", second), "SEM");
+		assertNotSame( "Every load should create its own components.",
+				one.getModel().getcSet().iterator().next(), two.getModel().getcSet().iterator().next() );
+		Thread thread = new Thread(() -> {
+			try {
+				two.verifyAll();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		thread.start();
+		VerificationReport report = one.verifyAll();
+		thread.join();
+		VerificationReport other = two.verifyAll();
+		assertEquals( "Both models should be verified.", report.getResults().size(), other.getResults().size() );
+		for (int i = 0; i < report.getResults().size(); i++) {
+			assertEquals( "The models should be verified independently.", report.getResults().get(i).holds(),
+					other.getResults().get(i).holds() );
+		}
+	}
+}
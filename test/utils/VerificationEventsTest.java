@@ -0,0 +1,164 @@
+package utils;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.Test;
+
+import architecture.Action;
+import architecture.Action.ActionType;
+import architecture.Architecture;
+import architecture.Component;
+import architecture.Statement;
+import architecture.Variable;
+import junit.framework.TestCase;
+import properties.Property;
+import properties.Property.PropertyType;
+import properties.RulesOfInferenceParserBottomup;
+import solver.SolverHandler;
+
+public class VerificationEventsTest extends TestCase {
+
+	private static final String[] EVENTS = { "capverde.Phase", "capverde.Consistency", "capverde.Verification",
+			"capverde.SmtGeneration", "capverde.Solver", "capverde.PrologGoal" };
+
+	Component sender = new Component("S");
+	Component receiver = new Component("R");
+	Variable x = new Variable("x");
+
+	/**
+	 * Helper method that returns an architecture where R receives x from S.
+	 */
+	private Architecture architecture() {
+		Architecture arch = new Architecture(new LinkedHashSet<Component>(List.of(sender, receiver)));
+		arch.addVariable(x);
+		arch.addAction(new Action(ActionType.HAS, sender, x));
+		arch.addAction(receive(receiver, sender, x));
+		return arch;
+	}
+
+	private static Action receive(Component comp, Component partner, Variable var) {
+		return new Action(ActionType.RECEIVE, comp, partner, Collections.<Statement>emptySet(), Set.of(var));
+	}
+
+	/**
+	 * Helper method that records the events with the given names while an action runs, where
+	 * the other events of the tool are disabled. The events are sorted by their start.
+	 */
+	private static List<RecordedEvent> record(Runnable action, String... names) throws Exception {
+		Path file = Files.createTempFile("events", ".jfr");
+		try {
+			try (Recording recording = new Recording()) {
+				for (String name : EVENTS) {
+					recording.disable(name);
+				}
+				for (String name : names) {
+					recording.enable(name);
+				}
+				recording.start();
+				action.run();
+				recording.stop();
+				recording.dump(file);
+			}
+			List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+			events.sort(Comparator.comparing(RecordedEvent::getStartTime));
+			return events;
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void testConsistencyEvents() throws Exception {
+		Component other = new Component("O");
+		Architecture inconsistent = new Architecture(new LinkedHashSet<Component>(List.of(sender, other)));
+		inconsistent.addVariable(x);
+		inconsistent.addAction(receive(sender, other, x));
+		List<RecordedEvent> events = record(() -> {
+			new RulesOfInferenceParserBottomup(new Architecture(Collections.<Component>emptySet()));
+			new RulesOfInferenceParserBottomup(architecture());
+			new RulesOfInferenceParserBottomup(inconsistent);
+		}, "capverde.Consistency");
+		assertEquals( "Every check should be recorded.", 3, events.size() );
+		assertEquals( "An empty architecture should have no actions.", 0, events.get(0).getInt("actions") );
+		assertTrue( "An empty architecture should be consistent.", events.get(0).getBoolean("consistent") );
+		assertEquals( "The actions should be counted.", 2, events.get(1).getInt("actions") );
+		assertTrue( "The architecture should be consistent.", events.get(1).getBoolean("consistent") );
+		assertFalse( "A receive without a sender that has the variable should not be consistent.",
+				events.get(2).getBoolean("consistent") );
+	}
+
+	@Test
+	public void testVerificationEvents() throws Exception {
+		RulesOfInferenceParserBottomup bottomup = new RulesOfInferenceParserBottomup(architecture());
+		Property has = new Property(PropertyType.HAS, receiver, 1.0, x);
+		Property conjunction = new Property(PropertyType.CONJUNCTION, has,
+				new Property(PropertyType.NEGATION, new Property(PropertyType.HAS, sender, 1.0, x)));
+		List<RecordedEvent> events = record(() -> {
+			assertTrue( "The property should hold.", bottomup.verifyStatement(has, 0) );
+			assertFalse( "The conjunction should not hold.", bottomup.verifyStatement(conjunction, 0) );
+		}, "capverde.Verification");
+		assertEquals( "Only the top-level statements should be recorded.", 2, events.size() );
+		assertEquals( "The parser should be recorded.", "RulesOfInferenceParserBottomup",
+				events.get(0).getString("parser") );
+		assertEquals( "The type of the property should be recorded.", "HAS", events.get(0).getString("propertyType") );
+		assertTrue( "The result should be recorded.", events.get(0).getBoolean("result") );
+		assertEquals( "The type of the conjunction should be recorded.", "CONJUNCTION",
+				events.get(1).getString("propertyType") );
+		assertFalse( "The failed result should be recorded.", events.get(1).getBoolean("result") );
+	}
+
+	@Test
+	public void testDisabledEvents() throws Exception {
+		List<RecordedEvent> events = record(() -> {
+			new RulesOfInferenceParserBottomup(architecture())
+					.verifyStatement(new Property(PropertyType.HAS, receiver, 1.0, x), 0);
+		}, "capverde.Verification");
+		for (RecordedEvent event : events) {
+			assertEquals( "Only the enabled events should be recorded.", "capverde.Verification",
+					event.getEventType().getName() );
+		}
+	}
+
+	@Test
+	public void testSolverEvents() throws Exception {
+		Path dir = Files.createTempDirectory("events");
+		Property has = new Property(PropertyType.HAS, receiver, 1.0, x);
+		String script = "(check-sat)";
+		try {
+			SolverHandler missing = new SolverHandler(dir + "/", "missing", dir + "/", "missing.smt2");
+			List<RecordedEvent> events = record(() -> assertFalse( "A missing solver should not verify.",
+					missing.runSolver(script, has) ), "capverde.Solver");
+			assertEquals( "A solver that can not be run should be recorded.", 1, events.size() );
+			assertEquals( "The exit status of a solver that can not be run should be -1.", -1,
+					events.get(0).getInt("exitStatus") );
+			assertEquals( "The size of the script should be recorded.", script.length(),
+					events.get(0).getLong("bytesWritten") );
+			if (File.separatorChar == '/') {
+				Path stub = dir.resolve("stub");
+				Files.write(stub, List.of("#!/bin/sh", "echo sat"));
+				stub.toFile().setExecutable(true);
+				SolverHandler solver = new SolverHandler(dir + "/", "stub", dir + "/", "stub.smt2");
+				events = record(() -> assertTrue( "The stub solver should verify.", solver.runSolver(script, has) ),
+						"capverde.Solver");
+				assertEquals( "The exit status of the solver should be recorded.", 0,
+						events.get(0).getInt("exitStatus") );
+			}
+		} finally {
+			for (File file : dir.toFile().listFiles()) {
+				file.delete();
+			}
+			Files.delete(dir);
+		}
+	}
+}